@@ -10,6 +10,8 @@ import java.util.List;
  * Methods follow a fluent API and return the builder for chaining.
  */
 public interface ContentBuilder extends EntityBuilder<Content, ContentBuilder> {
+    /** Set the version the content was read at, or {@code null} for a new content. */
+    ContentBuilder version(Long version);
     /** Set the content title. */
     ContentBuilder title(String title);
     /** Set the content description. */
@@ -10,6 +10,8 @@ import click.reelscout.backend.model.jpa.User;
  */
 public interface
 UserBuilder<U extends User, B extends UserBuilder<U, B>> extends EntityBuilder<U, B> {
+    /** Set the version the user was read at, or {@code null} for a new user. */
+    B version(Long version);
     /** Set username. */
     B username(String username);
     /** Set email. */
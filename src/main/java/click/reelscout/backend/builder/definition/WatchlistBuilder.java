@@ -10,6 +10,8 @@ import java.util.List;
  * Builder contract for creating {@link Watchlist} instances.
  */
 public interface WatchlistBuilder extends EntityBuilder<Watchlist, WatchlistBuilder> {
+    /** Set the version the watchlist was read at, or {@code null} for a new watchlist. */
+    WatchlistBuilder version(Long version);
     /** Set the watchlist name. */
     WatchlistBuilder name(String name);
     /** Set the contents list. */
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @Getter
 public abstract class AbstractUserBuilderImplementation<U extends User, B extends UserBuilder<U, B>> implements UserBuilder<U, B> {
     protected Long id;
+    protected Long version;
     protected String username;
     protected String email;
     protected String password;
@@ -27,6 +28,13 @@ public abstract class AbstractUserBuilderImplementation<U extends User, B extend
         return (B) this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public B version(Long version) {
+        this.version = version;
+        return (B) this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public B username(String username) {
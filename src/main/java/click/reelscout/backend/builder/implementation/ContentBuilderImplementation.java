@@ -11,6 +11,7 @@ import java.util.List;
 @Getter
 public class ContentBuilderImplementation implements ContentBuilder {
     private Long id;
+    private Long version;
     private String title;
     private String description;
     private ContentType contentType;
@@ -28,6 +29,13 @@ public class ContentBuilderImplementation implements ContentBuilder {
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public ContentBuilder version(Long version) {
+        this.version = version;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public ContentBuilder title(String title) {
@@ -13,6 +13,7 @@ import java.util.List;
 @Getter
 public class WatchlistBuilderImplementation implements WatchlistBuilder {
     private Long id;
+    private Long version;
     private String name;
     private List<Content> contents;
     private Boolean isPublic;
@@ -25,6 +26,13 @@ public class WatchlistBuilderImplementation implements WatchlistBuilder {
         return this;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public WatchlistBuilder version(Long version) {
+        this.version = version;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     public WatchlistBuilder name(String name) {
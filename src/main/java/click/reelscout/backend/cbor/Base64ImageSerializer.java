@@ -0,0 +1,52 @@
+package click.reelscout.backend.cbor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Serializes a Base64 image as a string in JSON, and as raw bytes in binary formats such as CBOR,
+ * which saves the third of the payload taken by the Base64 encoding.
+ * <p>
+ * Jackson reads raw bytes back into a Base64 string, so the same DTOs are read from both formats.
+ */
+public class Base64ImageSerializer extends StdSerializer<String> {
+
+    public Base64ImageSerializer() {
+        super(String.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void serialize(String base64Image, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        write(base64Image, generator);
+    }
+
+    /**
+     * Write a Base64 image with the given generator.
+     *
+     * @param base64Image the image encoded in Base64
+     * @param generator   the generator; the image is written as raw bytes if it can write them natively
+     * @throws IOException if the image cannot be written
+     */
+    static void write(String base64Image, JsonGenerator generator) throws IOException {
+        if (!generator.canWriteBinaryNatively()) {
+            generator.writeString(base64Image);
+            return;
+        }
+
+        byte[] image;
+        try {
+            image = Base64.getDecoder().decode(base64Image);
+        } catch (IllegalArgumentException e) {
+            // Not an image after all: kept as it is
+            generator.writeString(base64Image);
+            return;
+        }
+
+        generator.writeBinary(image);
+    }
+}
@@ -0,0 +1,55 @@
+package click.reelscout.backend.cbor;
+
+import click.reelscout.backend.dto.request.FieldSelection;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Converts JSON that is already serialized, such as cached responses or STOMP payloads, to CBOR
+ * token by token, without binding it to objects again.
+ * <p>
+ * Base64 images are written as raw bytes, as {@link Base64ImageSerializer} does for objects.
+ */
+public final class CborTranscoder {
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final CBORFactory CBOR = new CBORFactory();
+
+    private CborTranscoder() {
+    }
+
+    /**
+     * Convert a JSON document to CBOR.
+     *
+     * @param json the UTF-8 JSON document
+     * @return the same document encoded in CBOR
+     * @throws UncheckedIOException if the document is not valid JSON
+     */
+    public static byte[] transcode(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+
+        try (JsonParser parser = JSON.createParser(json); JsonGenerator generator = CBOR.createGenerator(out)) {
+            boolean image = false;
+
+            for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+                if (image && token == JsonToken.VALUE_STRING) {
+                    Base64ImageSerializer.write(parser.getText(), generator);
+                } else {
+                    generator.copyCurrentEvent(parser);
+                }
+
+                image = token == JsonToken.FIELD_NAME && FieldSelection.IMAGE.equals(parser.currentName());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to convert JSON to CBOR", e);
+        }
+
+        return out.toByteArray();
+    }
+}
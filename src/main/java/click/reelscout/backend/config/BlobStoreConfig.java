@@ -0,0 +1,52 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.s3.BlobStore;
+import click.reelscout.backend.s3.BlobStoreType;
+import click.reelscout.backend.s3.LocalBlobStore;
+import click.reelscout.backend.s3.S3BlobStore;
+import click.reelscout.backend.s3.TieredBlobStore;
+import io.awspring.cloud.s3.S3Template;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration class selecting the {@link BlobStore} in which uploaded files are kept.
+ */
+@Configuration
+public class BlobStoreConfig {
+    /**
+     * Creates the blob store of the configured type.
+     * The local store keeps files below {@code s3.blob-store.local-root}; the tiered store
+     * uses that same directory as a disk cache in front of the S3 bucket.
+     *
+     * @param type           the type of store to create
+     * @param localRoot      the directory used by the local and tiered stores
+     * @param s3Template     the template used to read objects from S3
+     * @param s3Client       the client used to write and delete objects in S3
+     * @param bucketName     the bucket holding the files in S3
+     * @param uploadPartSize the size of the parts in which uploads are streamed to S3
+     * @return the configured blob store
+     * @throws IOException if the local directory cannot be created
+     */
+    @Bean
+    public BlobStore blobStore(@Value("${s3.blob-store.type}") BlobStoreType type,
+                               @Value("${s3.blob-store.local-root}") Path localRoot,
+                               S3Template s3Template,
+                               S3Client s3Client,
+                               @Value("${secrets.s3.bucket}") String bucketName,
+                               @Value("${s3.upload.part-size}") int uploadPartSize) throws IOException {
+        return switch (type) {
+            case S3 -> new S3BlobStore(s3Template, s3Client, bucketName, uploadPartSize);
+            case LOCAL -> new LocalBlobStore(localRoot);
+            case TIERED -> new TieredBlobStore(
+                    new LocalBlobStore(localRoot),
+                    new S3BlobStore(s3Template, s3Client, bucketName, uploadPartSize)
+            );
+        };
+    }
+}
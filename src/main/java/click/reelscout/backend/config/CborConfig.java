@@ -0,0 +1,37 @@
+package click.reelscout.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Configuration class for the CBOR encoding offered to clients next to JSON.
+ */
+@Configuration
+public class CborConfig {
+
+    /**
+     * Creates the message converter writing and reading {@code application/cbor} request and response bodies.
+     * It replaces the converter Spring MVC would otherwise register with a default mapper, so that CBOR
+     * documents are mapped exactly like JSON ones.
+     *
+     * @param objectMapper the application JSON mapper
+     * @return the CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(objectMapper));
+    }
+
+    /**
+     * Copy a JSON mapper into a mapper writing CBOR, with the same modules and settings.
+     *
+     * @param objectMapper the JSON mapper
+     * @return the CBOR mapper
+     */
+    static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+}
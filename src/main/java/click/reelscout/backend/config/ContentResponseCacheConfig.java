@@ -0,0 +1,49 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the in-memory cache of assembled content responses.
+ */
+@Configuration
+public class ContentResponseCacheConfig {
+    /** Name under which the cache metrics are published. */
+    public static final String CONTENT_RESPONSE_CACHE_NAME = "content.responses";
+
+    /**
+     * Creates a size-bounded cache of content responses keyed by content id.
+     * Entries are held without their image, which is kept by the image cache, so that one
+     * entry serves every image mode. Entries are invalidated when their content is updated or
+     * deleted; the time-to-live bounds how long changes made elsewhere, such as a production
+     * company renamed or a write through another instance, may go unnoticed.
+     * Hit, miss and eviction counters are registered with the given {@link MeterRegistry}.
+     *
+     * @param maxEntries    the maximum number of responses the cache may hold
+     * @param timeToLive    how long a response is kept after being assembled
+     * @param meterRegistry the registry the cache metrics are bound to
+     * @return a configured Caffeine cache instance
+     */
+    @Bean
+    public Cache<Long, ContentResponseDTO> contentResponseCache(@Value("${content.response-cache.max-entries}") long maxEntries,
+                                                                @Value("${content.response-cache.time-to-live}") Duration timeToLive,
+                                                                MeterRegistry meterRegistry) {
+        Cache<Long, ContentResponseDTO> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CONTENT_RESPONSE_CACHE_NAME);
+
+        return cache;
+    }
+}
@@ -0,0 +1,61 @@
+package click.reelscout.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.TableStructure;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aligns the tables backing the pooled id generators with the rows already stored.
+ * <p>
+ * Entity ids are allocated in blocks from a generator instead of by the database on insert,
+ * which lets Hibernate batch inserts. MySQL has no sequences, so each generator is a one-row
+ * table holding the next id to hand out, created starting at 1 by the schema update.
+ * Rows inserted before the switch, or by an auto-increment column, may already use higher
+ * ids; before any insert, each generator is therefore moved past the highest id of its
+ * table. Generators are only ever moved forward, so running this on every startup is safe.
+ */
+@RequiredArgsConstructor
+@Component
+public class IdSequenceInitializer {
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves every table-backed id generator past the highest id stored in its entity's table.
+     */
+    @PostConstruct
+    public void alignWithExistingRows() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            // Subclasses share the generator and table of their root entity
+            if (!persister.getEntityName().equals(persister.getRootEntityName())
+                    || !(persister.getGenerator() instanceof SequenceStyleGenerator generator)
+                    || !(generator.getDatabaseStructure() instanceof TableStructure structure)
+                    || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                return;
+            }
+
+            String generatorTable = sessionFactory.getSqlStringGenerationContext().format(structure.getPhysicalName());
+
+            align(generatorTable, entityPersister.getRootTableName(), entityPersister.getIdentifierColumnNames()[0]);
+        });
+    }
+
+    private void align(String generatorTable, String entityTable, String idColumn) {
+        Long nextId = jdbcTemplate.queryForObject("select coalesce(max(" + idColumn + "), 0) + 1 from " + entityTable, Long.class);
+
+        String valueColumn = SequenceStyleGenerator.DEF_VALUE_COLUMN;
+        int updated = jdbcTemplate.update("update " + generatorTable + " set " + valueColumn + " = ? where " + valueColumn + " < ?", nextId, nextId);
+
+        if (updated == 0 && jdbcTemplate.queryForObject("select count(*) from " + generatorTable, Long.class) == 0) {
+            jdbcTemplate.update("insert into " + generatorTable + " (" + valueColumn + ") values (?)", nextId);
+        }
+    }
+}
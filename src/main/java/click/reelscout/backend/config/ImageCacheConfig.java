@@ -0,0 +1,51 @@
+package click.reelscout.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the in-memory cache placed in front of S3 image downloads.
+ */
+@Configuration
+public class ImageCacheConfig {
+    /** Name under which the cache metrics are published. */
+    public static final String IMAGE_CACHE_NAME = "s3.images";
+
+    /**
+     * Creates a size-bounded cache of Base64-encoded images keyed by S3 key.
+     * The cache is weighted by the encoded size of each entry so that the total number
+     * of resident bytes never exceeds the configured budget; eviction uses Caffeine's
+     * W-TinyLFU policy. Hit, miss and eviction counters as well as the resident size
+     * are registered with the given {@link MeterRegistry} and exposed through actuator.
+     *
+     * @param maxBytes      the maximum number of bytes the cache may hold
+     * @param meterRegistry the registry the cache metrics are bound to
+     * @return a configured Caffeine cache instance
+     */
+    @Bean
+    public Cache<String, String> imageCache(@Value("${s3.image-cache.max-bytes}") long maxBytes, MeterRegistry meterRegistry) {
+        Cache<String, String> cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, String base64) -> key.length() + base64.length())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, IMAGE_CACHE_NAME);
+
+        Gauge.builder("cache.resident.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", IMAGE_CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Number of bytes currently held by the cache")
+                .register(meterRegistry);
+
+        return cache;
+    }
+}
@@ -0,0 +1,41 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.repository.jpa.PendingBlobOperationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Configuration class for the background worker applying pending blob store operations.
+ */
+@EnableScheduling
+@Configuration
+public class PendingBlobOperationConfig {
+    /**
+     * Publishes the depth of the pending blob operation queue and the age of its oldest entry.
+     * Both values are read from the database whenever the metrics are scraped.
+     *
+     * @param repository the repository holding the pending operations
+     * @return the binder registering the gauges
+     */
+    @Bean
+    public MeterBinder pendingBlobOperationMetrics(PendingBlobOperationRepository repository) {
+        return registry -> {
+            Gauge.builder("blob.operations.pending", repository, PendingBlobOperationRepository::count)
+                    .description("Number of blob store operations waiting to be applied")
+                    .register(registry);
+
+            Gauge.builder("blob.operations.oldest.age", repository, r -> r.findOldestCreatedAt()
+                            .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis() / 1000.0)
+                            .orElse(0.0))
+                    .baseUnit("seconds")
+                    .description("Age of the oldest blob store operation waiting to be applied")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration class for the in-memory cache of serialized responses.
+ */
+@Configuration
+public class ResponseCacheConfig {
+    /** Name under which the cache metrics are published. */
+    public static final String RESPONSE_CACHE_NAME = "responses.serialized";
+
+    /**
+     * Creates a size-bounded cache of serialized responses keyed by resource.
+     * The cache is weighted by the size of the JSON and of its compressed form, so that the
+     * total number of resident bytes never exceeds the configured budget. The time-to-live
+     * bounds how long changes not made through this instance may go unnoticed.
+     * Hit, miss and eviction counters, the hit ratio and the resident size are registered
+     * with the given {@link MeterRegistry}.
+     *
+     * @param maxBytes      the maximum number of bytes the cache may hold
+     * @param timeToLive    how long a response is kept after being serialized
+     * @param meterRegistry the registry the cache metrics are bound to
+     * @return a configured Caffeine cache instance
+     */
+    @Bean
+    public Cache<String, SerializedResponse> responseCache(@Value("${response-cache.max-bytes}") long maxBytes,
+                                                           @Value("${response-cache.time-to-live}") Duration timeToLive,
+                                                           MeterRegistry meterRegistry) {
+        Cache<String, SerializedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, SerializedResponse response) -> key.length() + response.size())
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, RESPONSE_CACHE_NAME);
+
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", RESPONSE_CACHE_NAME)
+                .description("Share of lookups answered by the cache since startup")
+                .register(meterRegistry);
+
+        Gauge.builder("cache.resident.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .tag("cache", RESPONSE_CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Number of bytes currently held by the cache")
+                .register(meterRegistry);
+
+        return cache;
+    }
+}
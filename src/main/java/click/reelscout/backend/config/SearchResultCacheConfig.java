@@ -0,0 +1,55 @@
+package click.reelscout.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration class for the in-memory cache of search results.
+ */
+@Configuration
+public class SearchResultCacheConfig {
+    /** Name under which the cache metrics are published. */
+    public static final String SEARCH_RESULT_CACHE_NAME = "search.results";
+
+    /**
+     * Creates a size-bounded cache of the documents matching a query, keyed by index, document
+     * type and normalized query. Entries are never invalidated one by one: writes to an index
+     * move it to a new generation, part of every key, and the entries of older generations are
+     * left to the size bound and the time-to-live. The time-to-live also bounds how long changes
+     * not made through this instance, or not yet refreshed by Elasticsearch, may go unnoticed.
+     * Hit, miss and eviction counters and the hit ratio are registered with the given {@link MeterRegistry}.
+     *
+     * @param maxEntries    the maximum number of results the cache may hold
+     * @param timeToLive    how long a result is kept after being searched
+     * @param meterRegistry the registry the cache metrics are bound to
+     * @return a configured Caffeine cache instance
+     */
+    @Bean
+    public Cache<String, List<?>> searchResultCache(@Value("${search.result-cache.max-entries}") long maxEntries,
+                                                    @Value("${search.result-cache.time-to-live}") Duration timeToLive,
+                                                    MeterRegistry meterRegistry) {
+        Cache<String, List<?>> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, SEARCH_RESULT_CACHE_NAME);
+
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", SEARCH_RESULT_CACHE_NAME)
+                .description("Share of lookups answered by the cache since startup")
+                .register(meterRegistry);
+
+        return cache;
+    }
+}
@@ -0,0 +1,116 @@
+package click.reelscout.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configuration class for the Hibernate second-level and query caches.
+ * <p>
+ * Entities and collections annotated with {@link org.hibernate.annotations.Cache} are kept
+ * in Caffeine caches reached through JCache, one per region. Every region has to be listed
+ * under {@code jpa.second-level-cache.regions}: Hibernate refuses to start when an annotated
+ * region has no configured cache, so a region is never left unbounded by accident.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheConfig.SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+    /** Prefix of the names under which the region metrics are published. */
+    public static final String METRICS_PREFIX = "hibernate.";
+
+    /**
+     * Size and lifetime settings of the second-level cache regions.
+     *
+     * @param regions the settings of each region, keyed by region name
+     */
+    @ConfigurationProperties("jpa.second-level-cache")
+    public record SecondLevelCacheProperties(Map<String, Region> regions) {
+        /**
+         * @param maxEntries the maximum number of entries the region may hold
+         * @param timeToLive how long an entry is kept after being written
+         */
+        public record Region(long maxEntries, Duration timeToLive) {}
+    }
+
+    /**
+     * Creates one Caffeine cache per configured region, plus the timestamps region used to
+     * tell whether cached query results are stale. Hit, miss and eviction counters, the hit
+     * ratio and the size of each region are registered with the given {@link MeterRegistry}.
+     *
+     * @param properties    the region settings
+     * @param meterRegistry the registry the region metrics are bound to
+     * @return the cache manager handed to Hibernate
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        // The provider hands out one manager per URI; a URI of its own keeps the regions of
+        // several application contexts in the same JVM apart
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("reelscout:second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        properties.regions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxEntries()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.timeToLive().toNanos()));
+            configuration.setNativeStatisticsEnabled(true);
+
+            monitor(cacheManager.createCache(name, configuration), meterRegistry);
+        });
+
+        // Must outlive every cached query result, otherwise stale results could be served
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setNativeStatisticsEnabled(true);
+        monitor(cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps), meterRegistry);
+
+        return cacheManager;
+    }
+
+    /**
+     * Enables the second-level and query caches on top of the given cache manager.
+     *
+     * @param secondLevelCacheManager the cache manager holding the configured regions
+     * @return a customizer adding the cache settings to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(CacheSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(CacheSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(CacheSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void monitor(javax.cache.Cache<Object, Object> region, MeterRegistry meterRegistry) {
+        Cache<Object, Object> cache = region.unwrap(Cache.class);
+        String name = METRICS_PREFIX + region.getName();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", name)
+                .description("Share of lookups answered by the cache since startup")
+                .register(meterRegistry);
+    }
+}
@@ -1,14 +1,17 @@
 package click.reelscout.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Configuration class for setting up a ThreadPoolExecutor bean.
+ * Configuration class for setting up the ThreadPoolExecutor beans.
  */
 @Configuration
 public class ThreadPoolConfig {
@@ -16,9 +19,11 @@ public class ThreadPoolConfig {
      * Creates and configures a ThreadPoolExecutor bean.
      * Used for managing asynchronous tasks in the application.
      * Example use case: handling search requests concurrently.
+     * This is the default executor injected wherever no other one is requested explicitly.
      *
      * @return a configured ThreadPoolExecutor instance
      */
+    @Primary
     @Bean
     public ThreadPoolExecutor threadPoolExecutor() {
         return new ThreadPoolExecutor(
@@ -30,4 +35,62 @@ public class ThreadPoolConfig {
                 new ThreadPoolExecutor.CallerRunsPolicy()
         );
     }
+
+    /**
+     * Creates the ThreadPoolExecutor that generates image variants in the background.
+     * Both the pool and its queue are bounded; tasks that do not fit are rejected instead of
+     * being run by the uploading thread, and the missing variants are generated on first read.
+     *
+     * @param poolSize      the number of worker threads
+     * @param queueCapacity the number of pending tasks that can be queued
+     * @return a configured ThreadPoolExecutor instance
+     */
+    @Bean
+    public ThreadPoolExecutor imageProcessingExecutor(@Value("${s3.image-variants.pool-size}") int poolSize,
+                                                      @Value("${s3.image-variants.queue-capacity}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Creates the ThreadPoolExecutor that sends the uploads of a batch of pending blob
+     * operations concurrently. Only the single thread applying operations submits to it,
+     * at most one batch at a time, so its queue never holds more than a batch.
+     *
+     * @param concurrency the number of uploads sent at the same time
+     * @return a configured ThreadPoolExecutor instance
+     */
+    @Bean
+    public ThreadPoolExecutor blobUploadExecutor(@Value("${s3.pending-operations.upload-concurrency}") int concurrency) {
+        return new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>()
+        );
+    }
+
+    /**
+     * Creates the ThreadPoolExecutor that rebuilds the search indices in the background.
+     * A single rebuild runs at a time, so a single thread is enough.
+     *
+     * @return a configured ThreadPoolExecutor instance
+     */
+    @Bean
+    public ThreadPoolExecutor reindexExecutor() {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>()
+        );
+    }
 }
@@ -1,12 +1,20 @@
 package click.reelscout.backend.config;
 
+import click.reelscout.backend.websocket.CborStompInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.List;
+
 /**
  * WebSocket configuration class that sets up STOMP endpoints and message broker.
  */
@@ -14,6 +22,8 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private final ObjectMapper objectMapper;
+    private final CborStompInterceptor cborStompInterceptor;
 
     /**
      * Configure message broker with application destination prefixes and user destination prefix.
@@ -39,4 +49,26 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    /**
+     * Read the payloads of frames sent with {@code content-type:application/cbor}, next to the default JSON ones.
+     * Messages without that content type are still written in JSON.
+     */
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        MappingJackson2MessageConverter cborConverter = new MappingJackson2MessageConverter(MediaType.APPLICATION_CBOR);
+        cborConverter.setObjectMapper(CborConfig.cborMapper(objectMapper));
+        cborConverter.setStrictContentTypeMatch(true);
+        messageConverters.add(cborConverter);
+
+        return true;
+    }
+
+    /**
+     * Convert the messages sent to clients that asked for CBOR.
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(cborStompInterceptor);
+    }
 }
@@ -0,0 +1,76 @@
+package click.reelscout.backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GET requests from a tag identifying the state a response represents.
+ * <p>
+ * The tag is computed from entity versions, so whether the client already holds the current
+ * representation is known before anything is loaded from S3 or serialized.
+ */
+final class ConditionalResponses {
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Build the response to a GET request whose representation is identified by the given tag.
+     * The body is written as JSON, or as CBOR when the client prefers it.
+     *
+     * @param request the current request, whose {@code If-None-Match} header is compared with the tag
+     * @param tag     the tag of the current representation; it must change whenever the body would
+     * @param body    builds the body; only called when the client does not hold the representation yet
+     * @return 304 Not Modified without a body if the request matches the tag, 200 OK with the body otherwise,
+     *         both carrying the tag, suffixed with the format unless it is JSON, as strong {@code ETag}
+     * @param <T> the type of the body
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String tag, Supplier<T> body) {
+        MediaType mediaType = WireFormats.negotiate(request, MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+        // Both formats are different representations, which must not share a tag
+        String formatTag = mediaType.equals(MediaType.APPLICATION_JSON) ? tag : tag + "-" + mediaType.getSubtype();
+
+        // The preset content type is the one the message converters write
+        return ifNoneMatchThen(request, formatTag, builder -> builder.contentType(mediaType).varyBy(HttpHeaders.ACCEPT).body(body.get()));
+    }
+
+    /**
+     * Build the response to a GET request whose representation is identified by the given tag,
+     * letting the caller complete the 200 OK response, for instance with its content type.
+     *
+     * @param request  the current request, whose {@code If-None-Match} header is compared with the tag
+     * @param tag      the tag of the current representation; it must change whenever the body would
+     * @param response completes the 200 OK builder, which already carries the tag; only called
+     *                 when the client does not hold the representation yet
+     * @return 304 Not Modified without a body if the request matches the tag, the completed response otherwise
+     * @param <T> the type of the body
+     */
+    static <T> ResponseEntity<T> ifNoneMatchThen(WebRequest request, String tag, Function<ResponseEntity.BodyBuilder, ResponseEntity<T>> response) {
+        String eTag = '"' + tag + '"';
+
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return response.apply(ResponseEntity.ok().eTag(eTag));
+    }
+
+    private static boolean matches(String[] ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        // If-None-Match uses the weak comparison, which ignores the W/ prefix
+        return Arrays.stream(ifNoneMatch)
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .map(candidate -> candidate.startsWith("W/") ? candidate.substring(2) : candidate)
+                .anyMatch(candidate -> candidate.equals("*") || candidate.equals(eTag));
+    }
+}
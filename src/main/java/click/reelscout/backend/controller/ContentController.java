@@ -1,12 +1,23 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentPageResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.s3.ImageMode;
 import click.reelscout.backend.service.definition.ContentService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,35 +28,136 @@ import java.util.List;
 @RestController
 @RequestMapping("${api.paths.content}")
 public class ContentController {
+    /** Largest page the catalog returns, whatever size is requested. */
+    public static final int MAX_CATALOG_PAGE_SIZE = 100;
+
+    /** Largest number of ids a single multi-get may ask for. */
+    public static final int MAX_IDS_PER_REQUEST = 100;
+
     private final ContentService contentService;
+    private final ResponseCacheService responseCacheService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all available content as a list of {@link ContentResponseDTO}.
+     * Retrieves all available content as a list of {@link ContentResponseDTO}, streamed as a JSON
+     * array, or as newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+     * Answers 304 Not Modified, without loading any content, when the {@code If-None-Match}
+     * header carries the {@code ETag} of the current catalog.
      *
-     * @return a {@link ResponseEntity} containing the list of content
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return for each content, or absent for all of them
+     * @param request   the current request
+     * @return a {@link ResponseEntity} streaming the list of content
      */
     @GetMapping("/all")
-    public ResponseEntity<List<ContentResponseDTO>> all() {
-        return ResponseEntity.ok(contentService.getAll());
+    public ResponseEntity<StreamingResponseBody> all(@RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                     @RequestParam(name = "fields", required = false) String fields,
+                                                     WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        // Both formats and every selection are different representations, which must not share a tag
+        String tag = "content-all-" + imageMode + "-" + selection.tag() + "-" + StreamingResponses.mediaType(request).getSubtype() + "-" + contentService.getAllVersion();
+
+        return ConditionalResponses.ifNoneMatchThen(request, tag, builder -> StreamingResponses.ok(builder, request, objectMapper,
+                action -> contentService.streamAll(imageMode, selection, content -> action.accept(SparseFields.select(objectMapper, selection, content)))));
+    }
+
+    /**
+     * Retrieves a single content, as a serialized {@link ContentResponseDTO}.
+     * The serialized response is cached until the content is updated or deleted, unless its image
+     * could not be loaded; responses restricted to some properties are serialized on each request instead.
+     *
+     * @param id        the id of the content
+     * @param imageMode whether the image is embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return, or absent for all of them
+     * @param request   the current request
+     * @return a {@link ResponseEntity} containing the content
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<byte[]> byId(@PathVariable Long id,
+                                       @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                       @RequestParam(name = "fields", required = false) String fields,
+                                       WebRequest request) throws JsonProcessingException {
+        FieldSelection selection = FieldSelection.parse(fields);
+
+        if (selection.isAll()) {
+            // An inline image still being uploaded, or not loaded in time, would stay missing for as long as the entry lives
+            return SerializedResponses.ok(request, responseCacheService.get(ResponseCacheService.contentKey(id, imageMode),
+                    () -> contentService.getById(id, imageMode),
+                    content -> !imageMode.isInline() || content.getImageKey() == null || content.getBase64Image() != null));
+        }
+
+        Object content = SparseFields.select(objectMapper, selection, contentService.getById(id, selection.imageMode(imageMode)));
+
+        return SerializedResponses.ok(request, new ResponseCacheService.SerializedResponse(objectMapper.writeValueAsBytes(content), null));
+    }
+
+    /**
+     * Retrieves the contents with the given ids, in the order they are requested.
+     * Ids of missing contents are skipped.
+     *
+     * @param ids       the ids of the contents, at most {@value #MAX_IDS_PER_REQUEST}
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return for each content, or absent for all of them
+     * @return a {@link ResponseEntity} containing the list of content
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> byIds(@RequestParam(name = "ids") List<Long> ids,
+                                        @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                        @RequestParam(name = "fields", required = false) String fields) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new DataValidationException("At most " + MAX_IDS_PER_REQUEST + " ids can be requested at once");
+        }
+
+        FieldSelection selection = FieldSelection.parse(fields);
+
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, contentService.getAllById(ids, selection.imageMode(imageMode))));
+    }
+
+    /**
+     * Retrieves one page of the content catalog, newest first.
+     * Pages are addressed by cursor, so their cost does not grow with the depth of the page.
+     *
+     * @param cursor      the {@code nextCursor} of the previous page, or absent for the first page
+     * @param size        the number of entries per page (default is 20, clamped between 1 and {@value #MAX_CATALOG_PAGE_SIZE})
+     * @param genre       the genre to filter by, or absent for all genres
+     * @param contentType the content type to filter by, or absent for all types
+     * @param imageMode   whether images are embedded inline (default) or returned by reference
+     * @param fields      the comma-separated properties to return for each content, or absent for all of them
+     * @return a {@link ResponseEntity} containing the page of content
+     */
+    @GetMapping("/catalog")
+    public ResponseEntity<Object> catalog(@RequestParam(name = "cursor", required = false) Long cursor,
+                                          @RequestParam(name = "size", defaultValue = "20") int size,
+                                          @RequestParam(name = "genre", required = false) String genre,
+                                          @RequestParam(name = "type", required = false) String contentType,
+                                          @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                          @RequestParam(name = "fields", required = false) String fields) {
+        int pageSize = Math.clamp(size, 1, MAX_CATALOG_PAGE_SIZE);
+        FieldSelection selection = FieldSelection.parse(fields);
+        ContentPageResponseDTO page = contentService.getCatalog(cursor, pageSize, genre, contentType, imageMode, selection);
+
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, page, "content"));
     }
 
     /**
-     * Retrieves the list of available content types.
+     * Retrieves the list of available content types, serialized.
      *
+     * @param request the current request
      * @return a {@link ResponseEntity} containing the list of content types
      */
     @GetMapping("/content-types")
-    public ResponseEntity<List<String>> contentTypes() {
-        return ResponseEntity.ok(contentService.getContentTypes());
+    public ResponseEntity<byte[]> contentTypes(WebRequest request) {
+        return SerializedResponses.ok(request, responseCacheService.get(ResponseCacheService.contentTypesKey(), contentService::getContentTypes));
     }
 
     /**
-     * Retrieves the list of available genres.
+     * Retrieves the list of available genres, serialized.
      *
+     * @param request the current request
      * @return a {@link ResponseEntity} containing the list of genres
      */
     @GetMapping("/genres")
-    public ResponseEntity<List<String>> genres() {
-        return ResponseEntity.ok(contentService.getGenres());
+    public ResponseEntity<byte[]> genres(WebRequest request) {
+        return SerializedResponses.ok(request, responseCacheService.get(ResponseCacheService.genresKey(), contentService::getGenres));
     }
 }
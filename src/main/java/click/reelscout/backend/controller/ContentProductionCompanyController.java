@@ -1,19 +1,29 @@
 package click.reelscout.backend.controller;
 
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.response.analytics.ContentTableRowDTO;
+import click.reelscout.backend.dto.response.ContentImportResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.model.jpa.ProductionCompany;
+import click.reelscout.backend.s3.ImageMode;
 import click.reelscout.backend.service.definition.ContentService;
 import click.reelscout.backend.service.definition.AnalyticsService;
+import click.reelscout.backend.service.definition.ContentImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -28,6 +38,8 @@ import java.util.List;
 public class ContentProductionCompanyController {
     private final ContentService contentService;
     private final AnalyticsService analyticsService;
+    private final ContentImportService contentImportService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates new content.
@@ -41,6 +53,20 @@ public class ContentProductionCompanyController {
         return ResponseEntity.ok(contentService.create(authenticatedProduction, contentRequestDTO));
     }
 
+    /**
+     * Imports many contents at once from newline-delimited JSON, one content per line shaped
+     * like the body of {@link #addContent}. The body is read as a stream and the contents are
+     * created in chunks, so back-catalogs of thousands of titles fit in one request.
+     *
+     * @param authenticatedProduction the authenticated production company
+     * @param ndjson the request body
+     * @return the response containing the per-line report of the import
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ContentImportResponseDTO> importContents(@AuthenticationPrincipal ProductionCompany authenticatedProduction, InputStream ndjson) {
+        return ResponseEntity.ok(contentImportService.importContents(authenticatedProduction, ndjson));
+    }
+
     /**
      * Updates an existing content.
      *
@@ -55,14 +81,37 @@ public class ContentProductionCompanyController {
     }
 
     /**
-     * Retrieves all contents associated with the authenticated production company.
+     * Updates an existing content, receiving the image as a raw file in a multipart/form-data request.
+     * The image is streamed to storage instead of being sent Base64-encoded inside the JSON payload.
      *
      * @param authenticatedProduction the authenticated production company
-     * @return the response containing a list of contents
+     * @param id the content id
+     * @param contentRequestDTO the new content data, sent as the JSON part named {@code content}
+     * @param image the new image, sent as the file part named {@code image}
+     * @return the response containing the updated content
+     */
+    @PutMapping(value = "/update/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ContentResponseDTO> updateContent(@AuthenticationPrincipal ProductionCompany authenticatedProduction, @PathVariable Long id, @Valid @RequestPart("content") ContentRequestDTO contentRequestDTO, @RequestPart(name = "image", required = false) MultipartFile image) {
+        return ResponseEntity.ok(contentService.update(authenticatedProduction, id, contentRequestDTO, image));
+    }
+
+    /**
+     * Retrieves all contents associated with the authenticated production company, streamed as a
+     * JSON array, or as newline-delimited JSON when the client accepts {@code application/x-ndjson}.
+     *
+     * @param authenticatedProduction the authenticated production company
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields the comma-separated properties to return for each content, or absent for all of them
+     * @param request the current request
+     * @return the response streaming the list of contents
      */
     @GetMapping("/my-contents")
-    public ResponseEntity<List<ContentResponseDTO>> getMyContents(@AuthenticationPrincipal ProductionCompany authenticatedProduction) {
-        return ResponseEntity.ok(contentService.getByProductionCompany(authenticatedProduction));
+    public ResponseEntity<StreamingResponseBody> getMyContents(@AuthenticationPrincipal ProductionCompany authenticatedProduction, @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                               @RequestParam(name = "fields", required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields);
+
+        return StreamingResponses.ok(request, objectMapper,
+                action -> contentService.streamByProductionCompany(authenticatedProduction, imageMode, selection, content -> action.accept(SparseFields.select(objectMapper, selection, content))));
     }
 
     /**
@@ -0,0 +1,66 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.s3.ImageVariant;
+import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.s3.StoredFile;
+import click.reelscout.backend.service.definition.ImageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * REST controller streaming stored images by key.
+ * <p>
+ * Used by clients that request DTOs with {@link click.reelscout.backend.s3.ImageMode#REFERENCE}
+ * to lazy-load and cache images instead of receiving them inlined as Base64.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("${api.paths.image}")
+public class ImageController {
+    private final S3Service s3Service;
+
+    /**
+     * Streams the image stored under the given key.
+     * Answers with 304 (Not Modified) when the client already holds the current version.
+     * Content-addressed images never change, so clients may cache them indefinitely.
+     *
+     * @param key         the key of the image (e.g. {@code content/<uuid>})
+     * @param variant     the size of the image to be returned, the original upload by default
+     * @param ifNoneMatch the ETag previously received by the client, if any
+     * @return a {@link ResponseEntity} containing the image content
+     */
+    @GetMapping("/{*key}")
+    public ResponseEntity<Resource> getImage(@PathVariable String key, @RequestParam(name = "variant", defaultValue = "ORIGINAL") ImageVariant variant, @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        String imageKey = key.startsWith("/") ? key.substring(1) : key;
+        StoredFile file = s3Service.openFile(imageKey, variant);
+        CacheControl cacheControl = imageKey.startsWith(ImageService.KEY_PREFIX)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+
+        if (file.eTag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(file.eTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(file.eTag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .contentLength(file.contentLength())
+                .body(file.content());
+    }
+}
@@ -1,12 +1,21 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO;
+import click.reelscout.backend.dto.response.SearchPageResponseDTO;
 import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.SuggestResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.service.definition.SearchService;
-import jakarta.persistence.Cacheable;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,34 +24,147 @@ import java.util.List;
 
 /**
  * Controller for managing search operations.
- * Provides endpoints to search for general content and members.
+ * Provides endpoints to search for general content and members, to suggest them while typing,
+ * and to rebuild the search indices.
  */
 @RequiredArgsConstructor
-@Cacheable
 @RequestMapping("${api.paths.search}")
 @RestController
 public class SearchController<S extends UserResponseDTO> {
+    /** Largest page a paginated search returns, whatever size is requested. */
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final SearchService<S> searchService;
+    private final SearchIndexService searchIndexService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Searches for content based on the provided query.
      *
      * @param query the search term
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields the comma-separated properties to return for each user and content, or absent for all of them
      * @return a ResponseEntity containing the search results wrapped in a SearchResponseDTO
      */
     @GetMapping
-    public ResponseEntity<SearchResponseDTO<S>> search(@RequestParam String query) {
-        return ResponseEntity.ok(searchService.search(query));
+    public ResponseEntity<Object> search(@RequestParam String query, @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                         @RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        SearchResponseDTO<S> results = searchService.search(query, selection.imageMode(imageMode));
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, results, "users", "contents"));
     }
 
     /**
      * Searches for members based on the provided query.
      *
      * @param query the search term for member names or attributes
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields the comma-separated properties to return for each member, or absent for all of them
      * @return a ResponseEntity containing a list of members matching the query
      */
     @GetMapping("/members")
-    public ResponseEntity<List<S>> searchMembers(@RequestParam String query) {
-        return ResponseEntity.ok(searchService.searchMembers(query));
+    public ResponseEntity<Object> searchMembers(@RequestParam String query, @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                @RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        List<S> members = searchService.searchMembers(query, selection.imageMode(imageMode));
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, members));
+    }
+
+    /**
+     * Searches for content one page at a time, following the {@code nextCursor} of the previous page.
+     *
+     * @param query     the search term
+     * @param cursor    the {@code nextCursor} of the previous page, or absent for the first page
+     * @param size      the number of results per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return for each content, or absent for all of them
+     * @return a ResponseEntity containing the page of content
+     */
+    @GetMapping("/page/contents")
+    public ResponseEntity<Object> searchContentPage(@RequestParam String query,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @RequestParam(name = "size", defaultValue = "20") int size,
+                                                    @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                    @RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        SearchPageResponseDTO<ContentResponseDTO> page = searchService.searchContentPage(query, cursor, Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE), selection.imageMode(imageMode));
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, page, "results"));
+    }
+
+    /**
+     * Searches for users one page at a time, following the {@code nextCursor} of the previous page.
+     *
+     * @param query     the search term
+     * @param cursor    the {@code nextCursor} of the previous page, or absent for the first page
+     * @param size      the number of results per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return for each user, or absent for all of them
+     * @return a ResponseEntity containing the page of users
+     */
+    @GetMapping("/page/users")
+    public ResponseEntity<Object> searchUsersPage(@RequestParam String query,
+                                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                                  @RequestParam(name = "size", defaultValue = "20") int size,
+                                                  @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                  @RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        SearchPageResponseDTO<S> page = searchService.searchUsersPage(query, cursor, Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE), selection.imageMode(imageMode));
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, page, "results"));
+    }
+
+    /**
+     * Searches for members one page at a time, following the {@code nextCursor} of the previous page.
+     *
+     * @param query     the search term for member names or attributes
+     * @param cursor    the {@code nextCursor} of the previous page, or absent for the first page
+     * @param size      the number of results per page, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @param imageMode whether images are embedded inline (default) or returned by reference
+     * @param fields    the comma-separated properties to return for each member, or absent for all of them
+     * @return a ResponseEntity containing the page of members
+     */
+    @GetMapping("/page/members")
+    public ResponseEntity<Object> searchMembersPage(@RequestParam String query,
+                                                    @RequestParam(name = "cursor", required = false) String cursor,
+                                                    @RequestParam(name = "size", defaultValue = "20") int size,
+                                                    @RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                    @RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        SearchPageResponseDTO<S> page = searchService.searchMembersPage(query, cursor, Math.clamp(size, 1, MAX_SEARCH_PAGE_SIZE), selection.imageMode(imageMode));
+        return ResponseEntity.ok(SparseFields.select(objectMapper, selection, page, "results"));
+    }
+
+    /**
+     * Suggests users and contents while the query is being typed.
+     *
+     * @param query the text typed so far
+     * @return a ResponseEntity containing the ids, display names and image keys of the best matches
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestResponseDTO> suggest(@RequestParam String query) {
+        return ResponseEntity.ok(searchService.suggest(query));
+    }
+
+    /**
+     * Starts rebuilding the search indices from the database, while searches keep being answered.
+     * <p>Authorization: Requires an administrator (<code>@PreAuthorize("hasRole(T(click.reelscout.backend.model.jpa.Role).ADMIN)")</code>).
+     *
+     * @return a ResponseEntity with status 202 containing the status of the rebuild just started
+     */
+    @PreAuthorize("hasRole(T(click.reelscout.backend.model.jpa.Role).ADMIN)")
+    @PostMapping("/reindex")
+    public ResponseEntity<ReindexStatusDTO> reindex() {
+        return ResponseEntity.accepted().body(searchIndexService.reindex());
+    }
+
+    /**
+     * Retrieves the status of the latest rebuild of the search indices, with its progress and throughput.
+     * <p>Authorization: Requires an administrator (<code>@PreAuthorize("hasRole(T(click.reelscout.backend.model.jpa.Role).ADMIN)")</code>).
+     *
+     * @return a ResponseEntity containing the status of the rebuild
+     */
+    @PreAuthorize("hasRole(T(click.reelscout.backend.model.jpa.Role).ADMIN)")
+    @GetMapping("/reindex")
+    public ResponseEntity<ReindexStatusDTO> getReindexStatus() {
+        return ResponseEntity.ok(searchIndexService.getReindexStatus());
     }
 }
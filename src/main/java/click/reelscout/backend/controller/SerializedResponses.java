@@ -0,0 +1,67 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.cbor.CborTranscoder;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+
+/**
+ * Writes responses that are already serialized, without going through Jackson again.
+ */
+final class SerializedResponses {
+    private SerializedResponses() {
+    }
+
+    /**
+     * Build a 200 OK response carrying the given serialized JSON.
+     * The compressed form is sent when it exists and the client accepts gzip. Clients preferring
+     * CBOR get the JSON converted to CBOR, which is cheaper than serializing the body again.
+     *
+     * @param request  the current request, whose {@code Accept} and {@code Accept-Encoding} headers are inspected
+     * @param response the serialized response
+     * @return the response, written to the client as is
+     */
+    static ResponseEntity<byte[]> ok(WebRequest request, SerializedResponse response) {
+        MediaType mediaType = WireFormats.negotiate(request, MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(mediaType).varyBy(HttpHeaders.ACCEPT);
+
+        if (mediaType.equals(MediaType.APPLICATION_CBOR)) {
+            return builder.body(CborTranscoder.transcode(response.json()));
+        }
+
+        if (response.gzip() == null) {
+            return builder.body(response.json());
+        }
+
+        // The body now also depends on the Accept-Encoding header, which shared caches must take into account
+        builder.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(request.getHeaderValues(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzip());
+        }
+
+        return builder.body(response.json());
+    }
+
+    private static boolean acceptsGzip(String[] acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        return Arrays.stream(acceptEncoding)
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(coding -> coding.trim().split(";"))
+                .anyMatch(coding -> coding[0].trim().equalsIgnoreCase("gzip") && !rejected(coding));
+    }
+
+    /** Whether the parameters of a content coding carry {@code q=0}, which excludes it. */
+    private static boolean rejected(String[] coding) {
+        return Arrays.stream(coding).skip(1)
+                .map(String::trim)
+                .anyMatch(parameter -> parameter.matches("q=0(\\.0{0,3})?"));
+    }
+}
@@ -0,0 +1,51 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.dto.request.FieldSelection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Removes the properties a client did not ask for from response bodies.
+ */
+final class SparseFields {
+    private SparseFields() {
+    }
+
+    /**
+     * Keep only the selected properties of the entries of a body.
+     *
+     * @param objectMapper the mapper converting the body to a tree
+     * @param fields       the selected properties
+     * @param body         an entry, or a list of entries
+     * @param entryLists   the properties of the body holding the lists of entries; when none is given,
+     *                     the body itself is an entry or a list of entries
+     * @return the body itself when every property is selected, its trimmed tree otherwise
+     */
+    static Object select(ObjectMapper objectMapper, FieldSelection fields, Object body, String... entryLists) {
+        if (fields.isAll() || body == null) {
+            return body;
+        }
+
+        JsonNode tree = objectMapper.valueToTree(body);
+
+        if (entryLists.length == 0) {
+            retain(tree, fields);
+        }
+
+        for (String entryList : entryLists) {
+            retain(tree.get(entryList), fields);
+        }
+
+        return tree;
+    }
+
+    private static void retain(JsonNode node, FieldSelection fields) {
+        if (node instanceof ObjectNode entry) {
+            entry.retain(fields.names());
+        } else if (node instanceof ArrayNode entries) {
+            entries.forEach(item -> retain(item, fields));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package click.reelscout.backend.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes list responses item by item, as the items are produced, instead of building the whole list first.
+ * <p>
+ * Items are written as a JSON array, as newline-delimited JSON when the client accepts
+ * {@code application/x-ndjson}, or as a CBOR array when it accepts {@code application/cbor},
+ * so the memory used by a request does not depend on the number of items.
+ */
+final class StreamingResponses {
+    private static final CBORFactory CBOR = new CBORFactory();
+
+    private StreamingResponses() {
+    }
+
+    /**
+     * Choose the format of a streamed list from the {@code Accept} header of the request.
+     *
+     * @param request the current request
+     * @return {@link MediaType#APPLICATION_NDJSON} or {@link MediaType#APPLICATION_CBOR} if the client
+     *         prefers it, {@link MediaType#APPLICATION_JSON} otherwise
+     */
+    static MediaType mediaType(WebRequest request) {
+        return WireFormats.negotiate(request, MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Build a 200 OK response streaming the items handed out by a producer.
+     *
+     * @param request      the current request, whose {@code Accept} header selects the format
+     * @param objectMapper the mapper serializing each item
+     * @param items        called once the response is being written, with the action writing each item
+     * @return the response, whose body is written after the handler returns
+     * @param <T> the type of the items
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ok(WebRequest request, ObjectMapper objectMapper, Consumer<Consumer<T>> items) {
+        return ok(ResponseEntity.ok(), request, objectMapper, items);
+    }
+
+    /**
+     * Complete a response builder with a body streaming the items handed out by a producer.
+     *
+     * @param builder      the builder of the response, to which the content type is added
+     * @param request      the current request, whose {@code Accept} header selects the format
+     * @param objectMapper the mapper serializing each item
+     * @param items        called once the response is being written, with the action writing each item
+     * @return the response, whose body is written after the handler returns
+     * @param <T> the type of the items
+     */
+    static <T> ResponseEntity<StreamingResponseBody> ok(ResponseEntity.BodyBuilder builder, WebRequest request, ObjectMapper objectMapper, Consumer<Consumer<T>> items) {
+        MediaType mediaType = mediaType(request);
+
+        return builder
+                .contentType(mediaType)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(outputStream -> write(outputStream, objectMapper, mediaType, items));
+    }
+
+    private static <T> void write(OutputStream outputStream, ObjectMapper objectMapper, MediaType mediaType, Consumer<Consumer<T>> items) throws IOException {
+        boolean ndjson = mediaType.equals(MediaType.APPLICATION_NDJSON);
+        // Items are left in the output buffer, which is sent whenever it fills up, rather than flushed one by one
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        // The serializers do not depend on the format, so the JSON mapper also writes through a CBOR generator
+        try (JsonGenerator generator = mediaType.equals(MediaType.APPLICATION_CBOR)
+                ? CBOR.createGenerator(outputStream)
+                : objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+
+            items.accept(item -> {
+                try {
+                    writer.writeValue(generator, item);
+
+                    if (ndjson) {
+                        generator.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    // Usually the client going away, which also stops the producer
+                    throw new UncheckedIOException("Failed to write streamed response", e);
+                }
+            });
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
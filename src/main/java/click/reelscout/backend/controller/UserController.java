@@ -1,5 +1,6 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.UserPasswordChangeRequestDTO;
 import click.reelscout.backend.dto.request.UserRequestDTO;
 import click.reelscout.backend.dto.request.SuspendUserRequestDTO;
@@ -8,14 +9,22 @@ import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.UserLoginResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.model.jpa.User;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.service.definition.ResponseCacheService;
 import click.reelscout.backend.service.definition.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 import click.reelscout.backend.validation.Update;
 
 import java.util.List;
@@ -36,41 +45,66 @@ import java.util.List;
 @RestController
 public class UserController <U extends User, R extends UserRequestDTO, S extends UserResponseDTO> {
     private final UserService<U,R,S> userService;
+    private final ResponseCacheService responseCacheService;
+    private final ObjectMapper objectMapper;
 
     /**
-     * Retrieves all users.
+     * Retrieves all users, streamed as a JSON array, or as newline-delimited JSON when the client
+     * accepts <code>application/x-ndjson</code>.
      * <p>Authorization: No specific authorization required.</p>
-     * @return a ResponseEntity containing a list of user response DTOs.
+     * @param imageMode whether images are embedded inline (default) or returned by reference.
+     * @param fields the comma-separated properties to return for each user, or absent for all of them.
+     * @param request the current request.
+     * @return a ResponseEntity streaming the list of user response DTOs.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<S>> getAll() {
-        List<S> users = userService.getAll();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<StreamingResponseBody> getAll(@RequestParam(name = "images", defaultValue = "INLINE") ImageMode imageMode,
+                                                        @RequestParam(name = "fields", required = false) String fields,
+                                                        WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields);
+
+        return StreamingResponses.ok(request, objectMapper,
+                action -> userService.streamAll(selection.imageMode(imageMode), user -> action.accept(SparseFields.select(objectMapper, selection, user))));
     }
 
     /**
      * Retrieves the details of the current authenticated user.
      * <p>Authorization: Requires an authenticated user (<code>@PreAuthorize("isAuthenticated()")</code>).
+     * Answers 304 Not Modified when the <code>If-None-Match</code> header carries the <code>ETag</code> of the current profile.
      * @param authenticatedUser the currently authenticated user.
+     * @param request the current request.
      * @return a ResponseEntity containing the user response DTO.
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/me")
-    public ResponseEntity<S> getCurrentUser(@AuthenticationPrincipal U authenticatedUser) {
-        S userResponseDTO = userService.getCurrentUserDto(authenticatedUser);
-        return ResponseEntity.ok(userResponseDTO);
+    public ResponseEntity<S> getCurrentUser(@AuthenticationPrincipal U authenticatedUser, WebRequest request) {
+        String tag = "user-" + authenticatedUser.getId() + "-" + userService.getCurrentUserVersion(authenticatedUser);
+        return ConditionalResponses.ifNoneMatch(request, tag, () -> userService.getCurrentUserDto(authenticatedUser));
     }
 
     /**
-     * Retrieves user details by user ID.
+     * Retrieves user details by user ID, such as the profile of a production company.
+     * The serialized response is cached until the user updates their profile, unless their image
+     * could not be loaded; responses restricted to some properties are serialized on each request instead.
      * <p>Authorization: No specific authorization required.</p>
      * @param id the user's ID.
-     * @return a ResponseEntity containing the user response DTO.
+     * @param fields the comma-separated properties to return, or absent for all of them.
+     * @param request the current request.
+     * @return a ResponseEntity containing the serialized user response DTO.
      */
     @GetMapping("/id/{id}")
-    public ResponseEntity<S> getById(@PathVariable Long id) {
-        S userResponseDTO = userService.getById(id);
-        return ResponseEntity.ok(userResponseDTO);
+    public ResponseEntity<byte[]> getById(@PathVariable Long id, @RequestParam(name = "fields", required = false) String fields, WebRequest request) throws JsonProcessingException {
+        FieldSelection selection = FieldSelection.parse(fields);
+
+        if (selection.isAll()) {
+            // An image still being uploaded, or not loaded in time, would stay missing for as long as the entry lives
+            return SerializedResponses.ok(request, responseCacheService.get(ResponseCacheService.userKey(id), () -> userService.getById(id),
+                    user -> user.getImageKey() == null || user.getBase64Image() != null));
+        }
+
+        Object user = SparseFields.select(objectMapper, selection, userService.getById(id));
+
+        return SerializedResponses.ok(request, new ResponseCacheService.SerializedResponse(objectMapper.writeValueAsBytes(user), null));
     }
 
     /**
@@ -99,6 +133,22 @@ public class UserController <U extends User, R extends UserRequestDTO, S extends
         return ResponseEntity.ok(userResponseDTO);
     }
 
+    /**
+     * Updates the authenticated user's information, receiving the profile image as a raw file
+     * in a multipart/form-data request instead of Base64 inside the JSON payload.
+     * <p>Authorization: Requires an authenticated user (<code>@PreAuthorize("isAuthenticated()")</code>).
+     * @param authenticatedUser the currently authenticated user.
+     * @param userRequestDTO the DTO containing update details, sent as the JSON part named <code>user</code>.
+     * @param image the new profile image, sent as the file part named <code>image</code>.
+     * @return a ResponseEntity containing the user login response DTO.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping(value = "/update", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserLoginResponseDTO> update(@AuthenticationPrincipal U authenticatedUser, @Validated(Update.class) @RequestPart("user") R userRequestDTO, @RequestPart(name = "image", required = false) MultipartFile image) {
+        UserLoginResponseDTO userResponseDTO = userService.update(authenticatedUser, userRequestDTO, image);
+        return ResponseEntity.ok(userResponseDTO);
+    }
+
     /**
      * Changes the password for the authenticated user.
      * <p>Authorization: Requires an authenticated user (<code>@PreAuthorize("isAuthenticated()")</code>).
@@ -1,15 +1,19 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.WatchlistRequestDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.WatchlistResponseDTO;
 import click.reelscout.backend.model.jpa.Member;
+import click.reelscout.backend.service.definition.ResponseCacheService;
 import click.reelscout.backend.service.definition.WatchlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,6 +27,8 @@ import java.util.List;
 @RequestMapping("${api.paths.watchlist}")
 public class WatchlistController {
     private final WatchlistService watchlistService;
+    private final ResponseCacheService responseCacheService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Adds a new watchlist for the authenticated member.
@@ -63,13 +69,16 @@ public class WatchlistController {
 
     /**
      * Retrieves all watchlists for the authenticated member.
+     * Answers 304 Not Modified when the {@code If-None-Match} header carries the {@code ETag} of the current watchlists.
      * @param member the currently authenticated member
+     * @param request the current request
      * @return a list of watchlists
      */
     @PreAuthorize("hasRole(T(click.reelscout.backend.model.jpa.Role).MEMBER)")
     @GetMapping("/my-watchlists")
-    public ResponseEntity<List<WatchlistResponseDTO>> getWatchlists(@AuthenticationPrincipal Member member) {
-        return ResponseEntity.ok(watchlistService.getAllByMember(member));
+    public ResponseEntity<List<WatchlistResponseDTO>> getWatchlists(@AuthenticationPrincipal Member member, WebRequest request) {
+        String tag = "watchlists-" + member.getId() + "-" + watchlistService.getAllByMemberVersion(member);
+        return ConditionalResponses.ifNoneMatch(request, tag, () -> watchlistService.getAllByMember(member));
     }
 
     /**
@@ -111,23 +120,33 @@ public class WatchlistController {
     }
 
     /**
-     * Retrieves all public watchlists for a specific member.
+     * Retrieves all public watchlists for a specific member, serialized.
+     * The serialized response is cached until a watchlist of the member changes.
      * @param memberId the ID of the member
+     * @param request the current request
      * @return a list of public watchlists
      */
     @GetMapping("/public/{memberId}")
-    public ResponseEntity<List<WatchlistResponseDTO>> getPublicWatchlistsByMember(@PathVariable Long memberId) {
-        return ResponseEntity.ok(watchlistService.getAllPublicByMember(memberId));
+    public ResponseEntity<byte[]> getPublicWatchlistsByMember(@PathVariable Long memberId, WebRequest request) {
+        return SerializedResponses.ok(request, responseCacheService.get(ResponseCacheService.publicWatchlistsKey(memberId),
+                () -> watchlistService.getAllPublicByMember(memberId)));
     }
 
     /**
      * Retrieves a specific watchlist by its ID.
+     * Answers 304 Not Modified when the {@code If-None-Match} header carries the {@code ETag} of the current watchlist and contents.
      * @param member the currently authenticated member
      * @param id the ID of the watchlist
+     * @param fields the comma-separated properties to return for each content, or absent for all of them
+     * @param request the current request
      * @return the watchlist
      */
     @GetMapping("/{id}")
-    public ResponseEntity<WatchlistResponseDTO> getWatchlistById(@AuthenticationPrincipal Member member, @PathVariable Long id) {
-        return ResponseEntity.ok(watchlistService.getById(member, id));
+    public ResponseEntity<Object> getWatchlistById(@AuthenticationPrincipal Member member, @PathVariable Long id,
+                                                   @RequestParam(name = "fields", required = false) String fields, WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        String tag = "watchlist-" + id + "-" + selection.tag() + "-" + watchlistService.getVersion(member, id);
+        return ConditionalResponses.ifNoneMatch(request, tag,
+                () -> SparseFields.select(objectMapper, selection, watchlistService.getById(member, id, selection), "contents"));
     }
 }
@@ -0,0 +1,59 @@
+package click.reelscout.backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+
+/**
+ * Chooses the format of responses that are not written by the message converters, or whose
+ * format has to be known before they are, for instance to tag them.
+ * <p>
+ * Besides JSON, clients may ask for {@code application/cbor}, a binary encoding of the same
+ * documents in which images are raw bytes instead of Base64 strings.
+ */
+final class WireFormats {
+    private WireFormats() {
+    }
+
+    /**
+     * Choose the format of a response from the {@code Accept} header of the request.
+     * <p>
+     * The format accepted with the highest quality wins, the earliest listed one on a tie.
+     * Wildcards only select the default format, so that clients get JSON unless they explicitly
+     * ask for another format.
+     *
+     * @param request    the current request
+     * @param producible the formats the response can be written in, the default one first
+     * @return the chosen format, or the default one if the header is absent, invalid or accepts none of them
+     */
+    static MediaType negotiate(WebRequest request, MediaType... producible) {
+        String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+
+        if (accept == null) {
+            return producible[0];
+        }
+
+        try {
+            MediaType chosen = producible[0];
+            double quality = 0;
+
+            for (MediaType acceptable : MediaType.parseMediaTypes(Arrays.asList(accept))) {
+                for (MediaType candidate : producible) {
+                    boolean matches = candidate == producible[0] ? acceptable.includes(candidate) : acceptable.equalsTypeAndSubtype(candidate);
+
+                    if (matches && acceptable.getQualityValue() > quality) {
+                        chosen = candidate;
+                        quality = acceptable.getQualityValue();
+                    }
+                }
+            }
+
+            return chosen;
+        } catch (InvalidMediaTypeException e) {
+            return producible[0];
+        }
+    }
+}
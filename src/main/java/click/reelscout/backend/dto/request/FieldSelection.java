@@ -0,0 +1,112 @@
+package click.reelscout.backend.dto.request;
+
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.s3.ImageMode;
+import lombok.EqualsAndHashCode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Sparse fieldset requested through the {@code fields} query parameter, as a comma-separated
+ * list of the JSON properties of the returned entries (for instance {@code fields=id,title,imageKey}).
+ * <p>
+ * The {@code id} of an entry is always returned. Properties that are not requested are left out of
+ * the response, and the work needed to produce them, such as image downloads, is skipped.
+ */
+@EqualsAndHashCode
+public final class FieldSelection {
+    /** Name of the property holding the Base64 image of an entry. */
+    public static final String IMAGE = "base64Image";
+
+    /** Selection of every property, used when no {@code fields} parameter is given. */
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final Pattern FIELD_NAME = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+    /** The requested properties, or null when every property is requested. */
+    private final Set<String> names;
+
+    private FieldSelection(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Parse the value of a {@code fields} query parameter.
+     *
+     * @param fields the comma-separated property names, or null or blank to select every property
+     * @return the selection
+     * @throws DataValidationException if a name is not a valid property name
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+
+        Set<String> names = new TreeSet<>();
+        names.add("id");
+
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(name -> {
+                    if (!FIELD_NAME.matcher(name).matches()) {
+                        throw new DataValidationException("Invalid field name: " + name);
+                    }
+                    names.add(name);
+                });
+
+        return new FieldSelection(Collections.unmodifiableSet(names));
+    }
+
+    /**
+     * Check whether every property is selected.
+     *
+     * @return true if no sparse fieldset was requested
+     */
+    public boolean isAll() {
+        return names == null;
+    }
+
+    /**
+     * Check whether a property is selected.
+     *
+     * @param field the JSON property name
+     * @return true if the property has to be returned
+     */
+    public boolean includes(String field) {
+        return names == null || names.contains(field);
+    }
+
+    /**
+     * Get the selected properties.
+     *
+     * @return the names of the selected properties, including {@code id}; empty when every property is selected
+     */
+    public Set<String> names() {
+        return names == null ? Set.of() : names;
+    }
+
+    /**
+     * Get the image mode actually needed to serve this selection: images are only
+     * downloaded when the Base64 image is selected.
+     *
+     * @param requested the image mode requested by the client
+     * @return the requested mode if the image is selected, {@link ImageMode#REFERENCE} otherwise
+     */
+    public ImageMode imageMode(ImageMode requested) {
+        return includes(IMAGE) ? requested : ImageMode.REFERENCE;
+    }
+
+    /**
+     * Get a stable identifier of this selection, suitable for tags and cache keys.
+     *
+     * @return {@code all}, or the selected properties in alphabetical order separated by dots
+     */
+    public String tag() {
+        return names == null ? "all" : String.join(".", names);
+    }
+}
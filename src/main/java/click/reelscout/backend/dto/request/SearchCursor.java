@@ -0,0 +1,96 @@
+package click.reelscout.backend.dto.request;
+
+import click.reelscout.backend.exception.custom.DataValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in paginated search results, handed to clients as an opaque {@code cursor} string.
+ * <p>
+ * It holds the point in time the search runs against, so that every page reads the same snapshot of the index,
+ * the sort values of the last returned hit, after which the next page starts, and the total hit count measured
+ * on the first page, so that later pages do not count the hits again.
+ *
+ * The index, document type and query it was issued for are recorded too, so that it is only accepted by the same search.
+ *
+ * @param index          the name of the index searched
+ * @param docType        the simple name of the document class searched, as indices hold several
+ * @param queryHash      the hash of the query searched, see {@link #queryHash(String)}
+ * @param pointInTimeId  the id of the point in time
+ * @param searchAfter    the sort values of the last hit of the previous page
+ * @param totalHits      the total number of hits, or its lower bound when not exact
+ * @param totalHitsExact whether {@code totalHits} is exact rather than a lower bound
+ */
+public record SearchCursor(String index, String docType, String queryHash, String pointInTimeId, List<Object> searchAfter,
+                           long totalHits, boolean totalHitsExact) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Parse the value of a {@code cursor} query parameter.
+     *
+     * @param cursor the cursor returned with the previous page
+     * @return the position it encodes
+     * @throws DataValidationException if the cursor was not produced by {@link #encode()}
+     */
+    public static SearchCursor parse(String cursor) {
+        try {
+            SearchCursor position = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), SearchCursor.class);
+            if (position.index() == null || position.docType() == null || position.queryHash() == null
+                    || position.pointInTimeId() == null || position.searchAfter() == null) {
+                throw new DataValidationException("Invalid cursor");
+            }
+            return position;
+        } catch (IllegalArgumentException | IOException e) {
+            throw new DataValidationException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Whether this cursor was issued by the given search.
+     *
+     * @param index    the name of the index searched
+     * @param docClass the document class searched
+     * @param query    the query searched
+     * @return true if the cursor can continue that search
+     */
+    public boolean isFor(String index, Class<?> docClass, String query) {
+        return this.index.equals(index) && docType.equals(docClass.getSimpleName()) && queryHash.equals(queryHash(query));
+    }
+
+    /**
+     * Hash of a query, ignoring leading, trailing and repeated whitespace, which does not change the results.
+     *
+     * @param query the query searched
+     * @return the URL-safe Base64 SHA-256 hash of the normalized query
+     */
+    public static String queryHash(String query) {
+        String normalized = query == null ? "" : query.strip().replaceAll("\\s+", " ");
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Encode this position as a URL-safe cursor string.
+     *
+     * @return the cursor to hand to the client
+     */
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(this));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+}
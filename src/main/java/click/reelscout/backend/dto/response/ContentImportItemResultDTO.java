@@ -0,0 +1,18 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one line of a bulk content import.
+ * Exactly one of {@code id} and {@code error} is set.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ContentImportItemResultDTO {
+    private long line;
+    private Long id;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the report of a bulk content import, with one result per non-blank input line.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ContentImportResponseDTO {
+    private int created;
+    private int failed;
+    private List<ContentImportItemResultDTO> items;
+}
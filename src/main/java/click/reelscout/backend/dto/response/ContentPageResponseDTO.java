@@ -0,0 +1,20 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the content catalog.
+ * The next page is requested by passing {@code nextCursor} back as the cursor;
+ * it is null on the last page.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ContentPageResponseDTO {
+    private List<ContentResponseDTO> content;
+    private Long nextCursor;
+}
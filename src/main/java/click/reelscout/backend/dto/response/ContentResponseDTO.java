@@ -1,9 +1,11 @@
 package click.reelscout.backend.dto.response;
 
+import click.reelscout.backend.cbor.Base64ImageSerializer;
 import click.reelscout.backend.model.jpa.Actor;
 import click.reelscout.backend.model.jpa.ContentType;
 import click.reelscout.backend.model.jpa.Director;
 import click.reelscout.backend.model.jpa.Genre;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -24,7 +26,9 @@ public class ContentResponseDTO extends EntityResponseDTO {
     private List<Genre> genres;
     private List<Actor> actors;
     private List<Director> directors;
+    @JsonSerialize(using = Base64ImageSerializer.class)
     private String base64Image;
+    private String imageKey;
     private String trailerUrl;
     private Long productionCompanyId;
     private String productionCompanyName;
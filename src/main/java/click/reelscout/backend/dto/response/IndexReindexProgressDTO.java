@@ -0,0 +1,22 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the progress of the rebuild of one search index.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class IndexReindexProgressDTO {
+    /** Name of the alias searches and writes go through. */
+    private String alias;
+    /** Name of the index being built, which the alias is moved to once it is complete. */
+    private String index;
+    private long total;
+    private long indexed;
+    private double documentsPerSecond;
+    private boolean swapped;
+}
@@ -0,0 +1,33 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the state of the latest rebuild of the search indices, with the progress of each index.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReindexStatusDTO {
+    /**
+     * State of a rebuild.
+     */
+    public enum State {
+        IDLE,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private State state;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    /** Progress of the indices rebuilt so far, the one being rebuilt last. */
+    private List<IndexReindexProgressDTO> indices;
+    private String error;
+}
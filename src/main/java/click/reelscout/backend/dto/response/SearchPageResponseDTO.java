@@ -0,0 +1,25 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of search results, in relevance order.
+ * The next page is requested by passing {@code nextCursor} back as the cursor;
+ * it is null on the last page.
+ *
+ * @param <T> the type of the results
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SearchPageResponseDTO<T> {
+    private List<T> results;
+    private String nextCursor;
+    /** Number of matching results, or a lower bound of it when {@code totalHitsExact} is false. */
+    private long totalHits;
+    private boolean totalHitsExact;
+}
@@ -0,0 +1,18 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for typeahead suggestions of users and contents, in relevance order.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SuggestResponseDTO {
+    private List<SuggestionResponseDTO> users;
+    private List<SuggestionResponseDTO> contents;
+}
@@ -0,0 +1,19 @@
+package click.reelscout.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single typeahead suggestion.
+ * It only carries what a suggestion list shows: the id to navigate to, the text to display
+ * and the key of the thumbnail, which is fetched from the image endpoint.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class SuggestionResponseDTO {
+    private Long id;
+    private String label;
+    private String imageKey;
+}
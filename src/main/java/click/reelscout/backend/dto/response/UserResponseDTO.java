@@ -1,6 +1,8 @@
 package click.reelscout.backend.dto.response;
 
+import click.reelscout.backend.cbor.Base64ImageSerializer;
 import click.reelscout.backend.model.jpa.Role;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -16,7 +18,9 @@ public class UserResponseDTO extends EntityResponseDTO {
     private String username;
     private String email;
     private Role role;
+    @JsonSerialize(using = Base64ImageSerializer.class)
     private String base64Image;
+    private String imageKey;
 
     public UserResponseDTO(
             Long id,
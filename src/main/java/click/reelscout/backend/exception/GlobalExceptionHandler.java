@@ -162,6 +162,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handles {@link ReindexInProgressException} exceptions thrown when a rebuild of the search indices is already running.
+     * <p>
+     * This method returns an HTTP 409 (Conflict) response with a {@link CustomResponseDTO} containing the exception's message.
+     * </p>
+     *
+     * @param e the {@link ReindexInProgressException} that triggered this handler
+     * @return a {@link ResponseEntity} with a 409 status code and a {@link CustomResponseDTO} with the error message
+     */
+    @ExceptionHandler(ReindexInProgressException.class)
+    public ResponseEntity<CustomResponseDTO> handleReindexInProgressException(ReindexInProgressException e) {
+        CustomResponseDTO response = new CustomResponseDTO(e.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles {@link ExpiredJwtException} exceptions that occur when JWT tokens have expired.
      * <p>
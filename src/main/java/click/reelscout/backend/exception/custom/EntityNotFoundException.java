@@ -12,4 +12,13 @@ public class EntityNotFoundException extends RuntimeException{
     public <T> EntityNotFoundException(Class<T> entityClass) {
         super(entityClass.getSimpleName() + " not found");
     }
+
+    /**
+     * Constructs a new EntityNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public EntityNotFoundException(String message) {
+        super(message);
+    }
 }
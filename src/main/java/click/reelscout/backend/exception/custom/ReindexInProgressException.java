@@ -0,0 +1,13 @@
+package click.reelscout.backend.exception.custom;
+
+/**
+ * Custom exception class for a rebuild of the search indices requested while another one runs.
+ */
+public class ReindexInProgressException extends RuntimeException {
+    /**
+     * Constructs a new ReindexInProgressException with a default error message.
+     */
+    public ReindexInProgressException() {
+        super("A rebuild of the search indices is already running.");
+    }
+}
@@ -4,6 +4,7 @@ import click.reelscout.backend.builder.definition.UserBuilder;
 import click.reelscout.backend.dto.request.UserRequestDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.User;
 
 /**
@@ -40,6 +41,14 @@ public interface UserMapperFactory <U extends User, B extends UserBuilder<U, B>,
      */
     boolean supports(U user);
 
+    /**
+     * Checks if the factory supports the given type.
+     *
+     * @param userDoc the UserDoc to check
+     * @return true if supported, false otherwise
+     */
+    boolean supports(UserDoc userDoc);
+
     /**
      * Creates a new instance of UserMapper.
      *
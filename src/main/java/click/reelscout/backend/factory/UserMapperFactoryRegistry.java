@@ -5,6 +5,7 @@ import click.reelscout.backend.dto.request.UserRequestDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.exception.custom.EntityCreateException;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -61,6 +62,17 @@ public class UserMapperFactoryRegistry <U extends User, B extends UserBuilder<U,
         return findMapper(factory -> factory.supports(user));
     }
 
+    /**
+     * Retrieves the appropriate UserMapper based on the provided UserDoc.
+     *
+     * @param userDoc the UserDoc to find a mapper for
+     * @return the corresponding UserMapper
+     * @throws EntityCreateException if no suitable mapper is found
+     */
+    public M getMapperFor(UserDoc userDoc) {
+        return findMapper(factory -> factory.supports(userDoc));
+    }
+
     /**
      * Finds a UserMapper that matches the given condition.
      *
@@ -8,6 +8,8 @@ import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.factory.UserMapperFactory;
 import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.mapper.implemetation.MemberMapperImplementation;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.model.jpa.User;
 import lombok.RequiredArgsConstructor;
@@ -44,6 +46,12 @@ public class MemberMapperFactory implements UserMapperFactory {
         return user instanceof Member;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supports(UserDoc userDoc) {
+        return userDoc instanceof MemberDoc;
+    }
+
     /** {@inheritDoc} */
     @Override
     public UserMapper createMapper() {
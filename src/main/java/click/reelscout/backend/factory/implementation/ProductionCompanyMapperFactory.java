@@ -8,6 +8,8 @@ import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.factory.UserMapperFactory;
 import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.mapper.implemetation.ProductionCompanyMapperImplementation;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.model.jpa.User;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,12 @@ public class ProductionCompanyMapperFactory implements UserMapperFactory {
         return user instanceof ProductionCompany;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean supports(UserDoc userDoc) {
+        return userDoc instanceof ProductionCompanyDoc;
+    }
+
     /** {@inheritDoc} */
     @Override
     public UserMapper createMapper() {
@@ -2,6 +2,7 @@ package click.reelscout.backend.mapper.definition;
 
 import click.reelscout.backend.builder.definition.ContentBuilder;
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.model.elasticsearch.ContentDoc;
 import click.reelscout.backend.model.jpa.Content;
@@ -20,6 +21,17 @@ public interface ContentMapper {
      */
     ContentResponseDTO toDto(Content content, String base64Image);
 
+    /**
+     * Converts a {@link Content} entity to its corresponding DTO, leaving out the genres, actors
+     * and directors when they are not selected, so that these collections are never loaded.
+     *
+     * @param content the content entity to convert
+     * @param base64Image the base64-encoded image associated with the content
+     * @param fields the properties that will be returned
+     * @return the corresponding {@link ContentResponseDTO}
+     */
+    ContentResponseDTO toDto(Content content, String base64Image, FieldSelection fields);
+
     /**
      * Converts a {@link Content} entity to its builder representation.
      *
@@ -45,4 +57,13 @@ public interface ContentMapper {
      * @return the corresponding {@link ContentDoc}
      */
     ContentDoc toDoc(Content content);
+
+    /**
+     * Converts a {@link ContentDoc} read from the search index to its corresponding DTO.
+     *
+     * @param contentDoc the document to convert
+     * @param base64Image the base64-encoded image associated with the content
+     * @return the corresponding {@link ContentResponseDTO}
+     */
+    ContentResponseDTO fromDoc(ContentDoc contentDoc, String base64Image);
 }
@@ -48,4 +48,13 @@ public interface UserMapper<U extends User, R extends UserRequestDTO, S extends
      * @return the corresponding document
      */
     UserDoc toDoc(U user);
+
+    /**
+     * Converts a document read from the search index to its corresponding DTO.
+     *
+     * @param userDoc the document to convert, of the type produced by {@link #toDoc}
+     * @param base64Image the base64-encoded image associated with the user
+     * @return the corresponding response DTO
+     */
+    S fromDoc(UserDoc userDoc, String base64Image);
 }
\ No newline at end of file
@@ -2,14 +2,20 @@ package click.reelscout.backend.mapper.implemetation;
 
 import click.reelscout.backend.builder.definition.ContentBuilder;
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.mapper.definition.ContentMapper;
 import click.reelscout.backend.model.elasticsearch.ContentDoc;
 import click.reelscout.backend.model.jpa.Content;
+import click.reelscout.backend.model.jpa.ContentType;
+import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class ContentMapperImplementation implements ContentMapper {
@@ -18,19 +24,28 @@ public class ContentMapperImplementation implements ContentMapper {
     /** {@inheritDoc} */
     @Override
     public ContentResponseDTO toDto(Content content, String base64Image) {
-        return new ContentResponseDTO(
+        return toDto(content, base64Image, FieldSelection.ALL);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentResponseDTO toDto(Content content, String base64Image, FieldSelection fields) {
+        ContentResponseDTO contentResponseDTO = new ContentResponseDTO(
                 content.getId(),
                 content.getTitle(),
                 content.getDescription(),
                 content.getContentType(),
-                content.getGenres(),
-                content.getActors(),
-                content.getDirectors(),
+                fields.includes("genres") ? copyOf(content.getGenres()) : null,
+                fields.includes("actors") ? copyOf(content.getActors()) : null,
+                fields.includes("directors") ? copyOf(content.getDirectors()) : null,
                 base64Image,
                 content.getTrailerUrl(),
                 content.getProductionCompany().getId(),
                 content.getProductionCompany().getName()
         );
+        contentResponseDTO.setImageKey(content.getS3ImageKey());
+
+        return contentResponseDTO;
     }
 
     /** {@inheritDoc} */
@@ -38,6 +53,7 @@ public class ContentMapperImplementation implements ContentMapper {
     public ContentBuilder toBuilder(Content content) {
         return contentBuilder
                 .id(content.getId())
+                .version(content.getVersion())
                 .title(content.getTitle())
                 .description(content.getDescription())
                 .contentType(content.getContentType())
@@ -54,6 +70,7 @@ public class ContentMapperImplementation implements ContentMapper {
     public Content toEntity(ContentRequestDTO contentRequestDTO, ProductionCompany productionCompany, String s3ImageKey) {
         return contentBuilder
                 .id(null)
+                .version(null)
                 .title(contentRequestDTO.getTitle())
                 .description(contentRequestDTO.getDescription())
                 .contentType(contentRequestDTO.getContentType())
@@ -71,4 +88,33 @@ public class ContentMapperImplementation implements ContentMapper {
     public ContentDoc toDoc(Content content) {
         return new ContentDoc(content);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentResponseDTO fromDoc(ContentDoc contentDoc, String base64Image) {
+        ContentResponseDTO contentResponseDTO = new ContentResponseDTO(
+                contentDoc.getId(),
+                contentDoc.getTitle(),
+                contentDoc.getDescription(),
+                contentDoc.getContentType() == null ? null : new ContentType(contentDoc.getContentType()),
+                contentDoc.getGenres() == null ? null : contentDoc.getGenres().stream().map(Genre::new).toList(),
+                copyOf(contentDoc.getActors()),
+                copyOf(contentDoc.getDirectors()),
+                base64Image,
+                contentDoc.getTrailerUrl(),
+                contentDoc.getProductionCompanyId(),
+                contentDoc.getProductionCompanyName()
+        );
+        contentResponseDTO.setImageKey(contentDoc.getS3ImageKey());
+
+        return contentResponseDTO;
+    }
+
+    /**
+     * Copies a lazily loaded collection into a plain list, so that the DTO never holds
+     * a reference to the persistence context it was mapped from.
+     */
+    private static <T> List<T> copyOf(List<T> values) {
+        return values == null ? null : new ArrayList<>(values);
+    }
 }
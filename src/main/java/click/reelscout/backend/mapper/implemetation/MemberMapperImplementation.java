@@ -5,12 +5,16 @@ import click.reelscout.backend.dto.request.MemberRequestDTO;
 import click.reelscout.backend.dto.response.MemberResponseDTO;
 import click.reelscout.backend.mapper.definition.MemberMapper;
 import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.model.jpa.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Component
 public class MemberMapperImplementation implements MemberMapper {
@@ -20,7 +24,10 @@ public class MemberMapperImplementation implements MemberMapper {
     /** {@inheritDoc} */
     @Override
     public MemberResponseDTO toDto(Member member, String base64Image) {
-        return new MemberResponseDTO(member.getId(), member.getFirstName(), member.getLastName(), member.getBirthDate(), member.getFavoriteGenres(), member.getUsername(), member.getEmail(), member.getRole(), base64Image);
+        MemberResponseDTO memberResponseDTO = new MemberResponseDTO(member.getId(), member.getFirstName(), member.getLastName(), member.getBirthDate(), member.getFavoriteGenres(), member.getUsername(), member.getEmail(), member.getRole(), base64Image);
+        memberResponseDTO.setImageKey(member.getS3ImageKey());
+
+        return memberResponseDTO;
     }
 
     /** {@inheritDoc} */
@@ -28,6 +35,7 @@ public class MemberMapperImplementation implements MemberMapper {
     public MemberBuilder toBuilder(Member member) {
         return memberBuilder
                 .id(member.getId())
+                .version(member.getVersion())
                 .firstName(member.getFirstName())
                 .lastName(member.getLastName())
                 .birthDate(member.getBirthDate())
@@ -46,6 +54,7 @@ public class MemberMapperImplementation implements MemberMapper {
     public Member toEntity(MemberRequestDTO memberRequestDTO, String s3ImageKey) {
         return memberBuilder
                 .id(null)
+                .version(null)
                 .firstName(memberRequestDTO.getFirstName())
                 .lastName(memberRequestDTO.getLastName())
                 .birthDate(memberRequestDTO.getBirthDate())
@@ -65,4 +74,16 @@ public class MemberMapperImplementation implements MemberMapper {
     public MemberDoc toDoc(Member member) {
         return new MemberDoc(member);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public MemberResponseDTO fromDoc(UserDoc userDoc, String base64Image) {
+        MemberDoc memberDoc = (MemberDoc) userDoc;
+        List<Genre> favoriteGenres = memberDoc.getFavoriteGenres() == null ? null : memberDoc.getFavoriteGenres().stream().map(Genre::new).toList();
+
+        MemberResponseDTO memberResponseDTO = new MemberResponseDTO(memberDoc.getId(), memberDoc.getFirstName(), memberDoc.getLastName(), memberDoc.getBirthDate(), favoriteGenres, memberDoc.getUsername(), memberDoc.getEmail(), memberDoc.getRole(), base64Image);
+        memberResponseDTO.setImageKey(memberDoc.getS3ImageKey());
+
+        return memberResponseDTO;
+    }
 }
@@ -5,6 +5,7 @@ import click.reelscout.backend.dto.request.ProductionCompanyRequestDTO;
 import click.reelscout.backend.dto.response.ProductionCompanyResponseDTO;
 import click.reelscout.backend.mapper.definition.ProductionCompanyMapper;
 import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.model.jpa.Role;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +21,10 @@ public class ProductionCompanyMapperImplementation implements ProductionCompanyM
     /** {@inheritDoc} */
     @Override
     public ProductionCompanyResponseDTO toDto(ProductionCompany productionCompany, String base64Image) {
-        return new ProductionCompanyResponseDTO(productionCompany.getId(), productionCompany.getName(), productionCompany.getLocation(), productionCompany.getWebsite(), productionCompany.getOwners(), productionCompany.getUsername(), productionCompany.getEmail(), productionCompany.getRole(), base64Image);
+        ProductionCompanyResponseDTO productionCompanyResponseDTO = new ProductionCompanyResponseDTO(productionCompany.getId(), productionCompany.getName(), productionCompany.getLocation(), productionCompany.getWebsite(), productionCompany.getOwners(), productionCompany.getUsername(), productionCompany.getEmail(), productionCompany.getRole(), base64Image);
+        productionCompanyResponseDTO.setImageKey(productionCompany.getS3ImageKey());
+
+        return productionCompanyResponseDTO;
     }
 
     /** {@inheritDoc} */
@@ -28,6 +32,7 @@ public class ProductionCompanyMapperImplementation implements ProductionCompanyM
     public ProductionCompanyBuilder toBuilder(ProductionCompany productionCompany) {
         return productionCompanyBuilder
                 .id(productionCompany.getId())
+                .version(productionCompany.getVersion())
                 .name(productionCompany.getName())
                 .location(productionCompany.getLocation())
                 .website(productionCompany.getWebsite())
@@ -47,6 +52,7 @@ public class ProductionCompanyMapperImplementation implements ProductionCompanyM
     public ProductionCompany toEntity(ProductionCompanyRequestDTO productionCompanyRequestDTO, String s3ImageKey) {
         return productionCompanyBuilder
                 .id(null)
+                .version(null)
                 .name(productionCompanyRequestDTO.getName())
                 .location(productionCompanyRequestDTO.getLocation())
                 .website(productionCompanyRequestDTO.getWebsite())
@@ -66,4 +72,15 @@ public class ProductionCompanyMapperImplementation implements ProductionCompanyM
     public ProductionCompanyDoc toDoc(ProductionCompany productionCompany) {
         return new ProductionCompanyDoc(productionCompany);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public ProductionCompanyResponseDTO fromDoc(UserDoc userDoc, String base64Image) {
+        ProductionCompanyDoc productionCompanyDoc = (ProductionCompanyDoc) userDoc;
+
+        ProductionCompanyResponseDTO productionCompanyResponseDTO = new ProductionCompanyResponseDTO(productionCompanyDoc.getId(), productionCompanyDoc.getName(), productionCompanyDoc.getLocation(), productionCompanyDoc.getWebsite(), productionCompanyDoc.getOwners(), productionCompanyDoc.getUsername(), productionCompanyDoc.getEmail(), productionCompanyDoc.getRole(), base64Image);
+        productionCompanyResponseDTO.setImageKey(productionCompanyDoc.getS3ImageKey());
+
+        return productionCompanyResponseDTO;
+    }
 }
@@ -44,6 +44,7 @@ public class WatchlistMapperImplementation implements WatchlistMapper {
     public WatchlistBuilder toBuilder(Watchlist watchlist) {
         return watchlistBuilder
                 .id(watchlist.getId())
+                .version(watchlist.getVersion())
                 .name(watchlist.getName())
                 .contents(watchlist.getContents())
                 .isPublic(watchlist.getIsPublic())
@@ -55,6 +56,7 @@ public class WatchlistMapperImplementation implements WatchlistMapper {
     public Watchlist toEntity(WatchlistRequestDTO watchlistRequestDTO, Member member) {
         return watchlistBuilder
                 .id(null)
+                .version(null)
                 .name(watchlistRequestDTO.getName())
                 .isPublic(watchlistRequestDTO.getIsPublic())
                 .member(member)
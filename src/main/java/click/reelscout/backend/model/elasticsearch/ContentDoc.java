@@ -1,6 +1,9 @@
 package click.reelscout.backend.model.elasticsearch;
 
+import click.reelscout.backend.model.jpa.Actor;
 import click.reelscout.backend.model.jpa.Content;
+import click.reelscout.backend.model.jpa.Director;
+import click.reelscout.backend.model.jpa.Genre;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
@@ -8,8 +11,13 @@ import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Elasticsearch document for Content entity.
+ * Besides the searchable fields, it carries everything a search result needs, stored in the source only,
+ * so that results are built from the hits without reading the database.
  */
 @NoArgsConstructor
 @Data
@@ -24,9 +32,41 @@ public class ContentDoc {
     @Field(type = FieldType.Search_As_You_Type)
     private String description;
 
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String contentType;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private List<String> genres;
+
+    @Field(type = FieldType.Object, enabled = false)
+    private List<Actor> actors;
+
+    @Field(type = FieldType.Object, enabled = false)
+    private List<Director> directors;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String s3ImageKey;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String trailerUrl;
+
+    @Field(type = FieldType.Long, index = false, docValues = false)
+    private Long productionCompanyId;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String productionCompanyName;
+
     public ContentDoc(Content content) {
         this.id = content.getId();
         this.title = content.getTitle();
         this.description = content.getDescription();
+        this.contentType = content.getContentType() == null ? null : content.getContentType().getName();
+        this.genres = content.getGenres() == null ? null : content.getGenres().stream().map(Genre::getName).toList();
+        this.actors = content.getActors() == null ? null : new ArrayList<>(content.getActors());
+        this.directors = content.getDirectors() == null ? null : new ArrayList<>(content.getDirectors());
+        this.s3ImageKey = content.getS3ImageKey();
+        this.trailerUrl = content.getTrailerUrl();
+        this.productionCompanyId = content.getProductionCompany().getId();
+        this.productionCompanyName = content.getProductionCompany().getName();
     }
 }
@@ -1,10 +1,17 @@
 package click.reelscout.backend.model.elasticsearch;
 
+import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.Member;
 import lombok.*;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
 /**
  * Elasticsearch document for Member entity, extending UserDoc.
  */
@@ -19,9 +26,23 @@ public class MemberDoc extends UserDoc {
     @Field(type = FieldType.Search_As_You_Type)
     private String lastName;
 
+    @Field(type = FieldType.Date, format = DateFormat.date, index = false, docValues = false)
+    private LocalDate birthDate;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private List<String> favoriteGenres;
+
     public MemberDoc(Member member) {
         super(member);
         this.firstName = member.getFirstName();
         this.lastName = member.getLastName();
+        this.birthDate = member.getBirthDate();
+        this.favoriteGenres = member.getFavoriteGenres() == null ? null : member.getFavoriteGenres().stream().map(Genre::getName).toList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String displayName() {
+        return firstName == null && lastName == null ? getUsername() : String.join(" ", Stream.of(firstName, lastName).filter(Objects::nonNull).toList());
     }
 }
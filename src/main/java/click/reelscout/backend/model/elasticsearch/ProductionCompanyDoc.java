@@ -1,10 +1,15 @@
 package click.reelscout.backend.model.elasticsearch;
 
+import click.reelscout.backend.model.jpa.Location;
+import click.reelscout.backend.model.jpa.Owner;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import lombok.*;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Elasticsearch document for ProductionCompany entity, extending UserDoc.
  */
@@ -16,8 +21,26 @@ public class ProductionCompanyDoc extends UserDoc {
     @Field(type = FieldType.Search_As_You_Type)
     private String name;
 
+    @Field(type = FieldType.Object, enabled = false)
+    private Location location;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String website;
+
+    @Field(type = FieldType.Object, enabled = false)
+    private List<Owner> owners;
+
     public ProductionCompanyDoc(ProductionCompany productionCompany) {
         super(productionCompany);
         this.name = productionCompany.getName();
+        this.location = productionCompany.getLocation();
+        this.website = productionCompany.getWebsite();
+        this.owners = productionCompany.getOwners() == null ? null : new ArrayList<>(productionCompany.getOwners());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String displayName() {
+        return name == null ? getUsername() : name;
     }
 }
@@ -1,5 +1,6 @@
 package click.reelscout.backend.model.elasticsearch;
 
+import click.reelscout.backend.model.jpa.Role;
 import click.reelscout.backend.model.jpa.User;
 import lombok.*;
 import org.springframework.data.annotation.Id;
@@ -9,6 +10,7 @@ import org.springframework.data.elasticsearch.annotations.FieldType;
 
 /**
  * Abstract Elasticsearch document for User entity.
+ * Fields that are only needed to build search results are stored in the source without being indexed.
  */
 @ToString
 @Document(indexName = "users")
@@ -24,9 +26,24 @@ public abstract class UserDoc {
     @Field(type = FieldType.Search_As_You_Type)
     private String email;
 
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private Role role;
+
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
+    private String s3ImageKey;
+
     protected UserDoc(User user) {
         this.id = user.getId();
         this.username = user.getUsername();
         this.email = user.getEmail();
+        this.role = user.getRole();
+        this.s3ImageKey = user.getS3ImageKey();
     }
+
+    /**
+     * Returns the text that represents this user in typeahead suggestions.
+     *
+     * @return the display name of the user
+     */
+    public abstract String displayName();
 }
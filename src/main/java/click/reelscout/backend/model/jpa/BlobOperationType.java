@@ -0,0 +1,9 @@
+package click.reelscout.backend.model.jpa;
+
+/**
+ * Enum representing the kind of change a pending blob operation applies to the blob store.
+ */
+public enum BlobOperationType {
+    UPLOAD,
+    DELETE
+}
@@ -4,6 +4,8 @@ import click.reelscout.backend.builder.implementation.ContentBuilderImplementati
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -14,13 +16,14 @@ import java.util.List;
  */
 @NoArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "content")
 @Getter
 public class Content implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(nullable = false)
@@ -32,24 +35,36 @@ public class Content implements Serializable {
     @ManyToOne(optional = false, fetch = FetchType.EAGER)
     private ContentType contentType;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "content-genres")
     private List<Genre> genres;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "content-actors")
     private List<Actor> actors;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "content-directors")
     private List<Director> directors;
 
     String s3ImageKey;
 
     String trailerUrl;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private ProductionCompany productionCompany;
 
+    /**
+     * Rejects an update made from a stale copy of the content.
+     * Summed by {@code ContentRepository.findCatalogVersion} to tag the catalog pages.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Content(ContentBuilderImplementation contentBuilder) {
         this.id = contentBuilder.getId();
+        this.version = contentBuilder.getVersion();
         this.title = contentBuilder.getTitle();
         this.description = contentBuilder.getDescription();
         this.contentType = contentBuilder.getContentType();
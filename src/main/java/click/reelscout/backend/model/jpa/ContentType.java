@@ -3,6 +3,8 @@ package click.reelscout.backend.model.jpa;
 import com.fasterxml.jackson.annotation.JsonValue;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -13,6 +15,7 @@ import java.io.Serializable;
 @NoArgsConstructor
 @Getter
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "content-type")
 public class ContentType implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -26,10 +28,11 @@ public class Member extends User {
     private LocalDate birthDate;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member-favorite-genres")
     private List<Genre> favoriteGenres;
 
     public Member(MemberBuilderImplementation builder) {
-        super(builder.getId(), builder.getUsername(), builder.getEmail(), builder.getPassword(), builder.getRole(), builder.getS3ImageKey(), builder.getSuspendedUntil(), builder.getSuspendedReason());
+        super(builder.getId(), builder.getUsername(), builder.getEmail(), builder.getPassword(), builder.getRole(), builder.getS3ImageKey(), builder.getSuspendedUntil(), builder.getSuspendedReason(), builder.getVersion());
         this.firstName = builder.getFirstName();
         this.lastName = builder.getLastName();
         this.birthDate = builder.getBirthDate();
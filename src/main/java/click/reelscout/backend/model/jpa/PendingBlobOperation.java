@@ -0,0 +1,75 @@
+package click.reelscout.backend.model.jpa;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording a blob store change that is applied once the transaction that
+ * requested it has committed. Failed operations are kept and retried later.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "pending_blob_operation", indexes = {
+        @Index(columnList = "nextAttemptAt")
+})
+public class PendingBlobOperation implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BlobOperationType type;
+
+    @Column(nullable = false)
+    private String s3Key;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public PendingBlobOperation(BlobOperationType type, String s3Key) {
+        this.type = type;
+        this.s3Key = s3Key;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    /**
+     * Postpones the next attempt while an instance applies the operation, without counting an attempt.
+     *
+     * @param expiry the time at which the operation is due again if it was not applied meanwhile
+     */
+    public void claimUntil(LocalDateTime expiry) {
+        this.nextAttemptAt = expiry;
+    }
+
+    /**
+     * Records a failed attempt and postpones the next one.
+     *
+     * @param nextAttemptAt the time of the next attempt
+     * @param error         the reason of the failure
+     */
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+}
@@ -5,13 +5,15 @@ import jakarta.persistence.*;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 /**
  * Entity representing a Production Company, which is a type of User.
  */
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, exclude = "contents")
 @NoArgsConstructor
 @Entity
 @Getter
@@ -24,14 +26,15 @@ public class ProductionCompany extends User {
 
     private String website;
 
-    @OneToMany(mappedBy = "productionCompany", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "productionCompany", fetch = FetchType.LAZY)
     private List<Content> contents;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "production-company-owners")
     private List<Owner> owners;
 
     public ProductionCompany(ProductionCompanyBuilderImplementation builder) {
-        super(builder.getId(), builder.getUsername(), builder.getEmail(), builder.getPassword(), builder.getRole(), builder.getS3ImageKey(), builder.getSuspendedUntil(), builder.getSuspendedReason());
+        super(builder.getId(), builder.getUsername(), builder.getEmail(), builder.getPassword(), builder.getRole(), builder.getS3ImageKey(), builder.getSuspendedUntil(), builder.getSuspendedReason(), builder.getVersion());
         this.name = builder.getName();
         this.location = builder.getLocation();
         this.website = builder.getWebsite();
@@ -0,0 +1,45 @@
+package click.reelscout.backend.model.jpa;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording that a document of a search index was saved or deleted, written in the same
+ * transaction as the change. A rebuild of the index, on whichever instance it runs, writes the
+ * latest state of the documents changed since it started into the new index.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "search_index_change", indexes = {
+        @Index(columnList = "changedAt")
+})
+public class SearchIndexChange implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    /** Name of the alias of the index the document belongs to. */
+    @Column(nullable = false)
+    private String indexName;
+
+    @Column(nullable = false)
+    private Long documentId;
+
+    @CreationTimestamp
+    private LocalDateTime changedAt;
+
+    public SearchIndexChange(String indexName, Long documentId) {
+        this.indexName = indexName;
+        this.documentId = documentId;
+    }
+}
@@ -0,0 +1,35 @@
+package click.reelscout.backend.model.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Entity holding the content of a file whose upload is pending, written in the same transaction
+ * as its {@link PendingBlobOperation} and removed once the upload is applied. Keeping it in the
+ * database lets the requesting transaction commit without waiting for the blob store, and lets
+ * whichever instance claims the operation find the content.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Entity
+public class StagedFile implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** Id of the upload operation the content belongs to. */
+    @Id
+    private Long operationId;
+
+    @Lob
+    @Column(nullable = false, length = Integer.MAX_VALUE)
+    private byte[] content;
+}
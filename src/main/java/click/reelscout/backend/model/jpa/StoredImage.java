@@ -0,0 +1,37 @@
+package click.reelscout.backend.model.jpa;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Entity counting how many contents and users reference an image stored under a content-addressed S3 key.
+ * The stored object is deleted once the last reference is released.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Entity
+public class StoredImage implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private String s3Key;
+
+    @Column(nullable = false)
+    private long referenceCount;
+
+    /**
+     * Records that one entity no longer references the image.
+     *
+     * @return the number of remaining references
+     */
+    public long removeReference() {
+        return --referenceCount;
+    }
+}
@@ -2,6 +2,8 @@ package click.reelscout.backend.model.jpa;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,13 +19,14 @@ import java.util.List;
 @AllArgsConstructor(access = AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Inheritance(strategy = InheritanceType.JOINED)
-@EqualsAndHashCode(exclude = {"password", "s3ImageKey"})
+@EqualsAndHashCode(exclude = {"password", "s3ImageKey", "version"})
 @ToString
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Getter
 public abstract class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -45,6 +48,15 @@ public abstract class User implements UserDetails {
 
     private String suspendedReason;
 
+    /**
+     * Rejects an update made from a stale copy of the profile and tags the profile served by
+     * {@code UserController.getCurrentUser}. A production company's version is also summed into the content and
+     * watchlist summaries, since its name is shown on every content it produced.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
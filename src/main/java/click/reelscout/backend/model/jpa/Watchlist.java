@@ -20,13 +20,13 @@ public class Watchlist implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     private List<Content> contents;
 
     @Column(nullable = false)
@@ -35,8 +35,18 @@ public class Watchlist implements Serializable {
     @ManyToOne
     private Member member;
 
+    /**
+     * Rejects an update made from a stale copy of the watchlist.
+     * Combined with the versions of its contents and their production companies by
+     * {@code WatchlistRepository.findVersionById}.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public Watchlist(WatchlistBuilderImplementation builder) {
         this.id = builder.getId();
+        this.version = builder.getVersion();
         this.name = builder.getName();
         this.contents = builder.getContents();
         this.isPublic = builder.getIsPublic();
@@ -2,7 +2,14 @@ package click.reelscout.backend.repository.jpa;
 
 import click.reelscout.backend.model.jpa.Content;
 import click.reelscout.backend.model.jpa.ProductionCompany;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -10,11 +17,86 @@ import java.util.List;
  * Repository interface for managing Content entities.
  */
 public interface ContentRepository extends JpaRepository<Content, Long> {
+    /**
+     * Finds all Content entities, fetching their content type and production company
+     * in the same statement. Genres, actors and directors are loaded in batches on access.
+     *
+     * @return a list of Content entities
+     */
+    @Override
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
+    List<Content> findAll();
+
+    /**
+     * Finds the Content entities with the given ids, fetching their content type and
+     * production company in the same statement. Results are kept in the query cache until
+     * a content is written, so repeated lookups of the same ids are answered from memory.
+     *
+     * @param ids the ids of the Content entities to find
+     * @return a list of Content entities, in no particular order
+     */
+    @Override
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Content> findAllById(Iterable<Long> ids);
+
     /**
      * Finds all Content entities associated with a given ProductionCompany.
      *
      * @param productionCompany the ProductionCompany entity
      * @return a list of Content entities
      */
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
     List<Content> findAllByProductionCompany(ProductionCompany productionCompany);
+
+    /**
+     * Finds the Content entities following a cursor in ascending id order. Reading a whole
+     * table window by window keeps the number of loaded entities bounded by the limit.
+     *
+     * @param after the id after which the window starts; only greater ids are returned
+     * @param limit the maximum number of entities to return
+     * @return a list of Content entities ordered by ascending id
+     */
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
+    @Query("SELECT c FROM Content c WHERE c.id > :after ORDER BY c.id")
+    List<Content> findWindow(@Param("after") long after, Limit limit);
+
+    /**
+     * Finds the Content entities of a ProductionCompany following a cursor in ascending id order.
+     *
+     * @param productionCompany the ProductionCompany entity
+     * @param after             the id after which the window starts; only greater ids are returned
+     * @param limit             the maximum number of entities to return
+     * @return a list of Content entities ordered by ascending id
+     */
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
+    @Query("SELECT c FROM Content c WHERE c.productionCompany = :productionCompany AND c.id > :after ORDER BY c.id")
+    List<Content> findWindowByProductionCompany(@Param("productionCompany") ProductionCompany productionCompany, @Param("after") long after, Limit limit);
+
+    /**
+     * Finds the Content entities following a cursor in descending id order, optionally filtered.
+     * The cursor is matched against the primary key, so each page is a seek on the
+     * index rather than an offset scan, whatever its depth.
+     *
+     * @param cursor      the id after which the page starts; only smaller ids are returned
+     * @param contentType the name of the content type to filter by, or null for all
+     * @param genre       the name of the genre to filter by, or null for all
+     * @param limit       the maximum number of entities to return
+     * @return a list of Content entities ordered by descending id
+     */
+    @EntityGraph(attributePaths = {"contentType", "productionCompany"})
+    @Query("SELECT c FROM Content c WHERE c.id < :cursor AND (:contentType IS NULL OR c.contentType.name = :contentType) AND (:genre IS NULL OR EXISTS (SELECT g FROM c.genres g WHERE g.name = :genre)) ORDER BY c.id DESC")
+    List<Content> findCatalogPage(@Param("cursor") long cursor, @Param("contentType") String contentType, @Param("genre") String genre, Limit limit);
+
+    /**
+     * Summarizes the state of every content without loading any: the number of contents, the
+     * highest id, the sum of the ids and the sums of the content and production company versions.
+     * The summary changes whenever a content is created, updated or deleted, or its production
+     * company updated; the sum of the ids tells apart a deletion followed by a creation, as ids
+     * allocated in blocks by each instance do not grow monotonically.
+     *
+     * @return the summary of the catalog
+     */
+    @Query("SELECT CONCAT(STR(COUNT(c)), '-', STR(COALESCE(MAX(c.id), 0)), '-', STR(COALESCE(SUM(c.id), 0)), '-', STR(COALESCE(SUM(c.version), 0)), '-', STR(COALESCE(SUM(p.version), 0))) FROM Content c LEFT JOIN c.productionCompany p")
+    String findCatalogVersion();
 }
@@ -0,0 +1,63 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.BlobOperationType;
+import click.reelscout.backend.model.jpa.PendingBlobOperation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing PendingBlobOperation entities.
+ */
+public interface PendingBlobOperationRepository extends JpaRepository<PendingBlobOperation, Long> {
+    /**
+     * Retrieves the operations whose next attempt is due, oldest first, locking their rows until
+     * the end of the transaction. Rows already locked by another transaction are skipped rather
+     * than waited for (a lock timeout of -2 is rendered as {@code SKIP LOCKED}), so that instances
+     * polling at the same time each get different operations.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of operations to retrieve
+     * @return a list of due operations
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    List<PendingBlobOperation> findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(LocalDateTime now, Limit limit);
+
+    /**
+     * Finds the creation time of the oldest pending operation.
+     *
+     * @return an Optional containing the creation time, or empty if no operation is pending
+     */
+    @Query("select min(o.createdAt) from PendingBlobOperation o")
+    Optional<LocalDateTime> findOldestCreatedAt();
+
+    /**
+     * Summarizes the pending operations of a type without loading them: their number and the sum
+     * of their ids. The summary changes whenever such an operation is scheduled or applied.
+     *
+     * @param type the type of the operations
+     * @return the summary of the pending operations
+     */
+    @Query("SELECT CONCAT(STR(COUNT(o)), '-', STR(COALESCE(SUM(o.id), 0))) FROM PendingBlobOperation o WHERE o.type = :type")
+    String findVersionByType(@Param("type") BlobOperationType type);
+
+    /**
+     * Checks whether an operation of a type is pending for a key.
+     *
+     * @param type  the type of the operation
+     * @param s3Key the key of the file
+     * @return true if such an operation is pending
+     */
+    boolean existsByTypeAndS3Key(BlobOperationType type, String s3Key);
+}
@@ -0,0 +1,36 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.SearchIndexChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing SearchIndexChange entities.
+ */
+public interface SearchIndexChangeRepository extends JpaRepository<SearchIndexChange, Long> {
+    /**
+     * Finds the ids of the documents of an index changed within a time range, each once.
+     *
+     * @param indexName the name of the alias of the index
+     * @param from      the start of the range, inclusive
+     * @param to        the end of the range, exclusive
+     * @return the ids of the changed documents in ascending order
+     */
+    @Query("SELECT DISTINCT c.documentId FROM SearchIndexChange c WHERE c.indexName = :indexName AND c.changedAt >= :from AND c.changedAt < :to ORDER BY c.documentId")
+    List<Long> findDocumentIdsChangedBetween(@Param("indexName") String indexName, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Deletes the changes recorded before a given time.
+     *
+     * @param before the time before which changes are deleted
+     * @return the number of deleted changes
+     */
+    @Modifying
+    @Query("DELETE FROM SearchIndexChange c WHERE c.changedAt < :before")
+    int deleteByChangedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,10 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.StagedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing StagedFile entities.
+ */
+public interface StagedFileRepository extends JpaRepository<StagedFile, Long> {
+}
@@ -0,0 +1,45 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.StoredImage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing StoredImage entities.
+ */
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+    /**
+     * Finds the reference count of an image, locking its row until the end of the transaction
+     * so that concurrent updates of the same image are serialized.
+     *
+     * @param s3Key the content-addressed key of the image
+     * @return an Optional containing the StoredImage if found, or empty if not
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StoredImage> findLockedByS3Key(String s3Key);
+
+    /**
+     * Records one more reference to an image in a single statement, inserting its row with one
+     * reference if there is none yet. Unlike a locked read, this also serializes concurrent first
+     * uploads of the same image, whose row does not exist yet to be locked.
+     * <p>
+     * The table is declared as the only one the statement touches; Hibernate would otherwise
+     * assume a native statement may change anything and evict every second-level cache region.
+     *
+     * @param s3Key the content-addressed key of the image
+     * @return 1 if the row was inserted, or 2 if the reference count of an existing row was incremented
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stored_image"))
+    @Query(value = "INSERT INTO stored_image (s3key, reference_count) VALUES (:s3Key, 1) ON DUPLICATE KEY UPDATE reference_count = reference_count + 1", nativeQuery = true)
+    int addReference(@Param("s3Key") String s3Key);
+}
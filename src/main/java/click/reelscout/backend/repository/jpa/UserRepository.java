@@ -1,16 +1,23 @@
 package click.reelscout.backend.repository.jpa;
 
 import click.reelscout.backend.model.jpa.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for managing User entities.
  * Provides methods for retrieving and managing users.
+ * Lookups by username or email, run on every authenticated request, are kept in the
+ * query cache until a user is written.
  *
  * @param <U> the type of user entity
  */
@@ -23,6 +30,7 @@ public interface UserRepository <U extends User> extends JpaRepository<U, Long>
      * @param email the email address of the user
      * @return an optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<U> findByEmail(String email);
 
     /**
@@ -31,6 +39,7 @@ public interface UserRepository <U extends User> extends JpaRepository<U, Long>
      * @param username the username of the user
      * @return an optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<U> findByUsername(String username);
 
     /**
@@ -39,9 +48,21 @@ public interface UserRepository <U extends User> extends JpaRepository<U, Long>
      * @param usernameOrEmail the username or email address of the user
      * @return an optional containing the user if found
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT u FROM User u WHERE u.username = :usernameOrEmail OR u.email = :usernameOrEmail")
     Optional<U> findByUsernameOrEmail(@Param("usernameOrEmail") String usernameOrEmail);
 
+    /**
+     * Finds the users following a cursor in ascending id order. Reading the whole table
+     * window by window keeps the number of loaded entities bounded by the limit.
+     *
+     * @param after the id after which the window starts; only greater ids are returned
+     * @param limit the maximum number of users to return
+     * @return a list of users ordered by ascending id
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :after ORDER BY u.id")
+    List<U> findWindow(@Param("after") long after, Limit limit);
+
     /**
      * Checks if a user exists by their username or email address.
      *
@@ -4,8 +4,11 @@ import click.reelscout.backend.model.jpa.Content;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.model.jpa.Watchlist;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Watchlist entities.
@@ -46,4 +49,25 @@ public interface WatchlistRepository extends JpaRepository<Watchlist, Long> {
      * @return the number of watchlists containing the content
      */
     long countByContentsContaining(Content content);
+
+    /**
+     * Summarizes the state of the watchlists of a member without loading them: their number,
+     * the highest id, the sum of their ids and the sum of their versions.
+     *
+     * @param member the member whose watchlists are summarized
+     * @return the summary of the member's watchlists
+     */
+    @Query("SELECT CONCAT(STR(COUNT(w)), '-', STR(COALESCE(MAX(w.id), 0)), '-', STR(COALESCE(SUM(w.id), 0)), '-', STR(COALESCE(SUM(w.version), 0))) FROM Watchlist w WHERE w.member = :member")
+    String findVersionByMember(@Param("member") Member member);
+
+    /**
+     * Summarizes the state of a watchlist and of the contents it holds without loading them:
+     * the watchlist version, the number of contents and the sums of the content and production
+     * company versions.
+     *
+     * @param id the id of the watchlist
+     * @return the summary of the watchlist, or empty if it does not exist
+     */
+    @Query("SELECT CONCAT(STR(w.version), '-', STR(COUNT(c)), '-', STR(COALESCE(SUM(c.version), 0)), '-', STR(COALESCE(SUM(p.version), 0))) FROM Watchlist w LEFT JOIN w.contents c LEFT JOIN c.productionCompany p WHERE w.id = :id GROUP BY w.id, w.version")
+    Optional<String> findVersionById(@Param("id") Long id);
 }
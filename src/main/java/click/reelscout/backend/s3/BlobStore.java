@@ -0,0 +1,82 @@
+package click.reelscout.backend.s3;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Storage backend holding the raw bytes of uploaded files by key.
+ * <p>
+ * Implementations are selected through the {@code s3.blob-store.type} property,
+ * see {@link BlobStoreType}.
+ */
+public interface BlobStore {
+    /** Content type reported for files whose type cannot be detected. */
+    String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * Stores the content under the given key, replacing any previous content.
+     * The content is streamed and its type is detected from its first bytes.
+     *
+     * @param key     the key under which the content is stored
+     * @param content the content to be stored
+     * @throws IOException if the content cannot be read or stored
+     */
+    void write(String key, InputStream content) throws IOException;
+
+    /**
+     * Reads the whole content stored under the given key.
+     *
+     * @param key the key of the content
+     * @return a buffer holding the content, or empty if nothing is stored under the key
+     * @throws IOException if the content cannot be read
+     */
+    Optional<ByteBuffer> read(String key) throws IOException;
+
+    /**
+     * Opens the content stored under the given key so that it can be streamed.
+     *
+     * @param key the key of the content
+     * @return the {@link StoredFile} describing the content, or empty if nothing is stored under the key
+     * @throws IOException if the content cannot be opened
+     */
+    Optional<StoredFile> open(String key) throws IOException;
+
+    /**
+     * Deletes the content stored under the given keys; missing keys are ignored.
+     *
+     * @param keys the keys of the content to be deleted
+     * @throws IOException if the content cannot be deleted
+     */
+    void delete(Collection<String> keys) throws IOException;
+
+    /**
+     * Detects the MIME type of a file from its first bytes.
+     *
+     * @param head the first bytes of the file
+     * @return the detected MIME type, or {@link #DEFAULT_CONTENT_TYPE} if unknown
+     */
+    static String guessContentType(byte[] head) {
+        try {
+            String contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(head));
+            return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+        } catch (IOException e) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+    }
+
+    /**
+     * Builds a validator that changes whenever the stored content changes.
+     *
+     * @param lastModified  the modification time of the content in milliseconds
+     * @param contentLength the size of the content in bytes
+     * @return a quoted ETag value
+     */
+    static String eTag(long lastModified, long contentLength) {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(contentLength) + "\"";
+    }
+}
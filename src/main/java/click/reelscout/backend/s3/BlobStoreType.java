@@ -0,0 +1,13 @@
+package click.reelscout.backend.s3;
+
+/**
+ * Enum representing the available {@link BlobStore} backends.
+ */
+public enum BlobStoreType {
+    /** Files are stored in the configured S3 bucket. */
+    S3,
+    /** Files are stored on the local disk; no object store is needed. */
+    LOCAL,
+    /** Files are stored in S3 and cached on the local disk. */
+    TIERED
+}
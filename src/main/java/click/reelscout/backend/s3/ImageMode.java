@@ -0,0 +1,20 @@
+package click.reelscout.backend.s3;
+
+/**
+ * Enum representing how images are delivered in response DTOs.
+ */
+public enum ImageMode {
+    /** The image bytes are embedded in the DTO as a Base64 string. */
+    INLINE,
+    /** Only the image key is returned; the bytes are fetched separately from the image endpoint. */
+    REFERENCE;
+
+    /**
+     * Checks whether the image content has to be loaded and embedded in the response.
+     *
+     * @return true if images are embedded inline, false otherwise
+     */
+    public boolean isInline() {
+        return this == INLINE;
+    }
+}
@@ -0,0 +1,111 @@
+package click.reelscout.backend.s3;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Component that produces the resized {@link ImageVariant}s of an uploaded image.
+ * Variants are encoded in the format and quality configured under {@code s3.image-variants}.
+ */
+@Component
+public class ImageProcessor {
+    @Value("${s3.image-variants.format}")
+    private String format;
+
+    @Value("${s3.image-variants.quality}")
+    private float quality;
+
+    /**
+     * Creates every derived variant of the given image.
+     * Images smaller than a variant's bounding box are re-encoded without being upscaled.
+     *
+     * @param original the bytes of the uploaded image
+     * @return the encoded variants, or an empty map if the bytes are not a readable image
+     * @throws IOException if a variant cannot be encoded in the configured format
+     */
+    public Map<ImageVariant, byte[]> createVariants(byte[] original) throws IOException {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(original));
+        if (image == null) {
+            return variants;
+        }
+
+        for (ImageVariant variant : ImageVariant.derived()) {
+            variants.put(variant, encode(resize(image, variant)));
+        }
+
+        return variants;
+    }
+
+    private BufferedImage resize(BufferedImage image, ImageVariant variant) {
+        double scale = Math.min(1.0, Math.min(
+                (double) variant.getMaxWidth() / image.getWidth(),
+                (double) variant.getMaxHeight() / image.getHeight()
+        ));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // Formats such as JPEG have no alpha channel, so transparent areas are flattened on white
+        boolean keepAlpha = image.getColorModel().hasAlpha() && !isJpeg();
+        BufferedImage resized = new BufferedImage(width, height, keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, keepAlpha ? null : Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer available for format " + format);
+        }
+
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return output.toByteArray();
+    }
+
+    private boolean isJpeg() {
+        return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+    }
+}
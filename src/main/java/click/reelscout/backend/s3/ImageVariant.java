@@ -0,0 +1,77 @@
+package click.reelscout.backend.s3;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Enum representing the sizes in which an uploaded image is made available.
+ * <p>
+ * Derived variants are stored next to the original under the original key followed by
+ * the variant suffix (e.g. {@code content/<uuid>_thumbnail}) and are scaled down to fit
+ * within their bounding box, preserving the aspect ratio.
+ */
+public enum ImageVariant {
+    /** Small image used by list views. */
+    THUMBNAIL(160, 240),
+    /** Medium image used by cards and previews. */
+    CARD(400, 600),
+    /** Large image used by detail views. */
+    FULL(1280, 1920),
+    /** The image exactly as it was uploaded. */
+    ORIGINAL(0, 0);
+
+    private final int maxWidth;
+    private final int maxHeight;
+
+    ImageVariant(int maxWidth, int maxHeight) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Returns the variants generated from an uploaded original.
+     *
+     * @return every variant except {@link #ORIGINAL}
+     */
+    public static List<ImageVariant> derived() {
+        return Arrays.stream(values()).filter(variant -> !variant.isOriginal()).toList();
+    }
+
+    /**
+     * Checks whether this variant is the uploaded image itself.
+     *
+     * @return true for {@link #ORIGINAL}, false for generated variants
+     */
+    public boolean isOriginal() {
+        return this == ORIGINAL;
+    }
+
+    /**
+     * Computes the key under which this variant of the given original is stored.
+     *
+     * @param originalKey the key of the uploaded original
+     * @return the key of the variant, or the original key for {@link #ORIGINAL}
+     */
+    public String keyFor(String originalKey) {
+        return isOriginal() ? originalKey : originalKey + "_" + name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the maximum width of this variant in pixels.
+     *
+     * @return the maximum width, or 0 if the variant is not resized
+     */
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Returns the maximum height of this variant in pixels.
+     *
+     * @return the maximum height, or 0 if the variant is not resized
+     */
+    public int getMaxHeight() {
+        return maxHeight;
+    }
+}
@@ -0,0 +1,151 @@
+package click.reelscout.backend.s3;
+
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * {@link BlobStore} keeping files on the local disk, one file per key below a root directory.
+ * <p>
+ * Writes go to a temporary file in the target directory which is then atomically renamed,
+ * so readers never observe a partially written file. Whole-file reads are memory-mapped and
+ * streamed reads are copied with {@link FileChannel#transferTo}, so file contents are not
+ * copied through intermediate heap buffers.
+ */
+public class LocalBlobStore implements BlobStore {
+    private static final int CONTENT_TYPE_PROBE_LENGTH = 16;
+
+    private final Path root;
+
+    /**
+     * Creates a store rooted at the given directory, creating it if needed.
+     *
+     * @param root the directory holding the stored files
+     * @throws IOException if the directory cannot be created
+     */
+    public LocalBlobStore(Path root) throws IOException {
+        this.root = Files.createDirectories(root.toAbsolutePath().normalize());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Path directory = Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(directory, ".upload-", ".tmp");
+
+        try {
+            Files.copy(content, temporary, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ByteBuffer> read(String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<StoredFile> open(String key) throws IOException {
+        Path path = resolve(key);
+        BasicFileAttributes attributes;
+
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+
+        byte[] head;
+        try (InputStream content = Files.newInputStream(path)) {
+            head = content.readNBytes(CONTENT_TYPE_PROBE_LENGTH);
+        }
+
+        return Optional.of(new StoredFile(
+                new TransferableFileResource(path),
+                BlobStore.guessContentType(head),
+                attributes.size(),
+                BlobStore.eTag(attributes.lastModifiedTime().toMillis(), attributes.size())
+        ));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void delete(Collection<String> keys) throws IOException {
+        for (String key : keys) {
+            Files.deleteIfExists(resolve(key));
+        }
+    }
+
+    private Path resolve(String key) throws IOException {
+        Path path = root.resolve(key).normalize();
+
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IOException("Invalid key: " + key);
+        }
+
+        return path;
+    }
+
+    /**
+     * File resource whose streams hand whole-file copies to {@link FileChannel#transferTo},
+     * letting the kernel move the bytes when the target is itself a channel-backed stream.
+     */
+    private static class TransferableFileResource extends FileSystemResource {
+        private final Path path;
+
+        private TransferableFileResource(Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                @Override
+                public long transferTo(OutputStream out) throws IOException {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long position = channel.position();
+                    long size = channel.size();
+                    long transferred = 0;
+
+                    while (position + transferred < size) {
+                        transferred += channel.transferTo(position + transferred, size - position - transferred, target);
+                    }
+
+                    channel.position(size);
+                    return transferred;
+                }
+            };
+        }
+    }
+}
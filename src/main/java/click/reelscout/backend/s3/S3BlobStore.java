@@ -0,0 +1,128 @@
+package click.reelscout.backend.s3;
+
+import io.awspring.cloud.s3.S3Resource;
+import io.awspring.cloud.s3.S3Template;
+import lombok.RequiredArgsConstructor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link BlobStore} keeping files in an S3 bucket.
+ * Writes are streamed in parts of a fixed size, so the memory used by an upload
+ * does not grow with the size of the file.
+ */
+@RequiredArgsConstructor
+public class S3BlobStore implements BlobStore {
+    private final S3Template s3Template;
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final int uploadPartSize;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Content that fits in a single part is sent with a plain PUT; anything larger is
+     * sent as a multipart upload, which is aborted if one of its parts fails.
+     */
+    @Override
+    public void write(String key, InputStream content) throws IOException {
+        byte[] part = content.readNBytes(uploadPartSize);
+        String contentType = BlobStore.guessContentType(part);
+
+        if (part.length < uploadPartSize) {
+            s3Client.putObject(
+                    PutObjectRequest.builder().bucket(bucketName).key(key).contentType(contentType).build(),
+                    RequestBody.fromInputStream(new ByteArrayInputStream(part), part.length)
+            );
+            return;
+        }
+
+        String uploadId = s3Client.createMultipartUpload(request -> request
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+        ).uploadId();
+
+        try {
+            List<CompletedPart> completedParts = new ArrayList<>();
+
+            for (int partNumber = 1; part.length > 0; partNumber++) {
+                int number = partNumber;
+                byte[] body = part;
+
+                String eTag = s3Client.uploadPart(
+                        request -> request.bucket(bucketName).key(key).uploadId(uploadId).partNumber(number),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(body), body.length)
+                ).eTag();
+                completedParts.add(CompletedPart.builder().partNumber(number).eTag(eTag).build());
+
+                part = content.readNBytes(uploadPartSize);
+            }
+
+            s3Client.completeMultipartUpload(request -> request
+                    .bucket(bucketName)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(multipart -> multipart.parts(completedParts))
+            );
+        } catch (IOException | RuntimeException e) {
+            s3Client.abortMultipartUpload(request -> request.bucket(bucketName).key(key).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ByteBuffer> read(String key) throws IOException {
+        try (InputStream content = s3Template.download(bucketName, key).getInputStream()) {
+            return Optional.of(ByteBuffer.wrap(content.readAllBytes()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<StoredFile> open(String key) throws IOException {
+        S3Resource resource = s3Template.download(bucketName, key);
+
+        if (!resource.exists()) {
+            return Optional.empty();
+        }
+
+        long contentLength = resource.contentLength();
+        String contentType = resource.contentType() != null ? resource.contentType() : DEFAULT_CONTENT_TYPE;
+
+        return Optional.of(new StoredFile(resource, contentType, contentLength, BlobStore.eTag(resource.lastModified(), contentLength)));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<ObjectIdentifier> objects = keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+
+        s3Client.deleteObjects(request -> request
+                .bucket(bucketName)
+                .delete(delete -> delete.objects(objects).quiet(true))
+        );
+    }
+}
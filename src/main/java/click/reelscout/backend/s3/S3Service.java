@@ -1,28 +1,56 @@
 package click.reelscout.backend.s3;
 
+import click.reelscout.backend.exception.custom.EntityNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
 import io.awspring.cloud.s3.S3Exception;
-import io.awspring.cloud.s3.S3Template;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Service for handling file operations with Amazon S3.
+ * Files are kept in the configured {@link BlobStore}, which is S3 itself, the local disk,
+ * or the local disk in front of S3 (see {@code s3.blob-store.type}).
+ * Downloaded files are kept in a size-bounded in-memory cache keyed by S3 key,
+ * which is invalidated whenever the same key is uploaded or deleted.
+ * <p>
+ * After each upload the resized {@link ImageVariant}s are generated in the background and
+ * stored next to the original; a variant that is still missing when first read is generated
+ * synchronously by the reading thread.
  */
 @Service
 @RequiredArgsConstructor
 public class S3Service {
-    private final S3Template s3Template;
+    private final BlobStore blobStore;
+    private final Cache<String, String> imageCache;
+    private final ImageProcessor imageProcessor;
+    @Qualifier("imageProcessingExecutor")
+    private final Executor imageProcessingExecutor;
 
-    @Value("${secrets.s3.bucket}")
-    private String bucketName;
+    @Value("${s3.batch.max-concurrency}")
+    private int batchMaxConcurrency;
+
+    @Value("${s3.batch.timeout-millis}")
+    private long batchTimeoutMillis;
 
     /**
      * Uploads a file to S3.
+     * <p>
+     * The Base64 content is decoded on the fly while it is streamed to S3, so the decoded
+     * file is never materialized in memory as a whole.
      *
      * @param key            the key (path) where the file will be stored in S3
      * @param base64Content  the file content encoded in Base64
@@ -33,48 +61,423 @@ public class S3Service {
             return null;
         }
 
-        try {
-            byte[] decodedBytes = Base64.getDecoder().decode(base64Content);
-            s3Template.upload(bucketName, key, new ByteArrayInputStream(decodedBytes));
-        } catch (Exception e) {
-            throw new S3Exception("Failed to save file", null);
+        return store(key, () -> Base64.getDecoder().wrap(new CharSequenceInputStream(base64Content)));
+    }
+
+    /**
+     * Uploads a file received as a raw multipart/form-data part to S3.
+     * The part is streamed to S3 without being Base64-encoded or fully buffered in memory.
+     *
+     * @param key  the key (path) where the file will be stored in S3
+     * @param file the uploaded file
+     * @return the key of the uploaded file, or null if the file is missing or empty
+     */
+    public String uploadFile(String key, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            return null;
         }
 
-        return key;
+        return store(key, file::getInputStream);
+    }
+
+    /**
+     * Uploads a file already held in memory to S3.
+     *
+     * @param key     the key (path) where the file will be stored in S3
+     * @param content the file content
+     * @return the key of the uploaded file
+     */
+    public String uploadFile(String key, byte[] content) {
+        return store(key, () -> new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Computes the SHA-256 hash of a file given in Base64, decoding it on the fly.
+     *
+     * @param base64Content the file content encoded in Base64
+     * @return the hash of the decoded bytes as a lowercase hexadecimal string
+     */
+    public String contentHash(String base64Content) {
+        return digest(() -> Base64.getDecoder().wrap(new CharSequenceInputStream(base64Content)));
     }
 
     /**
-     * Deletes a file from S3.
+     * Computes the SHA-256 hash of a file received as a raw multipart/form-data part.
+     *
+     * @param file the uploaded file
+     * @return the hash of the file bytes as a lowercase hexadecimal string
+     */
+    public String contentHash(MultipartFile file) {
+        return digest(file::getInputStream);
+    }
+
+    /**
+     * Deletes a file and its image variants from S3.
      *
      * @param key the key (path) of the file to be deleted in S3
      */
     public void deleteFile(String key) {
+        deleteFiles(Collections.singletonList(key));
+    }
+
+    /**
+     * Deletes several files and their image variants from S3 with as few requests as possible.
+     *
+     * @param keys the keys (paths) of the files to be deleted in S3
+     */
+    public void deleteFiles(Collection<String> keys) {
         try {
-            s3Template.deleteObject(bucketName, key);
+            List<String> toDelete = new ArrayList<>();
+            for (String key : keys) {
+                toDelete.add(key);
+                ImageVariant.derived().forEach(variant -> toDelete.add(variant.keyFor(key)));
+            }
+
+            blobStore.delete(toDelete);
         } catch (Exception e) {
             throw new S3Exception("Failed to delete file", null);
+        } finally {
+            keys.stream().filter(Objects::nonNull).forEach(this::evict);
         }
     }
 
     /**
      * Retrieves a file from S3 and returns its content encoded in Base64.
+     * Repeated reads of the same key are served from the in-memory cache.
      *
      * @param key the key (path) of the file to be retrieved from S3
-     * @return the file content encoded in Base64, or null if the key is null
+     * @return the file content encoded in Base64, or null if the key is null or the file
+     *         is not stored (yet), e.g. while its upload is still pending
      */
     public String getFile(String key) {
         if (key == null) {
             return null;
         }
 
+        String cached = imageCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Downloaded outside the cache's compute so a slow object never blocks lookups of other keys
+        String file = read(key).map(S3Service::encode).orElse(null);
+        if (file != null) {
+            imageCache.put(key, file);
+        }
+
+        return file;
+    }
+
+    /**
+     * Retrieves a file from S3 in Base64 only if the given mode embeds images inline.
+     *
+     * @param key       the key (path) of the file to be retrieved from S3
+     * @param imageMode the delivery mode requested by the client
+     * @return the file content encoded in Base64, or null if the key is null or images are delivered by reference
+     */
+    public String getFile(String key, ImageMode imageMode) {
+        return imageMode.isInline() ? getFile(key) : null;
+    }
+
+    /**
+     * Retrieves a variant of an image from S3 and returns its content encoded in Base64.
+     * If the variant has not been generated yet, it is generated from the original on the spot;
+     * files that are not readable images are returned unchanged.
+     *
+     * @param key     the key (path) of the original image
+     * @param variant the variant to be retrieved
+     * @return the variant content encoded in Base64, or null if the key is null or the image is not stored (yet)
+     */
+    public String getFile(String key, ImageVariant variant) {
+        if (key == null || variant.isOriginal()) {
+            return getFile(key);
+        }
+
+        String variantKey = variant.keyFor(key);
+
+        String cached = imageCache.getIfPresent(variantKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        String file;
+        Optional<ByteBuffer> stored = read(variantKey);
+        if (stored.isPresent()) {
+            file = encode(stored.get());
+        } else {
+            Optional<ByteBuffer> original = read(key);
+            if (original.isEmpty()) {
+                return null;
+            }
+
+            byte[] generated = createVariants(key, original.get()).get(variant);
+            if (generated == null) {
+                return getFile(key);
+            }
+            file = Base64.getEncoder().encodeToString(generated);
+        }
+        imageCache.put(variantKey, file);
+
+        return file;
+    }
+
+    /**
+     * Retrieves several files from S3 in parallel and returns their content encoded in Base64.
+     * <p>
+     * Cached files are returned immediately; the others are downloaded on virtual threads,
+     * at most {@code s3.batch.max-concurrency} at a time. Files that are not stored, failed to
+     * load or could not be loaded within {@code s3.batch.timeout-millis} are missing from the
+     * result; downloads still in flight at the deadline are cancelled.
+     *
+     * @param keys the keys (paths) of the files to be retrieved; null keys are ignored
+     * @return a map from key to Base64 content containing every file loaded in time
+     */
+    public Map<String, String> getFiles(Collection<String> keys) {
+        return getFiles(keys, ImageVariant.ORIGINAL);
+    }
+
+    /**
+     * Retrieves the same variant of several images from S3 in parallel.
+     *
+     * @param keys    the keys (paths) of the original images; null keys are ignored
+     * @param variant the variant to be retrieved for every image
+     * @return a map from original key to Base64 content containing every file loaded in time
+     * @see #getFiles(Collection)
+     * @see #getFile(String, ImageVariant)
+     */
+    public Map<String, String> getFiles(Collection<String> keys, ImageVariant variant) {
+        Map<String, String> files = new ConcurrentHashMap<>();
+        List<String> toDownload = new ArrayList<>();
+
+        keys.stream().filter(Objects::nonNull).distinct().forEach(key -> {
+            String cached = imageCache.getIfPresent(variant.keyFor(key));
+            if (cached != null) {
+                files.put(key, cached);
+            } else {
+                toDownload.add(key);
+            }
+        });
+
+        if (toDownload.isEmpty()) {
+            return new HashMap<>(files);
+        }
+
+        Semaphore permits = new Semaphore(batchMaxConcurrency);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
         try {
-            byte[] file = s3Template.download(bucketName, key)
-                    .getInputStream()
-                    .readAllBytes();
+            List<Future<?>> downloads = toDownload.stream()
+                    .<Future<?>>map(key -> executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            String file = getFile(key, variant);
+                            if (file != null) {
+                                files.put(key, file);
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }))
+                    .toList();
 
-            return Base64.getEncoder().encodeToString(file);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+
+            for (Future<?> download : downloads) {
+                try {
+                    download.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    // the file is reported as missing
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Interrupts the downloads past the deadline, so that they stop holding connections and permits
+            executor.shutdownNow();
+        }
+
+        return new HashMap<>(files);
+    }
+
+    /**
+     * Retrieves a variant of several images from S3 only if the given mode embeds images inline.
+     *
+     * @param keys      the keys (paths) of the original images
+     * @param imageMode the delivery mode requested by the client
+     * @param variant   the variant to be retrieved for every image
+     * @return a map from original key to Base64 content, empty if images are delivered by reference
+     * @see #getFiles(Collection, ImageVariant)
+     */
+    public Map<String, String> getFiles(Collection<String> keys, ImageMode imageMode, ImageVariant variant) {
+        return imageMode.isInline() ? getFiles(keys, variant) : new HashMap<>();
+    }
+
+    /**
+     * Opens a file stored in S3 so that it can be streamed without being buffered in memory.
+     *
+     * @param key the key (path) of the file to be opened
+     * @return the {@link StoredFile} describing the object and its content
+     * @throws EntityNotFoundException if no object exists for the given key
+     */
+    public StoredFile openFile(String key) {
+        return openFile(key, ImageVariant.ORIGINAL);
+    }
+
+    /**
+     * Opens a variant of an image stored in S3 so that it can be streamed without being buffered in memory.
+     * A variant that has not been generated yet is generated from the original first;
+     * files that are not readable images are opened unchanged.
+     *
+     * @param key     the key (path) of the original image
+     * @param variant the variant to be opened
+     * @return the {@link StoredFile} describing the object and its content
+     * @throws EntityNotFoundException if no object exists for the given key
+     */
+    public StoredFile openFile(String key, ImageVariant variant) {
+        try {
+            Optional<StoredFile> file = blobStore.open(variant.keyFor(key));
+
+            if (file.isEmpty() && !variant.isOriginal() && blobStore.open(key).isPresent()) {
+                boolean generated = createVariants(key).containsKey(variant);
+                file = blobStore.open(generated ? variant.keyFor(key) : key);
+            }
+
+            return file.orElseThrow(() -> new EntityNotFoundException("File not found"));
         } catch (IOException e) {
             throw new S3Exception("Failed to retrieve file", null);
         }
     }
-}
\ No newline at end of file
+
+    private String digest(Callable<InputStream> contentSource) {
+        try (InputStream content = contentSource.call()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            content.transferTo(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            throw new S3Exception("Failed to read file", e);
+        }
+    }
+
+    private String store(String key, Callable<InputStream> contentSource) {
+        try (InputStream content = contentSource.call()) {
+            blobStore.write(key, content);
+            scheduleVariants(key);
+        } catch (Exception e) {
+            throw new S3Exception("Failed to save file", e);
+        } finally {
+            if (key != null) {
+                evict(key);
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Removes the variants of the image previously stored under the key and queues the
+     * generation of the new ones. When the queue is full the variants are left missing
+     * and generated on first read instead.
+     */
+    private void scheduleVariants(String key) throws IOException {
+        blobStore.delete(ImageVariant.derived().stream().map(variant -> variant.keyFor(key)).toList());
+
+        try {
+            imageProcessingExecutor.execute(() -> {
+                try {
+                    createVariants(key);
+                } catch (RuntimeException e) {
+                    // the missing variants are generated on first read
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the missing variants are generated on first read
+        }
+    }
+
+    /**
+     * Generates every variant of the image stored under the key and stores them next to it.
+     *
+     * @return the generated variants, empty if the file is not a readable image
+     */
+    private Map<ImageVariant, byte[]> createVariants(String key) {
+        return createVariants(key, read(key).orElseThrow(() -> new S3Exception("File not found", null)));
+    }
+
+    private Map<ImageVariant, byte[]> createVariants(String key, ByteBuffer original) {
+        try {
+            byte[] bytes = new byte[original.remaining()];
+            original.get(bytes);
+
+            Map<ImageVariant, byte[]> variants = imageProcessor.createVariants(bytes);
+
+            for (Map.Entry<ImageVariant, byte[]> variant : variants.entrySet()) {
+                String variantKey = variant.getKey().keyFor(key);
+                blobStore.write(variantKey, new ByteArrayInputStream(variant.getValue()));
+                imageCache.invalidate(variantKey);
+            }
+
+            return variants;
+        } catch (IOException e) {
+            throw new S3Exception("Failed to create image variants", e);
+        }
+    }
+
+    private void evict(String key) {
+        imageCache.invalidate(key);
+        ImageVariant.derived().forEach(variant -> imageCache.invalidate(variant.keyFor(key)));
+    }
+
+    private Optional<ByteBuffer> read(String key) {
+        try {
+            return blobStore.read(key);
+        } catch (IOException e) {
+            throw new S3Exception("Failed to retrieve file", null);
+        }
+    }
+
+    /**
+     * Encodes the remaining bytes of the buffer in Base64 without first copying them into
+     * an array, so memory-mapped files are read straight from the page cache.
+     */
+    private static String encode(ByteBuffer content) {
+        ByteBuffer encoded = Base64.getEncoder().encode(content);
+        return new String(encoded.array(), encoded.arrayOffset() + encoded.position(), encoded.remaining(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Exposes the characters of a {@link CharSequence} as bytes without copying them,
+     * which is lossless for the ASCII-only Base64 alphabet.
+     */
+    private static final class CharSequenceInputStream extends InputStream {
+        private final CharSequence chars;
+        private int position;
+
+        private CharSequenceInputStream(CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read() {
+            return position < chars.length() ? chars.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, buffer.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= chars.length()) {
+                return -1;
+            }
+
+            int count = Math.min(length, chars.length() - position);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) chars.charAt(position++);
+            }
+            return count;
+        }
+    }
+}
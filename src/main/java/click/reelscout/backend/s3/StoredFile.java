@@ -0,0 +1,14 @@
+package click.reelscout.backend.s3;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * A file retrieved from the object store, ready to be streamed to a client.
+ *
+ * @param content       the readable content of the file
+ * @param contentType   the MIME type of the file
+ * @param contentLength the size of the file in bytes
+ * @param eTag          an opaque validator that changes whenever the file changes
+ */
+public record StoredFile(Resource content, String contentType, long contentLength, String eTag) {
+}
@@ -0,0 +1,84 @@
+package click.reelscout.backend.s3;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link BlobStore} serving files from a fast local tier in front of a remote origin.
+ * <p>
+ * Writes go to the origin and drop any cached copy; reads that miss the local tier are
+ * fetched from the origin and copied into the local tier before being served. Failing to
+ * fill the local tier never fails a read.
+ */
+@RequiredArgsConstructor
+public class TieredBlobStore implements BlobStore {
+    private final BlobStore local;
+    private final BlobStore origin;
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(String key, InputStream content) throws IOException {
+        origin.write(key, content);
+        local.delete(List.of(key));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ByteBuffer> read(String key) throws IOException {
+        Optional<ByteBuffer> cached = local.read(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<ByteBuffer> content = origin.read(key);
+        if (content.isPresent()) {
+            ByteBuffer buffer = content.get();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+
+            try {
+                local.write(key, new ByteArrayInputStream(bytes));
+            } catch (IOException ignored) {
+                // The content is served from the origin; the next read retries the fill.
+            }
+        }
+
+        return content;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<StoredFile> open(String key) throws IOException {
+        Optional<StoredFile> cached = local.open(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        Optional<StoredFile> file = origin.open(key);
+        if (file.isEmpty()) {
+            return file;
+        }
+
+        try (InputStream content = file.get().content().getInputStream()) {
+            local.write(key, content);
+        } catch (IOException e) {
+            return origin.open(key);
+        }
+
+        return local.open(key).or(() -> file);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void delete(Collection<String> keys) throws IOException {
+        origin.delete(keys);
+        local.delete(keys);
+    }
+}
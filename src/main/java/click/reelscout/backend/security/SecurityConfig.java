@@ -82,7 +82,10 @@ public class SecurityConfig {
                 .requestMatchers(environment.getProperty("api.paths.friends")+"/**").hasRole(Role.MEMBER.name())
                 .requestMatchers(environment.getProperty("api.paths.content")+"/**").permitAll()
                 .requestMatchers(environment.getProperty("api.paths.search")+"/**").permitAll()
+                .requestMatchers(environment.getProperty("api.paths.image")+"/**").permitAll()
                 .requestMatchers(environment.getProperty("api.paths.chat")+"/**").hasRole(Role.MEMBER.name())
+                // Actuator endpoints (metrics, health) are reserved to administrators
+                .requestMatchers("/actuator/**").hasRole(Role.ADMIN.name())
                 // Allow STOMP/WebSocket handshake
                 .requestMatchers("/ws/**").permitAll()
                 .anyRequest().denyAll()
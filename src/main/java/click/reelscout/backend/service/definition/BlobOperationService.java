@@ -0,0 +1,61 @@
+package click.reelscout.backend.service.definition;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service definition for the blob store changes requested by transactional services.
+ * <p>
+ * Changes are recorded in the current transaction and applied by a background worker
+ * once it commits, so no blob store round trip happens while a database connection is held.
+ * Failed changes are retried with exponential backoff.
+ */
+public interface BlobOperationService {
+    /**
+     * Schedule the upload of a file given in Base64.
+     * The decoded file is staged in the database, in the current transaction, until it is uploaded.
+     *
+     * @param key           the key under which the file will be stored
+     * @param base64Content the file content encoded in Base64
+     */
+    void scheduleUpload(String key, String base64Content);
+
+    /**
+     * Schedule the upload of a file received as a raw multipart/form-data part.
+     *
+     * @param key  the key under which the file will be stored
+     * @param file the uploaded file
+     * @see #scheduleUpload(String, String)
+     */
+    void scheduleUpload(String key, MultipartFile file);
+
+    /**
+     * Schedule the deletion of a file and its image variants.
+     *
+     * @param key the key of the file to be deleted
+     */
+    void scheduleDelete(String key);
+
+    /**
+     * Retrieve a tag identifying the uploads still pending, which changes whenever an upload is
+     * scheduled or applied. Computed without loading any operation.
+     * Tags of responses embedding images include it, so that a client which got an image missing
+     * while it was being uploaded does not keep being told its copy is current.
+     *
+     * @return the tag of the pending uploads
+     */
+    String getPendingUploadsVersion();
+
+    /**
+     * Check whether the upload of a file is still pending.
+     *
+     * @param key the key of the file
+     * @return true if the file is scheduled for upload but not uploaded yet
+     */
+    boolean isUploadPending(String key);
+
+    /**
+     * Apply every operation that is due, in batches.
+     * Runs periodically and right after a transaction scheduling operations commits.
+     */
+    void processDueOperations();
+}
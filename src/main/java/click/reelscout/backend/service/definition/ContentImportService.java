@@ -0,0 +1,28 @@
+package click.reelscout.backend.service.definition;
+
+import click.reelscout.backend.dto.response.ContentImportResponseDTO;
+import click.reelscout.backend.model.jpa.ProductionCompany;
+
+import java.io.InputStream;
+
+/**
+ * Service definition for importing many contents at once, such as a production company's back-catalog.
+ * <p>
+ * The input is newline-delimited JSON with one content per line, read as a stream so the
+ * whole import is never held in memory. Lines are validated one by one and the valid ones
+ * are created in chunks, each in its own transaction; a failing chunk does not undo the
+ * chunks committed before it, and its lines are then created one by one so that only the
+ * lines the database rejects are reported as failed.
+ */
+public interface ContentImportService {
+    /**
+     * Import the contents read from the given newline-delimited JSON stream.
+     * Blank lines are skipped; every other line gets a result in the report, either the
+     * id of the created content or the reason it was rejected.
+     *
+     * @param authenticatedProduction the production company performing the operation
+     * @param ndjson                  the stream of JSON objects shaped like a content creation request
+     * @return the report of the import as {@link ContentImportResponseDTO}
+     */
+    ContentImportResponseDTO importContents(ProductionCompany authenticatedProduction, InputStream ndjson);
+}
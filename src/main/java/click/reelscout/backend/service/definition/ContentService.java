@@ -1,11 +1,16 @@
 package click.reelscout.backend.service.definition;
 
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentPageResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.model.jpa.ProductionCompany;
+import click.reelscout.backend.s3.ImageMode;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service definition for managing content resources.
@@ -23,6 +28,17 @@ public interface ContentService {
      */
     ContentResponseDTO create(ProductionCompany authenticatedProduction, ContentRequestDTO contentRequestDTO);
 
+    /**
+     * Create several content entries for the given production company in one transaction.
+     * The contents are inserted in JDBC batches and indexed with a single bulk request.
+     * Observers are not notified, so that importing a back-catalog does not flood subscribers.
+     *
+     * @param authenticatedProduction the production company performing the operation
+     * @param contentRequestDTOs      the DTOs containing the content data to create
+     * @return the ids of the created contents, in the order of the DTOs
+     */
+    List<Long> createAll(ProductionCompany authenticatedProduction, List<ContentRequestDTO> contentRequestDTOs);
+
     /**
      * Update an existing content entry.
      *
@@ -34,19 +50,77 @@ public interface ContentService {
     ContentResponseDTO update(ProductionCompany authenticatedProduction, Long id, ContentRequestDTO contentRequestDTO);
 
     /**
-     * Retrieve all available content.
+     * Update an existing content entry with an image uploaded as a raw file instead of Base64.
+     *
+     * @param authenticatedProduction the production company performing the operation
+     * @param id                      the id of the content to update
+     * @param contentRequestDTO       the DTO containing updated content data
+     * @param image                   the new image, or null to fall back to the Base64 image of the DTO
+     * @return the updated content as {@link ContentResponseDTO}
+     */
+    ContentResponseDTO update(ProductionCompany authenticatedProduction, Long id, ContentRequestDTO contentRequestDTO, MultipartFile image);
+
+    /**
+     * Stream all available content in ascending id order, handing each content to the action
+     * as soon as its window is loaded. Only one window of content is held in memory at a time.
+     *
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @param fields    the properties that will be returned; images and collections that are not selected are not loaded
+     * @param action    receives each {@link ContentResponseDTO}
+     */
+    void streamAll(ImageMode imageMode, FieldSelection fields, Consumer<? super ContentResponseDTO> action);
+
+    /**
+     * Retrieve a tag identifying the current state of all content, which changes whenever the
+     * result of {@link #streamAll(ImageMode, FieldSelection, Consumer)} would. Computed without loading any content.
+     *
+     * @return the tag of the current catalog state
+     */
+    String getAllVersion();
+
+    /**
+     * Retrieve a single content.
+     *
+     * @param id        the id of the content
+     * @param imageMode whether the image is embedded inline or returned by reference
+     * @return the content as {@link ContentResponseDTO}
+     * @throws click.reelscout.backend.exception.custom.EntityNotFoundException if no content has the given id
+     */
+    ContentResponseDTO getById(Long id, ImageMode imageMode);
+
+    /**
+     * Retrieve the contents with the given ids, loading those not assembled recently with a
+     * single query and their images with a single batched fetch.
+     *
+     * @param ids       the ids of the contents; duplicates and ids of missing contents are ignored
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @return list of {@link ContentResponseDTO}, in the order of the given ids
+     */
+    List<ContentResponseDTO> getAllById(List<Long> ids, ImageMode imageMode);
+
+    /**
+     * Retrieve one page of the content catalog, newest first.
      *
-     * @return list of {@link ContentResponseDTO} representing all content
+     * @param cursor      the cursor returned with the previous page, or null for the first page
+     * @param size        the maximum number of entries in the page
+     * @param genre       the genre to filter by, or null for all genres
+     * @param contentType the content type to filter by, or null for all types
+     * @param imageMode   whether images are embedded inline or returned by reference
+     * @param fields      the properties that will be returned; images and collections that are not selected are not loaded
+     * @return the page as {@link ContentPageResponseDTO}
      */
-    List<ContentResponseDTO> getAll();
+    ContentPageResponseDTO getCatalog(Long cursor, int size, String genre, String contentType, ImageMode imageMode, FieldSelection fields);
 
     /**
-     * Retrieve all content belonging to a specific production company.
+     * Stream all content belonging to a specific production company in ascending id order,
+     * holding only one window of content in memory at a time.
      *
      * @param authenticatedProduction the production company whose content should be returned
-     * @return list of {@link ContentResponseDTO} for the given production
+     * @param imageMode               whether images are embedded inline or returned by reference
+     * @param fields                  the properties that will be returned; images and collections that are not selected are not loaded
+     * @param action                  receives each {@link ContentResponseDTO} of the given production
      */
-    List<ContentResponseDTO> getByProductionCompany(ProductionCompany authenticatedProduction);
+    void streamByProductionCompany(ProductionCompany authenticatedProduction, ImageMode imageMode, FieldSelection fields, Consumer<? super ContentResponseDTO> action);
 
     /**
      * Delete a content entry.
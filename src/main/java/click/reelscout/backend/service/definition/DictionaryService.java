@@ -0,0 +1,55 @@
+package click.reelscout.backend.service.definition;
+
+import click.reelscout.backend.model.jpa.ContentType;
+import click.reelscout.backend.model.jpa.Genre;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service definition for the process-wide dictionary of genres and content types.
+ * <p>
+ * Every known entry is loaded at startup and kept in memory keyed by its upper-cased
+ * name, so resolving known names costs no database round trip. Unknown names are
+ * looked up once more in the database and, where requested, inserted in their own
+ * transaction before being added to the dictionary.
+ */
+public interface DictionaryService {
+    /**
+     * Resolve the given genres to persisted entities, inserting those that do not exist yet.
+     *
+     * @param genres the genres to resolve, matched by name ignoring case
+     * @return the persisted genres, without duplicates, in the order first requested
+     */
+    List<Genre> getOrCreateGenres(Collection<Genre> genres);
+
+    /**
+     * Resolve the given genres to persisted entities, skipping those that do not exist.
+     *
+     * @param genres the genres to resolve, matched by name ignoring case
+     * @return the persisted genres, without duplicates, in the order first requested
+     */
+    List<Genre> findGenres(Collection<Genre> genres);
+
+    /**
+     * Resolve the given content type to a persisted entity, inserting it if it does not exist yet.
+     *
+     * @param contentType the content type to resolve, matched by name ignoring case
+     * @return the persisted content type
+     */
+    ContentType getOrCreateContentType(ContentType contentType);
+
+    /**
+     * Retrieve the names of every known genre.
+     *
+     * @return the genre names in alphabetical order
+     */
+    List<String> getGenreNames();
+
+    /**
+     * Retrieve the names of every known content type.
+     *
+     * @return the content type names in alphabetical order
+     */
+    List<String> getContentTypeNames();
+}
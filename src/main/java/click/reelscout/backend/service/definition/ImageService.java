@@ -0,0 +1,42 @@
+package click.reelscout.backend.service.definition;
+
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Service definition for managing the images referenced by contents and users.
+ * <p>
+ * Images are stored under a key derived from the SHA-256 hash of their bytes, so identical
+ * images are stored once and shared; a reference count tracks how many entities use each one.
+ * Uploads and deletions are applied after the calling transaction commits, see {@link BlobOperationService}.
+ */
+public interface ImageService {
+    /** Prefix of the content-addressed keys; objects stored under it never change. */
+    String KEY_PREFIX = "image/";
+
+    /**
+     * Replace the image referenced by an entity with a new one given in Base64.
+     * Nothing is uploaded if the image is unchanged or already stored for another entity.
+     *
+     * @param currentKey  the key of the image currently referenced, or null if none
+     * @param base64Image the new image encoded in Base64, or null/empty to remove the image
+     * @return the key of the new image, or null if the image was removed
+     */
+    String replace(String currentKey, String base64Image);
+
+    /**
+     * Replace the image referenced by an entity with a new one uploaded as a raw file.
+     *
+     * @param currentKey the key of the image currently referenced, or null if none
+     * @param image      the new image, or null/empty to remove the image
+     * @return the key of the new image, or null if the image was removed
+     * @see #replace(String, String)
+     */
+    String replace(String currentKey, MultipartFile image);
+
+    /**
+     * Release the reference an entity holds on an image, deleting the image once unreferenced.
+     *
+     * @param key the key of the image, or null if none
+     */
+    void release(String key);
+}
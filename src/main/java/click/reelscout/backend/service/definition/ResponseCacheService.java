@@ -0,0 +1,124 @@
+package click.reelscout.backend.service.definition;
+
+import click.reelscout.backend.s3.ImageMode;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Service definition for the cache of serialized responses of the most requested reads.
+ * <p>
+ * Responses are kept as the UTF-8 JSON bytes written to clients, and also gzip-compressed
+ * when large enough, so that a hit costs neither serialization nor compression. Entries are
+ * dropped by the service implementations whenever they write the entities a response is built from.
+ */
+public interface ResponseCacheService {
+    /**
+     * Serialized form of a response.
+     *
+     * @param json the UTF-8 encoded JSON
+     * @param gzip the gzip-compressed JSON, or null if the JSON is too small to be worth compressing
+     */
+    record SerializedResponse(byte[] json, byte[] gzip) {
+        /**
+         * Number of bytes held by the entry.
+         *
+         * @return the size of the JSON plus the size of its compressed form
+         */
+        public int size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    /**
+     * Get the serialized response cached under a key, building and serializing it on a miss.
+     * Failures of the builder are propagated and nothing is cached.
+     *
+     * @param key  the key of the response, see the key methods of this interface
+     * @param body builds the response on a miss
+     * @return the serialized response
+     */
+    SerializedResponse get(String key, Supplier<?> body);
+
+    /**
+     * Get the serialized response cached under a key, building and serializing it on a miss,
+     * and caching it only if it is complete. A response missing something that shows up later
+     * without any write of its entities, such as an image whose upload is still pending,
+     * is returned without being cached.
+     *
+     * @param key       the key of the response, see the key methods of this interface
+     * @param body      builds the response on a miss
+     * @param cacheable tells whether a built response may be cached
+     * @param <T>       the type of the response
+     * @return the serialized response
+     */
+    <T> SerializedResponse get(String key, Supplier<T> body, Predicate<? super T> cacheable);
+
+    /**
+     * Drop the responses cached under the given keys once the current transaction completes,
+     * or immediately if there is none.
+     *
+     * @param keys the keys of the responses to drop
+     */
+    void invalidate(String... keys);
+
+    /**
+     * Key of a single content, as returned in the given image mode.
+     *
+     * @param id        the id of the content
+     * @param imageMode the image mode of the response
+     * @return the key of the response
+     */
+    static String contentKey(Long id, ImageMode imageMode) {
+        return "content:" + id + ":" + imageMode;
+    }
+
+    /**
+     * Keys of a single content in every image mode.
+     *
+     * @param id the id of the content
+     * @return the keys of the responses
+     */
+    static String[] contentKeys(Long id) {
+        return Arrays.stream(ImageMode.values()).map(imageMode -> contentKey(id, imageMode)).toArray(String[]::new);
+    }
+
+    /**
+     * Key of the list of genre names.
+     *
+     * @return the key of the response
+     */
+    static String genresKey() {
+        return "genres";
+    }
+
+    /**
+     * Key of the list of content type names.
+     *
+     * @return the key of the response
+     */
+    static String contentTypesKey() {
+        return "content-types";
+    }
+
+    /**
+     * Key of the public watchlists of a member.
+     *
+     * @param memberId the id of the member
+     * @return the key of the response
+     */
+    static String publicWatchlistsKey(Long memberId) {
+        return "public-watchlists:" + memberId;
+    }
+
+    /**
+     * Key of the profile of a user.
+     *
+     * @param userId the id of the user
+     * @return the key of the response
+     */
+    static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+}
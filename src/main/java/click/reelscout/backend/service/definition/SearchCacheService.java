@@ -0,0 +1,34 @@
+package click.reelscout.backend.service.definition;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Service definition for the cache of search results.
+ * <p>
+ * The documents matching a query are kept per index, so that popular queries are answered
+ * without reaching Elasticsearch. The service implementations writing to an index invalidate
+ * every result cached for it.
+ */
+public interface SearchCacheService {
+    /**
+     * Get the documents matching a query, searching them on a miss.
+     * Queries differing only by surrounding or repeated whitespace share their result.
+     * Failures of the search are propagated and nothing is cached.
+     *
+     * @param docClass the class of the documents searched, which determines the index
+     * @param query    the search query
+     * @param search   searches the documents on a miss
+     * @param <D>      the type of the documents
+     * @return the matching documents, in relevance order; the list must not be modified
+     */
+    <D> List<D> get(Class<D> docClass, String query, Supplier<List<D>> search);
+
+    /**
+     * Drop the results cached for the index of the given documents once the current transaction
+     * completes, or immediately if there is none.
+     *
+     * @param docClass the class of the documents written
+     */
+    void invalidate(Class<?> docClass);
+}
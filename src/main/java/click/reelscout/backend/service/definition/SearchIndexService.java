@@ -0,0 +1,41 @@
+package click.reelscout.backend.service.definition;
+
+import click.reelscout.backend.dto.response.ReindexStatusDTO;
+
+import java.util.Collection;
+
+/**
+ * Service definition for rebuilding the search indices from the database.
+ * <p>
+ * Each index is rebuilt into a fresh, versioned index while searches keep reading the current
+ * one through its alias. Entities are read window by window and written with bulk requests,
+ * with refresh disabled until the copy is complete; the alias is then moved to the new index
+ * and the previous one deleted in a single atomic request. Documents saved or deleted while an
+ * index is being rebuilt, through any instance, are recorded in the database and written again
+ * into the new index, so that the swap does not lose them.
+ */
+public interface SearchIndexService {
+    /**
+     * Start rebuilding the contents and users indices in the background.
+     *
+     * @return the status of the rebuild just started
+     * @throws click.reelscout.backend.exception.custom.ReindexInProgressException if a rebuild is already running
+     */
+    ReindexStatusDTO reindex();
+
+    /**
+     * Get the status of the latest rebuild, with the progress and throughput of each index.
+     *
+     * @return the status as {@link ReindexStatusDTO}
+     */
+    ReindexStatusDTO getReindexStatus();
+
+    /**
+     * Record, in the current transaction, that documents were just saved to or deleted from their index,
+     * so that a rebuild of the index in progress on any instance writes their latest state into the new index.
+     *
+     * @param docClass the class of the index the documents were saved to or deleted from
+     * @param ids      the ids of the documents
+     */
+    void recordChanges(Class<?> docClass, Collection<Long> ids);
+}
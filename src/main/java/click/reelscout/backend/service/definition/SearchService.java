@@ -1,7 +1,11 @@
 package click.reelscout.backend.service.definition;
 
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.SearchPageResponseDTO;
 import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.SuggestResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.s3.ImageMode;
 
 import java.util.List;
 
@@ -12,16 +16,63 @@ public interface SearchService<S extends UserResponseDTO> {
     /**
      * Perform a general search across content and members.
      *
-     * @param query the search query
+     * @param query     the search query
+     * @param imageMode whether images are embedded inline or returned by reference
      * @return a {@link SearchResponseDTO} containing results
      */
-    SearchResponseDTO<S> search(String query);
+    SearchResponseDTO<S> search(String query, ImageMode imageMode);
 
     /**
      * Search members by query.
      *
-     * @param query the search query
+     * @param query     the search query
+     * @param imageMode whether images are embedded inline or returned by reference
      * @return list of user DTOs matching the query
      */
-    List<S> searchMembers(String query);
+    List<S> searchMembers(String query, ImageMode imageMode);
+
+    /**
+     * Search contents one page at a time, in relevance order.
+     *
+     * @param query     the search query
+     * @param cursor    the {@code nextCursor} of the previous page of the same search, or null for the first page
+     * @param size      the number of results per page
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @return the page of content DTOs matching the query
+     * @throws click.reelscout.backend.exception.custom.DataValidationException if the cursor was issued by another search
+     */
+    SearchPageResponseDTO<ContentResponseDTO> searchContentPage(String query, String cursor, int size, ImageMode imageMode);
+
+    /**
+     * Search users one page at a time, in relevance order.
+     *
+     * @param query     the search query
+     * @param cursor    the {@code nextCursor} of the previous page of the same search, or null for the first page
+     * @param size      the number of results per page
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @return the page of user DTOs matching the query
+     * @throws click.reelscout.backend.exception.custom.DataValidationException if the cursor was issued by another search
+     */
+    SearchPageResponseDTO<S> searchUsersPage(String query, String cursor, int size, ImageMode imageMode);
+
+    /**
+     * Search members one page at a time, in relevance order.
+     *
+     * @param query     the search query
+     * @param cursor    the {@code nextCursor} of the previous page of the same search, or null for the first page
+     * @param size      the number of results per page
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @return the page of member DTOs matching the query
+     * @throws click.reelscout.backend.exception.custom.DataValidationException if the cursor was issued by another search
+     */
+    SearchPageResponseDTO<S> searchMembersPage(String query, String cursor, int size, ImageMode imageMode);
+
+    /**
+     * Suggest users and contents whose names start with the text typed so far.
+     * Meant to run on every keystroke, so it only returns what a suggestion list shows.
+     *
+     * @param query the text typed so far
+     * @return the best matching users and contents
+     */
+    SuggestResponseDTO suggest(String query);
 }
@@ -6,8 +6,11 @@ import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.UserLoginResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.model.jpa.User;
+import click.reelscout.backend.s3.ImageMode;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service definition for user management operations.
@@ -17,11 +20,13 @@ import java.util.List;
  */
 public interface UserService <U extends User, R extends UserRequestDTO, S extends UserResponseDTO> {
     /**
-     * Get all users.
+     * Stream all users in ascending id order, handing each user to the action as soon as its
+     * window is loaded. Only one window of users is held in memory at a time.
      *
-     * @return list of user DTOs
+     * @param imageMode whether images are embedded inline or returned by reference
+     * @param action    receives each user DTO
      */
-    List<S> getAll();
+    void streamAll(ImageMode imageMode, Consumer<? super S> action);
 
     /**
      * Get a user by id.
@@ -63,6 +68,16 @@ public interface UserService <U extends User, R extends UserRequestDTO, S extend
      */
     S getCurrentUserDto(U authenticatedUser);
 
+    /**
+     * Get a tag identifying the current state of the authenticated user's profile, which changes
+     * whenever the result of {@link #getCurrentUserDto(User)} would, including once an image still
+     * being uploaded becomes available.
+     *
+     * @param authenticatedUser the authenticated user entity
+     * @return the tag of the user's profile
+     */
+    String getCurrentUserVersion(U authenticatedUser);
+
     /**
      * Update user profile.
      *
@@ -72,6 +87,16 @@ public interface UserService <U extends User, R extends UserRequestDTO, S extend
      */
     UserLoginResponseDTO update(U user, R userRequestDTO);
 
+    /**
+     * Update user profile with an image uploaded as a raw file instead of Base64.
+     *
+     * @param user           the authenticated user entity
+     * @param userRequestDTO update payload
+     * @param image          the new profile image, or null to fall back to the Base64 image of the payload
+     * @return {@link UserLoginResponseDTO} when authentication token needs to be refreshed, otherwise null
+     */
+    UserLoginResponseDTO update(U user, R userRequestDTO, MultipartFile image);
+
     /**
      * Change password for the authenticated user.
      *
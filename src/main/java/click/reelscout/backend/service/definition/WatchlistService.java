@@ -1,5 +1,6 @@
 package click.reelscout.backend.service.definition;
 
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.WatchlistRequestDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.WatchlistResponseDTO;
@@ -50,6 +51,15 @@ public interface WatchlistService {
      */
     List<WatchlistResponseDTO> getAllByMember(Member member);
 
+    /**
+     * Get a tag identifying the current state of the watchlists owned by a member, which changes
+     * whenever the result of {@link #getAllByMember(Member)} would. Computed without loading them.
+     *
+     * @param member the member whose watchlists are described
+     * @return the tag of the member's watchlists
+     */
+    String getAllByMemberVersion(Member member);
+
     /**
      * Add a content item to a watchlist.
      *
@@ -75,9 +85,21 @@ public interface WatchlistService {
      *
      * @param member the requesting member (may be null for anonymous access)
      * @param id     the id of the watchlist
+     * @param fields the properties of the contents that will be returned; images and collections
+     *               that are not selected are not loaded
      * @return {@link WatchlistResponseDTO}
      */
-    WatchlistResponseDTO getById(Member member, Long id);
+    WatchlistResponseDTO getById(Member member, Long id, FieldSelection fields);
+
+    /**
+     * Get a tag identifying the current state of a watchlist and its contents, which changes
+     * whenever the result of {@link #getById(Member, Long, FieldSelection)} would (same visibility checks applied).
+     *
+     * @param member the requesting member (may be null for anonymous access)
+     * @param id     the id of the watchlist
+     * @return the tag of the watchlist
+     */
+    String getVersion(Member member, Long id);
 
     /**
      * Get all watchlists for a member that contain a specific content item.
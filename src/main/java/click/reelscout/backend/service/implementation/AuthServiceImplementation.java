@@ -13,14 +13,17 @@ import click.reelscout.backend.exception.custom.AccountSuspendedException;
 import click.reelscout.backend.factory.UserMapperFactory;
 import click.reelscout.backend.factory.UserMapperFactoryRegistry;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.User;
 import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
-import click.reelscout.backend.repository.jpa.GenreRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
-import click.reelscout.backend.s3.S3Service;
 import click.reelscout.backend.security.JwtService;
 import click.reelscout.backend.service.definition.AuthService;
+import click.reelscout.backend.service.definition.DictionaryService;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.strategy.UserMapperContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +32,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 @RequiredArgsConstructor
 @Transactional(rollbackOn = Exception.class)
@@ -41,8 +43,10 @@ public class AuthServiceImplementation <U extends User, B extends UserBuilder<U,
     private final PasswordEncoder passwordEncoder;
     private final UserMapperContext<U,B,R,S,M> userMapperContext;
     private final UserMapperFactoryRegistry<U,B,R,S,M, UserMapperFactory<U,B,R,S,M>> userMapperFactoryRegistry;
-    private final S3Service s3Service;
-    private final GenreRepository genreRepository;
+    private final ImageService imageService;
+    private final DictionaryService dictionaryService;
+    private final SearchCacheService searchCacheService;
+    private final SearchIndexService searchIndexService;
 
     /** {@inheritDoc} */
     @Override
@@ -87,23 +91,19 @@ public class AuthServiceImplementation <U extends User, B extends UserBuilder<U,
         userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(userRequestDTO));
 
         if (userRequestDTO instanceof MemberRequestDTO memberRequestDTO && memberRequestDTO.getFavoriteGenres() != null) {
-            List<Genre> savedGenres = genreRepository.findAllByNameIgnoreCaseIn(
-                    memberRequestDTO.getFavoriteGenres()
-                            .stream()
-                            .map(Genre::getName)
-                            .toList()
-            );
+            List<Genre> savedGenres = dictionaryService.findGenres(memberRequestDTO.getFavoriteGenres());
             memberRequestDTO.setFavoriteGenres(savedGenres);
         }
 
         try {
-            String s3ImageKey = userRequestDTO.getBase64Image() != null ? "user/" + UUID.randomUUID() : null;
+            String s3ImageKey = imageService.replace(null, userRequestDTO.getBase64Image());
 
             U saved = userRepository.save(userMapperContext.toEntity(userRequestDTO, s3ImageKey));
 
-            userElasticRepository.save(userMapperContext.toUserDoc(saved));
-
-            s3Service.uploadFile(s3ImageKey, userRequestDTO.getBase64Image());
+            UserDoc doc = userMapperContext.toUserDoc(saved);
+            userElasticRepository.save(doc);
+            searchIndexService.recordChanges(UserDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(UserDoc.class);
         } catch (Exception e) {
             throw new EntityCreateException(User.class);
         }
@@ -0,0 +1,273 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.jpa.BlobOperationType;
+import click.reelscout.backend.model.jpa.PendingBlobOperation;
+import click.reelscout.backend.model.jpa.StagedFile;
+import click.reelscout.backend.model.jpa.StoredImage;
+import click.reelscout.backend.repository.jpa.PendingBlobOperationRepository;
+import click.reelscout.backend.repository.jpa.StagedFileRepository;
+import click.reelscout.backend.repository.jpa.StoredImageRepository;
+import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import io.awspring.cloud.s3.S3Exception;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class BlobOperationServiceImplementation implements BlobOperationService {
+    private final PendingBlobOperationRepository pendingBlobOperationRepository;
+    private final StoredImageRepository storedImageRepository;
+    private final StagedFileRepository stagedFileRepository;
+    private final S3Service s3Service;
+    private final Executor threadPoolExecutor;
+    @Qualifier("blobUploadExecutor")
+    private final Executor blobUploadExecutor;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock processing = new ReentrantLock();
+    private final AtomicBoolean processingRequested = new AtomicBoolean();
+
+    @Value("${s3.pending-operations.batch-size}")
+    private int batchSize;
+
+    @Value("${s3.pending-operations.claim-timeout-millis}")
+    private long claimTimeoutMillis;
+
+    @Value("${s3.pending-operations.initial-backoff-millis}")
+    private long initialBackoffMillis;
+
+    @Value("${s3.pending-operations.max-backoff-millis}")
+    private long maxBackoffMillis;
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(rollbackOn = Exception.class)
+    public void scheduleUpload(String key, String base64Content) {
+        stage(key, Base64.getDecoder().decode(base64Content));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(rollbackOn = Exception.class)
+    public void scheduleUpload(String key, MultipartFile file) {
+        try {
+            stage(key, file.getBytes());
+        } catch (IOException e) {
+            throw new S3Exception("Failed to read file", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(rollbackOn = Exception.class)
+    public void scheduleDelete(String key) {
+        pendingBlobOperationRepository.save(new PendingBlobOperation(BlobOperationType.DELETE, key));
+
+        afterCommit();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getPendingUploadsVersion() {
+        return pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean isUploadPending(String key) {
+        return pendingBlobOperationRepository.existsByTypeAndS3Key(BlobOperationType.UPLOAD, key);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only one thread per instance applies operations at a time; a request arriving meanwhile
+     * makes that thread look for due operations once more before it stops. Instances share the
+     * operations by claiming them, see {@link #claimDueOperations()}.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${s3.pending-operations.poll-interval-millis}")
+    public void processDueOperations() {
+        while (processing.tryLock()) {
+            try {
+                processingRequested.set(false);
+
+                while (processBatch() == batchSize) {
+                    // keep going while full batches are due
+                }
+            } finally {
+                processing.unlock();
+            }
+
+            if (!processingRequested.get()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims a batch of due operations and applies them outside any transaction.
+     * Each operation is checked against the reference counts first, so operations on the
+     * same key may be applied in any order: an image is only uploaded while referenced and
+     * only deleted while unreferenced. The uploads of the batch are sent concurrently and
+     * all its deletes in one request.
+     *
+     * @return the number of operations in the batch
+     */
+    private int processBatch() {
+        List<PendingBlobOperation> due = claimDueOperations();
+
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> referenced = storedImageRepository.findAllById(due.stream().map(PendingBlobOperation::getS3Key).distinct().toList())
+                .stream()
+                .map(StoredImage::getS3Key)
+                .collect(Collectors.toSet());
+
+        List<PendingBlobOperation> applied = new ArrayList<>();
+        List<PendingBlobOperation> failed = new ArrayList<>();
+        List<PendingBlobOperation> deletes = new ArrayList<>();
+        List<PendingBlobOperation> uploads = new ArrayList<>();
+        List<CompletableFuture<Void>> pendingUploads = new ArrayList<>();
+
+        for (PendingBlobOperation operation : due) {
+            if (operation.getType() == BlobOperationType.DELETE) {
+                deletes.add(operation);
+                continue;
+            }
+
+            uploads.add(operation);
+            pendingUploads.add(CompletableFuture.runAsync(() -> {
+                if (referenced.contains(operation.getS3Key())) {
+                    // The content is loaded by the upload itself, so that a batch holds at most one file per upload thread.
+                    // Dropping the operation would leave the entity pointing at an image that was never uploaded;
+                    // kept for retries, it shows in the age of the oldest pending operation instead
+                    StagedFile staged = stagedFileRepository.findById(operation.getId())
+                            .orElseThrow(() -> new S3Exception("Staged file is missing", null));
+
+                    s3Service.uploadFile(operation.getS3Key(), staged.getContent());
+                }
+            }, blobUploadExecutor));
+        }
+
+        for (int i = 0; i < uploads.size(); i++) {
+            try {
+                pendingUploads.get(i).join();
+                applied.add(uploads.get(i));
+            } catch (CompletionException e) {
+                retryLater(uploads.get(i), e.getCause() instanceof RuntimeException cause ? cause : e);
+                failed.add(uploads.get(i));
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            try {
+                s3Service.deleteFiles(deletes.stream()
+                        .map(PendingBlobOperation::getS3Key)
+                        .filter(key -> !referenced.contains(key))
+                        .distinct()
+                        .toList());
+                applied.addAll(deletes);
+            } catch (RuntimeException e) {
+                deletes.forEach(operation -> retryLater(operation, e));
+                failed.addAll(deletes);
+            }
+        }
+
+        // Applied operations and their staged files go together, so that no operation is left without its content
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            pendingBlobOperationRepository.deleteAllInBatch(applied);
+            stagedFileRepository.deleteAllByIdInBatch(applied.stream()
+                    .filter(operation -> operation.getType() == BlobOperationType.UPLOAD)
+                    .map(PendingBlobOperation::getId)
+                    .toList());
+            pendingBlobOperationRepository.saveAll(failed);
+        });
+
+        return due.size();
+    }
+
+    /**
+     * Claims a batch of due operations in a short transaction. Their rows are locked, skipping
+     * those another instance is claiming, and their next attempt is postponed by the claim timeout,
+     * so that other instances leave them alone while this one applies them. Should this instance
+     * stop before it is done, the operations become due again once the claim expires.
+     */
+    private List<PendingBlobOperation> claimDueOperations() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingBlobOperation> due = pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(now, Limit.of(batchSize));
+
+            // The claimed rows are written when the transaction commits, which also releases their locks
+            due.forEach(operation -> operation.claimUntil(now.plus(claimTimeoutMillis, ChronoUnit.MILLIS)));
+
+            return due;
+        });
+    }
+
+    private void retryLater(PendingBlobOperation operation, RuntimeException e) {
+        long backoffMillis = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(operation.getAttempts(), 30));
+
+        operation.retryAt(LocalDateTime.now().plus(backoffMillis, ChronoUnit.MILLIS), e.getMessage());
+    }
+
+    /**
+     * Records an upload together with its content. Both are rolled back with the calling
+     * transaction, so nothing is left to clean up if it fails.
+     */
+    private void stage(String key, byte[] content) {
+        PendingBlobOperation operation = pendingBlobOperationRepository.save(new PendingBlobOperation(BlobOperationType.UPLOAD, key));
+        stagedFileRepository.save(new StagedFile(operation.getId(), content));
+
+        afterCommit();
+    }
+
+    /**
+     * Requests the operations to be applied once the current transaction commits.
+     */
+    private void afterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestProcessing();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestProcessing();
+            }
+        });
+    }
+
+    private void requestProcessing() {
+        processingRequested.set(true);
+        threadPoolExecutor.execute(this::processDueOperations);
+    }
+}
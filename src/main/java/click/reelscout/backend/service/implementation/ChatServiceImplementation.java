@@ -10,12 +10,18 @@ import click.reelscout.backend.service.definition.ChatService;
 import click.reelscout.backend.mapper.definition.ChatMessageMapper;
 import click.reelscout.backend.mapper.definition.ConversationMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
@@ -25,14 +31,94 @@ public class ChatServiceImplementation implements ChatService {
     private final ChatMessageMapper chatMessageMapper;
     private final ConversationMapper conversationMapper;
 
-    /** {@inheritDoc} */
+    @Value("${chat.persistence.batch-size}")
+    private int batchSize;
+
+    private final Queue<PendingMessage> pendingMessages = new ConcurrentLinkedQueue<>();
+    private final Lock flushLock = new ReentrantLock();
+
+    private record PendingMessage(ChatMessage message, CompletableFuture<Void> saved) {}
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages sent concurrently are saved together: each sender queues its message and waits
+     * for the flush lock, and whoever holds it saves every queued message in one batch. The
+     * call still returns only once its own message is committed.
+     */
     @Override
     public ChatMessageResponseDTO saveDirectMessage(Member sender, ChatMessageRequestDTO chatMessageRequestDTO) {
         ChatMessage message = chatMessageMapper.toEntity(chatMessageRequestDTO, sender.getUsername());
-        repository.save(message);
+
+        PendingMessage pending = new PendingMessage(message, new CompletableFuture<>());
+        pendingMessages.add(pending);
+
+        flushLock.lock();
+        try {
+            // Already saved by the batch of a sender which held the lock before us
+            if (!pending.saved().isDone()) {
+                flushPendingMessages();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+
+        try {
+            pending.saved().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
         return chatMessageMapper.toDto(message);
     }
 
+    private void flushPendingMessages() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        PendingMessage next;
+
+        while (!pendingMessages.isEmpty()) {
+            while (batch.size() < batchSize && (next = pendingMessages.poll()) != null) {
+                batch.add(next);
+            }
+
+            try {
+                saveBatch(batch);
+            } finally {
+                // Only an Error escaping the save leaves messages unresolved; their senders must not wait forever
+                batch.forEach(pending -> pending.saved().completeExceptionally(new IllegalStateException("Chat message was not saved")));
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Saves a batch of messages in one call. If the call fails, the messages are saved one by one,
+     * so that a message the database rejects fails only its own sender.
+     */
+    private void saveBatch(List<PendingMessage> batch) {
+        try {
+            repository.saveAll(batch.stream().map(PendingMessage::message).toList());
+            batch.forEach(pending -> pending.saved().complete(null));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().saved().completeExceptionally(e);
+                return;
+            }
+
+            for (PendingMessage pending : batch) {
+                // The failed batch was rolled back, so the id it assigned is not in the table
+                pending.message().setId(null);
+
+                try {
+                    repository.save(pending.message());
+                    pending.saved().complete(null);
+                } catch (RuntimeException messageFailure) {
+                    pending.saved().completeExceptionally(messageFailure);
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Page<ChatMessageResponseDTO> getDirectHistory(String userA, String userB, Pageable pageable) {
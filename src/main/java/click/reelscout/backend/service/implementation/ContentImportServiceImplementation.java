@@ -0,0 +1,149 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.response.ContentImportItemResultDTO;
+import click.reelscout.backend.dto.response.ContentImportResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.model.jpa.ProductionCompany;
+import click.reelscout.backend.service.definition.ContentImportService;
+import click.reelscout.backend.service.definition.ContentService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class ContentImportServiceImplementation implements ContentImportService {
+    private final ContentService contentService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${content.import.chunk-size}")
+    private int chunkSize;
+
+    @Value("${content.import.max-items}")
+    private int maxItems;
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentImportResponseDTO importContents(ProductionCompany authenticatedProduction, InputStream ndjson) {
+        List<ContentImportItemResultDTO> results = new ArrayList<>();
+        List<ContentRequestDTO> chunk = new ArrayList<>();
+        List<ContentImportItemResultDTO> chunkResults = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ContentImportItemResultDTO result = new ContentImportItemResultDTO(lineNumber, null, null);
+                results.add(result);
+
+                if (results.size() > maxItems) {
+                    result.setError("Import limit of " + maxItems + " items exceeded, remaining lines were not read");
+                    break;
+                }
+
+                String error = parse(line, chunk);
+                if (error != null) {
+                    result.setError(error);
+                    continue;
+                }
+
+                chunkResults.add(result);
+                if (chunk.size() == chunkSize) {
+                    createChunk(authenticatedProduction, chunk, chunkResults);
+                }
+            }
+        } catch (IOException e) {
+            throw new DataValidationException("Failed to read the import: " + e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            createChunk(authenticatedProduction, chunk, chunkResults);
+        }
+
+        int created = (int) results.stream().map(ContentImportItemResultDTO::getId).filter(Objects::nonNull).count();
+
+        return new ContentImportResponseDTO(created, results.size() - created, results);
+    }
+
+    /**
+     * Parses and validates one line, adding the content to the chunk if it is valid.
+     *
+     * @return the reason the line was rejected, or null if it was added
+     */
+    private String parse(String line, List<ContentRequestDTO> chunk) {
+        ContentRequestDTO contentRequestDTO;
+        try {
+            contentRequestDTO = objectMapper.readValue(line, ContentRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            return "Malformed content: " + e.getOriginalMessage();
+        }
+
+        if (contentRequestDTO == null) {
+            return "Malformed content: null";
+        }
+
+        String violations = validator.validate(contentRequestDTO).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+
+        chunk.add(contentRequestDTO);
+        return null;
+    }
+
+    /**
+     * Creates the contents of a chunk in one transaction and records the outcome on their results.
+     * If the chunk fails, its contents are created one by one, so that a content the database
+     * rejects fails only its own line.
+     */
+    private void createChunk(ProductionCompany authenticatedProduction, List<ContentRequestDTO> chunk, List<ContentImportItemResultDTO> chunkResults) {
+        try {
+            List<Long> ids = contentService.createAll(authenticatedProduction, List.copyOf(chunk));
+
+            for (int i = 0; i < chunkResults.size(); i++) {
+                chunkResults.get(i).setId(ids.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < chunk.size(); i++) {
+                // The failed chunk was rolled back as a whole, so none of its contents exists yet
+                createOne(authenticatedProduction, chunk.get(i), chunkResults.get(i));
+            }
+        }
+
+        chunk.clear();
+        chunkResults.clear();
+    }
+
+    private void createOne(ProductionCompany authenticatedProduction, ContentRequestDTO contentRequestDTO, ContentImportItemResultDTO result) {
+        try {
+            result.setId(contentService.createAll(authenticatedProduction, List.of(contentRequestDTO)).getFirst());
+        } catch (RuntimeException e) {
+            result.setError("Content not created: " + e.getMessage());
+        }
+    }
+}
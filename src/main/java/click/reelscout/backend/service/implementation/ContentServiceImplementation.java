@@ -1,6 +1,8 @@
 package click.reelscout.backend.service.implementation;
 
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentPageResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.exception.custom.EntityCreateException;
@@ -8,23 +10,42 @@ import click.reelscout.backend.exception.custom.EntityDeleteException;
 import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import click.reelscout.backend.exception.custom.EntityUpdateException;
 import click.reelscout.backend.mapper.definition.ContentMapper;
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
 import click.reelscout.backend.model.jpa.Content;
 import click.reelscout.backend.model.jpa.ContentType;
 import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.repository.elasticsearch.ContentElasticRepository;
 import click.reelscout.backend.repository.jpa.ContentRepository;
-import click.reelscout.backend.repository.jpa.ContentTypeRepository;
-import click.reelscout.backend.repository.jpa.GenreRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
 import click.reelscout.backend.service.definition.ContentService;
+import click.reelscout.backend.service.definition.DictionaryService;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.observer.content.ContentSubject;
+import com.github.benmanes.caffeine.cache.Cache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Transactional(rollbackOn = Exception.class)
@@ -32,31 +53,42 @@ import java.util.UUID;
 public class ContentServiceImplementation implements ContentService {
     private final ContentRepository contentRepository;
     private final ContentElasticRepository contentElasticRepository;
-    private final ContentTypeRepository contentTypeRepository;
-    private final GenreRepository genreRepository;
+    private final DictionaryService dictionaryService;
     private final S3Service s3Service;
+    private final ImageService imageService;
+    private final BlobOperationService blobOperationService;
     private final ContentMapper contentMapper;
     private final ContentSubject contentSubject;
+    private final Cache<Long, ContentResponseDTO> contentResponseCache;
+    private final ResponseCacheService responseCacheService;
+    private final SearchCacheService searchCacheService;
+    private final SearchIndexService searchIndexService;
+    private final WindowReader windowReader;
+
+    @Value("${streaming.window-size}")
+    private int streamWindowSize;
 
     /** {@inheritDoc} */
     @Override
     public ContentResponseDTO create(ProductionCompany authenticatedProduction, ContentRequestDTO contentRequestDTO) {
-        saveContentTypeIfNotExists(contentRequestDTO.getContentType());
+        ContentType savedContentType = dictionaryService.getOrCreateContentType(contentRequestDTO.getContentType());
 
-        List<Genre> savedGenres = saveGenresIfNotExist(contentRequestDTO.getGenres());
+        List<Genre> savedGenres = dictionaryService.getOrCreateGenres(contentRequestDTO.getGenres());
 
         try {
-            String s3ImageKey = contentRequestDTO.getBase64Image() != null ? "content/" + UUID.randomUUID() : null;
+            String s3ImageKey = imageService.replace(null, contentRequestDTO.getBase64Image());
 
             Content content = contentMapper.toBuilder(contentMapper.toEntity(contentRequestDTO, authenticatedProduction, s3ImageKey))
+                    .contentType(savedContentType)
                     .genres(savedGenres)
                     .build();
 
             Content saved = contentRepository.save(content);
 
-            contentElasticRepository.save(contentMapper.toDoc(saved));
-
-            s3Service.uploadFile(s3ImageKey, contentRequestDTO.getBase64Image());
+            ContentDoc doc = contentMapper.toDoc(saved);
+            contentElasticRepository.save(doc);
+            searchIndexService.recordChanges(ContentDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(ContentDoc.class);
 
             ContentResponseDTO response = contentMapper.toDto(content, contentRequestDTO.getBase64Image());
             // Notify observers (e.g., WebSocket push) that new content was created
@@ -67,9 +99,39 @@ public class ContentServiceImplementation implements ContentService {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<Long> createAll(ProductionCompany authenticatedProduction, List<ContentRequestDTO> contentRequestDTOs) {
+        List<Content> contents = contentRequestDTOs.stream()
+                .map(contentRequestDTO -> contentMapper.toBuilder(contentMapper.toEntity(contentRequestDTO, authenticatedProduction, imageService.replace(null, contentRequestDTO.getBase64Image())))
+                        .contentType(dictionaryService.getOrCreateContentType(contentRequestDTO.getContentType()))
+                        .genres(dictionaryService.getOrCreateGenres(contentRequestDTO.getGenres()))
+                        .build())
+                .toList();
+
+        try {
+            List<Content> saved = contentRepository.saveAll(contents);
+
+            List<ContentDoc> docs = saved.stream().map(contentMapper::toDoc).toList();
+            contentElasticRepository.saveAll(docs);
+            searchIndexService.recordChanges(ContentDoc.class, docs.stream().map(ContentDoc::getId).toList());
+            searchCacheService.invalidate(ContentDoc.class);
+
+            return saved.stream().map(Content::getId).toList();
+        } catch (Exception e) {
+            throw new EntityCreateException(Content.class);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public ContentResponseDTO update(ProductionCompany authenticatedProduction, Long id, ContentRequestDTO contentRequestDTO) {
+        return update(authenticatedProduction, id, contentRequestDTO, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentResponseDTO update(ProductionCompany authenticatedProduction, Long id, ContentRequestDTO contentRequestDTO, MultipartFile image) {
         Content existingContent = contentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Content.class));
 
@@ -77,36 +139,37 @@ public class ContentServiceImplementation implements ContentService {
             throw new EntityUpdateException("You are not authorized to update this content");
         }
 
-        saveContentTypeIfNotExists(contentRequestDTO.getContentType());
+        ContentType savedContentType = dictionaryService.getOrCreateContentType(contentRequestDTO.getContentType());
 
-        List<Genre> savedGenres = saveGenresIfNotExist(contentRequestDTO.getGenres());
+        List<Genre> savedGenres = dictionaryService.getOrCreateGenres(contentRequestDTO.getGenres());
 
-        String s3ImageKey = null;
-
-        if (contentRequestDTO.getBase64Image() != null && !contentRequestDTO.getBase64Image().isEmpty()) {
-            if (existingContent.getS3ImageKey() == null || existingContent.getS3ImageKey().isEmpty()) {
-                s3ImageKey = "content/" + UUID.randomUUID();
-            } else {
-                s3ImageKey = existingContent.getS3ImageKey();
-            }
-        } else {
-            if (existingContent.getS3ImageKey() != null && !existingContent.getS3ImageKey().isEmpty()) {
-                s3Service.deleteFile(existingContent.getS3ImageKey());
-            }
-        }
+        // An unchanged image keeps its key and is not uploaded again
+        String s3ImageKey = image != null && !image.isEmpty()
+                ? imageService.replace(existingContent.getS3ImageKey(), image)
+                : imageService.replace(existingContent.getS3ImageKey(), contentRequestDTO.getBase64Image());
 
         Content updatedContent = contentMapper.toBuilder(contentMapper.toEntity(contentRequestDTO, authenticatedProduction, s3ImageKey))
                 .id(id)
+                .version(existingContent.getVersion())
+                .contentType(savedContentType)
                 .genres(savedGenres)
                 .build();
 
         try {
             Content saved = contentRepository.save(updatedContent);
-            contentElasticRepository.save(contentMapper.toDoc(saved));
-
-            s3Service.uploadFile(s3ImageKey, contentRequestDTO.getBase64Image());
-
-            return contentMapper.toDto(updatedContent, contentRequestDTO.getBase64Image());
+            ContentDoc doc = contentMapper.toDoc(saved);
+            contentElasticRepository.save(doc);
+            searchIndexService.recordChanges(ContentDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(ContentDoc.class);
+            invalidateAfterCompletion(id);
+            responseCacheService.invalidate(ResponseCacheService.contentKeys(id));
+
+            // The image is uploaded after commit, so the response carries the one received rather than a download
+            String base64Image = image != null && !image.isEmpty()
+                    ? Base64.getEncoder().encodeToString(image.getBytes())
+                    : contentRequestDTO.getBase64Image();
+
+            return contentMapper.toDto(updatedContent, base64Image);
         } catch (Exception e) {
             throw new EntityUpdateException(Content.class);
         }
@@ -114,40 +177,66 @@ public class ContentServiceImplementation implements ContentService {
 
     /** {@inheritDoc} */
     @Override
-    public List<ContentResponseDTO> getAll() {
-        List<Content> contents = contentRepository.findAll();
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamAll(ImageMode imageMode, FieldSelection fields, Consumer<? super ContentResponseDTO> action) {
+        stream(after -> contentRepository.findWindow(after, Limit.of(streamWindowSize)), imageMode, fields, action);
+    }
 
-        return contents.stream()
-                .map(content -> contentMapper.toDto(content, s3Service.getFile(content.getS3ImageKey())))
-                .toList();
+    /** {@inheritDoc} */
+    @Override
+    public String getAllVersion() {
+        // Images still being uploaded are missing from the catalog until they are
+        return contentRepository.findCatalogVersion() + "-" + blobOperationService.getPendingUploadsVersion();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentResponseDTO getById(Long id, ImageMode imageMode) {
+        return getAllById(List.of(id), imageMode, ImageVariant.ORIGINAL).stream()
+                .findFirst()
+                .orElseThrow(() -> new EntityNotFoundException(Content.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ContentResponseDTO> getAllById(List<Long> ids, ImageMode imageMode) {
+        return getAllById(ids, imageMode, ImageVariant.THUMBNAIL);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentPageResponseDTO getCatalog(Long cursor, int size, String genre, String contentType, ImageMode imageMode, FieldSelection fields) {
+        // One extra entry tells whether another page follows
+        List<Content> contents = contentRepository.findCatalogPage(
+                cursor != null ? cursor : Long.MAX_VALUE,
+                normalizeFilter(contentType),
+                normalizeFilter(genre),
+                Limit.of(size + 1)
+        );
+
+        boolean hasNext = contents.size() > size;
+        List<Content> page = hasNext ? contents.subList(0, size) : contents;
+
+        return new ContentPageResponseDTO(toDtos(page, imageMode, fields), hasNext ? page.getLast().getId() : null);
     }
 
     /** {@inheritDoc} */
     @Override
     public List<String> getContentTypes() {
-        return contentTypeRepository.findAll()
-                .stream()
-                .map(ContentType::getName)
-                .toList();
+        return dictionaryService.getContentTypeNames();
     }
 
     /** {@inheritDoc} */
     @Override
     public List<String> getGenres() {
-        return genreRepository.findAll()
-                .stream()
-                .map(Genre::getName)
-                .toList();
+        return dictionaryService.getGenreNames();
     }
 
     /** {@inheritDoc} */
     @Override
-    public List<ContentResponseDTO> getByProductionCompany(ProductionCompany authenticatedProduction) {
-        List<Content> contents = contentRepository.findAllByProductionCompany((authenticatedProduction));
-
-        return contents.stream()
-                .map(content -> contentMapper.toDto(content, s3Service.getFile(content.getS3ImageKey())))
-                .toList();
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamByProductionCompany(ProductionCompany authenticatedProduction, ImageMode imageMode, FieldSelection fields, Consumer<? super ContentResponseDTO> action) {
+        stream(after -> contentRepository.findWindowByProductionCompany(authenticatedProduction, after, Limit.of(streamWindowSize)), imageMode, fields, action);
     }
 
     /** {@inheritDoc} */
@@ -162,9 +251,13 @@ public class ContentServiceImplementation implements ContentService {
 
         try {
             contentRepository.delete(toDelete);
+            contentElasticRepository.deleteById(id);
+            searchIndexService.recordChanges(ContentDoc.class, List.of(id));
+            searchCacheService.invalidate(ContentDoc.class);
+            invalidateAfterCompletion(id);
+            responseCacheService.invalidate(ResponseCacheService.contentKeys(id));
 
-            if (toDelete.getS3ImageKey() != null)
-                s3Service.deleteFile(toDelete.getS3ImageKey());
+            imageService.release(toDelete.getS3ImageKey());
         } catch (Exception e) {
             throw new EntityDeleteException(Content.class);
         }
@@ -172,20 +265,84 @@ public class ContentServiceImplementation implements ContentService {
         return new CustomResponseDTO("Content deleted successfully");
     }
 
-    private void saveContentTypeIfNotExists(ContentType contentType) {
-        if (!contentTypeRepository.existsByNameIgnoreCase(contentType.getName()))
-            contentTypeRepository.save(contentType);
+    private static String normalizeFilter(String name) {
+        return name == null || name.isBlank() ? null : name.trim().toUpperCase();
     }
 
-    private List<Genre> saveGenresIfNotExist(List<Genre> genres) {
-        List<Genre> existingGenres = genreRepository.findAllByNameIgnoreCaseIn(genres.stream().map(Genre::getName).toList());
+    private List<ContentResponseDTO> getAllById(List<Long> ids, ImageMode imageMode, ImageVariant variant) {
+        // Responses are cached without their image; the ids missing from the cache are loaded together
+        Map<Long, ContentResponseDTO> responses = contentResponseCache.getAll(new LinkedHashSet<>(ids), missingIds ->
+                contentRepository.findAllById(List.copyOf(missingIds)).stream()
+                        .collect(Collectors.toMap(Content::getId, content -> contentMapper.toDto(content, null))));
 
-        List<Genre> toSave = genres.stream()
-                .filter(genre -> !existingGenres.contains(genre))
-                .toList();
+        List<ContentResponseDTO> found = ids.stream().distinct().map(responses::get).filter(Objects::nonNull).toList();
+        Map<String, String> images = s3Service.getFiles(found.stream().map(ContentResponseDTO::getImageKey).toList(), imageMode, variant);
+
+        return found.stream().map(response -> withImage(response, images.get(response.getImageKey()))).toList();
+    }
 
-        genreRepository.saveAll(toSave);
+    /** Copies a cached response, which must not be modified, and sets the image of the copy. */
+    private static ContentResponseDTO withImage(ContentResponseDTO cached, String base64Image) {
+        ContentResponseDTO response = new ContentResponseDTO(
+                cached.getId(),
+                cached.getTitle(),
+                cached.getDescription(),
+                cached.getContentType(),
+                cached.getGenres(),
+                cached.getActors(),
+                cached.getDirectors(),
+                base64Image,
+                cached.getTrailerUrl(),
+                cached.getProductionCompanyId(),
+                cached.getProductionCompanyName()
+        );
+        response.setImageKey(cached.getImageKey());
+
+        return response;
+    }
+
+    /**
+     * Drops the cached response of a content once the current transaction completes, so that
+     * a read racing with the write cannot cache the state preceding it.
+     */
+    private void invalidateAfterCompletion(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contentResponseCache.invalidate(id);
+            return;
+        }
 
-        return genreRepository.findAllByNameIgnoreCaseIn(genres.stream().map(Genre::getName).toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                contentResponseCache.invalidate(id);
+            }
+        });
+    }
+
+    /**
+     * Hands out the contents returned by a windowed query, window after window, until a window
+     * is not full. Each window is loaded and mapped in its own read-only transaction and its
+     * entities are detached before the action runs, so neither the persistence context nor the
+     * connection is held while the previous contents are written out.
+     */
+    private void stream(LongFunction<List<Content>> window, ImageMode imageMode, FieldSelection fields, Consumer<? super ContentResponseDTO> action) {
+        windowReader.forEachWindow(window, streamWindowSize, content -> contentMapper.toDto(content, null, fields), ContentResponseDTO::getId, responses -> {
+            // Images are downloaded once the window's transaction is over, so that no connection waits for the blob store
+            Map<String, String> images = s3Service.getFiles(responses.stream().map(ContentResponseDTO::getImageKey).toList(), fields.imageMode(imageMode), ImageVariant.THUMBNAIL);
+
+            responses.forEach(response -> {
+                response.setBase64Image(images.get(response.getImageKey()));
+                action.accept(response);
+            });
+        });
+    }
+
+    private List<ContentResponseDTO> toDtos(List<Content> contents, ImageMode imageMode, FieldSelection fields) {
+        // Images are only downloaded when they are returned
+        Map<String, String> images = s3Service.getFiles(contents.stream().map(Content::getS3ImageKey).toList(), fields.imageMode(imageMode), ImageVariant.THUMBNAIL);
+
+        return contents.stream()
+                .map(content -> contentMapper.toDto(content, images.get(content.getS3ImageKey()), fields))
+                .toList();
     }
 }
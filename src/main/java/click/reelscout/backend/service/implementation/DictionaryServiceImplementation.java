@@ -0,0 +1,186 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.jpa.ContentType;
+import click.reelscout.backend.model.jpa.Genre;
+import click.reelscout.backend.repository.jpa.ContentTypeRepository;
+import click.reelscout.backend.repository.jpa.GenreRepository;
+import click.reelscout.backend.service.definition.DictionaryService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class DictionaryServiceImplementation implements DictionaryService {
+    private final GenreRepository genreRepository;
+    private final ContentTypeRepository contentTypeRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ResponseCacheService responseCacheService;
+
+    private final ConcurrentMap<String, Genre> genres = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ContentType> contentTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Load every persisted genre and content type into the dictionary, and reload them periodically
+     * so that the names listed by this node include those inserted or deleted through other nodes.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${dictionary.reload-interval-millis}", initialDelayString = "${dictionary.reload-interval-millis}")
+    public void load() {
+        load(genres, genreRepository::findAll, Genre::getName, ResponseCacheService.genresKey());
+        load(contentTypes, contentTypeRepository::findAll, ContentType::getName, ResponseCacheService.contentTypesKey());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Genre> getOrCreateGenres(Collection<Genre> requested) {
+        List<String> names = names(requested);
+
+        List<String> missing = refreshMissingGenres(names);
+        missing.stream().filter(name -> !genres.containsKey(name)).forEach(this::insertGenre);
+
+        return names.stream().map(genres::get).filter(Objects::nonNull).toList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Genre> findGenres(Collection<Genre> requested) {
+        List<String> names = names(requested);
+
+        refreshMissingGenres(names);
+
+        return names.stream().map(genres::get).filter(Objects::nonNull).toList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ContentType getOrCreateContentType(ContentType requested) {
+        String name = normalize(requested.getName());
+
+        ContentType known = contentTypes.get(name);
+        if (known != null) {
+            return known;
+        }
+
+        // Another node may have inserted it since the dictionary was loaded
+        contentTypeRepository.findById(name).ifPresentOrElse(this::register, () -> {
+            try {
+                register(inNewTransaction(() -> contentTypeRepository.save(new ContentType(name))));
+            } catch (DataIntegrityViolationException e) {
+                // Inserted concurrently by another request
+                contentTypeRepository.findById(name).ifPresent(this::register);
+            }
+        });
+
+        return contentTypes.get(name);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> getGenreNames() {
+        return genres.keySet().stream().sorted().toList();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> getContentTypeNames() {
+        return contentTypes.keySet().stream().sorted().toList();
+    }
+
+    private <T> void load(ConcurrentMap<String, T> dictionary, Supplier<List<T>> findAll, Function<T, String> name, String namesKey) {
+        // Only names known before reading may be dropped, as others may have been inserted since
+        Set<String> known = Set.copyOf(dictionary.keySet());
+        Map<String, T> persisted = findAll.get().stream()
+                .collect(Collectors.toMap(entry -> normalize(name.apply(entry)), Function.identity(), (first, second) -> first));
+
+        boolean changed = false;
+        for (Map.Entry<String, T> entry : persisted.entrySet()) {
+            changed |= dictionary.putIfAbsent(entry.getKey(), entry.getValue()) == null;
+        }
+        for (String removed : known.stream().filter(key -> !persisted.containsKey(key)).toList()) {
+            changed |= dictionary.remove(removed) != null;
+        }
+
+        if (changed) {
+            responseCacheService.invalidate(namesKey);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase();
+    }
+
+    private static List<String> names(Collection<Genre> genres) {
+        return genres.stream()
+                .map(Genre::getName)
+                .filter(Objects::nonNull)
+                .map(DictionaryServiceImplementation::normalize)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Look up the names absent from the dictionary in the database, since another node may
+     * have inserted them since the dictionary was loaded.
+     *
+     * @return the names that were absent before the lookup
+     */
+    private List<String> refreshMissingGenres(List<String> names) {
+        List<String> missing = names.stream().filter(name -> !genres.containsKey(name)).toList();
+
+        if (!missing.isEmpty()) {
+            genreRepository.findAllByNameIgnoreCaseIn(missing).forEach(this::register);
+        }
+
+        return missing;
+    }
+
+    private void insertGenre(String name) {
+        try {
+            register(inNewTransaction(() -> genreRepository.save(new Genre(name))));
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by another request
+            genreRepository.findAllByNameIgnoreCaseIn(List.of(name)).forEach(this::register);
+        }
+    }
+
+    private void register(Genre genre) {
+        if (genres.putIfAbsent(normalize(genre.getName()), genre) == null) {
+            responseCacheService.invalidate(ResponseCacheService.genresKey());
+        }
+    }
+
+    private void register(ContentType contentType) {
+        if (contentTypes.putIfAbsent(normalize(contentType.getName()), contentType) == null) {
+            responseCacheService.invalidate(ResponseCacheService.contentTypesKey());
+        }
+    }
+
+    /**
+     * Insertions commit on their own, so that the dictionary never holds an entry whose
+     * insertion is rolled back together with the caller's transaction.
+     */
+    private <T> T inNewTransaction(Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
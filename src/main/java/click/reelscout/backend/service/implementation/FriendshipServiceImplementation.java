@@ -12,6 +12,7 @@ import click.reelscout.backend.mapper.definition.MemberMapper;
 import click.reelscout.backend.model.jpa.*;
 import click.reelscout.backend.repository.jpa.FriendshipRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
 import click.reelscout.backend.service.definition.FriendshipService;
 import jakarta.transaction.Transactional;
@@ -19,7 +20,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Transactional(rollbackOn = Exception.class)
@@ -154,28 +157,33 @@ public class FriendshipServiceImplementation implements FriendshipService {
         // accepted friendships: build friendship DTOs with both users populated
         List<Friendship> acceptedAsRequester = friendshipRepository.findByRequesterAndStatus(member, FriendshipStatus.ACCEPTED);
         List<Friendship> acceptedAsAddressee = friendshipRepository.findByAddresseeAndStatus(member, FriendshipStatus.ACCEPTED);
-        return java.util.stream.Stream.concat(acceptedAsRequester.stream(), acceptedAsAddressee.stream()).map(this::toFriendshipDto).toList();
+        return toFriendshipDtos(Stream.concat(acceptedAsRequester.stream(), acceptedAsAddressee.stream()).toList());
     }
 
     /** {@inheritDoc} */
     @Override
     public List<FriendshipResponseDTO> getIncomingRequests(Member member) {
-        return friendshipRepository.findByAddresseeAndStatus(member, FriendshipStatus.PENDING)
-                .stream().map(this::toFriendshipDto).toList();
+        return toFriendshipDtos(friendshipRepository.findByAddresseeAndStatus(member, FriendshipStatus.PENDING));
     }
 
     /** {@inheritDoc} */
     @Override
     public List<FriendshipResponseDTO> getOutgoingRequests(Member member) {
-        return friendshipRepository.findByRequesterAndStatus(member, FriendshipStatus.PENDING)
-                .stream().map(this::toFriendshipDto).toList();
+        return toFriendshipDtos(friendshipRepository.findByRequesterAndStatus(member, FriendshipStatus.PENDING));
     }
 
-    private FriendshipResponseDTO toFriendshipDto(Friendship friendship) {
-        // Build requester DTO
-        UserResponseDTO requesterDto = memberMapper.toDto(friendship.getRequester(), s3Service.getFile(friendship.getRequester().getS3ImageKey()));
-        UserResponseDTO addresseeDto = memberMapper.toDto(friendship.getAddressee(), s3Service.getFile(friendship.getAddressee().getS3ImageKey()));
+    private List<FriendshipResponseDTO> toFriendshipDtos(List<Friendship> friendships) {
+        // Load the images of both sides of every friendship in a single batch
+        Map<String, String> images = s3Service.getFiles(friendships.stream()
+                .flatMap(friendship -> Stream.of(friendship.getRequester(), friendship.getAddressee()))
+                .map(Member::getS3ImageKey)
+                .toList(), ImageVariant.THUMBNAIL);
 
-        return friendshipMapper.toDto(friendship, requesterDto, addresseeDto);
+        return friendships.stream().map(friendship -> {
+            UserResponseDTO requesterDto = memberMapper.toDto(friendship.getRequester(), images.get(friendship.getRequester().getS3ImageKey()));
+            UserResponseDTO addresseeDto = memberMapper.toDto(friendship.getAddressee(), images.get(friendship.getAddressee().getS3ImageKey()));
+
+            return friendshipMapper.toDto(friendship, requesterDto, addresseeDto);
+        }).toList();
     }
 }
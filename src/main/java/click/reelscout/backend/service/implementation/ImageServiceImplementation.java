@@ -0,0 +1,87 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.jpa.StoredImage;
+import click.reelscout.backend.repository.jpa.StoredImageRepository;
+import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.ImageService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Transactional(rollbackOn = Exception.class)
+@Service
+public class ImageServiceImplementation implements ImageService {
+    private final S3Service s3Service;
+    private final StoredImageRepository storedImageRepository;
+    private final BlobOperationService blobOperationService;
+
+    /** {@inheritDoc} */
+    @Override
+    public String replace(String currentKey, String base64Image) {
+        if (base64Image == null || base64Image.isEmpty()) {
+            release(currentKey);
+            return null;
+        }
+
+        String key = KEY_PREFIX + s3Service.contentHash(base64Image);
+
+        return replace(currentKey, key, () -> blobOperationService.scheduleUpload(key, base64Image));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String replace(String currentKey, MultipartFile image) {
+        if (image == null || image.isEmpty()) {
+            release(currentKey);
+            return null;
+        }
+
+        String key = KEY_PREFIX + s3Service.contentHash(image);
+
+        return replace(currentKey, key, () -> blobOperationService.scheduleUpload(key, image));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void release(String key) {
+        if (key == null || key.isEmpty()) {
+            return;
+        }
+
+        Optional<StoredImage> storedImage = storedImageRepository.findLockedByS3Key(key);
+
+        if (storedImage.isEmpty()) {
+            // Images uploaded before content addressing belong to a single entity
+            blobOperationService.scheduleDelete(key);
+            return;
+        }
+
+        StoredImage image = storedImage.get();
+        if (image.removeReference() > 0) {
+            storedImageRepository.save(image);
+        } else {
+            storedImageRepository.delete(image);
+            blobOperationService.scheduleDelete(key);
+        }
+    }
+
+    private String replace(String currentKey, String key, Runnable upload) {
+        if (key.equals(currentKey)) {
+            return key;
+        }
+
+        // Counted with an upsert rather than a locked read, as concurrent first uploads of an image find no row to lock
+        if (storedImageRepository.addReference(key) == 1) {
+            upload.run();
+        }
+
+        release(currentKey);
+
+        return key;
+    }
+}
@@ -9,10 +9,15 @@ import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import click.reelscout.backend.exception.custom.EntityUpdateException;
 import click.reelscout.backend.mapper.definition.MemberMapper;
 import click.reelscout.backend.mapper.definition.PromotionRequestMapper;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.*;
+import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
 import click.reelscout.backend.repository.jpa.PromotionRequestRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
 import click.reelscout.backend.service.definition.PromotionService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -25,6 +30,10 @@ import java.util.List;
 public class PromotionServiceImplementation implements PromotionService {
     private final PromotionRequestRepository repository;
     private final UserRepository<Member> userRepository;
+    private final UserElasticRepository userElasticRepository;
+    private final SearchCacheService searchCacheService;
+    private final SearchIndexService searchIndexService;
+    private final ResponseCacheService responseCacheService;
     private final MemberMapper memberMapper;
     private final PromotionRequestMapper mapper;
 
@@ -74,6 +83,12 @@ public class PromotionServiceImplementation implements PromotionService {
                     .role(Role.VERIFIED_MEMBER)
                     .build();
             userRepository.save(updated);
+            // Search results are built from the index, which has to show the new role
+            UserDoc doc = memberMapper.toDoc(updated);
+            userElasticRepository.save(doc);
+            searchIndexService.recordChanges(UserDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(UserDoc.class);
+            responseCacheService.invalidate(ResponseCacheService.userKey(updated.getId()));
             return new CustomResponseDTO("Promotion request approved");
         } catch (Exception e) {
             throw new EntityUpdateException(PromotionRequest.class);
@@ -151,6 +166,11 @@ public class PromotionServiceImplementation implements PromotionService {
                     .role(Role.MODERATOR)
                     .build();
             userRepository.save(updated);
+            UserDoc doc = memberMapper.toDoc(updated);
+            userElasticRepository.save(doc);
+            searchIndexService.recordChanges(UserDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(UserDoc.class);
+            responseCacheService.invalidate(ResponseCacheService.userKey(updated.getId()));
             return new CustomResponseDTO("Moderator promotion request approved");
         } catch (Exception e) {
             throw new EntityUpdateException(PromotionRequest.class);
@@ -0,0 +1,129 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.config.ResponseCacheConfig;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@RequiredArgsConstructor
+@Service
+public class ResponseCacheServiceImplementation implements ResponseCacheService {
+    private final Cache<String, SerializedResponse> responseCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${response-cache.gzip-min-bytes}")
+    private int gzipMinBytes;
+
+    /** Incremented before every invalidation, so that a read can tell whether one raced with it. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Counter bytesSaved;
+
+    /**
+     * Register the counter of the bytes served without being serialized again.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        bytesSaved = Counter.builder("cache.bytes.saved")
+                .tag("cache", ResponseCacheConfig.RESPONSE_CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Bytes of JSON served from the cache instead of being serialized again")
+                .register(meterRegistry);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SerializedResponse get(String key, Supplier<?> body) {
+        return get(key, body, response -> true);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T> SerializedResponse get(String key, Supplier<T> body, Predicate<? super T> cacheable) {
+        SerializedResponse cached = responseCache.getIfPresent(key);
+
+        if (cached != null) {
+            bytesSaved.increment(cached.json().length);
+            return cached;
+        }
+
+        // Built outside of the cache so that slow reads never block lookups of other keys
+        long invalidationsBefore = invalidations.get();
+        T built = body.get();
+        SerializedResponse response = serialize(built);
+
+        if (!cacheable.test(built)) {
+            return response;
+        }
+
+        responseCache.put(key, response);
+
+        // The response may have been built from a state replaced in the meantime
+        if (invalidations.get() != invalidationsBefore) {
+            responseCache.invalidate(key);
+        }
+
+        return response;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidate(String... keys) {
+        List<String> toInvalidate = List.of(keys);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateNow(toInvalidate);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidateNow(toInvalidate);
+            }
+        });
+    }
+
+    private void invalidateNow(List<String> keys) {
+        invalidations.incrementAndGet();
+        responseCache.invalidateAll(keys);
+    }
+
+    private SerializedResponse serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+
+            return new SerializedResponse(json, json.length >= gzipMinBytes ? gzip(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        }
+
+        return compressed.toByteArray();
+    }
+}
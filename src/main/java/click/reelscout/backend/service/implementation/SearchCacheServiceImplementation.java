@@ -0,0 +1,95 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.service.definition.SearchCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+@Service
+public class SearchCacheServiceImplementation implements SearchCacheService {
+    private final Cache<String, List<?>> searchResultCache;
+    private final MeterRegistry meterRegistry;
+
+    /** Generation of each index, bumped by every write so that the keys of earlier results are never looked up again. */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <D> List<D> get(Class<D> docClass, String query, Supplier<List<D>> search) {
+        String index = indexOf(docClass);
+        // Read before searching, so that a result racing with a write is cached under the generation it predates
+        String key = index + ":" + generation(index).get() + ":" + docClass.getSimpleName() + ":" + normalize(query);
+
+        List<D> cached = (List<D>) searchResultCache.getIfPresent(key);
+        lookups(index, cached != null ? "hit" : "miss").increment();
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // Searched outside of the cache so that slow queries never block lookups of other keys
+        List<D> result = List.copyOf(search.get());
+        searchResultCache.put(key, result);
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void invalidate(Class<?> docClass) {
+        String index = indexOf(docClass);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation(index).incrementAndGet();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                generation(index).incrementAndGet();
+            }
+        });
+    }
+
+    private AtomicLong generation(String index) {
+        return generations.computeIfAbsent(index, i -> new AtomicLong());
+    }
+
+    /** Counter of the lookups of an index, from which the hit ratio of each index is derived. */
+    private Counter lookups(String index, String result) {
+        return Counter.builder("search.cache.lookups")
+                .tag("index", index)
+                .tag("result", result)
+                .description("Searches answered by the search result cache, or missing from it")
+                .register(meterRegistry);
+    }
+
+    private static String indexOf(Class<?> docClass) {
+        Document document = AnnotationUtils.findAnnotation(docClass, Document.class);
+
+        if (document == null) {
+            throw new IllegalArgumentException(docClass.getName() + " is not an Elasticsearch document");
+        }
+
+        return document.indexName();
+    }
+
+    private static String normalize(String query) {
+        return query.strip().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,312 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.builder.definition.UserBuilder;
+import click.reelscout.backend.dto.request.UserRequestDTO;
+import click.reelscout.backend.dto.response.IndexReindexProgressDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO.State;
+import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.exception.custom.ReindexInProgressException;
+import click.reelscout.backend.factory.UserMapperFactory;
+import click.reelscout.backend.factory.UserMapperFactoryRegistry;
+import click.reelscout.backend.mapper.definition.ContentMapper;
+import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import click.reelscout.backend.model.jpa.SearchIndexChange;
+import click.reelscout.backend.model.jpa.User;
+import click.reelscout.backend.repository.jpa.ContentRepository;
+import click.reelscout.backend.repository.jpa.SearchIndexChangeRepository;
+import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class SearchIndexServiceImplementation<U extends User, B extends UserBuilder<U, B>, R extends UserRequestDTO, S extends UserResponseDTO, M extends UserMapper<U,R,S,B>> implements SearchIndexService {
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+    private static final List<Class<? extends UserDoc>> USER_DOC_SUBCLASSES = List.of(MemberDoc.class, ProductionCompanyDoc.class);
+
+    private final ContentRepository contentRepository;
+    private final UserRepository<U> userRepository;
+    private final ContentMapper contentMapper;
+    private final UserMapperFactoryRegistry<U,B,R,S,M, UserMapperFactory<U,B,R,S,M>> userMapperFactoryRegistry;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final SearchCacheService searchCacheService;
+    private final SearchIndexChangeRepository searchIndexChangeRepository;
+    private final WindowReader windowReader;
+    private final PlatformTransactionManager transactionManager;
+
+    @Qualifier("reindexExecutor")
+    private final Executor reindexExecutor;
+
+    @Value("${search.reindex.batch-size}")
+    private int batchSize;
+
+    @Value("${search.reindex.replay-margin}")
+    private Duration replayMargin;
+
+    @Value("${search.reindex.change-retention}")
+    private Duration changeRetention;
+
+    private final AtomicReference<ReindexStatusDTO> status = new AtomicReference<>(new ReindexStatusDTO(State.IDLE, null, null, List.of(), null));
+
+    /** {@inheritDoc} */
+    @Override
+    public ReindexStatusDTO reindex() {
+        ReindexStatusDTO current = status.get();
+        ReindexStatusDTO started = new ReindexStatusDTO(State.RUNNING, LocalDateTime.now(), null, List.of(), null);
+
+        // Only the request that moves the status to running starts a rebuild
+        if (current.getState() == State.RUNNING || !status.compareAndSet(current, started)) {
+            throw new ReindexInProgressException();
+        }
+
+        reindexExecutor.execute(() -> run(started.getStartedAt()));
+
+        return started;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ReindexStatusDTO getReindexStatus() {
+        return status.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void recordChanges(Class<?> docClass, Collection<Long> ids) {
+        String indexName = elasticsearchOperations.getIndexCoordinatesFor(docClass).getIndexName();
+
+        searchIndexChangeRepository.saveAll(ids.stream().map(id -> new SearchIndexChange(indexName, id)).toList());
+    }
+
+    /**
+     * Adds the properties of the user document subclasses to the mapping of the users index.
+     * <p>
+     * The index is created at startup from the mapping of the base class alone, which leaves
+     * the names of members and production companies to dynamic mapping, without the
+     * search-as-you-type subfields that suggestions query. New properties can be added to a live
+     * index, but a property already mapped dynamically keeps its type until the index is
+     * rebuilt with {@link #reindex()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void completeUserMapping() {
+        try {
+            IndexOperations aliasOperations = elasticsearchOperations.indexOps(UserDoc.class);
+
+            if (aliasOperations.exists()) {
+                aliasOperations.putMapping(createMapping(aliasOperations, UserDoc.class, USER_DOC_SUBCLASSES));
+            }
+        } catch (RuntimeException e) {
+            // The properties are conflicting or Elasticsearch is unavailable: suggestions on names wait for a rebuild
+        }
+    }
+
+    /**
+     * Deletes the changes recorded before any rebuild still running could have started.
+     */
+    @Scheduled(fixedDelayString = "${search.reindex.prune-interval-millis}")
+    public void pruneChanges() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(transactionStatus ->
+                searchIndexChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().minus(changeRetention)));
+    }
+
+    private void run(LocalDateTime startedAt) {
+        // Every index of a rebuild gets the same version, so that the indices built together are recognizable
+        String version = String.valueOf(System.currentTimeMillis());
+        List<IndexReindexProgressDTO> rebuilt = new ArrayList<>();
+
+        try {
+            rebuilt.add(rebuild(new IndexSource<>(ContentDoc.class, List.of(), contentRepository.count(),
+                    after -> contentRepository.findWindow(after, Limit.of(batchSize)), contentRepository::findAllById,
+                    contentMapper::toDoc, ContentDoc::getId), version, startedAt, rebuilt));
+            rebuilt.add(rebuild(new IndexSource<>(UserDoc.class, USER_DOC_SUBCLASSES, userRepository.count(),
+                    after -> userRepository.findWindow(after, Limit.of(batchSize)), userRepository::findAllById,
+                    // The mapper is looked up per user rather than set on the shared mapper context
+                    user -> userMapperFactoryRegistry.getMapperFor(user).toDoc(user), UserDoc::getId), version, startedAt, rebuilt));
+
+            status.set(new ReindexStatusDTO(State.COMPLETED, startedAt, LocalDateTime.now(), rebuilt, null));
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            status.set(new ReindexStatusDTO(State.FAILED, startedAt, LocalDateTime.now(), status.get().getIndices(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Copies every entity into a new version of an index, then moves the alias of the index to it.
+     * The new index is deleted if the copy fails, leaving searches on the current one.
+     * <p>
+     * Changes made meanwhile, through any instance, are replayed from the database: the documents
+     * recorded as changed since the rebuild started are written again, or deleted, once the copy
+     * is done and once more after the alias is moved. The second replay waits for the replay
+     * margin, so that a transaction which wrote to the previous index just before the move has
+     * committed by then.
+     */
+    private <E, D> IndexReindexProgressDTO rebuild(IndexSource<E, D> source, String version, LocalDateTime startedAt,
+                                                   List<IndexReindexProgressDTO> rebuilt) throws IOException, InterruptedException {
+        IndexOperations aliasOperations = elasticsearchOperations.indexOps(source.docClass());
+        String alias = aliasOperations.getIndexCoordinates().getIndexName();
+        IndexCoordinates index = IndexCoordinates.of(alias + "-" + version);
+        IndexOperations indexOperations = elasticsearchOperations.indexOps(index);
+
+        // Refreshing is pointless until every document is written, so it is turned off during the copy
+        Settings settings = aliasOperations.createSettings(source.docClass()).flatten();
+        String refreshInterval = String.valueOf(settings.getOrDefault(REFRESH_INTERVAL, "1s"));
+        settings.put(REFRESH_INTERVAL, "-1");
+        indexOperations.create(settings, createMapping(aliasOperations, source.docClass(), source.docSubclasses()));
+
+        long startNanos = System.nanoTime();
+        AtomicLong indexed = new AtomicLong();
+        LocalDateTime swappedAt;
+        LocalDateTime replayedFrom;
+
+        try {
+            windowReader.forEachWindow(source.window(), batchSize, source.toDoc(), source.docId(), docs -> {
+                elasticsearchOperations.save(docs, index);
+                publish(startedAt, rebuilt, progress(alias, index, source.total(), indexed.addAndGet(docs.size()), startNanos, false));
+            });
+
+            // A transaction writing to the index when the rebuild started may have committed after its window was read
+            replayedFrom = LocalDateTime.now().minus(replayMargin);
+            replay(source, alias, index, startedAt.minus(replayMargin), LocalDateTime.now());
+
+            elasticsearchClient.indices().putSettings(request -> request
+                    .index(index.getIndexName())
+                    .settings(indexSettings -> indexSettings.refreshInterval(time -> time.time(refreshInterval))));
+            indexOperations.refresh();
+
+            swap(aliasOperations, alias, index);
+            swappedAt = LocalDateTime.now();
+        } catch (Exception e) {
+            indexOperations.delete();
+            throw e;
+        }
+
+        searchCacheService.invalidate(source.docClass());
+
+        // Changes recorded from now on were written through the alias, to the new index, by their own transaction
+        Thread.sleep(replayMargin.toMillis());
+        replay(source, alias, index, replayedFrom, swappedAt);
+
+        return progress(alias, index, source.total(), indexed.get(), startNanos, true);
+    }
+
+    /**
+     * Writes the current state of the documents changed within a time range into an index,
+     * deleting those whose entity no longer exists.
+     */
+    private <E, D> void replay(IndexSource<E, D> source, String alias, IndexCoordinates index, LocalDateTime from, LocalDateTime to) {
+        List<Long> ids = searchIndexChangeRepository.findDocumentIdsChangedBetween(alias, from, to);
+
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            List<D> docs = windowReader.read(() -> source.byIds().apply(batch), source.toDoc());
+            Set<Long> found = docs.stream().map(source.docId()::applyAsLong).collect(Collectors.toSet());
+
+            if (!docs.isEmpty()) {
+                elasticsearchOperations.save(docs, index);
+            }
+
+            batch.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> elasticsearchOperations.delete(String.valueOf(id), index));
+        }
+    }
+
+    /**
+     * Mapping of an index, with the properties of every document class stored in it.
+     * The mapping of the base class alone would leave the properties of its subclasses to dynamic mapping.
+     */
+    @SuppressWarnings("unchecked")
+    private static Document createMapping(IndexOperations aliasOperations, Class<?> docClass, List<? extends Class<?>> docSubclasses) {
+        Document mapping = aliasOperations.createMapping(docClass);
+
+        for (Class<?> docSubclass : docSubclasses) {
+            ((Map<String, Object>) mapping.get("properties")).putAll((Map<String, Object>) aliasOperations.createMapping(docSubclass).get("properties"));
+        }
+
+        return mapping;
+    }
+
+    /**
+     * Moves the alias to the new index and deletes the indices it pointed to, in one atomic request,
+     * so that every search reads either the previous index or the new one.
+     */
+    private static void swap(IndexOperations aliasOperations, String alias, IndexCoordinates index) {
+        AliasActions actions = new AliasActions(new AliasAction.Add(AliasActionParameters.builder()
+                .withIndices(index.getIndexName())
+                .withAliases(alias)
+                .build()));
+
+        if (aliasOperations.exists()) {
+            // Before the first rebuild the alias name is held by an index, which has to go for the alias to take it
+            String[] previous = aliasOperations.getAliasesForIndex(alias).keySet().toArray(String[]::new);
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(previous).build()));
+        }
+
+        aliasOperations.alias(actions);
+    }
+
+    private void publish(LocalDateTime startedAt, List<IndexReindexProgressDTO> rebuilt, IndexReindexProgressDTO current) {
+        List<IndexReindexProgressDTO> indices = new ArrayList<>(rebuilt);
+        indices.add(current);
+
+        status.set(new ReindexStatusDTO(State.RUNNING, startedAt, null, indices, null));
+    }
+
+    private static IndexReindexProgressDTO progress(String alias, IndexCoordinates index, long total, long indexed, long startNanos, boolean swapped) {
+        double seconds = Math.max(System.nanoTime() - startNanos, 1) / 1_000_000_000.0;
+
+        return new IndexReindexProgressDTO(alias, index.getIndexName(), total, indexed, indexed / seconds, swapped);
+    }
+
+    /**
+     * Entities copied into the index of a document class, with the queries reading them and the mapping to documents.
+     */
+    private record IndexSource<E, D>(Class<D> docClass, List<Class<? extends D>> docSubclasses, long total,
+                                     LongFunction<List<E>> window, Function<List<Long>, List<E>> byIds,
+                                     Function<E, D> toDoc, ToLongFunction<D> docId) {
+    }
+}
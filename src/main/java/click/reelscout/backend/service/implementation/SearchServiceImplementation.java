@@ -1,10 +1,15 @@
 package click.reelscout.backend.service.implementation;
 
 import click.reelscout.backend.builder.definition.UserBuilder;
+import click.reelscout.backend.dto.request.SearchCursor;
 import click.reelscout.backend.dto.request.UserRequestDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.SearchPageResponseDTO;
 import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.SuggestResponseDTO;
+import click.reelscout.backend.dto.response.SuggestionResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
 import click.reelscout.backend.exception.custom.SearchException;
 import click.reelscout.backend.factory.UserMapperFactory;
 import click.reelscout.backend.factory.UserMapperFactoryRegistry;
@@ -13,50 +18,74 @@ import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.model.elasticsearch.ContentDoc;
 import click.reelscout.backend.model.elasticsearch.MemberDoc;
 import click.reelscout.backend.model.elasticsearch.UserDoc;
-import click.reelscout.backend.model.jpa.Content;
 import click.reelscout.backend.model.jpa.User;
-import click.reelscout.backend.repository.jpa.ContentRepository;
-import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.SearchCacheService;
 import click.reelscout.backend.service.definition.SearchService;
-import click.reelscout.backend.strategy.UserMapperContext;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class SearchServiceImplementation<U extends User, B extends UserBuilder<U, B>, R extends UserRequestDTO, S extends UserResponseDTO, M extends UserMapper<U,R,S,B>> implements SearchService<S> {
-    private final UserRepository<U> userRepository;
-    private final UserMapperContext<U,B,R,S,M> userMapperContext;
+    // The name subfields exist only once the users mapping holds the subclass properties, see SearchIndexServiceImplementation#completeUserMapping
+    private static final List<String> USER_SUGGEST_FIELDS = searchAsYouType("username", "firstName", "lastName", "name");
+    private static final List<String> CONTENT_SUGGEST_FIELDS = searchAsYouType("title");
+    // The type hint is kept so that the user documents can still be read as their concrete class
+    private static final String[] USER_SUGGEST_SOURCE = {"_class", "id", "username", "firstName", "lastName", "name", "s3ImageKey"};
+    private static final String[] CONTENT_SUGGEST_SOURCE = {"id", "title", "s3ImageKey"};
+
     private final UserMapperFactoryRegistry<U,B,R,S,M, UserMapperFactory<U,B,R,S,M>> userMapperFactoryRegistry;
 
-    private final ContentRepository contentRepository;
     private final ContentMapper contentMapper;
 
     private final ElasticsearchOperations elasticsearchOperations;
 
+    private final SearchCacheService searchCacheService;
+
     private final S3Service s3Service;
 
     private final ThreadPoolExecutor executor;
 
+    @Value("${search.suggest-size}")
+    private int suggestSize;
+
+    @Value("${search.page-keep-alive}")
+    private Duration pageKeepAlive;
+
     /** {@inheritDoc} */
     @Override
-    public SearchResponseDTO<S> search(String query) {
+    public SearchResponseDTO<S> search(String query, ImageMode imageMode) {
         // Search users and content in parallel
-        Future<List<S>> usersFuture = executor.submit(() -> searchUsers(query, UserDoc.class));
+        Future<List<S>> usersFuture = executor.submit(() -> searchUsers(query, UserDoc.class, imageMode));
 
-        Future<List<click.reelscout.backend.dto.response.ContentResponseDTO>> contentFuture = executor.submit(() -> searchContent(query));
+        Future<List<click.reelscout.backend.dto.response.ContentResponseDTO>> contentFuture = executor.submit(() -> searchContent(query, imageMode));
 
         try {
             // Wait for both tasks to complete and combine results
@@ -72,40 +101,166 @@ public class SearchServiceImplementation<U extends User, B extends UserBuilder<U
 
     /** {@inheritDoc} */
     @Override
-    public List<S> searchMembers(String query) {
-        return searchUsers(query, MemberDoc.class);
+    public List<S> searchMembers(String query, ImageMode imageMode) {
+        return searchUsers(query, MemberDoc.class, imageMode);
     }
 
-    private <D extends UserDoc> List<S> searchUsers(String query, Class<D> userDocClass) {
-        NativeQuery searchQuery = buildNativeQuery(query);
+    /** {@inheritDoc} */
+    @Override
+    public SearchPageResponseDTO<ContentResponseDTO> searchContentPage(String query, String cursor, int size, ImageMode imageMode) {
+        return searchPage(query, ContentDoc.class, cursor, size, contentDocs -> toContentDtos(contentDocs, imageMode));
+    }
 
-        SearchHits<D> searchHits = elasticsearchOperations.search(searchQuery, userDocClass);
+    /** {@inheritDoc} */
+    @Override
+    public SearchPageResponseDTO<S> searchUsersPage(String query, String cursor, int size, ImageMode imageMode) {
+        return searchPage(query, UserDoc.class, cursor, size, userDocs -> toUserDtos(userDocs, imageMode));
+    }
 
-        List<U> foundUsers = userRepository.findAllById(
-                searchHits.stream().map(SearchHit::getContent).map(UserDoc::getId).toList()
+    /** {@inheritDoc} */
+    @Override
+    public SearchPageResponseDTO<S> searchMembersPage(String query, String cursor, int size, ImageMode imageMode) {
+        return searchPage(query, MemberDoc.class, cursor, size, memberDocs -> toUserDtos(memberDocs, imageMode));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SuggestResponseDTO suggest(String query) {
+        if (query == null || query.isBlank()) {
+            return new SuggestResponseDTO(List.of(), List.of());
+        }
+
+        // Both indices are queried in a single round trip
+        List<SearchHits<?>> hits = elasticsearchOperations.multiSearch(
+                List.of(buildSuggestQuery(query, USER_SUGGEST_FIELDS, USER_SUGGEST_SOURCE), buildSuggestQuery(query, CONTENT_SUGGEST_FIELDS, CONTENT_SUGGEST_SOURCE)),
+                List.of(UserDoc.class, ContentDoc.class)
         );
 
-        return foundUsers.stream().map(user -> {
-            userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(user));
-            return userMapperContext.toDto(user, s3Service.getFile(user.getS3ImageKey()));
-        }).toList();
+        List<SuggestionResponseDTO> users = hits.get(0).stream()
+                .map(hit -> (UserDoc) hit.getContent())
+                .map(userDoc -> new SuggestionResponseDTO(userDoc.getId(), userDoc.displayName(), userDoc.getS3ImageKey()))
+                .toList();
+        List<SuggestionResponseDTO> contents = hits.get(1).stream()
+                .map(hit -> (ContentDoc) hit.getContent())
+                .map(contentDoc -> new SuggestionResponseDTO(contentDoc.getId(), contentDoc.getTitle(), contentDoc.getS3ImageKey()))
+                .toList();
+
+        return new SuggestResponseDTO(users, contents);
+    }
+
+    /**
+     * Runs one page of a search against a point in time of the index, starting after the hit the cursor points to.
+     * The point in time is opened by the first page and closed by the last one.
+     */
+    private <D, T> SearchPageResponseDTO<T> searchPage(String query, Class<D> docClass, String cursor, int size, Function<List<D>, List<T>> toDtos) {
+        String index = elasticsearchOperations.getIndexCoordinatesFor(docClass).getIndexName();
+        SearchCursor position = cursor == null ? null : SearchCursor.parse(cursor);
+        // A cursor only continues the search it was issued by
+        if (position != null && !position.isFor(index, docClass, query)) {
+            throw new DataValidationException("Invalid cursor");
+        }
+
+        // Every page reads the same snapshot, so results neither shift nor repeat while the index changes
+        String pointInTimeId = position != null
+                ? position.pointInTimeId()
+                : elasticsearchOperations.openPointInTime(IndexCoordinates.of(index), pageKeepAlive);
+
+        NativeQueryBuilder pageQuery = NativeQuery.builder()
+                .withQuery(buildNativeQuery(query).getQuery())
+                .withPointInTime(new Query.PointInTime(pointInTimeId, pageKeepAlive))
+                // Elasticsearch adds the _shard_doc tiebreaker, so sort values are unique across hits
+                .withSort(sort -> sort.score(score -> score.order(SortOrder.Desc)))
+                // One extra hit tells whether another page follows
+                .withMaxResults(size + 1);
+        if (position != null) {
+            // Hits were counted by the first page, which keeps deep pages cheap
+            pageQuery.withSearchAfter(position.searchAfter()).withTrackTotalHits(false);
+        }
+
+        SearchHits<D> hits = elasticsearchOperations.search(pageQuery.build(), docClass);
+
+        boolean hasNext = hits.getSearchHits().size() > size;
+        List<SearchHit<D>> page = hasNext ? hits.getSearchHits().subList(0, size) : hits.getSearchHits();
+        long totalHits = position != null ? position.totalHits() : hits.getTotalHits();
+        boolean totalHitsExact = position != null ? position.totalHitsExact() : hits.getTotalHitsRelation() == TotalHitsRelation.EQUAL_TO;
+        // Elasticsearch may hand back a new id for the same point in time
+        String nextPointInTimeId = hits.getPointInTimeId() != null ? hits.getPointInTimeId() : pointInTimeId;
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = new SearchCursor(index, docClass.getSimpleName(), SearchCursor.queryHash(query), nextPointInTimeId,
+                    page.getLast().getSortValues(), totalHits, totalHitsExact).encode();
+        } else {
+            // The last page releases the point in time rather than leaving it to expire
+            elasticsearchOperations.closePointInTime(nextPointInTimeId);
+        }
+
+        return new SearchPageResponseDTO<>(toDtos.apply(page.stream().map(SearchHit::getContent).toList()), nextCursor, totalHits, totalHitsExact);
     }
 
-    private List<ContentResponseDTO> searchContent(String query) {
+    private <D extends UserDoc> List<S> searchUsers(String query, Class<D> userDocClass, ImageMode imageMode) {
         NativeQuery searchQuery = buildNativeQuery(query);
 
-        SearchHits<ContentDoc> contentHits = elasticsearchOperations.search(searchQuery, ContentDoc.class);
+        // The documents carry every field of the response, so results are built from the hits in score order
+        List<D> foundUsers = searchCacheService.get(userDocClass, query, () -> elasticsearchOperations.search(searchQuery, userDocClass).stream()
+                .map(SearchHit::getContent)
+                .toList());
 
-        List<Content> foundContent = contentRepository.findAllById(
-                contentHits.stream().map(SearchHit::getContent).map(ContentDoc::getId).toList()
-        );
+        return toUserDtos(foundUsers, imageMode);
+    }
+
+    private List<S> toUserDtos(List<? extends UserDoc> foundUsers, ImageMode imageMode) {
+        Map<String, String> images = s3Service.getFiles(foundUsers.stream().map(UserDoc::getS3ImageKey).toList(), imageMode, ImageVariant.THUMBNAIL);
+
+        // The mapper is used directly rather than through the shared mapper context,
+        // which concurrent searches would otherwise race on
+        return foundUsers.stream().map(userDoc -> userMapperFactoryRegistry.getMapperFor(userDoc)
+                .fromDoc(userDoc, images.get(userDoc.getS3ImageKey()))
+        ).toList();
+    }
+
+    private List<ContentResponseDTO> searchContent(String query, ImageMode imageMode) {
+        NativeQuery searchQuery = buildNativeQuery(query);
 
-        return foundContent.stream().map(content -> contentMapper.toDto(
-                content,
-                s3Service.getFile(content.getS3ImageKey())
+        List<ContentDoc> foundContent = searchCacheService.get(ContentDoc.class, query, () -> elasticsearchOperations.search(searchQuery, ContentDoc.class).stream()
+                .map(SearchHit::getContent)
+                .toList());
+
+        return toContentDtos(foundContent, imageMode);
+    }
+
+    private List<ContentResponseDTO> toContentDtos(List<ContentDoc> foundContent, ImageMode imageMode) {
+        Map<String, String> images = s3Service.getFiles(foundContent.stream().map(ContentDoc::getS3ImageKey).toList(), imageMode, ImageVariant.THUMBNAIL);
+
+        return foundContent.stream().map(contentDoc -> contentMapper.fromDoc(
+                contentDoc,
+                images.get(contentDoc.getS3ImageKey())
         )).toList();
     }
 
+    private NativeQuery buildSuggestQuery(String query, List<String> fields, String[] source) {
+        // bool_prefix matches the last term as a prefix of the indexed shingles, so the input needs no wildcard or escaping
+        MultiMatchQuery multiMatchQuery = QueryBuilders.multiMatch()
+                .query(query.strip())
+                .type(TextQueryType.BoolPrefix)
+                .fields(fields)
+                .build();
+
+        return NativeQuery.builder()
+                .withQuery(multiMatchQuery._toQuery())
+                .withSourceFilter(new FetchSourceFilter(source, null))
+                .withMaxResults(suggestSize)
+                .withTrackTotalHits(false)
+                .build();
+    }
+
+    /**
+     * Lists a Search_As_You_Type field together with the shingle subfields that bool_prefix queries match against.
+     */
+    private static List<String> searchAsYouType(String... fields) {
+        return Stream.of(fields).flatMap(field -> Stream.of(field, field + "._2gram", field + "._3gram")).toList();
+    }
+
     private NativeQuery buildNativeQuery(String query) {
         // Append wildcard to enable partial word matching (e.g., "Matt" -> "Matteo Pio")
         // This works with the Search_As_You_Type fields already configured in the model
@@ -4,6 +4,7 @@ import click.reelscout.backend.builder.definition.UserBuilder;
 import click.reelscout.backend.dto.request.MemberRequestDTO;
 import click.reelscout.backend.dto.request.UserPasswordChangeRequestDTO;
 import click.reelscout.backend.dto.request.UserRequestDTO;
+import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.UserLoginResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
@@ -11,28 +12,51 @@ import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import click.reelscout.backend.exception.custom.EntityUpdateException;
 import click.reelscout.backend.factory.UserMapperFactory;
 import click.reelscout.backend.factory.UserMapperFactoryRegistry;
+import click.reelscout.backend.mapper.definition.ContentMapper;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import click.reelscout.backend.model.jpa.Content;
 import click.reelscout.backend.model.jpa.Genre;
+import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.model.jpa.Role;
 import click.reelscout.backend.model.jpa.User;
 import click.reelscout.backend.model.jpa.ForumPost;
+import click.reelscout.backend.repository.elasticsearch.ContentElasticRepository;
 import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
-import click.reelscout.backend.repository.jpa.GenreRepository;
+import click.reelscout.backend.repository.jpa.ContentRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
 import click.reelscout.backend.repository.jpa.ForumPostRepository;
 import click.reelscout.backend.repository.jpa.ForumPostReportRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
 import click.reelscout.backend.service.definition.AuthService;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.DictionaryService;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.service.definition.UserService;
 import click.reelscout.backend.strategy.UserMapperContext;
+import com.github.benmanes.caffeine.cache.Cache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Arrays;
 import java.util.List;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @RequiredArgsConstructor
 @Transactional(rollbackOn = Exception.class)
@@ -40,28 +64,47 @@ import java.util.UUID;
 public class UserServiceImplementation <U extends User, B extends UserBuilder<U, B>, R extends UserRequestDTO, S extends UserResponseDTO, M extends UserMapper<U,R,S,B>> implements UserService<U,R,S> {
     private final UserRepository<U> userRepository;
     private final UserElasticRepository userElasticRepository;
+    private final ContentRepository contentRepository;
+    private final ContentElasticRepository contentElasticRepository;
+    private final ContentMapper contentMapper;
     private final UserMapperContext<U, B, R, S, UserMapper<U, R, S, B>> userMapperContext;
     private final UserMapperFactoryRegistry<U,B,R,S,M, UserMapperFactory<U,B,R,S,M>> userMapperFactoryRegistry;
     private final PasswordEncoder passwordEncoder;
     private final S3Service s3Service;
+    private final ImageService imageService;
+    private final BlobOperationService blobOperationService;
     private final AuthService<R> authService;
-    private final GenreRepository genreRepository;
+    private final DictionaryService dictionaryService;
     private final ForumPostRepository forumPostRepository;
     private final ForumPostReportRepository forumPostReportRepository;
+    private final Cache<Long, ContentResponseDTO> contentResponseCache;
+    private final ResponseCacheService responseCacheService;
+    private final SearchCacheService searchCacheService;
+    private final SearchIndexService searchIndexService;
+    private final WindowReader windowReader;
+
+    @Value("${streaming.window-size}")
+    private int streamWindowSize;
+
     private static final LocalDateTime PERMANENT_BAN_UNTIL = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     /** {@inheritDoc} */
     @Override
-    public List<S> getAll() {
-        List<U> users = userRepository.findAll();
-
-        return users.stream().map(user -> {
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void streamAll(ImageMode imageMode, Consumer<? super S> action) {
+        windowReader.forEachWindow(after -> userRepository.findWindow(after, Limit.of(streamWindowSize)), streamWindowSize, user -> {
             userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(user));
 
-            String base64Image = s3Service.getFile(user.getS3ImageKey());
+            return userMapperContext.toDto(user, null);
+        }, S::getId, users -> {
+            // Images are downloaded once the window's transaction is over, so that no connection waits for the blob store
+            Map<String, String> images = s3Service.getFiles(users.stream().map(S::getImageKey).toList(), imageMode, ImageVariant.THUMBNAIL);
 
-            return userMapperContext.toDto(user, base64Image);
-        }).toList();
+            users.forEach(user -> {
+                user.setBase64Image(images.get(user.getImageKey()));
+                action.accept(user);
+            });
+        });
     }
 
     /** {@inheritDoc} */
@@ -126,9 +169,24 @@ public class UserServiceImplementation <U extends User, B extends UserBuilder<U,
         return userMapperContext.toDto(authenticatedUser, base64Image);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public String getCurrentUserVersion(U authenticatedUser) {
+        String key = authenticatedUser.getS3ImageKey();
+        boolean uploading = key != null && blobOperationService.isUploadPending(key);
+
+        return authenticatedUser.getVersion() + (uploading ? "-uploading" : "");
+    }
+
     /** {@inheritDoc} */
     @Override
     public UserLoginResponseDTO update(U authenticatedUser, R userRequestDTO) {
+        return update(authenticatedUser, userRequestDTO, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public UserLoginResponseDTO update(U authenticatedUser, R userRequestDTO, MultipartFile image) {
         if(!passwordEncoder.matches(userRequestDTO.getPassword(), authenticatedUser.getPassword())) {
             throw new EntityUpdateException("Password is incorrect");
         }
@@ -144,43 +202,44 @@ public class UserServiceImplementation <U extends User, B extends UserBuilder<U,
         userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(authenticatedUser));
 
         if (userRequestDTO instanceof MemberRequestDTO memberRequestDTO && memberRequestDTO.getFavoriteGenres() != null) {
-            List<Genre> savedGenres = genreRepository.findAllByNameIgnoreCaseIn(
-                    memberRequestDTO.getFavoriteGenres()
-                            .stream()
-                            .map(Genre::getName)
-                            .toList()
-            );
+            List<Genre> savedGenres = dictionaryService.findGenres(memberRequestDTO.getFavoriteGenres());
             memberRequestDTO.setFavoriteGenres(savedGenres);
         }
 
-        String s3ImageKey = null;
-
-        if (userRequestDTO.getBase64Image() != null && !userRequestDTO.getBase64Image().isEmpty()) {
-            if (authenticatedUser.getS3ImageKey() == null || authenticatedUser.getS3ImageKey().isEmpty()) {
-                s3ImageKey = "user/" + UUID.randomUUID();
-            } else {
-                s3ImageKey = authenticatedUser.getS3ImageKey();
-            }
-        } else {
-            if (authenticatedUser.getS3ImageKey() != null && !authenticatedUser.getS3ImageKey().isEmpty()) {
-                s3Service.deleteFile(authenticatedUser.getS3ImageKey());
-            }
-        }
+        // An unchanged image keeps its key and is not uploaded again
+        String s3ImageKey = image != null && !image.isEmpty()
+                ? imageService.replace(authenticatedUser.getS3ImageKey(), image)
+                : imageService.replace(authenticatedUser.getS3ImageKey(), userRequestDTO.getBase64Image());
 
         U updatedUser = userMapperContext
                 .toBuilder(userMapperContext.toEntity(userRequestDTO, s3ImageKey))
                 .id(authenticatedUser.getId())
+                .version(authenticatedUser.getVersion())
                 .role(authenticatedUser.getRole())
                 .suspendedUntil(authenticatedUser.getSuspendedUntil())
                 .suspendedReason(authenticatedUser.getSuspendedReason())
                 .build();
 
+        // Read before saving, as the save may merge into the authenticated instance
+        String previousName = authenticatedUser instanceof ProductionCompany productionCompany ? productionCompany.getName() : null;
+
         try {
             U saved = userRepository.save(updatedUser);
 
-            userElasticRepository.save(userMapperContext.toUserDoc(saved));
-
-            s3Service.uploadFile(s3ImageKey, userRequestDTO.getBase64Image());
+            UserDoc doc = userMapperContext.toUserDoc(saved);
+            userElasticRepository.save(doc);
+            searchIndexService.recordChanges(UserDoc.class, List.of(doc.getId()));
+            searchCacheService.invalidate(UserDoc.class);
+            if (saved instanceof ProductionCompany productionCompany && !Objects.equals(previousName, productionCompany.getName())) {
+                // Content documents and responses carry the company name
+                List<Content> contents = contentRepository.findAllByProductionCompany(productionCompany);
+                List<ContentDoc> docs = contents.stream().map(contentMapper::toDoc).toList();
+                contentElasticRepository.saveAll(docs);
+                searchIndexService.recordChanges(ContentDoc.class, docs.stream().map(ContentDoc::getId).toList());
+                searchCacheService.invalidate(ContentDoc.class);
+                invalidateContentResponses(contents.stream().map(Content::getId).toList());
+            }
+            responseCacheService.invalidate(ResponseCacheService.userKey(authenticatedUser.getId()));
         } catch (Exception e) {
             throw new EntityUpdateException(User.class);
         }
@@ -309,10 +368,36 @@ public class UserServiceImplementation <U extends User, B extends UserBuilder<U,
     @Override
     public List<S> listUsersReportedByModerators() {
         List<U> authors = forumPostReportRepository.findDistinctAuthorsReportedByModerators();
-        return authors.stream().map(u -> {
-            userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(u));
-            String base64Image = s3Service.getFile(u.getS3ImageKey());
-            return userMapperContext.toDto(u, base64Image);
+        return toDtos(authors, ImageMode.INLINE);
+    }
+
+    private List<S> toDtos(List<U> users, ImageMode imageMode) {
+        Map<String, String> images = s3Service.getFiles(users.stream().map(User::getS3ImageKey).toList(), imageMode, ImageVariant.THUMBNAIL);
+
+        return users.stream().map(user -> {
+            userMapperContext.setUserMapper(userMapperFactoryRegistry.getMapperFor(user));
+
+            return userMapperContext.toDto(user, images.get(user.getS3ImageKey()));
         }).toList();
     }
+
+    /**
+     * Drops the cached responses of the given contents once the current transaction completes,
+     * or immediately if there is none.
+     */
+    private void invalidateContentResponses(List<Long> ids) {
+        responseCacheService.invalidate(ids.stream().flatMap(id -> Arrays.stream(ResponseCacheService.contentKeys(id))).toArray(String[]::new));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            contentResponseCache.invalidateAll(ids);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                contentResponseCache.invalidateAll(ids);
+            }
+        });
+    }
 }
@@ -1,5 +1,6 @@
 package click.reelscout.backend.service.implementation;
 
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.WatchlistRequestDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
@@ -16,7 +17,10 @@ import click.reelscout.backend.model.jpa.Watchlist;
 import click.reelscout.backend.repository.jpa.ContentRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
 import click.reelscout.backend.repository.jpa.WatchlistRepository;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
 import click.reelscout.backend.service.definition.WatchlistService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +28,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -36,6 +41,8 @@ public class WatchlistServiceImplementation implements WatchlistService {
     private final ContentMapper contentMapper;
     private final S3Service s3Service;
     private final UserRepository<Member> userRepository;
+    private final ResponseCacheService responseCacheService;
+    private final BlobOperationService blobOperationService;
 
     /** {@inheritDoc} */
     @Override
@@ -44,6 +51,7 @@ public class WatchlistServiceImplementation implements WatchlistService {
             Watchlist watchlist = watchlistMapper.toEntity(watchlistRequestDTO, member);
 
             watchlistRepository.save(watchlist);
+            responseCacheService.invalidate(ResponseCacheService.publicWatchlistsKey(member.getId()));
 
             return watchlistMapper.toDto(watchlist);
         } catch (Exception e) {
@@ -63,10 +71,12 @@ public class WatchlistServiceImplementation implements WatchlistService {
 
         Watchlist updatedWatchlist = watchlistMapper.toBuilder(watchlistMapper.toEntity(watchlistRequestDTO, member))
                 .id(id)
+                .version(watchlistToUpdate.getVersion())
                 .build();
 
         try {
             watchlistRepository.save(updatedWatchlist);
+            responseCacheService.invalidate(ResponseCacheService.publicWatchlistsKey(member.getId()));
 
             return watchlistMapper.toDto(updatedWatchlist);
         } catch (Exception e) {
@@ -85,6 +95,7 @@ public class WatchlistServiceImplementation implements WatchlistService {
 
         try {
             watchlistRepository.delete(watchlist);
+            responseCacheService.invalidate(ResponseCacheService.publicWatchlistsKey(member.getId()));
 
             return new CustomResponseDTO("Watchlist deleted successfully");
         } catch (Exception e) {
@@ -101,6 +112,12 @@ public class WatchlistServiceImplementation implements WatchlistService {
                 .toList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public String getAllByMemberVersion(Member member) {
+        return watchlistRepository.findVersionByMember(member);
+    }
+
     /** {@inheritDoc} */
     @Override
     public WatchlistResponseDTO addContentToWatchlist(Member member, Long watchlistId, Long contentId) {
@@ -113,10 +130,7 @@ public class WatchlistServiceImplementation implements WatchlistService {
         try {
             watchlistRepository.save(watchlist);
 
-            List<ContentResponseDTO> contents = Optional.ofNullable(watchlist.getContents())
-                    .orElse(Collections.emptyList())
-                    .stream()
-                    .map(content -> contentMapper.toDto(content, s3Service.getFile(content.getS3ImageKey()))).toList();
+            List<ContentResponseDTO> contents = toContentDtos(watchlist, FieldSelection.ALL);
 
             return watchlistMapper.toDto(watchlist, contents);
         } catch (Exception e) {
@@ -136,10 +150,7 @@ public class WatchlistServiceImplementation implements WatchlistService {
         try {
             watchlistRepository.save(watchlist);
 
-            List<ContentResponseDTO> contents = Optional.ofNullable(watchlist.getContents())
-                    .orElse(Collections.emptyList())
-                    .stream()
-                    .map(content -> contentMapper.toDto(content, s3Service.getFile(content.getS3ImageKey()))).toList();
+            List<ContentResponseDTO> contents = toContentDtos(watchlist, FieldSelection.ALL);
 
             return watchlistMapper.toDto(watchlist, contents);
         } catch (Exception e) {
@@ -149,21 +160,25 @@ public class WatchlistServiceImplementation implements WatchlistService {
 
     /** {@inheritDoc} */
     @Override
-    public WatchlistResponseDTO getById(Member member, Long id) {
-        Watchlist watchlist = watchlistRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(Watchlist.class));
+    public WatchlistResponseDTO getById(Member member, Long id, FieldSelection fields) {
+        Watchlist watchlist = findVisible(member, id);
 
-        if ((member != null && !watchlist.getMember().getId().equals(member.getId())) && !watchlist.getIsPublic()) {
-            throw new EntityNotFoundException(Watchlist.class);
-        }
-
-        List<ContentResponseDTO> contents = Optional.ofNullable(watchlist.getContents())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(content -> contentMapper.toDto(content, s3Service.getFile(content.getS3ImageKey()))).toList();
+        List<ContentResponseDTO> contents = toContentDtos(watchlist, fields);
 
         return watchlistMapper.toDto(watchlist, contents);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public String getVersion(Member member, Long id) {
+        findVisible(member, id);
+
+        String version = watchlistRepository.findVersionById(id).orElseThrow(() -> new EntityNotFoundException(Watchlist.class));
+
+        // Images still being uploaded are missing from the contents until they are
+        return version + "-" + blobOperationService.getPendingUploadsVersion();
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<WatchlistResponseDTO> getAllByMemberAndContent(Member member, Long contentId) {
@@ -187,4 +202,28 @@ public class WatchlistServiceImplementation implements WatchlistService {
                 .map(watchlistMapper::toDto)
                 .toList();
     }
+
+    private Watchlist findVisible(Member member, Long id) {
+        Watchlist watchlist = watchlistRepository.findById(id).orElseThrow(() -> new EntityNotFoundException(Watchlist.class));
+
+        if ((member != null && !watchlist.getMember().getId().equals(member.getId())) && !watchlist.getIsPublic()) {
+            throw new EntityNotFoundException(Watchlist.class);
+        }
+
+        return watchlist;
+    }
+
+    private List<ContentResponseDTO> toContentDtos(Watchlist watchlist, FieldSelection fields) {
+        List<Content> contents = Optional.ofNullable(watchlist.getContents())
+                .orElse(Collections.emptyList());
+
+        // Images are only downloaded when they are returned
+        Map<String, String> images = fields.includes(FieldSelection.IMAGE)
+                ? s3Service.getFiles(contents.stream().map(Content::getS3ImageKey).toList(), ImageVariant.THUMBNAIL)
+                : Map.of();
+
+        return contents.stream()
+                .map(content -> contentMapper.toDto(content, images.get(content.getS3ImageKey()), fields))
+                .toList();
+    }
 }
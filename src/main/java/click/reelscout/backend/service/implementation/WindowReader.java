@@ -0,0 +1,77 @@
+package click.reelscout.backend.service.implementation;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Reads entities in windows, each loaded and mapped in a read-only transaction of its own and
+ * detached before the transaction ends, so that neither memory nor a connection is held while
+ * a whole table is read. Whatever is done with a mapped window, such as downloading images or
+ * writing to Elasticsearch, happens once its transaction is over.
+ */
+@RequiredArgsConstructor
+@Component
+public class WindowReader {
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    /**
+     * Loads entities and maps them in a read-only transaction, detaching them before it ends.
+     *
+     * @param entities the query loading the entities
+     * @param mapper   maps the entities while they are attached
+     * @param <E>      the type of the entities
+     * @param <T>      the type they are mapped to
+     * @return the mapped entities
+     */
+    public <E, T> List<T> read(Supplier<List<E>> entities, Function<? super E, ? extends T> mapper) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        return transactionTemplate.execute(transactionStatus -> {
+            List<E> read = entities.get();
+            List<T> mapped = read.stream().<T>map(mapper).toList();
+            read.forEach(entityManager::detach);
+
+            return mapped;
+        });
+    }
+
+    /**
+     * Reads every window of entities in ascending id order, see {@link #read(Supplier, Function)},
+     * and hands each mapped window to an action after its transaction has ended.
+     *
+     * @param window the query loading the window of entities whose id is greater than the given one, in ascending id order
+     * @param size   the number of entities loaded per window
+     * @param mapper maps the entities while they are attached
+     * @param id     the id of the entity a mapped element stems from, where the next window starts
+     * @param action receives each mapped window
+     * @param <E>    the type of the entities
+     * @param <T>    the type they are mapped to
+     */
+    public <E, T> void forEachWindow(LongFunction<List<E>> window, int size, Function<? super E, ? extends T> mapper,
+                                     ToLongFunction<? super T> id, Consumer<List<T>> action) {
+        long after = Long.MIN_VALUE;
+        List<T> mapped;
+
+        do {
+            long windowStart = after;
+            mapped = read(() -> window.apply(windowStart), mapper);
+
+            if (!mapped.isEmpty()) {
+                action.accept(mapped);
+                after = id.applyAsLong(mapped.getLast());
+            }
+        } while (mapped.size() == size);
+    }
+}
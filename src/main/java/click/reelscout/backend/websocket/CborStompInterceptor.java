@@ -0,0 +1,92 @@
+package click.reelscout.backend.websocket;
+
+import click.reelscout.backend.cbor.CborTranscoder;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends STOMP messages in CBOR instead of JSON to the clients that send {@code accept:application/cbor}
+ * in their CONNECT frame.
+ * <p>
+ * The broker serializes each message once, in JSON, whatever its subscribers; the payloads sent to
+ * these sessions are converted to CBOR on the client outbound channel, with images as raw bytes.
+ */
+@Component
+public class CborStompInterceptor implements ChannelInterceptor {
+    /** Native header of the CONNECT frame listing the content types a client accepts. */
+    public static final String ACCEPT_HEADER = "accept";
+
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Remember the sessions whose client accepts CBOR.
+     *
+     * @param event the connection of a client
+     */
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+
+        if (acceptsCbor(accessor.getFirstNativeHeader(ACCEPT_HEADER))) {
+            cborSessions.add(accessor.getSessionId());
+        }
+    }
+
+    /**
+     * Forget a session once its client is gone.
+     *
+     * @param event the disconnection of a client
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        MimeType contentType = accessor.getContentType();
+
+        if (accessor.getMessageType() != SimpMessageType.MESSAGE
+                || !cborSessions.contains(accessor.getSessionId())
+                || !(message.getPayload() instanceof byte[] json)
+                || contentType == null
+                || !contentType.isCompatibleWith(MimeTypeUtils.APPLICATION_JSON)) {
+            return message;
+        }
+
+        accessor.setContentType(MediaType.APPLICATION_CBOR);
+
+        return MessageBuilder.createMessage(CborTranscoder.transcode(json), accessor.getMessageHeaders());
+    }
+
+    private static boolean acceptsCbor(String accept) {
+        if (accept == null) {
+            return false;
+        }
+
+        try {
+            return MimeTypeUtils.parseMimeTypes(accept).stream()
+                    .anyMatch(mimeType -> mimeType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+}
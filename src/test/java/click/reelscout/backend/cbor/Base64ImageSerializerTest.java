@@ -0,0 +1,53 @@
+package click.reelscout.backend.cbor;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Base64ImageSerializer}.
+ */
+class Base64ImageSerializerTest {
+
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3};
+    private static final String BASE64_IMAGE = Base64.getEncoder().encodeToString(IMAGE);
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private static ContentResponseDTO content(String base64Image) {
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(1L);
+        content.setBase64Image(base64Image);
+        return content;
+    }
+
+    @Test
+    void serialize_json_writesBase64String() throws IOException {
+        JsonNode tree = jsonMapper.readTree(jsonMapper.writeValueAsBytes(content(BASE64_IMAGE)));
+
+        assertEquals(BASE64_IMAGE, tree.get("base64Image").textValue());
+    }
+
+    @Test
+    void serialize_cbor_writesRawBytesReadBackAsBase64() throws IOException {
+        byte[] cbor = cborMapper.writeValueAsBytes(content(BASE64_IMAGE));
+
+        assertArrayEquals(IMAGE, cborMapper.readTree(cbor).get("base64Image").binaryValue());
+        assertEquals(content(BASE64_IMAGE), cborMapper.readValue(cbor, ContentResponseDTO.class));
+    }
+
+    @Test
+    void serialize_cborInvalidBase64_keepsString() throws IOException {
+        byte[] cbor = cborMapper.writeValueAsBytes(content("not base64!"));
+
+        assertEquals("not base64!", cborMapper.readTree(cbor).get("base64Image").textValue());
+    }
+}
@@ -0,0 +1,53 @@
+package click.reelscout.backend.cbor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CborTranscoder}.
+ */
+class CborTranscoderTest {
+
+    private static final byte[] IMAGE = {1, 2, 3, 4, 5};
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    void transcode_keepsDocumentAndWritesImagesAsBytes() throws IOException {
+        String json = "{\"contents\":[{\"id\":7,\"title\":\"base64Image\",\"score\":1.5,\"base64Image\":\"" + Base64.getEncoder().encodeToString(IMAGE)
+                + "\",\"genres\":[\"ACTION\"],\"trailerUrl\":null}],\"nextCursor\":9007199254740993}";
+
+        JsonNode cbor = cborMapper.readTree(CborTranscoder.transcode(json.getBytes(StandardCharsets.UTF_8)));
+
+        JsonNode content = cbor.get("contents").get(0);
+        assertArrayEquals(IMAGE, content.get("base64Image").binaryValue());
+        // Values that only look like the image property are left alone
+        assertEquals("base64Image", content.get("title").textValue());
+        assertEquals(7, content.get("id").intValue());
+        assertEquals(1.5, content.get("score").doubleValue());
+        assertEquals("ACTION", content.get("genres").get(0).textValue());
+        assertTrue(content.get("trailerUrl").isNull());
+        assertEquals(9007199254740993L, cbor.get("nextCursor").longValue());
+    }
+
+    @Test
+    void transcode_plainDocument_readsBackEqual() throws IOException {
+        byte[] json = "[\"Action\",{\"id\":1,\"public\":true}]".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(new ObjectMapper().readTree(json), cborMapper.readTree(CborTranscoder.transcode(json)));
+    }
+
+    @Test
+    void transcode_invalidJson_throws() {
+        assertThrows(UncheckedIOException.class, () -> CborTranscoder.transcode("{\"id\":".getBytes(StandardCharsets.UTF_8)));
+    }
+}
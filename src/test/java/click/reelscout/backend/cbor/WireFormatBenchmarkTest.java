@@ -0,0 +1,66 @@
+package click.reelscout.backend.cbor;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Benchmark of JSON and CBOR encode and decode times on representative response payloads.
+ * <p>
+ * Excluded from the build, as times depend on the machine; run with
+ * {@code mvn test -Pbenchmark -Dtest=WireFormatBenchmarkTest}. Each payload prints its size and
+ * the median encode and decode times in both formats.
+ */
+@Tag("benchmark")
+class WireFormatBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = jsonMapper.copyWith(new CBORFactory());
+    private final WireFormatPayloads payloads = new WireFormatPayloads();
+
+    @Test
+    void contentList() throws Exception {
+        report("100 contents", payloads.contents(100), jsonMapper.getTypeFactory().constructType(new TypeReference<List<ContentResponseDTO>>() {}));
+    }
+
+    @Test
+    void searchResponse() throws Exception {
+        report("search of 20 users and 20 contents", payloads.search(20), jsonMapper.constructType(Object.class));
+    }
+
+    private void report(String name, Object payload, JavaType type) throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(payload);
+        byte[] cbor = cborMapper.writeValueAsBytes(payload);
+
+        System.out.printf("%s: JSON %d B, encode %.3f ms, decode %.3f ms | CBOR %d B (%.0f%%), encode %.3f ms, decode %.3f ms%n",
+                name,
+                json.length, medianMillis(() -> jsonMapper.writeValueAsBytes(payload)), medianMillis(() -> jsonMapper.readValue(json, type)),
+                cbor.length, 100.0 * cbor.length / json.length,
+                medianMillis(() -> cborMapper.writeValueAsBytes(payload)), medianMillis(() -> cborMapper.readValue(cbor, type)));
+    }
+
+    private static double medianMillis(Callable<?> task) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            task.call();
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            task.call();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[ITERATIONS / 2] / 1_000_000.0;
+    }
+}
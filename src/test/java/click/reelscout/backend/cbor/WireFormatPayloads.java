@@ -0,0 +1,71 @@
+package click.reelscout.backend.cbor;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.model.jpa.Actor;
+import click.reelscout.backend.model.jpa.ContentType;
+import click.reelscout.backend.model.jpa.Director;
+import click.reelscout.backend.model.jpa.Genre;
+import click.reelscout.backend.model.jpa.Role;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Representative response payloads shared by the wire format tests and benchmark, with
+ * random thumbnails so that images do not compress.
+ */
+class WireFormatPayloads {
+
+    private static final int IMAGE_BYTES = 8 * 1024;
+
+    private final Random random = new Random(42);
+
+    List<ContentResponseDTO> contents(int count) {
+        List<ContentResponseDTO> contents = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            contents.add(content(id));
+        }
+        return contents;
+    }
+
+    SearchResponseDTO<UserResponseDTO> search(int count) {
+        List<UserResponseDTO> users = new ArrayList<>();
+        List<ContentResponseDTO> contents = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            users.add(new UserResponseDTO(id, "user" + id, "user" + id + "@reelscout.click", Role.MEMBER, image()));
+            contents.add(content(id));
+        }
+        return new SearchResponseDTO<>(users, contents);
+    }
+
+    private ContentResponseDTO content(long id) {
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(id);
+        content.setTitle("Title " + id);
+        content.setDescription("A representative description of content " + id + " long enough to resemble a real synopsis.");
+        content.setContentType(new ContentType("MOVIE"));
+        content.setGenres(List.of(new Genre("Action"), new Genre("Drama")));
+        content.setActors(List.of(person(new Actor(), id), person(new Actor(), id + 1)));
+        content.setDirectors(List.of(person(new Director(), id)));
+        content.setTrailerUrl("https://www.youtube.com/watch?v=" + id);
+        content.setBase64Image(image());
+        return content;
+    }
+
+    private static <T> T person(T person, long id) {
+        ReflectionTestUtils.setField(person, "firstName", "First" + id);
+        ReflectionTestUtils.setField(person, "lastName", "Last" + id);
+        return person;
+    }
+
+    private String image() {
+        byte[] image = new byte[IMAGE_BYTES];
+        random.nextBytes(image);
+        return Base64.getEncoder().encodeToString(image);
+    }
+}
@@ -0,0 +1,43 @@
+package click.reelscout.backend.cbor;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares JSON and CBOR on representative response payloads: CBOR must be smaller and decode
+ * back to the same response. Encode and decode times are measured by {@link WireFormatBenchmarkTest}.
+ */
+class WireFormatTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = jsonMapper.copyWith(new CBORFactory());
+    private final WireFormatPayloads payloads = new WireFormatPayloads();
+
+    @Test
+    void contentList_cborIsSmallerAndRoundTrips() throws Exception {
+        compare("100 contents", payloads.contents(100), jsonMapper.getTypeFactory().constructType(new TypeReference<List<ContentResponseDTO>>() {}));
+    }
+
+    @Test
+    void searchResponse_cborIsSmallerAndRoundTrips() throws Exception {
+        // SearchResponseDTO has no creator, so it is decoded generically, the way a client would read it
+        compare("search of 20 users and 20 contents", payloads.search(20), jsonMapper.constructType(Object.class));
+    }
+
+    private void compare(String name, Object payload, JavaType type) throws Exception {
+        byte[] json = jsonMapper.writeValueAsBytes(payload);
+        byte[] cbor = cborMapper.writeValueAsBytes(payload);
+
+        // Images travel as raw bytes instead of Base64 text, so CBOR should save at least a fifth
+        assertTrue(cbor.length < json.length * 0.8, name + ": CBOR " + cbor.length + " B vs JSON " + json.length + " B");
+        assertArrayEquals(json, jsonMapper.writeValueAsBytes(cborMapper.readValue(cbor, type)), name + ": CBOR round trip");
+    }
+}
@@ -0,0 +1,52 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.s3.BlobStoreType;
+import click.reelscout.backend.s3.LocalBlobStore;
+import click.reelscout.backend.s3.S3BlobStore;
+import click.reelscout.backend.s3.TieredBlobStore;
+import io.awspring.cloud.s3.S3Template;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for BlobStoreConfig that selects the blob store backend.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we directly instantiate
+ * BlobStoreConfig and verify the type of the created store.
+ */
+class BlobStoreConfigTest {
+
+    private final BlobStoreConfig config = new BlobStoreConfig();
+
+    @TempDir
+    Path root;
+
+    /** Test that each configured type creates the matching store. */
+    @Test
+    void blobStore_createsConfiguredType() throws IOException {
+        S3Template s3Template = mock(S3Template.class);
+        S3Client s3Client = mock(S3Client.class);
+
+        assertInstanceOf(S3BlobStore.class, config.blobStore(BlobStoreType.S3, root, s3Template, s3Client, "bucket", 16));
+        assertInstanceOf(LocalBlobStore.class, config.blobStore(BlobStoreType.LOCAL, root, s3Template, s3Client, "bucket", 16));
+        assertInstanceOf(TieredBlobStore.class, config.blobStore(BlobStoreType.TIERED, root, s3Template, s3Client, "bucket", 16));
+    }
+
+    /** Test that the local root directory is created when missing. */
+    @Test
+    void blobStore_createsLocalRoot() throws IOException {
+        Path localRoot = root.resolve("blobs");
+
+        config.blobStore(BlobStoreType.LOCAL, localRoot, mock(S3Template.class), mock(S3Client.class), "bucket", 16);
+
+        assertTrue(Files.isDirectory(localRoot));
+    }
+}
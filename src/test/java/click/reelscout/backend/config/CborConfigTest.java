@@ -0,0 +1,31 @@
+package click.reelscout.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CborConfig that produces the CBOR message converter.
+ */
+class CborConfigTest {
+
+    private final CborConfig config = new CborConfig();
+
+    /** Test that the converter handles CBOR with a copy of the application mapper. */
+    @Test
+    void cborHttpMessageConverter_copiesApplicationMapper() {
+        ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+        MappingJackson2CborHttpMessageConverter converter = config.cborHttpMessageConverter(objectMapper);
+
+        assertTrue(converter.canWrite(Object.class, MediaType.APPLICATION_CBOR));
+        assertInstanceOf(CBORFactory.class, converter.getObjectMapper().getFactory());
+        assertFalse(converter.getObjectMapper().isEnabled(SerializationFeature.FAIL_ON_EMPTY_BEANS));
+        assertNotSame(objectMapper, converter.getObjectMapper());
+    }
+}
@@ -0,0 +1,49 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentResponseCacheConfig that produces the content response cache bean.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we directly instantiate
+ * ContentResponseCacheConfig and verify the behavior of the created cache and its metrics.
+ */
+class ContentResponseCacheConfigTest {
+
+    private final ContentResponseCacheConfig config = new ContentResponseCacheConfig();
+
+    /** Test that the cache is bounded by the configured number of entries and expires them. */
+    @Test
+    void contentResponseCache_isBoundedAndExpires() {
+        Cache<Long, ContentResponseDTO> cache = config.contentResponseCache(5, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        for (long i = 0; i < 20; i++) {
+            cache.put(i, new ContentResponseDTO());
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 5, "Entries beyond the budget must be evicted");
+        assertEquals(Duration.ofMinutes(10), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    /** Test that hit/miss counters are exposed as metrics. */
+    @Test
+    void contentResponseCache_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<Long, ContentResponseDTO> cache = config.contentResponseCache(100, Duration.ofMinutes(10), registry);
+
+        cache.put(1L, new ContentResponseDTO());
+        cache.getIfPresent(1L);
+        cache.getIfPresent(2L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ContentResponseCacheConfig.CONTENT_RESPONSE_CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ContentResponseCacheConfig.CONTENT_RESPONSE_CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+}
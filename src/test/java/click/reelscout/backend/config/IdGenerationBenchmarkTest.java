@@ -0,0 +1,130 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.model.jpa.ChatMessage;
+import click.reelscout.backend.repository.jpa.ChatMessageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of chat message insertion with auto-increment ids, which disable JDBC batching,
+ * against ids reserved in blocks by a pooled-lo table generator, as on MySQL.
+ * <p>
+ * Excluded from the build; run with {@code mvn test -Pbenchmark -Dtest=IdGenerationBenchmarkTest}.
+ * Each strategy prints its throughput and the number of statements it prepared. The database is an
+ * in-memory H2 without network round trips, so the gap measured against a remote MySQL is wider.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pooled-lo-ids;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=click.reelscout.backend.config.IdSequenceInitializerTest$TableSequenceH2Dialect",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Generators reserve ids in their own transactions, which must not wait for the test's one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGenerationBenchmarkTest {
+    private static final int ROWS = 20_000;
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+    private static final int RUNS = 5;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("pooled-lo: batched inserts with ids reserved in blocks")
+    void pooledLo() {
+        benchmark("pooled-lo", chatMessageRepository, entityManagerFactory, transactionManager);
+    }
+
+    /**
+     * Inserts the rows once to warm up, then measures the best of several runs.
+     */
+    private static void benchmark(String strategy, ChatMessageRepository chatMessageRepository,
+                                  EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        insertAll(chatMessageRepository, transactionTemplate);
+
+        long bestNanos = Long.MAX_VALUE;
+        long statements = 0;
+        for (int run = 0; run < RUNS; run++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            insertAll(chatMessageRepository, transactionTemplate);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            statements = statistics.getPrepareStatementCount();
+
+            assertEquals(ROWS, statistics.getEntityInsertCount());
+        }
+
+        System.out.printf("%s: %d rows in %d ms (%.0f rows/s), %d statements prepared%n",
+                strategy, ROWS, bestNanos / 1_000_000, ROWS * 1e9 / bestNanos, statements);
+    }
+
+    private static void insertAll(ChatMessageRepository chatMessageRepository, TransactionTemplate transactionTemplate) {
+        for (int inserted = 0; inserted < ROWS; inserted += ROWS_PER_TRANSACTION) {
+            List<ChatMessage> messages = new ArrayList<>();
+            for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                ChatMessage message = new ChatMessage();
+                message.setSender("alice");
+                message.setRecipient("bob");
+                message.setContent("message " + (inserted + i));
+                messages.add(message);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> chatMessageRepository.saveAll(messages));
+        }
+    }
+
+    /** Runs against a database of its own, with chat message ids mapped back to auto-increment columns. */
+    @Nested
+    @TestPropertySource(properties = {
+            "spring.datasource.url=jdbc:h2:mem:identity-ids;MODE=MySQL;NON_KEYWORDS=USER",
+            "spring.jpa.mapping-resources=benchmark/identity-ids-orm.xml"
+    })
+    class Identity {
+        @Autowired
+        private ChatMessageRepository chatMessageRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Test
+        @DisplayName("IDENTITY: one insert statement per row")
+        void identity() {
+            benchmark("IDENTITY", chatMessageRepository, entityManagerFactory, transactionManager);
+        }
+    }
+}
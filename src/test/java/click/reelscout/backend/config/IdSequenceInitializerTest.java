@@ -0,0 +1,119 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.model.jpa.ChatMessage;
+import click.reelscout.backend.repository.jpa.ChatMessageRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IdSequenceInitializer} and the id generation it supports, against an
+ * H2 database which, like MySQL, has to emulate sequences with tables.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id-sequences;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=click.reelscout.backend.config.IdSequenceInitializerTest$TableSequenceH2Dialect",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IdSequenceInitializer.class)
+// Generators reserve ids in their own transactions, which must not wait for the test's one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceInitializerTest {
+    /** H2 without native sequences, so that id generators are backed by tables as on MySQL. */
+    public static class TableSequenceH2Dialect extends H2Dialect {
+        @Override
+        public SequenceSupport getSequenceSupport() {
+            return NoSequenceSupport.INSTANCE;
+        }
+    }
+
+    @Autowired
+    private IdSequenceInitializer idSequenceInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    /**
+     * Tests that the generator is moved past rows inserted without it, such as those
+     * inserted with auto-increment ids before the switch.
+     */
+    @Test
+    @DisplayName("alignWithExistingRows(): the next reserved block starts after the highest existing id")
+    void alignWithExistingRows_existingRows_nextBlockAfterThem() {
+        long legacyId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) + 500 from genre", Long.class);
+        jdbcTemplate.update("insert into genre (id, name) values (?, ?)", legacyId, "LEGACY_" + legacyId);
+
+        idSequenceInitializer.alignWithExistingRows();
+
+        assertEquals(legacyId + 1, jdbcTemplate.queryForObject("select next_val from genre_seq", Long.class));
+    }
+
+    /**
+     * Tests that generators already past the existing rows are never moved back.
+     */
+    @Test
+    @DisplayName("alignWithExistingRows(): never moves a generator backwards")
+    void alignWithExistingRows_generatorAhead_unchanged() {
+        jdbcTemplate.update("update watchlist_seq set next_val = 10000");
+
+        idSequenceInitializer.alignWithExistingRows();
+
+        assertEquals(10000L, jdbcTemplate.queryForObject("select next_val from watchlist_seq", Long.class));
+    }
+
+    /**
+     * Tests that saving many chat messages sends their inserts in JDBC batches, reserving
+     * ids in blocks rather than with one round trip per row.
+     */
+    @Test
+    @DisplayName("saveAll(): chat messages are inserted in batches")
+    void saveAll_chatMessages_batched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<ChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ChatMessage message = new ChatMessage();
+            message.setSender("alice");
+            message.setRecipient("bob");
+            message.setContent("message " + i);
+            messages.add(message);
+        }
+
+        statistics.clear();
+        chatMessageRepository.saveAll(messages);
+
+        assertEquals(200, statistics.getEntityInsertCount());
+        // One insert statement executed in batches; identity ids would need one statement per row
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,50 @@
+package click.reelscout.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ImageCacheConfig that produces the S3 image cache bean.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we directly instantiate
+ * ImageCacheConfig and verify the behavior of the created cache and its metrics.
+ */
+class ImageCacheConfigTest {
+
+    private final ImageCacheConfig config = new ImageCacheConfig();
+
+    /** Test that the cache is bounded by the configured byte budget. */
+    @Test
+    void imageCache_isBoundedByBytes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<String, String> cache = config.imageCache(100, registry);
+
+        for (int i = 0; i < 10; i++) {
+            cache.put("k" + i, "x".repeat(40));
+        }
+        cache.cleanUp();
+
+        long weightedSize = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(weightedSize <= 100, "Resident bytes must not exceed the budget");
+        assertTrue(cache.estimatedSize() < 10, "Entries beyond the budget must be evicted");
+    }
+
+    /** Test that hit/miss counters and resident bytes are exposed as metrics. */
+    @Test
+    void imageCache_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<String, String> cache = config.imageCache(1_000, registry);
+
+        cache.put("key", "value");
+        cache.getIfPresent("key");
+        cache.getIfPresent("missing");
+        cache.cleanUp();
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ImageCacheConfig.IMAGE_CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", ImageCacheConfig.IMAGE_CACHE_NAME).tag("result", "miss").functionCounter().count());
+        assertEquals(8.0, registry.get("cache.resident.bytes").tag("cache", ImageCacheConfig.IMAGE_CACHE_NAME).gauge().value());
+    }
+}
@@ -0,0 +1,49 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.repository.jpa.PendingBlobOperationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PendingBlobOperationConfig that publishes the pending blob operation metrics.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we bind the metrics to a simple
+ * registry backed by a mocked repository.
+ */
+class PendingBlobOperationConfigTest {
+
+    private final PendingBlobOperationConfig config = new PendingBlobOperationConfig();
+
+    /** Test that queue depth and oldest entry age are exposed as gauges. */
+    @Test
+    void pendingBlobOperationMetrics_registersGauges() {
+        PendingBlobOperationRepository repository = mock(PendingBlobOperationRepository.class);
+        when(repository.count()).thenReturn(3L);
+        when(repository.findOldestCreatedAt()).thenReturn(Optional.of(LocalDateTime.now().minusSeconds(90)));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.pendingBlobOperationMetrics(repository).bindTo(registry);
+
+        assertEquals(3.0, registry.get("blob.operations.pending").gauge().value());
+        assertTrue(registry.get("blob.operations.oldest.age").gauge().value() >= 90.0);
+    }
+
+    /** Test that the age is zero when nothing is pending. */
+    @Test
+    void pendingBlobOperationMetrics_reportsZeroAge_whenEmpty() {
+        PendingBlobOperationRepository repository = mock(PendingBlobOperationRepository.class);
+        when(repository.findOldestCreatedAt()).thenReturn(Optional.empty());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        config.pendingBlobOperationMetrics(repository).bindTo(registry);
+
+        assertEquals(0.0, registry.get("blob.operations.oldest.age").gauge().value());
+    }
+}
@@ -0,0 +1,54 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResponseCacheConfig that produces the serialized response cache bean.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we directly instantiate
+ * ResponseCacheConfig and verify the behavior of the created cache and its metrics.
+ */
+class ResponseCacheConfigTest {
+
+    private final ResponseCacheConfig config = new ResponseCacheConfig();
+
+    /** Test that the cache never holds more bytes than its budget and expires entries. */
+    @Test
+    void responseCache_isBoundedByBytesAndExpires() {
+        Cache<String, SerializedResponse> cache = config.responseCache(1_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("k" + i, new SerializedResponse(new byte[100], null));
+        }
+        cache.cleanUp();
+
+        long residentBytes = cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertTrue(residentBytes <= 1_000, "Entries beyond the byte budget must be evicted");
+        assertEquals(Duration.ofMinutes(10), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    /** Test that hit/miss counters, the hit ratio and the resident size are exposed as metrics. */
+    @Test
+    void responseCache_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<String, SerializedResponse> cache = config.responseCache(10_000, Duration.ofMinutes(10), registry);
+
+        cache.put("genres", new SerializedResponse(new byte[100], new byte[20]));
+        cache.getIfPresent("genres");
+        cache.getIfPresent("missing");
+        cache.cleanUp();
+
+        String name = ResponseCacheConfig.RESPONSE_CACHE_NAME;
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", name).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", name).tag("result", "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", name).gauge().value());
+        assertEquals("genres".length() + 120, registry.get("cache.resident.bytes").tag("cache", name).gauge().value());
+    }
+}
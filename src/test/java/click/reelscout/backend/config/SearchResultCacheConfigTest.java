@@ -0,0 +1,51 @@
+package click.reelscout.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SearchResultCacheConfig that produces the search result cache bean.
+ * <p>
+ * Pure unit tests: no Spring context is loaded, we directly instantiate
+ * SearchResultCacheConfig and verify the behavior of the created cache and its metrics.
+ */
+class SearchResultCacheConfigTest {
+
+    private final SearchResultCacheConfig config = new SearchResultCacheConfig();
+
+    /** Test that the cache never holds more entries than its bound and expires entries. */
+    @Test
+    void searchResultCache_isBoundedAndExpires() {
+        Cache<String, List<?>> cache = config.searchResultCache(10, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            cache.put("contents:0:ContentDoc:q" + i, List.of());
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.estimatedSize() <= 10, "Entries beyond the bound must be evicted");
+        assertEquals(Duration.ofMinutes(1), cache.policy().expireAfterWrite().orElseThrow().getExpiresAfter());
+    }
+
+    /** Test that hit/miss counters and the hit ratio are exposed as metrics. */
+    @Test
+    void searchResultCache_registersMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Cache<String, List<?>> cache = config.searchResultCache(100, Duration.ofMinutes(1), registry);
+
+        cache.put("contents:0:ContentDoc:marvel", List.of());
+        cache.getIfPresent("contents:0:ContentDoc:marvel");
+        cache.getIfPresent("contents:0:ContentDoc:missing");
+
+        String name = SearchResultCacheConfig.SEARCH_RESULT_CACHE_NAME;
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", name).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", name).tag("result", "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", name).gauge().value());
+    }
+}
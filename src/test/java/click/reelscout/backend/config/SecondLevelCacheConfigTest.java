@@ -0,0 +1,224 @@
+package click.reelscout.backend.config;
+
+import click.reelscout.backend.builder.implementation.ContentBuilderImplementation;
+import click.reelscout.backend.builder.implementation.MemberBuilderImplementation;
+import click.reelscout.backend.builder.implementation.ProductionCompanyBuilderImplementation;
+import click.reelscout.backend.model.jpa.*;
+import click.reelscout.backend.repository.jpa.ContentRepository;
+import click.reelscout.backend.repository.jpa.ContentTypeRepository;
+import click.reelscout.backend.repository.jpa.GenreRepository;
+import click.reelscout.backend.repository.jpa.StoredImageRepository;
+import click.reelscout.backend.repository.jpa.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SecondLevelCacheConfig}: repeated reads of cached entities, collections
+ * and queries must not reach the database, writes must be visible to later reads, and
+ * every region must publish its hit ratio.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:second-level-cache;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+// Every read runs in a transaction and session of its own, as it does behind a request
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ContentTypeRepository contentTypeRepository;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private UserRepository<User> userRepository;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    private Statistics statistics;
+    private String suffix;
+    private Content content;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        ContentType type = contentTypeRepository.save(new ContentType("TYPE_" + suffix));
+        Genre genre = genreRepository.save(new Genre("GENRE_" + suffix));
+        ProductionCompany company = userRepository.save(new ProductionCompanyBuilderImplementation()
+                .username("company_" + suffix)
+                .email("company_" + suffix + "@example.com")
+                .password("secret")
+                .role(Role.PRODUCTION_COMPANY)
+                .name("Company " + suffix)
+                .owners(new ArrayList<>())
+                .build());
+
+        content = contentRepository.save(new ContentBuilderImplementation()
+                .title("Title")
+                .description("Description")
+                .contentType(type)
+                .genres(new ArrayList<>(List.of(genre)))
+                .actors(new ArrayList<>())
+                .directors(new ArrayList<>())
+                .productionCompany(company)
+                .build());
+    }
+
+    /** Runs the given read in a transaction of its own and returns how many statements it issued. */
+    private long statementsOf(Supplier<?> read) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).execute(status -> read.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Tests that reading a content and its collections a second time is answered from memory.
+     */
+    @Test
+    @DisplayName("findById(): a repeated content read with its genres issues no statement")
+    void findById_repeatedRead_noStatement() {
+        Supplier<Integer> read = () -> contentRepository.findById(content.getId()).orElseThrow().getGenres().size();
+
+        assertTrue(statementsOf(read) > 0);
+        assertEquals(0, statementsOf(read));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    /**
+     * Tests that the user lookup run on every authenticated request is answered from memory.
+     */
+    @Test
+    @DisplayName("findByUsernameOrEmail(): a repeated profile lookup issues no statement")
+    void findByUsernameOrEmail_repeatedLookup_noStatement() {
+        Supplier<User> lookup = () -> userRepository.findByUsernameOrEmail("company_" + suffix).orElseThrow();
+
+        assertTrue(statementsOf(lookup) > 0);
+        assertEquals(0, statementsOf(lookup));
+    }
+
+    /**
+     * Tests that an update made through the repositories is seen by the following reads,
+     * both by id and through cached queries.
+     */
+    @Test
+    @DisplayName("save(): updates are visible to later cached reads")
+    void save_update_visibleToCachedReads() {
+        contentRepository.findById(content.getId());
+        contentRepository.findAllById(List.of(content.getId()));
+        Member member = userRepository.save(new MemberBuilderImplementation()
+                .username("member_" + suffix)
+                .email("member_" + suffix + "@example.com")
+                .password("secret")
+                .role(Role.MEMBER)
+                .firstName("First")
+                .lastName("Last")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .favoriteGenres(new ArrayList<>())
+                .build());
+        userRepository.findByUsernameOrEmail(member.getUsername());
+
+        contentRepository.save(new ContentBuilderImplementation()
+                .id(content.getId())
+                .version(content.getVersion())
+                .title("Updated")
+                .description("Description")
+                .contentType(content.getContentType())
+                .genres(new ArrayList<>())
+                .actors(new ArrayList<>())
+                .directors(new ArrayList<>())
+                .productionCompany(content.getProductionCompany())
+                .build());
+        userRepository.delete(member);
+
+        Content reread = new TransactionTemplate(transactionManager).execute(status -> {
+            Content found = contentRepository.findById(content.getId()).orElseThrow();
+            found.getGenres().size();
+            return found;
+        });
+        assertEquals("Updated", reread.getTitle());
+        assertTrue(reread.getGenres().isEmpty());
+        assertEquals("Updated", contentRepository.findAllById(List.of(content.getId())).getFirst().getTitle());
+        assertTrue(userRepository.findByUsernameOrEmail(member.getUsername()).isEmpty());
+    }
+
+    /**
+     * Tests that counting an image reference, a native statement, only evicts what it declares
+     * to touch, so that image writes do not empty the content regions.
+     */
+    @Test
+    @DisplayName("addReference(): cached contents survive an image reference update")
+    void addReference_keepsCachedContents() {
+        Supplier<Integer> read = () -> contentRepository.findById(content.getId()).orElseThrow().getGenres().size();
+        statementsOf(read);
+
+        new TransactionTemplate(transactionManager).execute(status -> storedImageRepository.addReference("image/" + suffix));
+
+        assertEquals(0, statementsOf(read));
+    }
+
+    /**
+     * Tests that the hit ratio of each region is published.
+     */
+    @Test
+    @DisplayName("secondLevelCacheManager(): publishes the hit ratio of each region")
+    void secondLevelCacheManager_publishesHitRatio() {
+        contentRepository.findById(content.getId());
+        contentRepository.findById(content.getId());
+
+        double hitRatio = meterRegistry.get("cache.hit.ratio").tag("cache", SecondLevelCacheConfig.METRICS_PREFIX + "content").gauge().value();
+
+        assertTrue(hitRatio > 0, "hit ratio " + hitRatio);
+        assertNotNull(meterRegistry.find("cache.gets").tag("cache", SecondLevelCacheConfig.METRICS_PREFIX + "default-query-results-region").functionCounter());
+    }
+}
@@ -68,4 +68,40 @@ class ThreadPoolExecutorTest {
         executor.shutdown();
         assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS), "Executor should terminate gracefully");
     }
-}
\ No newline at end of file
+
+    /** Test that the image processing executor is bounded and rejects overflowing tasks. */
+    @Test
+    void imageProcessingExecutor_isBoundedAndRejectsOverflow() {
+        ThreadPoolExecutor executor = config.imageProcessingExecutor(2, 5);
+
+        assertEquals(2, executor.getCorePoolSize(), "Core pool size must equal the configured size");
+        assertEquals(2, executor.getMaximumPoolSize(), "Max pool size must equal the configured size");
+        assertEquals(5, executor.getQueue().remainingCapacity(), "Queue must have the configured capacity");
+        assertInstanceOf(ThreadPoolExecutor.AbortPolicy.class, executor.getRejectedExecutionHandler(), "Rejection policy must be AbortPolicy");
+
+        executor.shutdown();
+    }
+
+    /** Test that the blob upload executor runs the configured number of uploads at once. */
+    @Test
+    void blobUploadExecutor_hasConfiguredConcurrency() {
+        ThreadPoolExecutor executor = config.blobUploadExecutor(8);
+
+        assertEquals(8, executor.getCorePoolSize(), "Core pool size must equal the configured concurrency");
+        assertEquals(8, executor.getMaximumPoolSize(), "Max pool size must equal the configured concurrency");
+        assertInstanceOf(LinkedBlockingQueue.class, executor.getQueue(), "Queue must be LinkedBlockingQueue");
+
+        executor.shutdown();
+    }
+
+    /** Test that the reindex executor runs a single rebuild at a time. */
+    @Test
+    void reindexExecutor_hasSingleThread() {
+        ThreadPoolExecutor executor = config.reindexExecutor();
+
+        assertEquals(1, executor.getCorePoolSize(), "Core pool size must be 1");
+        assertEquals(1, executor.getMaximumPoolSize(), "Max pool size must be 1");
+
+        executor.shutdown();
+    }
+}
@@ -1,13 +1,24 @@
 package click.reelscout.backend.config;
 
+import click.reelscout.backend.websocket.CborStompInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.StompWebSocketEndpointRegistration;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -23,6 +34,12 @@ class WebSocketConfigTest {
     @Mock
     private StompEndpointRegistry stompEndpointRegistry;
 
+    @Mock
+    private CborStompInterceptor cborStompInterceptor;
+
+    @Mock
+    private ChannelRegistration channelRegistration;
+
     @Mock
     private StompWebSocketEndpointRegistration wsRegistration1; // first addEndpoint("/ws")
     @Mock
@@ -34,7 +51,7 @@ class WebSocketConfigTest {
     @Test
     void configureMessageBroker_shouldSetSimpleBrokerAndPrefixes() {
         // Arrange
-        WebSocketConfig config = new WebSocketConfig();
+        WebSocketConfig config = new WebSocketConfig(new ObjectMapper(), cborStompInterceptor);
 
         // Act
         config.configureMessageBroker(messageBrokerRegistry);
@@ -55,7 +72,7 @@ class WebSocketConfigTest {
     @Test
     void registerStompEndpoints_shouldRegisterWsEndpoint_twice_andEnableSockJsOnSecond() {
         // Arrange
-        WebSocketConfig config = new WebSocketConfig();
+        WebSocketConfig config = new WebSocketConfig(new ObjectMapper(), cborStompInterceptor);
 
         // Mock the fluent API: addEndpoint("/ws") returns a registration, and setAllowedOriginPatterns("*") returns same registration
         when(stompEndpointRegistry.addEndpoint("/ws")).thenReturn(wsRegistration1, wsRegistration2);
@@ -78,4 +95,34 @@ class WebSocketConfigTest {
         verify(wsRegistration2).withSockJS();
     }
 
+
+    /**
+     * Tests that a CBOR converter, only used for frames declaring CBOR, is added next to the default converters.
+     */
+    @Test
+    void configureMessageConverters_addsStrictCborConverterAndKeepsDefaults() {
+        // Arrange
+        WebSocketConfig config = new WebSocketConfig(new ObjectMapper(), cborStompInterceptor);
+        List<MessageConverter> converters = new ArrayList<>();
+
+        // Act
+        boolean keepDefaults = config.configureMessageConverters(converters);
+
+        // Assert
+        assertTrue(keepDefaults);
+        MappingJackson2MessageConverter converter = assertInstanceOf(MappingJackson2MessageConverter.class, converters.getFirst());
+        assertEquals(List.of(MediaType.APPLICATION_CBOR), converter.getSupportedMimeTypes());
+        assertTrue(converter.isStrictContentTypeMatch());
+        assertInstanceOf(CBORFactory.class, converter.getObjectMapper().getFactory());
+    }
+
+    /**
+     * Tests that the CBOR interceptor is registered on the client outbound channel.
+     */
+    @Test
+    void configureClientOutboundChannel_registersCborInterceptor() {
+        new WebSocketConfig(new ObjectMapper(), cborStompInterceptor).configureClientOutboundChannel(channelRegistration);
+
+        verify(channelRegistration).interceptors(cborStompInterceptor);
+    }
 }
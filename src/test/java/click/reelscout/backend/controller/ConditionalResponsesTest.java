@@ -0,0 +1,101 @@
+package click.reelscout.backend.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ConditionalResponses}.
+ */
+class ConditionalResponsesTest {
+    private static final Supplier<String> UNEXPECTED_BODY = () -> fail("the body must not be built");
+
+    private static ServletWebRequest request(String... ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        for (String value : ifNoneMatch) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, value);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    /**
+     * Tests that a request without If-None-Match gets the body and the tag.
+     */
+    @Test
+    @DisplayName("ifNoneMatch(): no header returns 200 with the body and the ETag")
+    void ifNoneMatch_noHeader_ok() {
+        ResponseEntity<String> response = ConditionalResponses.ifNoneMatch(request(), "v1", () -> "body");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * Tests that a request carrying the current tag gets 304 and the body is never built.
+     */
+    @Test
+    @DisplayName("ifNoneMatch(): matching tag returns 304 without building the body")
+    void ifNoneMatch_matchingTag_notModified() {
+        ResponseEntity<String> response = ConditionalResponses.ifNoneMatch(request("\"v1\""), "v1", UNEXPECTED_BODY);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * Tests that the weak comparison is used and that lists and wildcards are understood.
+     */
+    @Test
+    @DisplayName("ifNoneMatch(): weak tags, lists and wildcards match")
+    void ifNoneMatch_weakListWildcard_notModified() {
+        assertEquals(HttpStatus.NOT_MODIFIED, ConditionalResponses.ifNoneMatch(request("W/\"v1\""), "v1", UNEXPECTED_BODY).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, ConditionalResponses.ifNoneMatch(request("\"v0\", \"v1\""), "v1", UNEXPECTED_BODY).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, ConditionalResponses.ifNoneMatch(request("\"v0\"", "\"v1\""), "v1", UNEXPECTED_BODY).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, ConditionalResponses.ifNoneMatch(request("*"), "v1", UNEXPECTED_BODY).getStatusCode());
+    }
+
+    /**
+     * Tests that a stale tag gets the current body and tag.
+     */
+    @Test
+    @DisplayName("ifNoneMatch(): stale tag returns 200 with the current ETag")
+    void ifNoneMatch_staleTag_ok() {
+        ResponseEntity<String> response = ConditionalResponses.ifNoneMatch(request("\"v0\""), "v1", () -> "body");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("body", response.getBody());
+        assertEquals("\"v1\"", response.getHeaders().getETag());
+    }
+
+    /**
+     * Tests that JSON keeps the plain tag while CBOR, negotiated from the Accept header, gets a tag of its own.
+     */
+    @Test
+    @DisplayName("ifNoneMatch(): the format is preset, varies by Accept and tags CBOR separately")
+    void ifNoneMatch_cborAccepted_tagsFormat() {
+        MockHttpServletRequest cbor = new MockHttpServletRequest();
+        cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+        cbor.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+
+        ResponseEntity<String> json = ConditionalResponses.ifNoneMatch(request(), "v1", () -> "body");
+        ResponseEntity<String> binary = ConditionalResponses.ifNoneMatch(new ServletWebRequest(cbor), "v1", () -> "body");
+
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertEquals(List.of(HttpHeaders.ACCEPT), json.getHeaders().getVary());
+        assertEquals(HttpStatus.OK, binary.getStatusCode(), "a JSON tag must not validate the CBOR representation");
+        assertEquals(MediaType.APPLICATION_CBOR, binary.getHeaders().getContentType());
+        assertEquals("\"v1-cbor\"", binary.getHeaders().getETag());
+    }
+}
@@ -1,16 +1,36 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentPageResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.s3.ImageMode;
 import click.reelscout.backend.service.definition.ContentService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,54 +41,327 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ContentControllerTest {
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private ContentService contentService;
 
+    @Mock
+    private ResponseCacheService responseCacheService;
+
     private ContentController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new ContentController(contentService);
+        controller = new ContentController(contentService, responseCacheService, objectMapper);
+
+        // Serializes on every call, as the cache does on a miss
+        lenient().when(responseCacheService.get(anyString(), any())).thenAnswer(invocation ->
+                new SerializedResponse(objectMapper.writeValueAsBytes(invocation.<Supplier<?>>getArgument(1).get()), null));
+        lenient().when(responseCacheService.get(anyString(), any(), any())).thenAnswer(invocation ->
+                new SerializedResponse(objectMapper.writeValueAsBytes(invocation.<Supplier<?>>getArgument(1).get()), null));
+    }
+
+    private static ServletWebRequest request() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+
+    /** Makes streamAll() hand out the given contents. */
+    private void stubStreamAll(ImageMode imageMode, List<ContentResponseDTO> contents) {
+        doAnswer(invocation -> {
+            contents.forEach(invocation.<Consumer<ContentResponseDTO>>getArgument(2));
+            return null;
+        }).when(contentService).streamAll(eq(imageMode), any(), any());
+    }
+
+    /** Writes a streamed body, as the server does once the handler has returned. */
+    private static String written(ResponseEntity<StreamingResponseBody> res) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
     }
 
     /**
-     * Tests that the all() method returns an HTTP 200 OK status and the body
-     * contains the list of ContentResponseDTO objects provided by the service.
+     * Tests that the all() method returns an HTTP 200 OK status and streams the
+     * ContentResponseDTO objects provided by the service as a JSON array.
      */
     @Test
-    void all_returnsOkWithBodyFromService() {
+    void all_returnsOkWithBodyFromService() throws IOException {
         // Arrange
-        List<ContentResponseDTO> expected = List.of(
-                new ContentResponseDTO(), new ContentResponseDTO()
-        );
-        when(contentService.getAll()).thenReturn(expected);
+        ContentResponseDTO first = new ContentResponseDTO();
+        first.setId(1L);
+        ContentResponseDTO second = new ContentResponseDTO();
+        second.setId(2L);
+        when(contentService.getAllVersion()).thenReturn("2-7-3-1");
+        stubStreamAll(ImageMode.INLINE, List.of(first, second));
 
         // Act
-        ResponseEntity<List<ContentResponseDTO>> res = controller.all();
+        ResponseEntity<StreamingResponseBody> res = controller.all(ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
 
-        // Assert
+        // Assert: nothing is loaded before the body is written
         assertEquals(HttpStatus.OK, res.getStatusCode());
-        assertSame(expected, res.getBody(), "Controller must return service result as-is");
-        verify(contentService).getAll();
+        assertEquals(MediaType.APPLICATION_JSON, res.getHeaders().getContentType());
+        assertEquals("\"content-all-INLINE-all-json-2-7-3-1\"", res.getHeaders().getETag());
+        verify(contentService, never()).streamAll(any(), any(), any());
+
+        List<ContentResponseDTO> body = List.of(objectMapper.readValue(written(res), ContentResponseDTO[].class));
+        assertEquals(List.of(first, second), body);
+        verify(contentService).getAllVersion();
+        verify(contentService).streamAll(eq(ImageMode.INLINE), eq(FieldSelection.ALL), any());
+        verifyNoMoreInteractions(contentService);
+    }
+
+    /**
+     * Tests that the all() method streams newline-delimited JSON, under its own tag,
+     * when the client accepts it.
+     */
+    @Test
+    void all_acceptsNdjson_streamsOneContentPerLine() throws IOException {
+        // Arrange
+        ContentResponseDTO first = new ContentResponseDTO();
+        first.setId(1L);
+        ContentResponseDTO second = new ContentResponseDTO();
+        second.setId(2L);
+        when(contentService.getAllVersion()).thenReturn("2-7-3-1");
+        stubStreamAll(ImageMode.INLINE, List.of(first, second));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> res = controller.all(ImageMode.INLINE, null, new ServletWebRequest(request));
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_NDJSON, res.getHeaders().getContentType());
+        assertEquals("\"content-all-INLINE-all-x-ndjson-2-7-3-1\"", res.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT), res.getHeaders().getVary());
+
+        String[] lines = written(res).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first, objectMapper.readValue(lines[0], ContentResponseDTO.class));
+        assertEquals(second, objectMapper.readValue(lines[1], ContentResponseDTO.class));
+    }
+
+    /**
+     * Tests that the all() method answers 304 Not Modified without loading any content
+     * when the client already holds the current catalog.
+     */
+    @Test
+    void all_matchingETag_returnsNotModifiedWithoutLoading() {
+        // Arrange
+        when(contentService.getAllVersion()).thenReturn("2-7-3-1");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"content-all-INLINE-all-json-2-7-3-1\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> res = controller.all(ImageMode.INLINE, null, new ServletWebRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, res.getStatusCode());
+        assertNull(res.getBody());
+        verify(contentService).getAllVersion();
         verifyNoMoreInteractions(contentService);
     }
 
+    /**
+     * Tests that the image mode is part of the tag, so that a representation with inline
+     * images is never validated by one holding references.
+     */
+    @Test
+    void all_otherImageMode_returnsOk() {
+        // Arrange
+        when(contentService.getAllVersion()).thenReturn("2-7-3-1");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"content-all-INLINE-all-json-2-7-3-1\"");
+
+        // Act
+        ResponseEntity<StreamingResponseBody> res = controller.all(ImageMode.REFERENCE, null, new ServletWebRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals("\"content-all-REFERENCE-all-json-2-7-3-1\"", res.getHeaders().getETag());
+    }
+
+    /**
+     * Tests that the all() method streams only the requested properties, under a tag
+     * of its own, and hands the selection to the service.
+     */
+    @Test
+    void all_withFields_streamsSelectedProperties() throws IOException {
+        // Arrange
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(1L);
+        content.setTitle("Title");
+        content.setDescription("Description");
+        when(contentService.getAllVersion()).thenReturn("2-7-3-1");
+        FieldSelection fields = FieldSelection.parse("title");
+        doAnswer(invocation -> {
+            invocation.<Consumer<ContentResponseDTO>>getArgument(2).accept(content);
+            return null;
+        }).when(contentService).streamAll(eq(ImageMode.INLINE), eq(fields), any());
+
+        // Act
+        ResponseEntity<StreamingResponseBody> res = controller.all(ImageMode.INLINE, "title", request());
+
+        // Assert
+        assertEquals("\"content-all-INLINE-id.title-json-2-7-3-1\"", res.getHeaders().getETag());
+        assertEquals("[{\"id\":1,\"title\":\"Title\"}]", written(res));
+    }
+
+    /**
+     * Tests that the byId() method returns the content provided by the service.
+     */
+    @Test
+    void byId_returnsOkWithBodyFromService() throws IOException {
+        ContentResponseDTO expected = new ContentResponseDTO();
+        expected.setId(5L);
+        expected.setTitle("Title");
+        when(contentService.getById(5L, ImageMode.REFERENCE)).thenReturn(expected);
+
+        ResponseEntity<byte[]> res = controller.byId(5L, ImageMode.REFERENCE, null, request());
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, res.getHeaders().getContentType());
+        assertEquals(expected, objectMapper.readValue(res.getBody(), ContentResponseDTO.class));
+        verify(responseCacheService).get(eq(ResponseCacheService.contentKey(5L, ImageMode.REFERENCE)), any(), any());
+    }
+
+    /**
+     * Tests that byId() only lets a response with an inline image be cached once the image is loaded.
+     */
+    @Test
+    void byId_inlineImageMissing_notCacheable() throws IOException {
+        controller.byId(5L, ImageMode.INLINE, null, request());
+        controller.byId(5L, ImageMode.REFERENCE, null, request());
+
+        ArgumentCaptor<Predicate<ContentResponseDTO>> inline = ArgumentCaptor.forClass(Predicate.class);
+        verify(responseCacheService).get(eq(ResponseCacheService.contentKey(5L, ImageMode.INLINE)), any(), inline.capture());
+        ArgumentCaptor<Predicate<ContentResponseDTO>> reference = ArgumentCaptor.forClass(Predicate.class);
+        verify(responseCacheService).get(eq(ResponseCacheService.contentKey(5L, ImageMode.REFERENCE)), any(), reference.capture());
+
+        ContentResponseDTO pending = new ContentResponseDTO();
+        pending.setImageKey("image/abc");
+        ContentResponseDTO loaded = new ContentResponseDTO();
+        loaded.setImageKey("image/abc");
+        loaded.setBase64Image("aW1n");
+
+        assertFalse(inline.getValue().test(pending));
+        assertTrue(inline.getValue().test(loaded));
+        assertTrue(inline.getValue().test(new ContentResponseDTO()));
+        assertTrue(reference.getValue().test(pending));
+    }
+
+    /**
+     * Tests that the byId() method serializes only the requested properties, without the cache
+     * and without downloading the image when it is not requested.
+     */
+    @Test
+    void byId_withFields_bypassesCacheAndReturnsSelectedProperties() throws IOException {
+        ContentResponseDTO expected = new ContentResponseDTO();
+        expected.setId(5L);
+        expected.setTitle("Title");
+        expected.setImageKey("key");
+        when(contentService.getById(5L, ImageMode.REFERENCE)).thenReturn(expected);
+
+        ResponseEntity<byte[]> res = controller.byId(5L, ImageMode.INLINE, "title, imageKey", request());
+
+        assertEquals("{\"id\":5,\"title\":\"Title\",\"imageKey\":\"key\"}", new String(res.getBody(), StandardCharsets.UTF_8));
+        verifyNoInteractions(responseCacheService);
+    }
+
+    /**
+     * Tests that an invalid field name is rejected before reaching the service.
+     */
+    @Test
+    void byId_invalidField_throws() {
+        assertThrows(DataValidationException.class, () -> controller.byId(5L, ImageMode.INLINE, "title,1bad", request()));
+        verifyNoInteractions(contentService);
+    }
+
+    /**
+     * Tests that the byIds() method passes the ids to the service in the requested order.
+     */
+    @Test
+    void byIds_returnsOkWithBodyFromService() {
+        List<ContentResponseDTO> expected = List.of(new ContentResponseDTO());
+        when(contentService.getAllById(List.of(3L, 1L), ImageMode.INLINE)).thenReturn(expected);
+
+        ResponseEntity<Object> res = controller.byIds(List.of(3L, 1L), ImageMode.INLINE, null);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(expected, res.getBody());
+    }
+
+    /**
+     * Tests that the byIds() method rejects requests for more ids than allowed,
+     * without reaching the service.
+     */
+    @Test
+    void byIds_tooManyIds_throws() {
+        List<Long> ids = LongStream.rangeClosed(1, ContentController.MAX_IDS_PER_REQUEST + 1).boxed().toList();
+
+        assertThrows(DataValidationException.class, () -> controller.byIds(ids, ImageMode.INLINE, null));
+        verifyNoInteractions(contentService);
+    }
+
+    /**
+     * Tests that the catalog() method passes the cursor and filters to the service
+     * and clamps the requested page size.
+     */
+    @Test
+    void catalog_clampsSizeAndReturnsPage() {
+        // Arrange
+        ContentPageResponseDTO expected = new ContentPageResponseDTO(List.of(new ContentResponseDTO()), 7L);
+        when(contentService.getCatalog(10L, ContentController.MAX_CATALOG_PAGE_SIZE, "ACTION", "MOVIE", ImageMode.REFERENCE, FieldSelection.ALL)).thenReturn(expected);
+        when(contentService.getCatalog(null, 1, null, null, ImageMode.INLINE, FieldSelection.ALL)).thenReturn(expected);
+
+        // Act
+        ResponseEntity<Object> large = controller.catalog(10L, 10_000, "ACTION", "MOVIE", ImageMode.REFERENCE, null);
+        ResponseEntity<Object> empty = controller.catalog(null, 0, null, null, ImageMode.INLINE, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, large.getStatusCode());
+        assertSame(expected, large.getBody());
+        assertSame(expected, empty.getBody());
+    }
+
+    /**
+     * Tests that the catalog() method keeps the cursor of the page and trims its entries
+     * to the requested properties.
+     */
+    @Test
+    void catalog_withFields_trimsEntriesOnly() {
+        // Arrange
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(3L);
+        content.setTitle("Title");
+        content.setDescription("Description");
+        FieldSelection fields = FieldSelection.parse("title");
+        when(contentService.getCatalog(null, 20, null, null, ImageMode.INLINE, fields))
+                .thenReturn(new ContentPageResponseDTO(List.of(content), 3L));
+
+        // Act
+        ResponseEntity<Object> res = controller.catalog(null, 20, null, null, ImageMode.INLINE, "title");
+
+        // Assert
+        assertEquals("{\"content\":[{\"id\":3,\"title\":\"Title\"}],\"nextCursor\":3}", res.getBody().toString());
+    }
+
     /**
      * Tests that the contentTypes() method returns an HTTP 200 OK status and the body
      * contains the list of content types provided by the service.
      */
     @Test
-    void contentTypes_returnsOkWithBodyFromService() {
+    void contentTypes_returnsOkWithBodyFromService() throws IOException {
         // Arrange
         List<String> expected = List.of("MOVIE", "SERIES");
         when(contentService.getContentTypes()).thenReturn(expected);
 
         // Act
-        ResponseEntity<List<String>> res = controller.contentTypes();
+        ResponseEntity<byte[]> res = controller.contentTypes(request());
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
-        assertSame(expected, res.getBody());
+        assertEquals(expected, objectMapper.readValue(res.getBody(), List.class));
         verify(contentService).getContentTypes();
         verifyNoMoreInteractions(contentService);
     }
@@ -78,17 +371,17 @@ class ContentControllerTest {
      * contains the list of genres provided by the service.
      */
     @Test
-    void genres_returnsOkWithBodyFromService() {
+    void genres_returnsOkWithBodyFromService() throws IOException {
         // Arrange
         List<String> expected = List.of("Action", "Drama");
         when(contentService.getGenres()).thenReturn(expected);
 
         // Act
-        ResponseEntity<List<String>> res = controller.genres();
+        ResponseEntity<byte[]> res = controller.genres(request());
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
-        assertSame(expected, res.getBody());
+        assertEquals(expected, objectMapper.readValue(res.getBody(), List.class));
         verify(contentService).getGenres();
         verifyNoMoreInteractions(contentService);
     }
@@ -98,32 +391,33 @@ class ContentControllerTest {
      * This ensures that the controller handles empty data gracefully.
      */
     @Test
-    void endpoints_returnOkEvenWhenServiceReturnsEmptyLists() {
+    void endpoints_returnOkEvenWhenServiceReturnsEmptyLists() throws IOException {
         // Arrange
-        when(contentService.getAll()).thenReturn(List.of());
+        stubStreamAll(ImageMode.INLINE, List.of());
         when(contentService.getContentTypes()).thenReturn(List.of());
         when(contentService.getGenres()).thenReturn(List.of());
 
         // Act: call each endpoint ONCE and reuse the response objects
-        var resAll = controller.all();
-        var resTypes = controller.contentTypes();
-        var resGenres = controller.genres();
+        var resAll = controller.all(ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
+        var resTypes = controller.contentTypes(request());
+        var resGenres = controller.genres(request());
 
         // Assert: status + bodies
         assertEquals(HttpStatus.OK, resAll.getStatusCode());
         assertNotNull(resAll.getBody());
-        assertTrue(resAll.getBody().isEmpty());
+        assertEquals("[]", written(resAll));
 
         assertEquals(HttpStatus.OK, resTypes.getStatusCode());
         assertNotNull(resTypes.getBody());
-        assertTrue(resTypes.getBody().isEmpty());
+        assertTrue(objectMapper.readValue(resTypes.getBody(), List.class).isEmpty());
 
         assertEquals(HttpStatus.OK, resGenres.getStatusCode());
         assertNotNull(resGenres.getBody());
-        assertTrue(resGenres.getBody().isEmpty());
+        assertTrue(objectMapper.readValue(resGenres.getBody(), List.class).isEmpty());
 
         // Verify exactly one interaction per service method
-        verify(contentService).getAll();
+        verify(contentService).getAllVersion();
+        verify(contentService).streamAll(eq(ImageMode.INLINE), eq(FieldSelection.ALL), any());
         verify(contentService).getContentTypes();
         verify(contentService).getGenres();
         verifyNoMoreInteractions(contentService);
@@ -1,20 +1,37 @@
 package click.reelscout.backend.controller;
 
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentImportResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.model.jpa.ProductionCompany;
+import click.reelscout.backend.s3.ImageMode;
 import click.reelscout.backend.service.definition.AnalyticsService;
+import click.reelscout.backend.service.definition.ContentImportService;
 import click.reelscout.backend.service.definition.ContentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,17 +44,22 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class ContentProductionCompanyControllerTest {
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private ContentService contentService;
 
     @Mock
     private AnalyticsService analyticsService;
 
+    @Mock
+    private ContentImportService contentImportService;
+
     private ContentProductionCompanyController controller;
 
     @BeforeEach
     void setUp() {
-        controller = new ContentProductionCompanyController(contentService, analyticsService);
+        controller = new ContentProductionCompanyController(contentService, analyticsService, contentImportService, objectMapper);
     }
 
     /** Tests for addContent, updateContent, getMyContents, deleteContent methods */
@@ -81,25 +103,84 @@ class ContentProductionCompanyControllerTest {
         verifyNoMoreInteractions(contentService);
     }
 
-    /** Tests for addContent, updateContent, getMyContents, deleteContent methods */
+    /** Tests for the multipart/form-data variant of updateContent */
     @Test
-    void getMyContents_returnsOkWithListFromService() {
+    void updateContent_withImageFile_passesFileToService() {
         // Arrange
         ProductionCompany principal = new ProductionCompany();
-        List<ContentResponseDTO> expected = List.of(mock(ContentResponseDTO.class), mock(ContentResponseDTO.class));
+        Long id = 123L;
+        ContentRequestDTO req = mock(ContentRequestDTO.class);
+        MultipartFile image = new MockMultipartFile("image", new byte[]{1});
+        ContentResponseDTO expected = mock(ContentResponseDTO.class);
 
-        when(contentService.getByProductionCompany(principal)).thenReturn(expected);
+        when(contentService.update(principal, id, req, image)).thenReturn(expected);
 
         // Act
-        ResponseEntity<List<ContentResponseDTO>> res = controller.getMyContents(principal);
+        ResponseEntity<ContentResponseDTO> res = controller.updateContent(principal, id, req, image);
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertSame(expected, res.getBody());
-        verify(contentService).getByProductionCompany(principal);
+        verify(contentService).update(principal, id, req, image);
+        verifyNoMoreInteractions(contentService);
+    }
+
+    /** Makes streamByProductionCompany() hand out the given contents. */
+    private void stubStreamByProductionCompany(ProductionCompany principal, List<ContentResponseDTO> contents) {
+        doAnswer(invocation -> {
+            contents.forEach(invocation.<Consumer<ContentResponseDTO>>getArgument(3));
+            return null;
+        }).when(contentService).streamByProductionCompany(eq(principal), eq(ImageMode.INLINE), any(), any());
+    }
+
+    /** Writes a streamed body, as the server does once the handler has returned. */
+    private static String written(ResponseEntity<StreamingResponseBody> res) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /** Tests for addContent, updateContent, getMyContents, deleteContent methods */
+    @Test
+    void getMyContents_streamsContentsFromService() throws IOException {
+        // Arrange
+        ProductionCompany principal = new ProductionCompany();
+        ContentResponseDTO first = new ContentResponseDTO();
+        first.setId(1L);
+        ContentResponseDTO second = new ContentResponseDTO();
+        second.setId(2L);
+        stubStreamByProductionCompany(principal, List.of(first, second));
+
+        // Act
+        ResponseEntity<StreamingResponseBody> res = controller.getMyContents(principal, ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Assert
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, res.getHeaders().getContentType());
+        assertEquals(List.of(first, second), List.of(objectMapper.readValue(written(res), ContentResponseDTO[].class)));
+        verify(contentService).streamByProductionCompany(eq(principal), eq(ImageMode.INLINE), eq(FieldSelection.ALL), any());
         verifyNoMoreInteractions(contentService);
     }
 
+    /** Test that getMyContents streams only the requested properties of each content */
+    @Test
+    void getMyContents_withFields_streamsSelectedProperties() throws IOException {
+        // Arrange
+        ProductionCompany principal = new ProductionCompany();
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(1L);
+        content.setTitle("Title");
+        content.setDescription("Description");
+        stubStreamByProductionCompany(principal, List.of(content));
+
+        // Act
+        var res = controller.getMyContents(principal, ImageMode.INLINE, "title", new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Assert
+        assertEquals("[{\"id\":1,\"title\":\"Title\"}]", written(res));
+        verify(contentService).streamByProductionCompany(eq(principal), eq(ImageMode.INLINE), eq(FieldSelection.parse("title")), any());
+    }
+
     /** Tests for addContent, updateContent, getMyContents, deleteContent methods */
     @Test
     void deleteContent_returnsOkWithCustomResponse() {
@@ -122,19 +203,37 @@ class ContentProductionCompanyControllerTest {
 
     /** Test for edge case: empty list from getMyContents */
     @Test
-    void endpoints_returnOkEvenWhenServiceReturnsEmptyLists() {
+    void endpoints_returnOkEvenWhenServiceReturnsEmptyLists() throws IOException {
         // Arrange
         ProductionCompany principal = new ProductionCompany();
-        when(contentService.getByProductionCompany(principal)).thenReturn(List.of());
+        stubStreamByProductionCompany(principal, List.of());
 
         // Act (call once and reuse the response to avoid double invocations)
-        var res = controller.getMyContents(principal);
+        var res = controller.getMyContents(principal, ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNotNull(res.getBody());
-        assertTrue(res.getBody().isEmpty());
-        verify(contentService).getByProductionCompany(principal);
+        assertEquals("[]", written(res));
+        verify(contentService).streamByProductionCompany(eq(principal), eq(ImageMode.INLINE), eq(FieldSelection.ALL), any());
         verifyNoMoreInteractions(contentService);
     }
-}
\ No newline at end of file
+
+    /** Test that importContents passes the request body stream to the import service */
+    @Test
+    void importContents_returnsOkAndReportFromService() {
+        // Arrange
+        ProductionCompany principal = new ProductionCompany();
+        InputStream body = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+        ContentImportResponseDTO expected = new ContentImportResponseDTO(0, 1, List.of());
+        when(contentImportService.importContents(principal, body)).thenReturn(expected);
+
+        // Act
+        ResponseEntity<ContentImportResponseDTO> res = controller.importContents(principal, body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(expected, res.getBody());
+        verifyNoInteractions(contentService);
+    }
+}
@@ -0,0 +1,86 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.s3.ImageVariant;
+import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.s3.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ImageController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageControllerTest {
+
+    @Mock
+    private S3Service s3Service;
+
+    private ImageController controller;
+
+    private final StoredFile file = new StoredFile(new ByteArrayResource(new byte[]{1, 2, 3}), "image/png", 3L, "\"abc\"");
+
+    @BeforeEach
+    void setUp() {
+        controller = new ImageController(s3Service);
+    }
+
+    /** Tests that the image is streamed with content type, ETag and cache headers. */
+    @Test
+    void getImage_returnsContentWithCachingHeaders() {
+        when(s3Service.openFile("content/1", ImageVariant.ORIGINAL)).thenReturn(file);
+
+        ResponseEntity<Resource> res = controller.getImage("/content/1", ImageVariant.ORIGINAL, null);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(file.content(), res.getBody());
+        assertEquals(MediaType.IMAGE_PNG, res.getHeaders().getContentType());
+        assertEquals(3L, res.getHeaders().getContentLength());
+        assertEquals("\"abc\"", res.getHeaders().getETag());
+        assertNotNull(res.getHeaders().getCacheControl());
+    }
+
+    /** Tests that a matching If-None-Match header yields 304 without a body. */
+    @Test
+    void getImage_returnsNotModified_whenETagMatches() {
+        when(s3Service.openFile("content/1", ImageVariant.ORIGINAL)).thenReturn(file);
+
+        ResponseEntity<Resource> res = controller.getImage("/content/1", ImageVariant.ORIGINAL, "\"abc\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, res.getStatusCode());
+        assertNull(res.getBody());
+        assertEquals("\"abc\"", res.getHeaders().getETag());
+    }
+
+    /** Tests that the requested variant is passed on to the storage service. */
+    @Test
+    void getImage_opensRequestedVariant() {
+        when(s3Service.openFile("user/1", ImageVariant.THUMBNAIL)).thenReturn(file);
+
+        ResponseEntity<Resource> res = controller.getImage("/user/1", ImageVariant.THUMBNAIL, null);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        verify(s3Service).openFile("user/1", ImageVariant.THUMBNAIL);
+    }
+
+    /** Tests that content-addressed images are marked as immutable. */
+    @Test
+    void getImage_marksContentAddressedImagesImmutable() {
+        when(s3Service.openFile("image/abc", ImageVariant.ORIGINAL)).thenReturn(file);
+
+        ResponseEntity<Resource> res = controller.getImage("/image/abc", ImageVariant.ORIGINAL, null);
+
+        assertTrue(res.getHeaders().getCacheControl().contains("immutable"));
+        assertTrue(res.getHeaders().getCacheControl().contains("max-age=31536000"));
+    }
+}
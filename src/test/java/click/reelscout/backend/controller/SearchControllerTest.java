@@ -1,8 +1,16 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO;
+import click.reelscout.backend.dto.response.SearchPageResponseDTO;
 import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.SuggestResponseDTO;
+import click.reelscout.backend.dto.response.SuggestionResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.service.definition.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +19,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -25,11 +36,14 @@ class SearchControllerTest {
     @Mock
     private SearchService<UserResponseDTO> searchService;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     private SearchController<UserResponseDTO> controller;
 
     @BeforeEach
     void setUp() {
-        controller = new SearchController<>(searchService);
+        controller = new SearchController<>(searchService, searchIndexService, new ObjectMapper());
     }
 
     /** Tests for the search method */
@@ -39,15 +53,15 @@ class SearchControllerTest {
         // Arrange
         String query = "test-user";
         SearchResponseDTO<UserResponseDTO> expected = mock(SearchResponseDTO.class);
-        when(searchService.search(query)).thenReturn(expected);
+        when(searchService.search(query, ImageMode.INLINE)).thenReturn(expected);
 
         // Act
-        ResponseEntity<SearchResponseDTO<UserResponseDTO>> res = controller.search(query);
+        ResponseEntity<Object> res = controller.search(query, ImageMode.INLINE, null);
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode(), "Response must have HTTP 200 status");
         assertSame(expected, res.getBody(), "Controller must return the service result as-is");
-        verify(searchService).search(query);
+        verify(searchService).search(query, ImageMode.INLINE);
         verifyNoMoreInteractions(searchService);
     }
 
@@ -56,15 +70,111 @@ class SearchControllerTest {
     void search_returnsOkEvenWhenServiceReturnsNull() {
         // Arrange
         String query = "non-existing";
-        when(searchService.search(query)).thenReturn(null);
+        when(searchService.search(query, ImageMode.INLINE)).thenReturn(null);
 
         // Act
-        ResponseEntity<SearchResponseDTO<UserResponseDTO>> res = controller.search(query);
+        ResponseEntity<Object> res = controller.search(query, ImageMode.INLINE, null);
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNull(res.getBody(), "Controller should propagate null result if service returns null");
-        verify(searchService).search(query);
+        verify(searchService).search(query, ImageMode.INLINE);
         verifyNoMoreInteractions(searchService);
     }
-}
\ No newline at end of file
+
+    /** Tests that searchMembers forwards the requested image mode to the service */
+    @Test
+    void searchMembers_forwardsImageMode() {
+        // Arrange
+        String query = "mat";
+        List<UserResponseDTO> expected = List.of(new UserResponseDTO());
+        when(searchService.searchMembers(query, ImageMode.REFERENCE)).thenReturn(expected);
+
+        // Act
+        ResponseEntity<Object> res = controller.searchMembers(query, ImageMode.REFERENCE, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(expected, res.getBody());
+        verify(searchService).searchMembers(query, ImageMode.REFERENCE);
+        verifyNoMoreInteractions(searchService);
+    }
+
+    /** Tests that search trims the users and contents to the requested properties, without downloading images */
+    @Test
+    void search_withFields_trimsUsersAndContents() {
+        // Arrange
+        String query = "mat";
+        UserResponseDTO user = new UserResponseDTO();
+        user.setId(1L);
+        user.setUsername("matt");
+        user.setEmail("matt@example.com");
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(2L);
+        content.setTitle("Matrix");
+        content.setDescription("Description");
+        when(searchService.search(query, ImageMode.REFERENCE)).thenReturn(new SearchResponseDTO<>(List.of(user), List.of(content)));
+
+        // Act
+        ResponseEntity<Object> res = controller.search(query, ImageMode.INLINE, "username,title");
+
+        // Assert
+        assertEquals("{\"users\":[{\"id\":1,\"username\":\"matt\"}],\"contents\":[{\"id\":2,\"title\":\"Matrix\"}]}",
+                res.getBody().toString());
+    }
+
+    /** Tests that a paginated search clamps the page size and trims each result to the requested properties */
+    @Test
+    void searchContentPage_clampsSizeAndTrimsResults() {
+        ContentResponseDTO content = new ContentResponseDTO();
+        content.setId(2L);
+        content.setTitle("Matrix");
+        content.setDescription("Description");
+        when(searchService.searchContentPage("mat", "c", SearchController.MAX_SEARCH_PAGE_SIZE, ImageMode.REFERENCE))
+                .thenReturn(new SearchPageResponseDTO<>(List.of(content), "next", 42, true));
+
+        ResponseEntity<Object> res = controller.searchContentPage("mat", "c", 1000, ImageMode.INLINE, "title");
+
+        assertEquals("{\"results\":[{\"id\":2,\"title\":\"Matrix\"}],\"nextCursor\":\"next\",\"totalHits\":42,\"totalHitsExact\":true}",
+                res.getBody().toString());
+    }
+
+    /** Tests that paginated user and member searches forward the page to the service */
+    @Test
+    void searchUsersAndMembersPage_forwardToService() {
+        SearchPageResponseDTO<UserResponseDTO> users = new SearchPageResponseDTO<>(List.of(), null, 0, true);
+        SearchPageResponseDTO<UserResponseDTO> members = new SearchPageResponseDTO<>(List.of(), null, 0, true);
+        when(searchService.searchUsersPage("mat", null, 1, ImageMode.INLINE)).thenReturn(users);
+        when(searchService.searchMembersPage("mat", null, 20, ImageMode.INLINE)).thenReturn(members);
+
+        assertSame(users, controller.searchUsersPage("mat", null, 0, ImageMode.INLINE, null).getBody());
+        assertSame(members, controller.searchMembersPage("mat", null, 20, ImageMode.INLINE, null).getBody());
+    }
+
+    /** Tests that starting a reindex answers 202 with the status of the rebuild, which can then be polled */
+    @Test
+    void reindex_returnsAcceptedAndStatus() {
+        ReindexStatusDTO started = new ReindexStatusDTO(ReindexStatusDTO.State.RUNNING, LocalDateTime.now(), null, List.of(), null);
+        ReindexStatusDTO completed = new ReindexStatusDTO(ReindexStatusDTO.State.COMPLETED, started.getStartedAt(), LocalDateTime.now(), List.of(), null);
+        when(searchIndexService.reindex()).thenReturn(started);
+        when(searchIndexService.getReindexStatus()).thenReturn(completed);
+
+        ResponseEntity<ReindexStatusDTO> res = controller.reindex();
+
+        assertEquals(HttpStatus.ACCEPTED, res.getStatusCode());
+        assertSame(started, res.getBody());
+        assertSame(completed, controller.getReindexStatus().getBody());
+    }
+
+    /** Tests for the suggest method */
+    @Test
+    void suggest_returnsOkAndBodyFromService() {
+        SuggestResponseDTO expected = new SuggestResponseDTO(List.of(new SuggestionResponseDTO(1L, "Matteo Pio", "key")), List.of());
+        when(searchService.suggest("mat")).thenReturn(expected);
+
+        ResponseEntity<SuggestResponseDTO> res = controller.suggest("mat");
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(expected, res.getBody());
+    }
+}
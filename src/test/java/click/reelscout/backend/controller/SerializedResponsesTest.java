@@ -0,0 +1,84 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.cbor.CborTranscoder;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SerializedResponses}.
+ */
+class SerializedResponsesTest {
+
+    private static final byte[] JSON = "[\"Action\"]".getBytes();
+    private static final byte[] GZIP = {1, 2, 3};
+
+    private static ServletWebRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private static ServletWebRequest cborRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.5");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        return new ServletWebRequest(request);
+    }
+
+    @Test
+    void ok_noCompressedForm_sendsJsonVaryingByAcceptOnly() {
+        ResponseEntity<byte[]> response = SerializedResponses.ok(request("gzip"), new SerializedResponse(JSON, null));
+
+        assertArrayEquals(JSON, response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+    }
+
+    @Test
+    void ok_gzipAccepted_sendsCompressedForm() {
+        ResponseEntity<byte[]> response = SerializedResponses.ok(request("deflate, gzip;q=0.8, br"), new SerializedResponse(JSON, GZIP));
+
+        assertArrayEquals(GZIP, response.getBody());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+    }
+
+    @Test
+    void ok_gzipRejected_sendsJson() {
+        ResponseEntity<byte[]> response = SerializedResponses.ok(request("gzip;q=0, identity"), new SerializedResponse(JSON, GZIP));
+
+        assertArrayEquals(JSON, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING), response.getHeaders().getVary());
+    }
+
+    @Test
+    void ok_noAcceptEncoding_sendsJson() {
+        ResponseEntity<byte[]> response = SerializedResponses.ok(request(null), new SerializedResponse(JSON, GZIP));
+
+        assertArrayEquals(JSON, response.getBody());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void ok_cborAccepted_sendsJsonConvertedToCbor() {
+        ResponseEntity<byte[]> response = SerializedResponses.ok(cborRequest(), new SerializedResponse(JSON, GZIP));
+
+        assertArrayEquals(CborTranscoder.transcode(JSON), response.getBody());
+        assertEquals(MediaType.APPLICATION_CBOR, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+    }
+}
@@ -0,0 +1,49 @@
+package click.reelscout.backend.controller;
+
+import click.reelscout.backend.dto.request.FieldSelection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SparseFields}.
+ */
+class SparseFieldsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Map<String, Object> entry(int id) {
+        return new TreeMap<>(Map.of("id", id, "title", "t" + id, "description", "d" + id));
+    }
+
+    @Test
+    void select_allFields_returnsBodyItself() {
+        Object body = entry(1);
+
+        assertSame(body, SparseFields.select(objectMapper, FieldSelection.ALL, body));
+        assertNull(SparseFields.select(objectMapper, FieldSelection.parse("title"), null));
+    }
+
+    @Test
+    void select_entryOrList_keepsSelectedProperties() {
+        FieldSelection fields = FieldSelection.parse("title");
+
+        assertEquals("{\"id\":1,\"title\":\"t1\"}", SparseFields.select(objectMapper, fields, entry(1)).toString());
+        assertEquals("[{\"id\":1,\"title\":\"t1\"},{\"id\":2,\"title\":\"t2\"}]",
+                SparseFields.select(objectMapper, fields, List.of(entry(1), entry(2))).toString());
+    }
+
+    @Test
+    void select_entryLists_keepsWrapperWhole() {
+        Map<String, Object> body = new TreeMap<>(Map.of("content", List.of(entry(1)), "nextCursor", 1, "total", 3));
+
+        Object selected = SparseFields.select(objectMapper, FieldSelection.parse("description"), body, "content", "missing");
+
+        assertEquals("{\"content\":[{\"description\":\"d1\",\"id\":1}],\"nextCursor\":1,\"total\":3}", selected.toString());
+    }
+}
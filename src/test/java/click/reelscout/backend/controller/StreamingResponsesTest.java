@@ -0,0 +1,110 @@
+package click.reelscout.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link StreamingResponses}.
+ */
+class StreamingResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static ServletWebRequest request(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String accept, List<?> items) {
+        return StreamingResponses.ok(request(accept), objectMapper, action -> items.forEach(action));
+    }
+
+    private static String written(ResponseEntity<StreamingResponseBody> res) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void mediaType_negotiatesNdjsonOnlyWhenAccepted() {
+        assertEquals(MediaType.APPLICATION_JSON, StreamingResponses.mediaType(request(null)));
+        assertEquals(MediaType.APPLICATION_JSON, StreamingResponses.mediaType(request("application/json, */*")));
+        assertEquals(MediaType.APPLICATION_NDJSON, StreamingResponses.mediaType(request("application/json;q=0.5, application/x-ndjson")));
+        assertEquals(MediaType.APPLICATION_JSON, StreamingResponses.mediaType(request("application/x-ndjson;q=0")));
+        assertEquals(MediaType.APPLICATION_JSON, StreamingResponses.mediaType(request("not a media type")));
+        assertEquals(MediaType.APPLICATION_CBOR, StreamingResponses.mediaType(request("application/cbor, application/json")));
+        assertEquals(MediaType.APPLICATION_JSON, StreamingResponses.mediaType(request("application/json, application/cbor")));
+    }
+
+    @Test
+    void ok_json_writesArray() throws IOException {
+        ResponseEntity<StreamingResponseBody> res = stream(null, List.of(Map.of("id", 1), Map.of("id", 2)));
+
+        assertEquals(MediaType.APPLICATION_JSON, res.getHeaders().getContentType());
+        assertEquals(List.of(HttpHeaders.ACCEPT), res.getHeaders().getVary());
+        assertEquals("[{\"id\":1},{\"id\":2}]", written(res));
+    }
+
+    @Test
+    void ok_ndjson_writesOneItemPerLine() throws IOException {
+        ResponseEntity<StreamingResponseBody> res = stream("application/x-ndjson", List.of(Map.of("id", 1), Map.of("id", 2)));
+
+        assertEquals(MediaType.APPLICATION_NDJSON, res.getHeaders().getContentType());
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", written(res));
+    }
+
+    @Test
+    void ok_cbor_writesCborArray() throws IOException {
+        ResponseEntity<StreamingResponseBody> res = stream("application/cbor", List.of(Map.of("id", 1), Map.of("id", 2)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.getBody().writeTo(out);
+
+        assertEquals(MediaType.APPLICATION_CBOR, res.getHeaders().getContentType());
+        assertEquals(List.of(Map.of("id", 1), Map.of("id", 2)), new CBORMapper().readValue(out.toByteArray(), List.class));
+    }
+
+    @Test
+    void ok_empty_writesEmptyArrayOrNothing() throws IOException {
+        assertEquals("[]", written(stream(null, List.of())));
+        assertEquals("", written(stream("application/x-ndjson", List.of())));
+    }
+
+    @Test
+    void ok_clientGone_stopsProducer() {
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        // Large enough items to overflow the generator buffer on the first write
+        ResponseEntity<StreamingResponseBody> res = StreamingResponses.ok(request(null), objectMapper, action -> {
+            for (int i = 0; i < 100; i++) {
+                action.accept(Map.of("description", "x".repeat(10_000)));
+            }
+            fail("The producer must be stopped once the output fails");
+        });
+
+        assertThrows(UncheckedIOException.class, () -> res.getBody().writeTo(closed));
+    }
+}
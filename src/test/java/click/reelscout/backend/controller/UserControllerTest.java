@@ -6,19 +6,38 @@ import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.UserLoginResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.model.jpa.User;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
 import click.reelscout.backend.service.definition.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Unit tests for {@link UserController}.
@@ -33,9 +52,15 @@ class UserControllerTest {
      */
     static class TestUserRequestDTO extends UserRequestDTO { }
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private UserService<User, TestUserRequestDTO, UserResponseDTO> userService;
 
+    @Mock
+    private ResponseCacheService responseCacheService;
+
     @InjectMocks
     private UserController<User, TestUserRequestDTO, UserResponseDTO> controller;
 
@@ -47,38 +72,94 @@ class UserControllerTest {
     void getCurrentUser_returnsDto() {
         // Arrange: mock authenticated user and expected DTO
         User principal = mock(User.class);
+        when(principal.getId()).thenReturn(7L);
+        when(userService.getCurrentUserVersion(principal)).thenReturn("3");
         UserResponseDTO dto = new UserResponseDTO();
         when(userService.getCurrentUserDto(principal)).thenReturn(dto);
 
         // Act: call controller method
-        ResponseEntity<UserResponseDTO> res = controller.getCurrentUser(principal);
+        ResponseEntity<UserResponseDTO> res = controller.getCurrentUser(principal, new ServletWebRequest(new MockHttpServletRequest()));
 
         // Assert: response contains the expected DTO
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertSame(dto, res.getBody());
+        assertEquals("\"user-7-3\"", res.getHeaders().getETag());
+        verify(userService).getCurrentUserVersion(principal);
         verify(userService).getCurrentUserDto(principal);
         verifyNoMoreInteractions(userService);
     }
 
+    /**
+     * Test for getCurrentUser method with a matching If-None-Match header.
+     * Verifies that the controller answers 304 Not Modified without building the DTO.
+     */
+    @Test
+    void getCurrentUser_matchingETag_returnsNotModified() {
+        // Arrange
+        User principal = mock(User.class);
+        when(principal.getId()).thenReturn(7L);
+        when(userService.getCurrentUserVersion(principal)).thenReturn("3");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"user-7-3\"");
+
+        // Act
+        ResponseEntity<UserResponseDTO> res = controller.getCurrentUser(principal, new ServletWebRequest(request));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, res.getStatusCode());
+        assertNull(res.getBody());
+        verify(userService, never()).getCurrentUserDto(any());
+    }
+
     /**
      * Test for getById method.
      * Verifies that the controller calls the service with the correct ID and returns the expected DTO.
      */
     @Test
-    void getById_returnsDto() {
+    void getById_returnsDto() throws IOException {
         // Arrange
         Long id = 42L;
         UserResponseDTO dto = new UserResponseDTO();
+        dto.setId(id);
+        dto.setUsername("studio");
         when(userService.getById(id)).thenReturn(dto);
+        ArgumentCaptor<Predicate<UserResponseDTO>> cacheable = ArgumentCaptor.forClass(Predicate.class);
+        when(responseCacheService.get(eq(ResponseCacheService.userKey(id)), any(), cacheable.capture())).thenAnswer(invocation ->
+                new SerializedResponse(objectMapper.writeValueAsBytes(invocation.<Supplier<?>>getArgument(1).get()), null));
 
         // Act
-        ResponseEntity<UserResponseDTO> res = controller.getById(id);
+        ResponseEntity<byte[]> res = controller.getById(id, null, new ServletWebRequest(new MockHttpServletRequest()));
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
-        assertSame(dto, res.getBody());
+        assertEquals(dto, objectMapper.readValue(res.getBody(), UserResponseDTO.class));
         verify(userService).getById(id);
         verifyNoMoreInteractions(userService);
+
+        // A profile whose image is not loaded yet is not cached
+        assertTrue(cacheable.getValue().test(dto));
+        dto.setImageKey("image/abc");
+        assertFalse(cacheable.getValue().test(dto));
+        dto.setBase64Image("aW1n");
+        assertTrue(cacheable.getValue().test(dto));
+    }
+
+    /**
+     * Test for getById method with a sparse fieldset.
+     * Verifies that only the requested properties are returned, serialized without the cache.
+     */
+    @Test
+    void getById_withFields_bypassesCache() throws IOException {
+        // Arrange
+        Long id = 42L;
+        when(userService.getById(id)).thenReturn(new UserResponseDTO(id, "studio", "studio@example.com", null, null));
+
+        // Act
+        ResponseEntity<byte[]> res = controller.getById(id, "username", new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Assert
+        assertEquals("{\"id\":42,\"username\":\"studio\"}", new String(res.getBody(), StandardCharsets.UTF_8));
+        verifyNoInteractions(responseCacheService);
     }
 
     /**
@@ -125,6 +206,29 @@ class UserControllerTest {
         verifyNoMoreInteractions(userService);
     }
 
+    /**
+     * Test for the multipart/form-data variant of the update method.
+     * Verifies that the uploaded image file is passed to the service along with the request DTO.
+     */
+    @Test
+    void update_withImageFile_returnsLoginResponse() {
+        // Arrange
+        User principal = mock(User.class);
+        TestUserRequestDTO req = new TestUserRequestDTO();
+        MultipartFile image = new MockMultipartFile("image", new byte[]{1});
+        UserLoginResponseDTO login = new UserLoginResponseDTO("jwt-access");
+        when(userService.update(principal, req, image)).thenReturn(login);
+
+        // Act
+        ResponseEntity<UserLoginResponseDTO> res = controller.update(principal, req, image);
+
+        // Assert
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertSame(login, res.getBody());
+        verify(userService).update(principal, req, image);
+        verifyNoMoreInteractions(userService);
+    }
+
     /**
      * Test for changePassword method.
      * Verifies that the controller calls the service with the authenticated user and password change request,
@@ -149,45 +253,101 @@ class UserControllerTest {
         verifyNoMoreInteractions(userService);
     }
 
+    /** Makes streamAll() hand out the given users. */
+    private void stubStreamAll(List<UserResponseDTO> users) {
+        doAnswer(invocation -> {
+            users.forEach(invocation.<Consumer<UserResponseDTO>>getArgument(1));
+            return null;
+        }).when(userService).streamAll(eq(ImageMode.INLINE), any());
+    }
+
+    /** Writes a streamed body, as the server does once the handler has returned. */
+    private static String written(ResponseEntity<StreamingResponseBody> res) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        res.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
     /**
      * Test for getAll method.
-     * Verifies that the controller calls the service and returns the list of user DTOs.
+     * Verifies that the controller streams the user DTOs handed out by the service as a JSON array.
      */
     @Test
-    void getAll_returnsListFromService() {
+    void getAll_streamsUsersFromService() throws IOException {
         // Arrange
-        var dto = new UserResponseDTO();
-        when(userService.getAll()).thenReturn(List.of(dto));
+        var dto = new UserResponseDTO(1L, "alice", "alice@example.com", null, null);
+        stubStreamAll(List.of(dto));
 
         // Act
-        var res = controller.getAll();
+        ResponseEntity<StreamingResponseBody> res = controller.getAll(ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNotNull(res.getBody());
-        assertEquals(1, res.getBody().size());
-        assertSame(dto, res.getBody().getFirst());
-        verify(userService).getAll();
+        UserResponseDTO[] body = objectMapper.readValue(written(res), UserResponseDTO[].class);
+        assertEquals(1, body.length);
+        assertEquals(dto, body[0]);
+        verify(userService).streamAll(eq(ImageMode.INLINE), any());
         verifyNoMoreInteractions(userService);
     }
 
     /**
-     * Test for getAll method when service returns an empty list.
-     * Verifies that the controller correctly handles and returns an empty list.
+     * Test for getAll method when the client asks for newline-delimited JSON.
+     * Verifies that each user is written on its own line.
      */
     @Test
-    void getAll_returnsEmptyList() {
+    void getAll_acceptsNdjson_streamsOneUserPerLine() throws IOException {
         // Arrange
-        when(userService.getAll()).thenReturn(List.of());
+        stubStreamAll(List.of(new UserResponseDTO(1L, "alice", null, null, null), new UserResponseDTO(2L, "bob", null, null, null)));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
 
         // Act
-        var res = controller.getAll();
+        ResponseEntity<StreamingResponseBody> res = controller.getAll(ImageMode.INLINE, null, new ServletWebRequest(request));
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_NDJSON, res.getHeaders().getContentType());
+        String[] lines = written(res).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("bob", objectMapper.readValue(lines[1], UserResponseDTO.class).getUsername());
+    }
+
+    /**
+     * Test for getAll method when service hands out no user.
+     * Verifies that the controller correctly writes an empty list.
+     */
+    @Test
+    void getAll_returnsEmptyList() throws IOException {
+        // Arrange
+        stubStreamAll(List.of());
+
+        // Act
+        var res = controller.getAll(ImageMode.INLINE, null, new ServletWebRequest(new MockHttpServletRequest()));
 
         // Assert
         assertEquals(HttpStatus.OK, res.getStatusCode());
         assertNotNull(res.getBody());
-        assertTrue(res.getBody().isEmpty());
-        verify(userService).getAll();
+        assertEquals("[]", written(res));
+        verify(userService).streamAll(eq(ImageMode.INLINE), any());
         verifyNoMoreInteractions(userService);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test for getAll method with a sparse fieldset.
+     * Verifies that images are not requested when they are not selected and that users are trimmed.
+     */
+    @Test
+    void getAll_withFields_skipsImagesAndTrimsUsers() throws IOException {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<Consumer<UserResponseDTO>>getArgument(1).accept(new UserResponseDTO(1L, "alice", "alice@example.com", null, null));
+            return null;
+        }).when(userService).streamAll(eq(ImageMode.REFERENCE), any());
+
+        // Act
+        var res = controller.getAll(ImageMode.INLINE, "username", new ServletWebRequest(new MockHttpServletRequest()));
+
+        // Assert
+        assertEquals("[{\"id\":1,\"username\":\"alice\"}]", written(res));
+    }
+}
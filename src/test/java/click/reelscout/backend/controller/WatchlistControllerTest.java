@@ -1,19 +1,32 @@
 package click.reelscout.backend.controller;
 
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.WatchlistRequestDTO;
+import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.WatchlistResponseDTO;
+import click.reelscout.backend.dto.response.WatchlistWithContentsResponseDTO;
 import click.reelscout.backend.model.jpa.Member;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
 import click.reelscout.backend.service.definition.WatchlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -28,9 +41,15 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class WatchlistControllerTest {
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     private WatchlistService watchlistService;
 
+    @Mock
+    private ResponseCacheService responseCacheService;
+
     @InjectMocks
     private WatchlistController controller;
 
@@ -161,17 +180,42 @@ class WatchlistControllerTest {
                     mock(WatchlistResponseDTO.class)
             );
 
+            when(watchlistService.getAllByMemberVersion(member)).thenReturn("2-9-4");
             when(watchlistService.getAllByMember(member)).thenReturn(expected);
 
             // Act
-            ResponseEntity<List<WatchlistResponseDTO>> response = controller.getWatchlists(member);
+            ResponseEntity<List<WatchlistResponseDTO>> response = controller.getWatchlists(member, new ServletWebRequest(new MockHttpServletRequest()));
 
             // Assert
             assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
             assertThat(response.getBody()).isSameAs(expected);
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"watchlists-" + member.getId() + "-2-9-4\"");
+            verify(watchlistService).getAllByMemberVersion(member);
             verify(watchlistService).getAllByMember(member);
             verifyNoMoreInteractions(watchlistService);
         }
+
+        /**
+         * Verifies that the controller answers 304 Not Modified without loading the watchlists
+         * when the client already holds their current state.
+         */
+        @Test
+        void shouldReturnNotModifiedWhenETagMatches() {
+            // Arrange
+            Member member = sampleMember();
+            when(watchlistService.getAllByMemberVersion(member)).thenReturn("2-9-4");
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"watchlists-" + member.getId() + "-2-9-4\"");
+
+            // Act
+            ResponseEntity<List<WatchlistResponseDTO>> response = controller.getWatchlists(member, new ServletWebRequest(request));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            verify(watchlistService).getAllByMemberVersion(member);
+            verifyNoMoreInteractions(watchlistService);
+        }
     }
 
     @Nested
@@ -243,17 +287,69 @@ class WatchlistControllerTest {
             Long id = 5L;
             WatchlistResponseDTO expected = mock(WatchlistResponseDTO.class);
 
-            when(watchlistService.getById(member, id)).thenReturn(expected);
+            when(watchlistService.getVersion(member, id)).thenReturn("1-2-5-2");
+            when(watchlistService.getById(member, id, FieldSelection.ALL)).thenReturn(expected);
 
             // Act
-            ResponseEntity<WatchlistResponseDTO> response = controller.getWatchlistById(member, id);
+            ResponseEntity<Object> response = controller.getWatchlistById(member, id, null, new ServletWebRequest(new MockHttpServletRequest()));
 
             // Assert
             assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
             assertThat(response.getBody()).isSameAs(expected);
-            verify(watchlistService).getById(member, id);
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"watchlist-5-all-1-2-5-2\"");
+            verify(watchlistService).getVersion(member, id);
+            verify(watchlistService).getById(member, id, FieldSelection.ALL);
+            verifyNoMoreInteractions(watchlistService);
+        }
+
+        /**
+         * Verifies that the controller answers 304 Not Modified without loading the watchlist
+         * contents when the client already holds their current state.
+         */
+        @Test
+        void shouldReturnNotModifiedWhenETagMatches() {
+            // Arrange
+            Member member = sampleMember();
+            Long id = 5L;
+            when(watchlistService.getVersion(member, id)).thenReturn("1-2-5-2");
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"watchlist-5-all-1-2-5-2\"");
+
+            // Act
+            ResponseEntity<Object> response = controller.getWatchlistById(member, id, null, new ServletWebRequest(request));
+
+            // Assert
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            verify(watchlistService).getVersion(member, id);
             verifyNoMoreInteractions(watchlistService);
         }
+
+        /**
+         * Verifies that the controller keeps the watchlist itself, trims its contents to the
+         * requested properties, and tags the response with the selection.
+         */
+        @Test
+        void shouldTrimContentsToRequestedFields() {
+            // Arrange
+            Member member = sampleMember();
+            Long id = 5L;
+            ContentResponseDTO content = new ContentResponseDTO();
+            content.setId(9L);
+            content.setTitle("Title");
+            content.setDescription("Description");
+            WatchlistWithContentsResponseDTO watchlist = new WatchlistWithContentsResponseDTO(id, "Favourites", true, List.of(content));
+            FieldSelection fields = FieldSelection.parse("title");
+            when(watchlistService.getVersion(member, id)).thenReturn("1-2-5-2");
+            when(watchlistService.getById(member, id, fields)).thenReturn(watchlist);
+
+            // Act
+            ResponseEntity<Object> response = controller.getWatchlistById(member, id, "title", new ServletWebRequest(new MockHttpServletRequest()));
+
+            // Assert
+            assertThat(response.getHeaders().getETag()).isEqualTo("\"watchlist-5-id.title-1-2-5-2\"");
+            assertThat(response.getBody()).hasToString("{\"id\":5,\"name\":\"Favourites\",\"isPublic\":true,\"contents\":[{\"id\":9,\"title\":\"Title\"}]}");
+        }
     }
 
     @Nested
@@ -288,23 +384,25 @@ class WatchlistControllerTest {
          * for a given member ID.
          */
         @Test
-        void shouldReturnPublicWatchlistsForGivenMemberId() {
+        void shouldReturnPublicWatchlistsForGivenMemberId() throws IOException {
             // Arrange
             Long memberId = 321L;
             List<WatchlistResponseDTO> expected = List.of(
-                    mock(WatchlistResponseDTO.class),
-                    mock(WatchlistResponseDTO.class)
+                    new WatchlistResponseDTO(1L, "First", true),
+                    new WatchlistResponseDTO(2L, "Second", true)
             );
 
             when(watchlistService.getAllPublicByMember(memberId)).thenReturn(expected);
+            when(responseCacheService.get(eq(ResponseCacheService.publicWatchlistsKey(memberId)), any())).thenAnswer(invocation ->
+                    new SerializedResponse(objectMapper.writeValueAsBytes(invocation.<Supplier<?>>getArgument(1).get()), null));
 
             // Act
-            ResponseEntity<List<WatchlistResponseDTO>> response =
-                    controller.getPublicWatchlistsByMember(memberId);
+            ResponseEntity<byte[]> response =
+                    controller.getPublicWatchlistsByMember(memberId, new ServletWebRequest(new MockHttpServletRequest()));
 
             // Assert
             assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
-            assertThat(response.getBody()).isSameAs(expected);
+            assertThat(objectMapper.readValue(response.getBody(), WatchlistResponseDTO[].class)).containsExactlyElementsOf(expected);
             verify(watchlistService).getAllPublicByMember(memberId);
             verifyNoMoreInteractions(watchlistService);
         }
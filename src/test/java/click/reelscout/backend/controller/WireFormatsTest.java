@@ -0,0 +1,45 @@
+package click.reelscout.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link WireFormats}.
+ */
+class WireFormatsTest {
+
+    private static MediaType negotiate(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        return WireFormats.negotiate(new ServletWebRequest(request), MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void negotiate_noOrInvalidHeader_returnsDefault() {
+        assertEquals(MediaType.APPLICATION_JSON, negotiate(null));
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("not a media type"));
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("text/html"));
+    }
+
+    @Test
+    void negotiate_highestQualityWins_earliestOnTie() {
+        assertEquals(MediaType.APPLICATION_CBOR, negotiate("application/cbor"));
+        assertEquals(MediaType.APPLICATION_CBOR, negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("application/json, application/cbor"));
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("application/cbor;q=0"));
+    }
+
+    @Test
+    void negotiate_wildcardsOnlySelectDefault() {
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("*/*"));
+        assertEquals(MediaType.APPLICATION_JSON, negotiate("application/*, application/cbor;q=0.9"));
+        assertEquals(MediaType.APPLICATION_CBOR, negotiate("application/cbor, */*"));
+    }
+}
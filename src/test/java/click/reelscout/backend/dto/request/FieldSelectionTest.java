@@ -0,0 +1,54 @@
+package click.reelscout.backend.dto.request;
+
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.s3.ImageMode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FieldSelection}.
+ */
+class FieldSelectionTest {
+
+    @Test
+    void parse_absentOrBlank_selectsEverything() {
+        assertSame(FieldSelection.ALL, FieldSelection.parse(null));
+        assertSame(FieldSelection.ALL, FieldSelection.parse(" "));
+        assertTrue(FieldSelection.ALL.isAll());
+        assertTrue(FieldSelection.ALL.includes("anything"));
+        assertEquals(Set.of(), FieldSelection.ALL.names());
+        assertEquals("all", FieldSelection.ALL.tag());
+    }
+
+    @Test
+    void parse_names_alwaysSelectsIdAndIgnoresBlanks() {
+        FieldSelection fields = FieldSelection.parse(" title, ,imageKey,title");
+
+        assertFalse(fields.isAll());
+        assertEquals(Set.of("id", "title", "imageKey"), fields.names());
+        assertTrue(fields.includes("id"));
+        assertFalse(fields.includes("description"));
+    }
+
+    @Test
+    void parse_invalidName_throws() {
+        assertThrows(DataValidationException.class, () -> FieldSelection.parse("title,content.title"));
+        assertThrows(DataValidationException.class, () -> FieldSelection.parse("_id"));
+    }
+
+    @Test
+    void tag_doesNotDependOnOrder() {
+        assertEquals("id.imageKey.title", FieldSelection.parse("title,imageKey").tag());
+        assertEquals(FieldSelection.parse("title,imageKey"), FieldSelection.parse("imageKey,id,title"));
+    }
+
+    @Test
+    void imageMode_downloadsImagesOnlyWhenSelected() {
+        assertEquals(ImageMode.INLINE, FieldSelection.ALL.imageMode(ImageMode.INLINE));
+        assertEquals(ImageMode.INLINE, FieldSelection.parse(FieldSelection.IMAGE).imageMode(ImageMode.INLINE));
+        assertEquals(ImageMode.REFERENCE, FieldSelection.parse("title").imageMode(ImageMode.INLINE));
+    }
+}
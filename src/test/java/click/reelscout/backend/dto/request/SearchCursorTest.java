@@ -0,0 +1,47 @@
+package click.reelscout.backend.dto.request;
+
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SearchCursor}.
+ */
+class SearchCursorTest {
+
+    @Test
+    void encode_isUrlSafeAndParsesBack() {
+        SearchCursor cursor = new SearchCursor("contents", "ContentDoc", SearchCursor.queryHash("mat"), "pit/+id==", List.of(1.5, 7), 10_000, false);
+
+        String encoded = cursor.encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, SearchCursor.parse(encoded));
+    }
+
+    @Test
+    void parse_invalidCursor_throws() {
+        String incomplete = Base64.getUrlEncoder().encodeToString("{\"index\":\"contents\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(DataValidationException.class, () -> SearchCursor.parse("not a cursor!"));
+        assertThrows(DataValidationException.class, () -> SearchCursor.parse("bm90IGpzb24"));
+        assertThrows(DataValidationException.class, () -> SearchCursor.parse(incomplete));
+    }
+
+    @Test
+    void isFor_onlyMatchesTheSearchThatIssuedIt() {
+        SearchCursor cursor = new SearchCursor("users", "MemberDoc", SearchCursor.queryHash("the matrix"), "pit", List.of(1.5, 7), 3, true);
+
+        assertTrue(cursor.isFor("users", MemberDoc.class, "  the   matrix "));
+        assertFalse(cursor.isFor("users", UserDoc.class, "the matrix"));
+        assertFalse(cursor.isFor("contents", MemberDoc.class, "the matrix"));
+        assertFalse(cursor.isFor("users", MemberDoc.class, "matrix"));
+    }
+}
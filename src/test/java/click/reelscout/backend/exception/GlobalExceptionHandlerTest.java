@@ -187,6 +187,18 @@ class GlobalExceptionHandlerTest {
         assertEquals("Index failure", resp.getBody().getMessage());
     }
 
+    /**
+     * Tests that the handleReindexInProgressException method returns a 409 status with the default message.
+     */
+    @Test
+    void handleReindexInProgressException_shouldReturn409_withMessage() {
+        ResponseEntity<CustomResponseDTO> resp = handler.handleReindexInProgressException(new ReindexInProgressException());
+
+        assertEquals(HttpStatus.CONFLICT, resp.getStatusCode());
+        assertNotNull(resp.getBody());
+        assertEquals("A rebuild of the search indices is already running.", resp.getBody().getMessage());
+    }
+
     /**
      * Tests that the handleGenericException method returns a 500 status with a generic message.
      */
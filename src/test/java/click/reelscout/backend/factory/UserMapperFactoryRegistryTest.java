@@ -4,6 +4,7 @@ import click.reelscout.backend.dto.request.UserRequestDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.exception.custom.EntityCreateException;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -104,6 +105,24 @@ class UserMapperFactoryRegistryTest {
         verifyNoMoreInteractions(factoryA, factoryB);
     }
 
+    /** Tests for getMapperFor(UserDoc) */
+    @Test
+    @DisplayName("getMapperFor(UserDoc) picks the first factory that supports the document")
+    @SuppressWarnings({"unchecked"})
+    void getMapperFor_userDoc_choosesCorrectFactory() {
+        UserDoc userDoc = mock(UserDoc.class);
+
+        when(factoryA.supports(userDoc)).thenReturn(true);
+        when(factoryA.createMapper()).thenReturn(mapperA);
+
+        UserMapper<?, ?, ?, ?> result = registry.getMapperFor(userDoc);
+
+        assertSame(mapperA, result);
+        verify(factoryA).supports(userDoc);
+        verify(factoryA).createMapper();
+        verifyNoInteractions(factoryB);
+    }
+
     /** Tests for getMapperFor(R), getMapperFor(S), getMapperFor(U) */
     @Test
     @DisplayName("getMapperFor(*) throws EntityCreateException when no factory supports the input")
@@ -7,6 +7,8 @@ import click.reelscout.backend.dto.response.MemberResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.mapper.implemetation.MemberMapperImplementation;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.model.jpa.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,6 +76,13 @@ class MemberMapperFactoryTest {
         assertFalse(factory.supports(other), "Factory must not support non-member User entities");
     }
 
+    /** Tests for the supports() method */
+    @Test
+    void supports_UserDoc_trueForMemberDoc_falseForOthers() {
+        assertTrue(factory.supports(new MemberDoc()), "Factory must support MemberDoc documents");
+        assertFalse(factory.supports(new ProductionCompanyDoc()), "Factory must not support other user documents");
+    }
+
     /** Tests for the createMapper() method */
     @SuppressWarnings("rawtypes")
     @Test
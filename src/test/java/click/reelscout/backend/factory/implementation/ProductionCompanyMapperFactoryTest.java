@@ -7,6 +7,8 @@ import click.reelscout.backend.dto.response.ProductionCompanyResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.mapper.implemetation.ProductionCompanyMapperImplementation;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.model.jpa.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -87,6 +89,13 @@ class ProductionCompanyMapperFactoryTest {
         assertFalse(factory.supports(someoneElse));
     }
 
+    /** Tests for the supports() method */
+    @Test
+    void supports_UserDoc_trueForProductionCompanyDoc_falseForOthers() {
+        assertTrue(factory.supports(new ProductionCompanyDoc()), "Factory must support ProductionCompanyDoc documents");
+        assertFalse(factory.supports(new MemberDoc()), "Factory must not support other user documents");
+    }
+
     /** Tests for the createMapper() method */
     @Test
     @DisplayName("createMapper() returns ProductionCompanyMapperImplementation")
@@ -2,6 +2,7 @@ package click.reelscout.backend.mapper.implemetation;
 
 import click.reelscout.backend.builder.definition.ContentBuilder;
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.model.elasticsearch.ContentDoc;
 import click.reelscout.backend.model.jpa.*;
@@ -74,15 +75,40 @@ class ContentMapperImplementationTest {
         assertEquals("Inception", dto.getTitle());
         assertEquals("Mind-bending", dto.getDescription());
         assertSame(contentType, dto.getContentType());
-        assertSame(genres, dto.getGenres());
-        assertSame(actors, dto.getActors());
-        assertSame(directors, dto.getDirectors());
+        assertEquals(genres, dto.getGenres());
+        assertEquals(actors, dto.getActors());
+        assertEquals(directors, dto.getDirectors());
+        assertNotSame(genres, dto.getGenres(), "collections are copied so the DTO holds no persistent collection");
         assertEquals("https://trailer", dto.getTrailerUrl());
         assertEquals(base64, dto.getBase64Image());
         assertEquals(7L, dto.getProductionCompanyId());
         assertEquals("Syncopy", dto.getProductionCompanyName());
     }
 
+    /**
+     * Test that the collections that are not selected are left out, without being read from the entity.
+     */
+    @Test
+    @DisplayName("toDto with a field selection skips the collections that are not selected")
+    void toDto_withFields_skipsUnselectedCollections() {
+        // Arrange
+        Content content = mock(Content.class);
+        ProductionCompany company = mock(ProductionCompany.class);
+        when(content.getId()).thenReturn(10L);
+        when(content.getGenres()).thenReturn(List.of());
+        when(content.getProductionCompany()).thenReturn(company);
+
+        // Act
+        ContentResponseDTO dto = mapper.toDto(content, null, FieldSelection.parse("title,genres"));
+
+        // Assert
+        assertEquals(List.of(), dto.getGenres());
+        assertNull(dto.getActors());
+        assertNull(dto.getDirectors());
+        verify(content, never()).getActors();
+        verify(content, never()).getDirectors();
+    }
+
     /**
      * Test that toBuilder correctly populates a ContentBuilder with all fields from a Content.
      * Verifies that each field is forwarded to the builder.
@@ -181,17 +207,65 @@ class ContentMapperImplementationTest {
     }
 
     /**
-     * Test that toDoc wraps a Content into a ContentDoc.
-     * Since ContentDoc is a simple wrapper, we just verify non-null result.
+     * Test that toDoc copies the searchable fields and everything a search result needs into a ContentDoc.
      */
     @Test
-    @DisplayName("toDoc wraps a Content into a ContentDoc")
-    void toDoc_wrapsContent() {
+    @DisplayName("toDoc copies the fields of a search result into a ContentDoc")
+    void toDoc_copiesResultFields() {
         Content content = mock(Content.class);
+        ProductionCompany company = mock(ProductionCompany.class);
+        Actor actor = new Actor();
+        when(content.getId()).thenReturn(10L);
+        when(content.getTitle()).thenReturn("Inception");
+        when(content.getContentType()).thenReturn(new ContentType("movie"));
+        when(content.getGenres()).thenReturn(List.of(new Genre("action")));
+        when(content.getActors()).thenReturn(List.of(actor));
+        when(content.getS3ImageKey()).thenReturn("key");
+        when(company.getId()).thenReturn(7L);
+        when(company.getName()).thenReturn("Syncopy");
+        when(content.getProductionCompany()).thenReturn(company);
 
         ContentDoc doc = mapper.toDoc(content);
 
-        assertNotNull(doc, "ContentDoc must not be null");
-        // Non assumiamo equals/fields su ContentDoc: assert basic non-null is enough for unit scope
+        assertEquals(10L, doc.getId());
+        assertEquals("Inception", doc.getTitle());
+        assertEquals("MOVIE", doc.getContentType());
+        assertEquals(List.of("ACTION"), doc.getGenres());
+        assertEquals(List.of(actor), doc.getActors());
+        assertEquals(List.of(), doc.getDirectors());
+        assertEquals("key", doc.getS3ImageKey());
+        assertEquals(7L, doc.getProductionCompanyId());
+        assertEquals("Syncopy", doc.getProductionCompanyName());
+    }
+
+    /**
+     * Test that a document built by toDoc maps back to the same DTO as the entity it was built from.
+     */
+    @Test
+    @DisplayName("fromDoc maps a ContentDoc to the same DTO as toDto")
+    void fromDoc_matchesToDto() {
+        Content content = mock(Content.class);
+        ProductionCompany company = mock(ProductionCompany.class);
+        when(content.getId()).thenReturn(10L);
+        when(content.getTitle()).thenReturn("Inception");
+        when(content.getDescription()).thenReturn("Mind-bending");
+        when(content.getContentType()).thenReturn(new ContentType("MOVIE"));
+        when(content.getGenres()).thenReturn(List.of(new Genre("ACTION"), new Genre("SCI-FI")));
+        when(content.getActors()).thenReturn(List.of(new Actor()));
+        when(content.getDirectors()).thenReturn(List.of(new Director()));
+        when(content.getTrailerUrl()).thenReturn("https://trailer");
+        when(content.getS3ImageKey()).thenReturn("key");
+        when(company.getId()).thenReturn(7L);
+        when(company.getName()).thenReturn("Syncopy");
+        when(content.getProductionCompany()).thenReturn(company);
+
+        ContentResponseDTO fromDoc = mapper.fromDoc(mapper.toDoc(content), "img==");
+        ContentResponseDTO fromEntity = mapper.toDto(content, "img==");
+
+        // ContentType has no value equality, so it is compared by name
+        assertEquals("MOVIE", fromDoc.getContentType().getName());
+        fromDoc.setContentType(fromEntity.getContentType());
+        assertEquals(fromEntity, fromDoc);
+        assertEquals("key", fromDoc.getImageKey());
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import click.reelscout.backend.builder.definition.MemberBuilder;
 import click.reelscout.backend.dto.request.MemberRequestDTO;
 import click.reelscout.backend.dto.response.MemberResponseDTO;
 import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.model.jpa.Role;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.mockito.Answers;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -159,4 +161,27 @@ class MemberMapperImplementationTest {
         assertNotNull(doc, "MemberDoc must not be null");
         // No further assumptions about MemberDoc internals in unit scope
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a document built by toDoc maps back to the same DTO as the member it was built from.
+     */
+    @Test
+    @DisplayName("fromDoc maps MemberDoc to the same DTO as toDto")
+    void fromDoc_matchesToDto() {
+        Member m = mock(Member.class);
+        when(m.getId()).thenReturn(3L);
+        when(m.getFirstName()).thenReturn("Matteo");
+        when(m.getLastName()).thenReturn("Pio");
+        when(m.getBirthDate()).thenReturn(LocalDate.of(1990, 1, 2));
+        when(m.getFavoriteGenres()).thenReturn(List.of(new Genre("DRAMA")));
+        when(m.getUsername()).thenReturn("matteo");
+        when(m.getEmail()).thenReturn("matteo@example.com");
+        when(m.getRole()).thenReturn(Role.VERIFIED_MEMBER);
+        when(m.getS3ImageKey()).thenReturn("key");
+
+        MemberResponseDTO fromDoc = mapper.fromDoc(mapper.toDoc(m), "img");
+
+        assertEquals(mapper.toDto(m, "img"), fromDoc);
+        assertEquals("key", fromDoc.getImageKey());
+    }
+}
@@ -178,4 +178,30 @@ class ProductionCompanyMapperImplementationTest {
 
         assertNotNull(doc);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that a document built by toDoc maps back to the same DTO as the company it was built from.
+     */
+    @Test
+    @DisplayName("fromDoc maps ProductionCompanyDoc to the same DTO as toDto")
+    void fromDoc_matchesToDto() {
+        ProductionCompany pc = mock(ProductionCompany.class);
+        Location location = new Location();
+        Owner owner = new Owner();
+        when(pc.getId()).thenReturn(7L);
+        when(pc.getName()).thenReturn("Syncopy");
+        when(pc.getLocation()).thenReturn(location);
+        when(pc.getWebsite()).thenReturn("https://syncopy.example");
+        when(pc.getOwners()).thenReturn(List.of(owner));
+        when(pc.getUsername()).thenReturn("syncopy");
+        when(pc.getEmail()).thenReturn("info@syncopy.example");
+        when(pc.getRole()).thenReturn(Role.PRODUCTION_COMPANY);
+        when(pc.getS3ImageKey()).thenReturn("key");
+
+        ProductionCompanyResponseDTO fromDoc = mapper.fromDoc(mapper.toDoc(pc), "img");
+
+        assertEquals(mapper.toDto(pc, "img"), fromDoc);
+        assertSame(location, fromDoc.getLocation());
+        assertEquals("key", fromDoc.getImageKey());
+    }
+}
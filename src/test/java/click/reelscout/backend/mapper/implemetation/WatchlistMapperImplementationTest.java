@@ -25,6 +25,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -293,6 +294,7 @@ class WatchlistMapperImplementationTest {
 
             // Mock builder method chaining
             when(mockWatchlistBuilder.id(WATCHLIST_ID)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.contents(contents)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
@@ -322,6 +324,7 @@ class WatchlistMapperImplementationTest {
 
             // Mock builder method chaining with null values
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(null)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.contents(null)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(null)).thenReturn(mockWatchlistBuilder);
@@ -365,6 +368,7 @@ class WatchlistMapperImplementationTest {
 
             // Mock builder method chaining
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -385,6 +389,7 @@ class WatchlistMapperImplementationTest {
         @DisplayName("should always set ID to null for new entity")
         void convertRequestDTOToEntity_shouldAlwaysSetIdToNull() {
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -409,6 +414,7 @@ class WatchlistMapperImplementationTest {
             setFieldValue(requestDTO, WatchlistRequestDTO.class, "name", null);
 
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(null)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -432,6 +438,7 @@ class WatchlistMapperImplementationTest {
             setFieldValue(requestDTO, WatchlistRequestDTO.class, "isPublic", null);
 
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(null)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -464,6 +471,7 @@ class WatchlistMapperImplementationTest {
         void convertRequestDTOWithNullMember_shouldAcceptNull() {
             // Arrange
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(null)).thenReturn(mockWatchlistBuilder);
@@ -487,6 +495,7 @@ class WatchlistMapperImplementationTest {
             setFieldValue(requestDTO, WatchlistRequestDTO.class, "isPublic", IS_PRIVATE);
 
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PRIVATE)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -524,6 +533,7 @@ class WatchlistMapperImplementationTest {
             setFieldValue(createdEntity, Watchlist.class, "member", member);
 
             when(mockWatchlistBuilder.id(null)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name("Integration Test List")).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(false)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.member(member)).thenReturn(mockWatchlistBuilder);
@@ -557,6 +567,7 @@ class WatchlistMapperImplementationTest {
 
             // Mock builder operations
             when(mockWatchlistBuilder.id(WATCHLIST_ID)).thenReturn(mockWatchlistBuilder);
+            when(mockWatchlistBuilder.version(any())).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.name(WATCHLIST_NAME)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.contents(entityContents)).thenReturn(mockWatchlistBuilder);
             when(mockWatchlistBuilder.isPublic(IS_PUBLIC)).thenReturn(mockWatchlistBuilder);
@@ -0,0 +1,110 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.BlobOperationType;
+import click.reelscout.backend.model.jpa.PendingBlobOperation;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that instances claiming due operations at the same time never get the same ones.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pending-blob-operations;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=click.reelscout.backend.repository.jpa.PendingBlobOperationRepositoryTest$SkipLockedH2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// Each claim runs in its own transaction, as it does when applying operations
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PendingBlobOperationRepositoryTest {
+    /** H2 rendering {@code SKIP LOCKED} as the MySQL dialect does; Hibernate's H2 dialect leaves it out. */
+    public static class SkipLockedH2Dialect extends H2Dialect {
+        @Override
+        public boolean supportsSkipLocked() {
+            return true;
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString() {
+            return " for update skip locked";
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString(String aliases) {
+            return getForUpdateSkipLockedString();
+        }
+    }
+
+    @Autowired
+    private PendingBlobOperationRepository pendingBlobOperationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        pendingBlobOperationRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Tests that due operations locked by a transaction in progress are skipped by another one.
+     */
+    @Test
+    @DisplayName("findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(): skips operations claimed by another transaction")
+    void findLocked_skipsRowsLockedElsewhere() throws Exception {
+        pendingBlobOperationRepository.saveAll(List.of(
+                new PendingBlobOperation(BlobOperationType.UPLOAD, "image/a"),
+                new PendingBlobOperation(BlobOperationType.UPLOAD, "image/b"),
+                new PendingBlobOperation(BlobOperationType.DELETE, "image/c")
+        ));
+        LocalDateTime now = LocalDateTime.now().plusSeconds(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<String> keys = keys(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(now, Limit.of(2)));
+            claimed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return keys;
+        }));
+
+        assertTrue(claimed.await(10, TimeUnit.SECONDS));
+        // Returns at once instead of waiting for the first claim to commit
+        List<String> second = transactionTemplate.execute(status ->
+                keys(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(now, Limit.of(2))));
+        release.countDown();
+
+        assertEquals(List.of("image/a", "image/b"), first.get(10, TimeUnit.SECONDS));
+        // H2 also skips the rows the first claim scanned without returning them, so only disjointness is portable
+        assertTrue(Collections.disjoint(first.get(), second), "claimed twice: " + second);
+    }
+
+    private static List<String> keys(List<PendingBlobOperation> operations) {
+        return operations.stream().map(PendingBlobOperation::getS3Key).toList();
+    }
+}
@@ -0,0 +1,239 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.builder.implementation.ContentBuilderImplementation;
+import click.reelscout.backend.builder.implementation.ForumThreadBuilderImplementation;
+import click.reelscout.backend.builder.implementation.MemberBuilderImplementation;
+import click.reelscout.backend.builder.implementation.ProductionCompanyBuilderImplementation;
+import click.reelscout.backend.builder.implementation.WatchlistBuilderImplementation;
+import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.ForumThreadResponseDTO;
+import click.reelscout.backend.mapper.implemetation.ContentMapperImplementation;
+import click.reelscout.backend.mapper.implemetation.ForumMapperImplementation;
+import click.reelscout.backend.model.jpa.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts how many SQL statements each content read path issues, including the lazy
+ * loads triggered while mapping the entities to DTOs.
+ * The fixture holds many more contents than the budget allows statements, so any
+ * per-row (N+1) load makes these tests fail.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:read-paths;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReadPathStatementCountTest {
+    /** Number of contents in the fixture, spread over several production companies. */
+    private static final int CONTENT_COUNT = 12;
+
+    /** One statement for the rows plus one batch each for genres, actors, directors and owners. */
+    private static final long CONTENT_LIST_BUDGET = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private WatchlistRepository watchlistRepository;
+
+    @Autowired
+    private ForumThreadRepository forumThreadRepository;
+
+    private final ContentMapperImplementation contentMapper = new ContentMapperImplementation(new ContentBuilderImplementation());
+    private final ForumMapperImplementation forumMapper = new ForumMapperImplementation(null, null);
+
+    private final List<Long> contentIds = new ArrayList<>();
+    private Long watchlistId;
+    private ProductionCompany firstCompany;
+
+    @BeforeEach
+    void setUp() {
+        List<ContentType> types = List.of(persist(new ContentType("MOVIE")), persist(new ContentType("SERIES")));
+        List<Genre> genres = List.of(persist(new Genre("ACTION")), persist(new Genre("DRAMA")), persist(new Genre("COMEDY")));
+
+        List<ProductionCompany> companies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            companies.add(persist(new ProductionCompanyBuilderImplementation()
+                    .username("company" + i)
+                    .email("company" + i + "@example.com")
+                    .password("secret")
+                    .role(Role.PRODUCTION_COMPANY)
+                    .name("Company " + i)
+                    .owners(new ArrayList<>())
+                    .build()));
+        }
+        firstCompany = companies.getFirst();
+
+        Member member = persist(new MemberBuilderImplementation()
+                .username("member")
+                .email("member@example.com")
+                .password("secret")
+                .role(Role.MEMBER)
+                .firstName("First")
+                .lastName("Last")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .favoriteGenres(new ArrayList<>())
+                .build());
+
+        List<Content> contents = new ArrayList<>();
+        for (int i = 0; i < CONTENT_COUNT; i++) {
+            Content content = persist(new ContentBuilderImplementation()
+                    .title("Title " + i)
+                    .description("Description " + i)
+                    .contentType(types.get(i % types.size()))
+                    .genres(new ArrayList<>(List.of(genres.get(i % genres.size()), genres.get((i + 1) % genres.size()))))
+                    .actors(new ArrayList<>())
+                    .directors(new ArrayList<>())
+                    .productionCompany(companies.get(i % companies.size()))
+                    .build());
+            contents.add(content);
+            contentIds.add(content.getId());
+
+            persist(new ForumThreadBuilderImplementation()
+                    .content(content)
+                    .title("Thread " + i)
+                    .createdBy(member)
+                    .build());
+        }
+
+        watchlistId = persist(new WatchlistBuilderImplementation()
+                .name("Favourites")
+                .isPublic(true)
+                .member(member)
+                .contents(contents)
+                .build()).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("findAll(): mapping every content stays within a constant statement budget")
+    void findAll_boundedStatements() {
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET, () -> toDtos(contentRepository.findAll()));
+
+        assertEquals(CONTENT_COUNT, dtos.size());
+        dtos.forEach(dto -> assertEquals(2, dto.getGenres().size()));
+    }
+
+    @Test
+    @DisplayName("findCatalogPage(): mapping a page stays within a constant statement budget")
+    void findCatalogPage_boundedStatements() {
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET,
+                () -> toDtos(contentRepository.findCatalogPage(Long.MAX_VALUE, null, null, Limit.of(CONTENT_COUNT))));
+
+        assertEquals(CONTENT_COUNT, dtos.size());
+        assertNotNull(dtos.getFirst().getProductionCompanyName());
+    }
+
+    @Test
+    @DisplayName("findAllByProductionCompany(): mapping a company's contents stays within a constant statement budget")
+    void findAllByProductionCompany_boundedStatements() {
+        ProductionCompany company = entityManager.find(ProductionCompany.class, firstCompany.getId());
+
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET,
+                () -> toDtos(contentRepository.findAllByProductionCompany(company)));
+
+        assertEquals(CONTENT_COUNT / 3, dtos.size());
+    }
+
+    @Test
+    @DisplayName("findWindow(): mapping a window stays within a constant statement budget, and windows cover every content in id order")
+    void findWindow_boundedStatementsAndComplete() {
+        int windowSize = CONTENT_COUNT / 2;
+        List<ContentResponseDTO> first = countStatements(CONTENT_LIST_BUDGET,
+                () -> toDtos(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(windowSize))));
+        List<ContentResponseDTO> second = countStatements(CONTENT_LIST_BUDGET,
+                () -> toDtos(contentRepository.findWindow(first.getLast().getId(), Limit.of(windowSize))));
+
+        List<Long> ids = new ArrayList<>();
+        first.forEach(dto -> ids.add(dto.getId()));
+        second.forEach(dto -> ids.add(dto.getId()));
+        assertEquals(contentIds, ids);
+        assertTrue(contentRepository.findWindow(second.getLast().getId(), Limit.of(windowSize)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findWindowByProductionCompany(): mapping a window of a company's contents stays within a constant statement budget")
+    void findWindowByProductionCompany_boundedStatements() {
+        ProductionCompany company = entityManager.find(ProductionCompany.class, firstCompany.getId());
+
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET,
+                () -> toDtos(contentRepository.findWindowByProductionCompany(company, Long.MIN_VALUE, Limit.of(CONTENT_COUNT))));
+
+        assertEquals(CONTENT_COUNT / 3, dtos.size());
+        dtos.forEach(dto -> assertEquals(firstCompany.getId(), dto.getProductionCompanyId()));
+    }
+
+    @Test
+    @DisplayName("findAllById(): hydrating search hits stays within a constant statement budget")
+    void findAllById_boundedStatements() {
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET, () -> toDtos(contentRepository.findAllById(contentIds)));
+
+        assertEquals(CONTENT_COUNT, dtos.size());
+    }
+
+    @Test
+    @DisplayName("watchlist contents: mapping the contents of a watchlist stays within a constant statement budget")
+    void watchlistContents_boundedStatements() {
+        // Watchlist row, its contents, then one batch each for companies, genres, actors, directors and owners
+        List<ContentResponseDTO> dtos = countStatements(CONTENT_LIST_BUDGET + 2,
+                () -> toDtos(watchlistRepository.findById(watchlistId).orElseThrow().getContents()));
+
+        assertEquals(CONTENT_COUNT, dtos.size());
+    }
+
+    @Test
+    @DisplayName("forum thread headers: mapping threads does not load their contents")
+    void forumThreadHeaders_doNotLoadContent() {
+        List<ForumThreadResponseDTO> dtos = countStatements(2,
+                () -> forumThreadRepository.findAll().stream().map(thread -> forumMapper.toThreadDto(thread, 0)).toList());
+
+        assertEquals(CONTENT_COUNT, dtos.size());
+        assertEquals(0, statistics().getEntityStatistics(Content.class.getName()).getLoadCount());
+    }
+
+    private List<ContentResponseDTO> toDtos(List<Content> contents) {
+        return contents.stream().map(content -> contentMapper.toDto(content, null)).toList();
+    }
+
+    private <T> T persist(T entity) {
+        return entityManager.persist(entity);
+    }
+
+    private <T> T countStatements(long budget, Supplier<T> readPath) {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        T result = readPath.get();
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= budget, "expected at most " + budget + " statements but " + statements + " were issued");
+        return result;
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
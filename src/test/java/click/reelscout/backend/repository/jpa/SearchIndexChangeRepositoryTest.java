@@ -0,0 +1,54 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.SearchIndexChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the changes recorded for index rebuilds are read back per index and time range.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search-index-changes;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SearchIndexChangeRepositoryTest {
+    @Autowired
+    private SearchIndexChangeRepository searchIndexChangeRepository;
+
+    @Test
+    @DisplayName("findDocumentIdsChangedBetween(): ids of the index changed within the range, each once")
+    void findDocumentIdsChangedBetween_distinctIdsOfIndex() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        searchIndexChangeRepository.saveAllAndFlush(List.of(
+                new SearchIndexChange("contents", 2L),
+                new SearchIndexChange("contents", 1L),
+                new SearchIndexChange("contents", 2L),
+                new SearchIndexChange("users", 3L)));
+        LocalDateTime after = LocalDateTime.now().plusSeconds(1);
+
+        assertEquals(List.of(1L, 2L), searchIndexChangeRepository.findDocumentIdsChangedBetween("contents", before, after));
+        assertEquals(List.of(3L), searchIndexChangeRepository.findDocumentIdsChangedBetween("users", before, after));
+        assertTrue(searchIndexChangeRepository.findDocumentIdsChangedBetween("contents", after, after.plusSeconds(1)).isEmpty());
+        assertTrue(searchIndexChangeRepository.findDocumentIdsChangedBetween("contents", before.minusSeconds(1), before).isEmpty());
+    }
+
+    @Test
+    @DisplayName("deleteByChangedAtBefore(): deletes only the older changes")
+    void deleteByChangedAtBefore_deletesOlderChanges() {
+        searchIndexChangeRepository.saveAndFlush(new SearchIndexChange("contents", 1L));
+
+        assertEquals(0, searchIndexChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().minusMinutes(1)));
+        assertEquals(1, searchIndexChangeRepository.deleteByChangedAtBefore(LocalDateTime.now().plusSeconds(1)));
+        assertEquals(0, searchIndexChangeRepository.count());
+    }
+}
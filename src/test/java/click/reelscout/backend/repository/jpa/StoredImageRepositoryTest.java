@@ -0,0 +1,45 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.model.jpa.StoredImage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reference counting queries of {@link StoredImageRepository}.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stored-images;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class StoredImageRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StoredImageRepository storedImageRepository;
+
+    /**
+     * Tests that the first reference inserts the row and later ones increment it, reporting which happened.
+     */
+    @Test
+    @DisplayName("addReference(): inserts the first reference, then increments the count")
+    void addReference_insertsThenIncrements() {
+        String key = "image/" + UUID.randomUUID();
+
+        assertEquals(1, storedImageRepository.addReference(key));
+        assertEquals(2, storedImageRepository.addReference(key));
+
+        entityManager.clear();
+        assertEquals(2, storedImageRepository.findById(key).map(StoredImage::getReferenceCount).orElseThrow());
+    }
+}
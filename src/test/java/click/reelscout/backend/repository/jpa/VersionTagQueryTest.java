@@ -0,0 +1,182 @@
+package click.reelscout.backend.repository.jpa;
+
+import click.reelscout.backend.builder.implementation.ContentBuilderImplementation;
+import click.reelscout.backend.builder.implementation.MemberBuilderImplementation;
+import click.reelscout.backend.builder.implementation.ProductionCompanyBuilderImplementation;
+import click.reelscout.backend.builder.implementation.WatchlistBuilderImplementation;
+import click.reelscout.backend.model.jpa.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts that the version summaries answering conditional requests change whenever the
+ * representation they stand for does, and only then.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:version-tags;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VersionTagQueryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private WatchlistRepository watchlistRepository;
+
+    @Autowired
+    private PendingBlobOperationRepository pendingBlobOperationRepository;
+
+    private ContentType type;
+    private ProductionCompany company;
+    private Member member;
+    private Content content;
+    private Watchlist watchlist;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        type = entityManager.persist(new ContentType("TYPE_" + suffix));
+        company = entityManager.persist(new ProductionCompanyBuilderImplementation()
+                .username("company_" + suffix)
+                .email("company_" + suffix + "@example.com")
+                .password("secret")
+                .role(Role.PRODUCTION_COMPANY)
+                .name("Company " + suffix)
+                .owners(new ArrayList<>())
+                .build());
+        member = entityManager.persist(new MemberBuilderImplementation()
+                .username("member_" + suffix)
+                .email("member_" + suffix + "@example.com")
+                .password("secret")
+                .role(Role.MEMBER)
+                .firstName("First")
+                .lastName("Last")
+                .birthDate(LocalDate.of(2000, 1, 1))
+                .favoriteGenres(new ArrayList<>())
+                .build());
+        content = entityManager.persist(newContent("Title"));
+        watchlist = entityManager.persist(new WatchlistBuilderImplementation()
+                .name("Favourites")
+                .isPublic(false)
+                .member(member)
+                .contents(new ArrayList<>(List.of(content)))
+                .build());
+
+        entityManager.flush();
+    }
+
+    private Content newContent(String title) {
+        return new ContentBuilderImplementation()
+                .title(title)
+                .description("Description")
+                .contentType(type)
+                .genres(new ArrayList<>())
+                .actors(new ArrayList<>())
+                .directors(new ArrayList<>())
+                .productionCompany(company)
+                .build();
+    }
+
+    @Test
+    @DisplayName("findCatalogVersion(): changes when a content is added, updated or deleted")
+    void findCatalogVersion_changesWithContents() {
+        String initial = contentRepository.findCatalogVersion();
+        assertEquals(initial, contentRepository.findCatalogVersion());
+
+        ReflectionTestUtils.setField(content, "title", "Updated");
+        entityManager.flush();
+        String updated = contentRepository.findCatalogVersion();
+        assertNotEquals(initial, updated);
+
+        Content added = entityManager.persist(newContent("Added"));
+        entityManager.flush();
+        String afterAdd = contentRepository.findCatalogVersion();
+        assertNotEquals(updated, afterAdd);
+
+        entityManager.remove(added);
+        entityManager.flush();
+        assertNotEquals(afterAdd, contentRepository.findCatalogVersion());
+    }
+
+    @Test
+    @DisplayName("findVersionById(): changes when the watchlist, its contents or a content changes")
+    void findVersionById_changesWithWatchlistAndContents() {
+        String initial = watchlistRepository.findVersionById(watchlist.getId()).orElseThrow();
+
+        ReflectionTestUtils.setField(watchlist, "name", "Renamed");
+        entityManager.flush();
+        String renamed = watchlistRepository.findVersionById(watchlist.getId()).orElseThrow();
+        assertNotEquals(initial, renamed);
+
+        ReflectionTestUtils.setField(content, "title", "Updated");
+        entityManager.flush();
+        String contentUpdated = watchlistRepository.findVersionById(watchlist.getId()).orElseThrow();
+        assertNotEquals(renamed, contentUpdated);
+
+        watchlist.getContents().add(entityManager.persist(newContent("Added")));
+        entityManager.flush();
+        assertNotEquals(contentUpdated, watchlistRepository.findVersionById(watchlist.getId()).orElseThrow());
+
+        assertTrue(watchlistRepository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findVersionByMember(): changes when a watchlist of the member is added or updated")
+    void findVersionByMember_changesWithWatchlists() {
+        String initial = watchlistRepository.findVersionByMember(member);
+
+        ReflectionTestUtils.setField(watchlist, "isPublic", true);
+        entityManager.flush();
+        String updated = watchlistRepository.findVersionByMember(member);
+        assertNotEquals(initial, updated);
+
+        entityManager.persist(new WatchlistBuilderImplementation()
+                .name("Later")
+                .isPublic(false)
+                .member(member)
+                .contents(new ArrayList<>())
+                .build());
+        entityManager.flush();
+        assertNotEquals(updated, watchlistRepository.findVersionByMember(member));
+    }
+
+    @Test
+    @DisplayName("findVersionByType(): changes when an upload is scheduled or applied, not with deletions")
+    void findVersionByType_changesWithPendingUploads() {
+        String initial = pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD);
+
+        entityManager.persist(new PendingBlobOperation(BlobOperationType.DELETE, "image/old"));
+        entityManager.flush();
+        assertEquals(initial, pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD));
+
+        PendingBlobOperation upload = entityManager.persist(new PendingBlobOperation(BlobOperationType.UPLOAD, "image/new"));
+        entityManager.flush();
+        String scheduled = pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD);
+        assertNotEquals(initial, scheduled);
+        assertTrue(pendingBlobOperationRepository.existsByTypeAndS3Key(BlobOperationType.UPLOAD, "image/new"));
+
+        entityManager.remove(upload);
+        entityManager.flush();
+        assertNotEquals(scheduled, pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD));
+        assertFalse(pendingBlobOperationRepository.existsByTypeAndS3Key(BlobOperationType.UPLOAD, "image/new"));
+    }
+}
@@ -0,0 +1,118 @@
+package click.reelscout.backend.s3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ImageProcessor}.
+ * Covers resizing within the variant bounds, the encoding format and non-image input.
+ */
+class ImageProcessorTest {
+
+    private ImageProcessor imageProcessor;
+
+    @BeforeEach
+    void setUp() {
+        imageProcessor = new ImageProcessor();
+        configure("jpg", 0.8f);
+    }
+
+    /**
+     * Tests that every derived variant is produced and fits within its bounding box
+     */
+    @Test
+    void createVariants_resizesWithinBoundsKeepingAspectRatio() throws IOException {
+        byte[] original = png(new BufferedImage(800, 1200, BufferedImage.TYPE_INT_RGB));
+
+        Map<ImageVariant, byte[]> variants = imageProcessor.createVariants(original);
+
+        assertEquals(ImageVariant.derived().size(), variants.size());
+        BufferedImage thumbnail = read(variants.get(ImageVariant.THUMBNAIL));
+        assertEquals(160, thumbnail.getWidth());
+        assertEquals(240, thumbnail.getHeight());
+        BufferedImage card = read(variants.get(ImageVariant.CARD));
+        assertEquals(400, card.getWidth());
+        assertEquals(600, card.getHeight());
+    }
+
+    /**
+     * Tests that images smaller than a variant are not upscaled
+     */
+    @Test
+    void createVariants_doesNotUpscale() throws IOException {
+        byte[] original = png(new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB));
+
+        BufferedImage full = read(imageProcessor.createVariants(original).get(ImageVariant.FULL));
+
+        assertEquals(300, full.getWidth());
+        assertEquals(200, full.getHeight());
+    }
+
+    /**
+     * Tests that variants are encoded in the configured format
+     */
+    @Test
+    void createVariants_usesConfiguredFormat() throws IOException {
+        byte[] original = png(new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB));
+
+        byte[] jpeg = imageProcessor.createVariants(original).get(ImageVariant.THUMBNAIL);
+        assertEquals((byte) 0xFF, jpeg[0]);
+        assertEquals((byte) 0xD8, jpeg[1]);
+
+        configure("png", 1.0f);
+        byte[] png = imageProcessor.createVariants(original).get(ImageVariant.THUMBNAIL);
+        assertEquals((byte) 0x89, png[0]);
+        assertTrue(read(png).getColorModel().hasAlpha());
+    }
+
+    /**
+     * Tests that content which is not an image yields no variants
+     */
+    @Test
+    void createVariants_returnsEmpty_whenNotAnImage() throws IOException {
+        assertTrue(imageProcessor.createVariants("not an image".getBytes()).isEmpty());
+    }
+
+    /**
+     * Tests that an unsupported output format is reported as an error
+     */
+    @Test
+    void createVariants_throws_whenFormatUnsupported() throws IOException {
+        configure("unknown", 0.8f);
+        byte[] original = png(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+
+        assertThrows(IOException.class, () -> imageProcessor.createVariants(original));
+    }
+
+    private void configure(String format, float quality) {
+        try {
+            var formatField = ImageProcessor.class.getDeclaredField("format");
+            formatField.setAccessible(true);
+            formatField.set(imageProcessor, format);
+            var qualityField = ImageProcessor.class.getDeclaredField("quality");
+            qualityField.setAccessible(true);
+            qualityField.set(imageProcessor, quality);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
@@ -0,0 +1,135 @@
+package click.reelscout.backend.s3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LocalBlobStore}.
+ * Runs against a temporary directory and covers atomic writes, mapped reads,
+ * channel-based streaming and key validation.
+ */
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blobStore = new LocalBlobStore(root);
+    }
+
+    /**
+     * Tests that written content can be read back and no temporary file is left behind
+     */
+    @Test
+    void write_thenRead_returnsContent() throws IOException {
+        blobStore.write("image/abc", new ByteArrayInputStream("hello".getBytes()));
+
+        ByteBuffer content = blobStore.read("image/abc").orElseThrow();
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+
+        assertArrayEquals("hello".getBytes(), bytes);
+        try (var files = Files.list(root.resolve("image"))) {
+            assertEquals(List.of(root.resolve("image/abc")), files.toList());
+        }
+    }
+
+    /**
+     * Tests that a write replaces the previous content
+     */
+    @Test
+    void write_replacesExistingContent() throws IOException {
+        blobStore.write("file.txt", new ByteArrayInputStream("old content".getBytes()));
+        blobStore.write("file.txt", new ByteArrayInputStream("new".getBytes()));
+
+        assertArrayEquals("new".getBytes(), Files.readAllBytes(root.resolve("file.txt")));
+    }
+
+    /**
+     * Tests that a failed write keeps the previous content and removes the temporary file
+     */
+    @Test
+    void write_keepsPreviousContent_whenStreamFails() throws IOException {
+        blobStore.write("file.txt", new ByteArrayInputStream("old".getBytes()));
+
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("boom");
+            }
+        };
+
+        assertThrows(IOException.class, () -> blobStore.write("file.txt", failing));
+        assertArrayEquals("old".getBytes(), Files.readAllBytes(root.resolve("file.txt")));
+        try (var files = Files.list(root)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    /**
+     * Tests that reads and opens of a missing key return empty
+     */
+    @Test
+    void readAndOpen_returnEmpty_whenMissing() throws IOException {
+        assertTrue(blobStore.read("missing").isEmpty());
+        assertTrue(blobStore.open("missing").isEmpty());
+    }
+
+    /**
+     * Tests that open describes the file and streams its content through transferTo
+     */
+    @Test
+    void open_returnsStreamableFile() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0, 1, 2, 3, 4, 5};
+        blobStore.write("image/abc", new ByteArrayInputStream(png));
+
+        StoredFile file = blobStore.open("image/abc").orElseThrow();
+
+        assertEquals("image/png", file.contentType());
+        assertEquals(png.length, file.contentLength());
+        assertTrue(file.eTag().startsWith("\"") && file.eTag().endsWith("-" + Long.toHexString(png.length) + "\""));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream content = file.content().getInputStream()) {
+            assertEquals(png.length, content.transferTo(out));
+        }
+        assertArrayEquals(png, out.toByteArray());
+    }
+
+    /**
+     * Tests that delete removes existing files and ignores missing ones
+     */
+    @Test
+    void delete_removesFiles() throws IOException {
+        blobStore.write("a", new ByteArrayInputStream("a".getBytes()));
+
+        blobStore.delete(List.of("a", "missing"));
+
+        assertFalse(Files.exists(root.resolve("a")));
+    }
+
+    /**
+     * Tests that keys escaping the root directory are rejected
+     */
+    @Test
+    void rejectsKeysOutsideRoot() {
+        assertThrows(IOException.class, () -> blobStore.write("../escape", new ByteArrayInputStream(new byte[1])));
+        assertThrows(IOException.class, () -> blobStore.read("image/../../escape"));
+        assertThrows(IOException.class, () -> blobStore.open("."));
+    }
+}
@@ -0,0 +1,185 @@
+package click.reelscout.backend.s3;
+
+import io.awspring.cloud.s3.S3Resource;
+import io.awspring.cloud.s3.S3Template;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link S3BlobStore}.
+ * Covers single and multipart uploads, reads of present and missing objects, and batched deletes.
+ */
+class S3BlobStoreTest {
+
+    @Mock
+    private S3Template s3Template;
+
+    @Mock
+    private S3Client s3Client;
+
+    private S3BlobStore blobStore;
+
+    private final String bucketName = "test-bucket";
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        blobStore = new S3BlobStore(s3Template, s3Client, bucketName, 16);
+    }
+
+    /**
+     * Tests that content smaller than one part is sent with a single PUT
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_usesPutObject_whenSmallerThanPartSize() throws IOException {
+        blobStore.write("file.txt", new ByteArrayInputStream("hello".getBytes()));
+
+        verify(s3Client).putObject(
+                argThat((PutObjectRequest request) -> bucketName.equals(request.bucket()) && "file.txt".equals(request.key())),
+                argThat((RequestBody body) -> body.optionalContentLength().orElse(-1L) == 5L));
+        verify(s3Client, never()).createMultipartUpload(any(Consumer.class));
+    }
+
+    /**
+     * Tests that the detected content type is stored with the object
+     */
+    @Test
+    void write_setsDetectedContentType() throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0};
+
+        blobStore.write("image.png", new ByteArrayInputStream(png));
+
+        verify(s3Client).putObject(
+                argThat((PutObjectRequest request) -> "image/png".equals(request.contentType())),
+                any(RequestBody.class));
+    }
+
+    /**
+     * Tests that content larger than one part is sent as a multipart upload
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_usesMultipartUpload_whenLargerThanPartSize() throws IOException {
+        byte[] data = new byte[40];
+        Arrays.fill(data, (byte) 7);
+
+        when(s3Client.createMultipartUpload(any(Consumer.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class)))
+                .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+
+        blobStore.write("large.bin", new ByteArrayInputStream(data));
+
+        // 40 bytes in parts of 16 bytes: 16 + 16 + 8
+        verify(s3Client, times(3)).uploadPart(any(Consumer.class), any(RequestBody.class));
+        verify(s3Client).completeMultipartUpload(any(Consumer.class));
+        verify(s3Client, never()).abortMultipartUpload(any(Consumer.class));
+        verify(s3Client, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    /**
+     * Tests that a failed part aborts the multipart upload
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_abortsMultipartUpload_whenPartFails() {
+        when(s3Client.createMultipartUpload(any(Consumer.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+        when(s3Client.uploadPart(any(Consumer.class), any(RequestBody.class)))
+                .thenThrow(new RuntimeException("boom"));
+
+        assertThrows(RuntimeException.class, () -> blobStore.write("large.bin", new ByteArrayInputStream(new byte[40])));
+        verify(s3Client).abortMultipartUpload(any(Consumer.class));
+        verify(s3Client, never()).completeMultipartUpload(any(Consumer.class));
+    }
+
+    /**
+     * Tests that read returns the whole object
+     */
+    @Test
+    void read_returnsContent() throws IOException {
+        S3Resource s3Resource = mock(S3Resource.class);
+        when(s3Resource.getInputStream()).thenReturn(new ByteArrayInputStream("hello".getBytes()));
+        when(s3Template.download(bucketName, "file.txt")).thenReturn(s3Resource);
+
+        assertEquals(Optional.of(ByteBuffer.wrap("hello".getBytes())), blobStore.read("file.txt"));
+    }
+
+    /**
+     * Tests that read returns empty when the object does not exist
+     */
+    @Test
+    void read_returnsEmpty_whenMissing() throws IOException {
+        S3Resource s3Resource = mock(S3Resource.class);
+        when(s3Resource.getInputStream()).thenThrow(NoSuchKeyException.builder().message("missing").build());
+        when(s3Template.download(bucketName, "file.txt")).thenReturn(s3Resource);
+
+        assertTrue(blobStore.read("file.txt").isEmpty());
+    }
+
+    /**
+     * Tests that open describes the stored object without reading its content
+     */
+    @Test
+    void open_returnsStoredFile() throws IOException {
+        S3Resource s3Resource = mock(S3Resource.class);
+        when(s3Resource.exists()).thenReturn(true);
+        when(s3Resource.contentLength()).thenReturn(255L);
+        when(s3Resource.lastModified()).thenReturn(4096L);
+        when(s3Resource.contentType()).thenReturn("image/png");
+        when(s3Template.download(bucketName, "content/abc")).thenReturn(s3Resource);
+
+        StoredFile file = blobStore.open("content/abc").orElseThrow();
+
+        assertSame(s3Resource, file.content());
+        assertEquals("image/png", file.contentType());
+        assertEquals(255L, file.contentLength());
+        assertEquals("\"1000-ff\"", file.eTag());
+        verify(s3Resource, never()).getInputStream();
+    }
+
+    /**
+     * Tests that open returns empty when the object does not exist
+     */
+    @Test
+    void open_returnsEmpty_whenMissing() throws IOException {
+        S3Resource s3Resource = mock(S3Resource.class);
+        when(s3Resource.exists()).thenReturn(false);
+        when(s3Template.download(bucketName, "content/missing")).thenReturn(s3Resource);
+
+        assertTrue(blobStore.open("content/missing").isEmpty());
+    }
+
+    /**
+     * Tests that delete removes every key with a single request and skips empty batches
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void delete_usesSingleRequest() {
+        blobStore.delete(List.of());
+        verifyNoInteractions(s3Client);
+
+        blobStore.delete(List.of("a", "a_thumbnail"));
+        verify(s3Client, times(1)).deleteObjects(any(Consumer.class));
+    }
+}
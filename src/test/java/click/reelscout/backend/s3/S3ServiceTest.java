@@ -1,45 +1,71 @@
 package click.reelscout.backend.s3;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import io.awspring.cloud.s3.S3Exception;
-import io.awspring.cloud.s3.S3Resource;
-import io.awspring.cloud.s3.S3Template;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mock.web.MockMultipartFile;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Base64;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for {@link S3Service}.
- * Covers upload, delete, and get file functionalities including error handling.
+ * Covers upload, delete, and get file functionalities including error handling and caching.
  */
 class S3ServiceTest {
 
     @Mock
-    private S3Template s3Template;
+    private BlobStore blobStore;
+
+    @Mock
+    private ImageProcessor imageProcessor;
+
+    @Mock
+    private Executor imageProcessingExecutor;
+
+    private Cache<String, String> imageCache;
 
-    @InjectMocks
     private S3Service s3Service;
 
-    private final String bucketName = "test-bucket";
+    private final Map<String, byte[]> written = new ConcurrentHashMap<>();
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws IOException {
         MockitoAnnotations.openMocks(this);
+        imageCache = Caffeine.newBuilder().maximumSize(10).build();
+        s3Service = new S3Service(blobStore, imageCache, imageProcessor, imageProcessingExecutor);
         try {
-            var bucketField = S3Service.class.getDeclaredField("bucketName");
-            bucketField.setAccessible(true);
-            bucketField.set(s3Service, bucketName);
+            var concurrencyField = S3Service.class.getDeclaredField("batchMaxConcurrency");
+            concurrencyField.setAccessible(true);
+            concurrencyField.set(s3Service, 4);
+            var timeoutField = S3Service.class.getDeclaredField("batchTimeoutMillis");
+            timeoutField.setAccessible(true);
+            timeoutField.set(s3Service, 500L);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+
+        doAnswer(inv -> {
+            written.put(inv.getArgument(0), inv.getArgument(1, InputStream.class).readAllBytes());
+            return null;
+        }).when(blobStore).write(anyString(), any(InputStream.class));
     }
 
     /**
@@ -53,7 +79,7 @@ class S3ServiceTest {
         String result = s3Service.uploadFile(key, base64);
 
         assertEquals(key, result);
-        verify(s3Template).upload(eq(bucketName), eq(key), any(ByteArrayInputStream.class));
+        assertArrayEquals("hello".getBytes(), written.get(key));
     }
 
     /**
@@ -64,46 +90,78 @@ class S3ServiceTest {
         String key = "file.txt";
 
         assertNull(s3Service.uploadFile(key, ""));
-        verifyNoInteractions(s3Template);
+        verifyNoInteractions(blobStore);
     }
 
     /**
      * Tests for uploadFile method throwing S3Exception on error
      */
     @Test
-    void uploadFile_throwsS3Exception_onError() {
+    void uploadFile_throwsS3Exception_onError() throws IOException {
         String key = "file.txt";
         String base64 = Base64.getEncoder().encodeToString("data".getBytes());
 
-        doThrow(new RuntimeException("boom"))
-                .when(s3Template).upload(eq(bucketName), eq(key), any(ByteArrayInputStream.class));
+        doThrow(new IOException("boom")).when(blobStore).write(eq(key), any(InputStream.class));
 
         assertThrows(S3Exception.class, () -> s3Service.uploadFile(key, base64));
     }
 
+    /**
+     * Tests that uploadFile rejects content that is not valid Base64
+     */
+    @Test
+    void uploadFile_throwsS3Exception_whenInvalidBase64() {
+        assertThrows(S3Exception.class, () -> s3Service.uploadFile("file.txt", "not base64!"));
+        assertFalse(written.containsKey("file.txt"));
+    }
+
+    /**
+     * Tests that a raw multipart/form-data file is streamed to the blob store
+     */
+    @Test
+    void uploadFile_streamsMultipartFile() {
+        String key = "file.png";
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0};
+        MockMultipartFile file = new MockMultipartFile("image", "poster.png", "image/png", png);
+        imageCache.put(key, "stale");
+
+        String result = s3Service.uploadFile(key, file);
+
+        assertEquals(key, result);
+        assertNull(imageCache.getIfPresent(key));
+        assertArrayEquals(png, written.get(key));
+    }
+
+    /**
+     * Tests that uploadFile ignores a missing or empty multipart file
+     */
+    @Test
+    void uploadFile_returnsNull_whenEmptyMultipartFile() {
+        assertNull(s3Service.uploadFile("file.png", (MockMultipartFile) null));
+        assertNull(s3Service.uploadFile("file.png", new MockMultipartFile("image", new byte[0])));
+        verifyNoInteractions(blobStore);
+    }
+
     /**
      * Tests for deleteFile method
      */
     @Test
-    void deleteFile_callsS3Template() {
+    void deleteFile_deletesFromBlobStore() throws IOException {
         String key = "file.txt";
 
         s3Service.deleteFile(key);
 
-        verify(s3Template).deleteObject(bucketName, key);
+        verify(blobStore).delete(argThat(keys -> keys.contains(key)));
     }
 
     /**
      * Tests for deleteFile method throwing S3Exception on error
      */
     @Test
-    void deleteFile_throwsS3Exception_onError() {
-        String key = "file.txt";
-
-        doThrow(new RuntimeException("fail"))
-                .when(s3Template).deleteObject(bucketName, key);
+    void deleteFile_throwsS3Exception_onError() throws IOException {
+        doThrow(new IOException("fail")).when(blobStore).delete(anyCollection());
 
-        assertThrows(S3Exception.class, () -> s3Service.deleteFile(key));
+        assertThrows(S3Exception.class, () -> s3Service.deleteFile("file.txt"));
     }
 
     /**
@@ -113,16 +171,24 @@ class S3ServiceTest {
     void getFile_returnsBase64Content() throws IOException {
         String key = "file.txt";
         byte[] data = "hello".getBytes();
-        String expectedBase64 = Base64.getEncoder().encodeToString(data);
-
-        S3Resource s3Resource = mock(S3Resource.class);
-        when(s3Resource.getInputStream()).thenReturn(new ByteArrayInputStream(data));
-        when(s3Template.download(bucketName, key)).thenReturn(s3Resource);
+        mockStored(key, data);
 
         String result = s3Service.getFile(key);
 
-        assertEquals(expectedBase64, result);
-        verify(s3Template).download(bucketName, key);
+        assertEquals(Base64.getEncoder().encodeToString(data), result);
+        verify(blobStore).read(key);
+    }
+
+    /**
+     * Tests that getFile encodes direct (memory-mapped) buffers as well as heap buffers
+     */
+    @Test
+    void getFile_encodesDirectBuffer() throws IOException {
+        byte[] data = "mapped".getBytes();
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        when(blobStore.read("file.txt")).thenReturn(Optional.of(direct));
+
+        assertEquals(Base64.getEncoder().encodeToString(data), s3Service.getFile("file.txt"));
     }
 
     /**
@@ -131,7 +197,7 @@ class S3ServiceTest {
     @Test
     void getFile_returnsNull_whenKeyIsNull() {
         assertNull(s3Service.getFile(null));
-        verifyNoInteractions(s3Template);
+        verifyNoInteractions(blobStore);
     }
 
     /**
@@ -139,12 +205,387 @@ class S3ServiceTest {
      */
     @Test
     void getFile_throwsS3Exception_onIOException() throws IOException {
+        when(blobStore.read("file.txt")).thenThrow(new IOException("fail"));
+
+        assertThrows(S3Exception.class, () -> s3Service.getFile("file.txt"));
+    }
+
+    /**
+     * Tests that getFile returns null without caching it when the file is not stored (yet)
+     */
+    @Test
+    void getFile_returnsNull_whenMissing() throws IOException {
+        assertNull(s3Service.getFile("file.txt"));
+        assertNull(s3Service.getFile("file.txt", ImageVariant.CARD));
+
+        mockStored("file.txt", "late".getBytes());
+        assertEquals(Base64.getEncoder().encodeToString("late".getBytes()), s3Service.getFile("file.txt"));
+    }
+
+    /**
+     * Tests that a second getFile for the same key is served from the cache
+     */
+    @Test
+    void getFile_servesRepeatedReadsFromCache() throws IOException {
+        String key = "file.txt";
+        mockStored(key, "hello".getBytes());
+
+        String first = s3Service.getFile(key);
+        String second = s3Service.getFile(key);
+
+        assertEquals(first, second);
+        verify(blobStore, times(1)).read(key);
+    }
+
+    /**
+     * Tests that uploadFile invalidates the cached entry for the key
+     */
+    @Test
+    void uploadFile_invalidatesCachedEntry() {
         String key = "file.txt";
+        imageCache.put(key, "stale");
+
+        s3Service.uploadFile(key, Base64.getEncoder().encodeToString("fresh".getBytes()));
+
+        assertNull(imageCache.getIfPresent(key));
+    }
+
+    /**
+     * Tests that deleteFile invalidates the cached entry for the key, even on error
+     */
+    @Test
+    void deleteFile_invalidatesCachedEntry_evenOnError() throws IOException {
+        String key = "file.txt";
+        imageCache.put(key, "stale");
+
+        doThrow(new IOException("fail")).when(blobStore).delete(anyCollection());
+
+        assertThrows(S3Exception.class, () -> s3Service.deleteFile(key));
+        assertNull(imageCache.getIfPresent(key));
+    }
+
+    /**
+     * Tests that getFile in reference mode never downloads the file
+     */
+    @Test
+    void getFile_referenceMode_returnsNullWithoutDownload() {
+        assertNull(s3Service.getFile("file.txt", ImageMode.REFERENCE));
+        verifyNoInteractions(blobStore);
+    }
+
+    /**
+     * Tests that getFile in inline mode returns the Base64 content
+     */
+    @Test
+    void getFile_inlineMode_returnsBase64Content() throws IOException {
+        String key = "file.txt";
+        byte[] data = "hello".getBytes();
+        mockStored(key, data);
+
+        assertEquals(Base64.getEncoder().encodeToString(data), s3Service.getFile(key, ImageMode.INLINE));
+    }
+
+    /**
+     * Tests that openFile returns the file opened by the blob store without reading its content
+     */
+    @Test
+    void openFile_returnsStoredFile() throws IOException {
+        String key = "content/abc";
+        StoredFile stored = new StoredFile(new ByteArrayResource(new byte[255]), "image/png", 255L, "\"1000-ff\"");
+        when(blobStore.open(key)).thenReturn(Optional.of(stored));
+
+        StoredFile file = s3Service.openFile(key);
+
+        assertSame(stored, file);
+        verify(blobStore, never()).read(any());
+    }
+
+    /**
+     * Tests that openFile throws when the object does not exist
+     */
+    @Test
+    void openFile_throwsNotFound_whenMissing() {
+        assertThrows(EntityNotFoundException.class, () -> s3Service.openFile("content/missing"));
+    }
+
+    /**
+     * Tests that openFile throws when neither the variant nor the original exist
+     */
+    @Test
+    void openFile_variant_throwsNotFound_whenOriginalMissing() {
+        assertThrows(EntityNotFoundException.class, () -> s3Service.openFile("content/missing", ImageVariant.CARD));
+        verifyNoInteractions(imageProcessor);
+    }
+
+    /**
+     * Tests that getFiles combines cached entries with parallel downloads and ignores null keys
+     */
+    @Test
+    void getFiles_returnsCachedAndDownloadedFiles() throws IOException {
+        imageCache.put("cached", "c2VlbiBiZWZvcmU=");
+        mockStored("a", "a".getBytes());
+        mockStored("b", "b".getBytes());
+
+        Map<String, String> result = s3Service.getFiles(Arrays.asList("cached", "a", null, "b", "a"));
+
+        assertEquals(3, result.size());
+        assertEquals("c2VlbiBiZWZvcmU=", result.get("cached"));
+        assertEquals(Base64.getEncoder().encodeToString("a".getBytes()), result.get("a"));
+        assertEquals(Base64.getEncoder().encodeToString("b".getBytes()), result.get("b"));
+        verify(blobStore, never()).read("cached");
+        verify(blobStore, times(1)).read("a");
+    }
+
+    /**
+     * Tests that getFiles reports failed downloads as missing instead of failing the batch
+     */
+    @Test
+    void getFiles_omitsFailedDownloads() throws IOException {
+        mockStored("ok", "ok".getBytes());
+        when(blobStore.read("broken")).thenThrow(new IOException("boom"));
 
-        S3Resource s3Resource = mock(S3Resource.class);
-        when(s3Resource.getInputStream()).thenThrow(new IOException("fail"));
-        when(s3Template.download(bucketName, key)).thenReturn(s3Resource);
+        Map<String, String> result = s3Service.getFiles(List.of("ok", "broken"));
+
+        assertEquals(Map.of("ok", Base64.getEncoder().encodeToString("ok".getBytes())), result);
+    }
+
+    /**
+     * Tests that getFiles reports files that are not stored as missing
+     */
+    @Test
+    void getFiles_omitsFilesNotStored() throws IOException {
+        mockStored("ok", "ok".getBytes());
+        when(blobStore.read("missing")).thenReturn(Optional.empty());
+
+        Map<String, String> result = s3Service.getFiles(List.of("ok", "missing"));
+
+        assertEquals(Map.of("ok", Base64.getEncoder().encodeToString("ok".getBytes())), result);
+    }
+
+    /**
+     * Tests that getFiles returns within the batch deadline, reporting slow downloads as missing
+     * and cancelling them
+     */
+    @Test
+    void getFiles_omitsAndCancelsDownloadsExceedingDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        when(blobStore.read("slow")).thenAnswer(inv -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return Optional.of(ByteBuffer.wrap("slow".getBytes()));
+        });
+        mockStored("fast", "fast".getBytes());
+
+        try {
+            long start = System.nanoTime();
+            Map<String, String> result = s3Service.getFiles(List.of("slow", "fast"));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(Map.of("fast", Base64.getEncoder().encodeToString("fast".getBytes())), result);
+            assertTrue(elapsedMillis < 5_000, "Batch must not wait for downloads past the deadline");
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Downloads past the deadline must be cancelled");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Tests that getFiles in reference mode never downloads anything
+     */
+    @Test
+    void getFiles_referenceMode_returnsEmptyWithoutDownload() {
+        assertTrue(s3Service.getFiles(List.of("a", "b"), ImageMode.REFERENCE, ImageVariant.THUMBNAIL).isEmpty());
+        verifyNoInteractions(blobStore);
+    }
+
+    /**
+     * Tests that an upload removes stale variants and queues the generation of new ones
+     */
+    @Test
+    void uploadFile_schedulesVariantGeneration() throws IOException {
+        String key = "content/abc";
+        imageCache.put(ImageVariant.THUMBNAIL.keyFor(key), "stale");
+
+        s3Service.uploadFile(key, Base64.getEncoder().encodeToString("img".getBytes()));
+
+        verify(blobStore).delete(argThat(keys -> keys.contains(ImageVariant.THUMBNAIL.keyFor(key)) && !keys.contains(key)));
+        verify(imageProcessingExecutor).execute(any(Runnable.class));
+        assertNull(imageCache.getIfPresent(ImageVariant.THUMBNAIL.keyFor(key)));
+    }
+
+    /**
+     * Tests that an upload still succeeds when the variant queue is full
+     */
+    @Test
+    void uploadFile_succeeds_whenVariantQueueIsFull() {
+        doThrow(new RejectedExecutionException()).when(imageProcessingExecutor).execute(any(Runnable.class));
+
+        assertEquals("content/abc", s3Service.uploadFile("content/abc", Base64.getEncoder().encodeToString("img".getBytes())));
+    }
+
+    /**
+     * Tests that the background task generates and stores every variant
+     */
+    @Test
+    void uploadFile_backgroundTaskStoresVariants() throws IOException {
+        String key = "content/abc";
+        byte[] original = "original".getBytes();
+        mockStored(key, original);
+        when(imageProcessor.createVariants(original)).thenReturn(Map.of(
+                ImageVariant.THUMBNAIL, "t".getBytes(),
+                ImageVariant.CARD, "c".getBytes(),
+                ImageVariant.FULL, "f".getBytes()
+        ));
+        doAnswer(inv -> {
+            inv.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(imageProcessingExecutor).execute(any(Runnable.class));
+
+        s3Service.uploadFile(key, Base64.getEncoder().encodeToString(original));
+
+        for (ImageVariant variant : ImageVariant.derived()) {
+            assertTrue(written.containsKey(variant.keyFor(key)));
+        }
+    }
+
+    /**
+     * Tests that getFile with a variant reads the file stored under the variant key
+     */
+    @Test
+    void getFile_variant_downloadsVariantKey() throws IOException {
+        mockStored("content/abc_thumbnail", "thumb".getBytes());
+
+        String result = s3Service.getFile("content/abc", ImageVariant.THUMBNAIL);
+
+        assertEquals(Base64.getEncoder().encodeToString("thumb".getBytes()), result);
+        assertEquals(result, imageCache.getIfPresent("content/abc_thumbnail"));
+        verifyNoInteractions(imageProcessor);
+    }
+
+    /**
+     * Tests that a missing variant is generated synchronously on first read
+     */
+    @Test
+    void getFile_variant_generatesMissingVariant() throws IOException {
+        String key = "content/abc";
+        byte[] original = "original".getBytes();
+        mockStored(key, original);
+        when(imageProcessor.createVariants(original)).thenReturn(Map.of(ImageVariant.CARD, "card".getBytes()));
+
+        String result = s3Service.getFile(key, ImageVariant.CARD);
+
+        assertEquals(Base64.getEncoder().encodeToString("card".getBytes()), result);
+        assertArrayEquals("card".getBytes(), written.get("content/abc_card"));
+    }
+
+    /**
+     * Tests that a file which is not a readable image is returned unchanged as every variant
+     */
+    @Test
+    void getFile_variant_returnsOriginal_whenNotAnImage() throws IOException {
+        String key = "content/abc";
+        byte[] original = "not an image".getBytes();
+        mockStored(key, original);
+        when(imageProcessor.createVariants(any())).thenReturn(Map.of());
+
+        assertEquals(Base64.getEncoder().encodeToString(original), s3Service.getFile(key, ImageVariant.THUMBNAIL));
+    }
+
+    /**
+     * Tests that getFiles with a variant keys the result by original key
+     */
+    @Test
+    void getFiles_variant_keysResultByOriginalKey() throws IOException {
+        imageCache.put("a_thumbnail", "Y2FjaGVk");
+        mockStored("b_thumbnail", "b".getBytes());
+
+        Map<String, String> result = s3Service.getFiles(List.of("a", "b"), ImageVariant.THUMBNAIL);
+
+        assertEquals(Map.of("a", "Y2FjaGVk", "b", Base64.getEncoder().encodeToString("b".getBytes())), result);
+    }
+
+    /**
+     * Tests that openFile generates a missing variant before opening it
+     */
+    @Test
+    void openFile_variant_generatesMissingVariant() throws IOException {
+        String key = "content/abc";
+        byte[] original = "original".getBytes();
+        StoredFile stored = new StoredFile(new ByteArrayResource(original), "image/png", original.length, "\"1-8\"");
+        StoredFile generated = new StoredFile(new ByteArrayResource("thumb".getBytes()), "image/jpeg", 5L, "\"1-5\"");
+
+        when(blobStore.open(key)).thenReturn(Optional.of(stored));
+        when(blobStore.open("content/abc_thumbnail")).thenReturn(Optional.empty(), Optional.of(generated));
+        mockStored(key, original);
+        when(imageProcessor.createVariants(original)).thenReturn(Map.of(ImageVariant.THUMBNAIL, "thumb".getBytes()));
+
+        StoredFile file = s3Service.openFile(key, ImageVariant.THUMBNAIL);
+
+        assertSame(generated, file);
+        assertArrayEquals("thumb".getBytes(), written.get("content/abc_thumbnail"));
+    }
+
+    /**
+     * Tests that deleteFile deletes the variants in the same call and evicts them from the cache
+     */
+    @Test
+    void deleteFile_deletesVariants() throws IOException {
+        imageCache.put("content/abc_card", "stale");
+
+        s3Service.deleteFile("content/abc");
+
+        verify(blobStore).delete(List.of("content/abc", "content/abc_thumbnail", "content/abc_card", "content/abc_full"));
+        assertNull(imageCache.getIfPresent("content/abc_card"));
+    }
+
+    /**
+     * Tests that contentHash returns the SHA-256 of the decoded bytes, for Base64 and raw files alike
+     */
+    @Test
+    void contentHash_hashesDecodedBytes() {
+        String expected = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+        assertEquals(expected, s3Service.contentHash(Base64.getEncoder().encodeToString("hello".getBytes())));
+        assertEquals(expected, s3Service.contentHash(new MockMultipartFile("image", "hello".getBytes())));
+        verifyNoInteractions(blobStore);
+    }
+
+    /**
+     * Tests that uploadFile stores content held in memory and evicts the cached copy
+     */
+    @Test
+    void uploadFile_bytes_storesContent() {
+        imageCache.put("image/abc", "stale");
+
+        assertEquals("image/abc", s3Service.uploadFile("image/abc", "hello".getBytes()));
+
+        assertArrayEquals("hello".getBytes(), written.get("image/abc"));
+        assertNull(imageCache.getIfPresent("image/abc"));
+        verify(imageProcessingExecutor).execute(any(Runnable.class));
+    }
+
+    /**
+     * Tests that deleteFiles removes several files and their variants in a single call
+     */
+    @Test
+    void deleteFiles_deletesAllKeysAtOnce() throws IOException {
+        imageCache.put("a", "stale");
+        imageCache.put("b_full", "stale");
+
+        s3Service.deleteFiles(List.of("a", "b"));
+
+        verify(blobStore).delete(List.of("a", "a_thumbnail", "a_card", "a_full", "b", "b_thumbnail", "b_card", "b_full"));
+        assertNull(imageCache.getIfPresent("a"));
+        assertNull(imageCache.getIfPresent("b_full"));
+    }
 
-        assertThrows(S3Exception.class, () -> s3Service.getFile(key));
+    private void mockStored(String key, byte[] content) throws IOException {
+        when(blobStore.read(key)).thenAnswer(inv -> Optional.of(ByteBuffer.wrap(content)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,121 @@
+package click.reelscout.backend.s3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TieredBlobStore}.
+ * Uses a real {@link LocalBlobStore} as the local tier in front of a mocked origin.
+ */
+class TieredBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private BlobStore origin;
+
+    private TieredBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        blobStore = new TieredBlobStore(new LocalBlobStore(root), origin);
+    }
+
+    /**
+     * Tests that a read missing the local tier is fetched from the origin and cached
+     */
+    @Test
+    void read_fillsLocalTierOnMiss() throws IOException {
+        when(origin.read("a")).thenReturn(Optional.of(ByteBuffer.wrap("hello".getBytes())));
+
+        assertEquals(ByteBuffer.wrap("hello".getBytes()), blobStore.read("a").orElseThrow());
+        assertEquals(ByteBuffer.wrap("hello".getBytes()), blobStore.read("a").orElseThrow());
+
+        verify(origin, times(1)).read("a");
+        assertArrayEquals("hello".getBytes(), Files.readAllBytes(root.resolve("a")));
+    }
+
+    /**
+     * Tests that a key missing from the origin is reported as missing
+     */
+    @Test
+    void readAndOpen_returnEmpty_whenMissingEverywhere() throws IOException {
+        assertTrue(blobStore.read("a").isEmpty());
+        assertTrue(blobStore.open("a").isEmpty());
+    }
+
+    /**
+     * Tests that an open missing the local tier is served from the local copy of the origin's file
+     */
+    @Test
+    void open_fillsLocalTierOnMiss() throws IOException {
+        byte[] content = "hello".getBytes();
+        when(origin.open("a")).thenReturn(Optional.of(
+                new StoredFile(new ByteArrayResource(content), "text/plain", content.length, "\"1-5\"")));
+
+        StoredFile file = blobStore.open("a").orElseThrow();
+        blobStore.open("a");
+
+        verify(origin, times(1)).open("a");
+        assertEquals(content.length, file.contentLength());
+        try (InputStream stream = file.content().getInputStream()) {
+            assertArrayEquals(content, stream.readAllBytes());
+        }
+    }
+
+    /**
+     * Tests that a write goes to the origin and drops the stale local copy
+     */
+    @Test
+    void write_writesOriginAndDropsLocalCopy() throws IOException {
+        Files.writeString(root.resolve("a"), "stale");
+        InputStream content = new ByteArrayInputStream("fresh".getBytes());
+
+        blobStore.write("a", content);
+
+        verify(origin).write("a", content);
+        assertFalse(Files.exists(root.resolve("a")));
+    }
+
+    /**
+     * Tests that a delete removes the key from both tiers
+     */
+    @Test
+    void delete_deletesBothTiers() throws IOException {
+        Files.writeString(root.resolve("a"), "cached");
+
+        blobStore.delete(List.of("a"));
+
+        verify(origin).delete(List.of("a"));
+        assertFalse(Files.exists(root.resolve("a")));
+    }
+
+    /**
+     * Tests that an origin failure is propagated rather than masked by the local tier
+     */
+    @Test
+    void write_propagatesOriginFailure() throws IOException {
+        doThrow(new IOException("boom")).when(origin).write(any(), any());
+
+        assertThrows(IOException.class, () -> blobStore.write("a", new ByteArrayInputStream(new byte[1])));
+    }
+}
@@ -12,19 +12,21 @@ import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.User;
 import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
-import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.security.JwtService;
 import click.reelscout.backend.strategy.UserMapperContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,7 +50,9 @@ class AuthServiceImplementationTest {
     @Mock private UserMapperContext userMapperContext;
     @Mock private UserMapperFactoryRegistry userMapperFactoryRegistry;
     @Mock private UserMapper userMapper;
-    @Mock private S3Service s3Service;
+    @Mock private ImageService imageService;
+    @Mock private SearchCacheService searchCacheService;
+    @Mock private SearchIndexService searchIndexService;
 
     @InjectMocks
     private AuthServiceImplementation service;
@@ -159,17 +163,16 @@ class AuthServiceImplementationTest {
 
         verify(userRepository, never()).save(any());
         verify(userElasticRepository, never()).save(any());
-        verify(s3Service, never()).uploadFile(any(), any());
+        verifyNoInteractions(imageService);
     }
 
     /**
      * Tests the successful registration flow with a base64 image provided.
-     * Verifies that the service generates an S3 key, persists the user, indexes in Elasticsearch,
-     * uploads the image to S3, and returns a JWT token.
-     * Also checks that the same S3 key is used for both entity creation and image upload.
+     * Verifies that the service stores the image, persists the user with the returned key,
+     * indexes in Elasticsearch, and returns a JWT token.
      */
     @Test
-    @DisplayName("register(): success flow with base64 image -> generates S3 key, persists user, indexes in ES, uploads image, and returns JWT")
+    @DisplayName("register(): success flow with base64 image -> stores image, persists user with its key, indexes in ES, and returns JWT")
     void register_success_withImage() {
         // Request with base64 image
         UserRequestDTO req = mock(UserRequestDTO.class);
@@ -186,9 +189,9 @@ class AuthServiceImplementationTest {
         User saved = mock(User.class);
         when(userRepository.save(entityToSave)).thenReturn(saved);
 
-        // The service will compute a UUID-based key; capture it where it's passed
-        ArgumentCaptor<String> s3KeyCaptorToEntity = ArgumentCaptor.forClass(String.class);
-        when(userMapperContext.toEntity(eq(req), s3KeyCaptorToEntity.capture())).thenReturn(entityToSave);
+        // The image is stored first; its content-addressed key is passed to the entity
+        when(imageService.replace(null, "base64-image")).thenReturn("image/abc");
+        when(userMapperContext.toEntity(req, "image/abc")).thenReturn(entityToSave);
 
         // ES indexing
         UserDoc doc = mock(UserDoc.class);
@@ -205,28 +208,22 @@ class AuthServiceImplementationTest {
 
         assertEquals("jwt-registered", res.getAccessToken());
 
-        // Verify ES save and S3 upload with same generated key
-        ArgumentCaptor<String> s3KeyCaptorToUpload = ArgumentCaptor.forClass(String.class);
-        verify(s3Service).uploadFile(s3KeyCaptorToUpload.capture(), eq("base64-image"));
-
-        String keyToEntity = s3KeyCaptorToEntity.getValue();
-        String keyToUpload = s3KeyCaptorToUpload.getValue();
-        assertNotNull(keyToEntity);
-        assertTrue(keyToEntity.startsWith("user/"), "S3 key must start with 'user/'");
-        assertEquals(keyToEntity, keyToUpload, "Key passed to entity builder and S3 upload must be the same");
+        // Verify the image was stored once and ES indexed the saved user
+        verify(imageService).replace(null, "base64-image");
 
         verify(userElasticRepository).save(doc);
+        verify(searchIndexService).recordChanges(UserDoc.class, List.of(doc.getId()));
+        verify(searchCacheService).invalidate(UserDoc.class);
         verify(userMapperContext, times(2)).setUserMapper(userMapper); // once for DTO path, once during login
     }
 
     /**
      * Tests the successful registration flow without a base64 image provided.
-     * Verifies that the service does not generate an S3 key, persists the user, indexes in Elasticsearch,
-     * attempts to upload a null image to S3, and returns a JWT token.
-     * Also checks that the S3 upload is called with null parameters.
+     * Verifies that the service persists the user without an S3 key, indexes in Elasticsearch,
+     * and returns a JWT token.
      */
     @Test
-    @DisplayName("register(): success flow without image -> S3 key is null and upload called with nulls")
+    @DisplayName("register(): success flow without image -> S3 key is null and no image is stored")
     void register_success_withoutImage() {
         UserRequestDTO req = mock(UserRequestDTO.class);
         when(req.getUsername()).thenReturn(username);
@@ -257,8 +254,10 @@ class AuthServiceImplementationTest {
         UserLoginResponseDTO res = service.register(req);
 
         assertEquals("jwt-registered", res.getAccessToken());
-        verify(s3Service).uploadFile(null, null);
+        verify(imageService).replace(null, (String) null);
         verify(userElasticRepository).save(doc);
+        verify(searchIndexService).recordChanges(UserDoc.class, List.of(doc.getId()));
+        verify(searchCacheService).invalidate(UserDoc.class);
     }
 
     /**
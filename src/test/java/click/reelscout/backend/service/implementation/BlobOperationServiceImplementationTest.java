@@ -0,0 +1,296 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.jpa.BlobOperationType;
+import click.reelscout.backend.model.jpa.PendingBlobOperation;
+import click.reelscout.backend.model.jpa.StagedFile;
+import click.reelscout.backend.model.jpa.StoredImage;
+import click.reelscout.backend.repository.jpa.PendingBlobOperationRepository;
+import click.reelscout.backend.repository.jpa.StagedFileRepository;
+import click.reelscout.backend.repository.jpa.StoredImageRepository;
+import click.reelscout.backend.s3.S3Service;
+import io.awspring.cloud.s3.S3Exception;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BlobOperationServiceImplementation}.
+ * Covers recording operations with their staged content, processing after commit,
+ * batched application, reconciliation with reference counts, and retry backoff.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlobOperationServiceImplementationTest {
+
+    @Mock private PendingBlobOperationRepository pendingBlobOperationRepository;
+    @Mock private StoredImageRepository storedImageRepository;
+    @Mock private StagedFileRepository stagedFileRepository;
+    @Mock private S3Service s3Service;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private BlobOperationServiceImplementation service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BlobOperationServiceImplementation(pendingBlobOperationRepository, storedImageRepository, stagedFileRepository, s3Service, Runnable::run, Runnable::run, transactionManager);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "claimTimeoutMillis", 60_000L);
+        ReflectionTestUtils.setField(service, "initialBackoffMillis", 1_000L);
+        ReflectionTestUtils.setField(service, "maxBackoffMillis", 5_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Tests that an upload is recorded with its decoded content, staged under the operation id,
+     * without any blob store round trip.
+     */
+    @Test
+    @DisplayName("scheduleUpload(): records operation and stages decoded content under its id")
+    void scheduleUpload_recordsAndStages() {
+        mockSave(7L);
+
+        service.scheduleUpload("image/abc", Base64.getEncoder().encodeToString("hello".getBytes()));
+
+        verify(pendingBlobOperationRepository).save(argThat(operation ->
+                operation.getType() == BlobOperationType.UPLOAD && "image/abc".equals(operation.getS3Key())));
+        verify(stagedFileRepository).save(argThat(staged ->
+                staged.getOperationId() == 7L && Arrays.equals("hello".getBytes(), staged.getContent())));
+        verifyNoInteractions(s3Service);
+    }
+
+    /**
+     * Tests that a multipart file is staged as a raw file.
+     */
+    @Test
+    @DisplayName("scheduleUpload(): multipart file -> stages raw file")
+    void scheduleUpload_multipartFile_stagesFile() {
+        MockMultipartFile file = new MockMultipartFile("image", new byte[]{1});
+        mockSave(8L);
+
+        service.scheduleUpload("image/abc", file);
+
+        verify(stagedFileRepository).save(argThat(staged ->
+                staged.getOperationId() == 8L && Arrays.equals(new byte[]{1}, staged.getContent())));
+        verifyNoInteractions(s3Service);
+    }
+
+    /**
+     * Tests that nothing reaches the blob store before the transaction commits.
+     */
+    @Test
+    @DisplayName("scheduleDelete(): in a transaction -> applied only after commit")
+    void scheduleDelete_appliesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        mockSave(9L);
+
+        service.scheduleDelete("image/abc");
+
+        verify(pendingBlobOperationRepository, never()).findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(pendingBlobOperationRepository).findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(), any());
+    }
+
+    /**
+     * Tests that a rolled back upload is not processed; its staged content is rolled back with it.
+     */
+    @Test
+    @DisplayName("scheduleUpload(): rollback -> nothing processed")
+    void scheduleUpload_rollback_notProcessed() {
+        TransactionSynchronizationManager.initSynchronization();
+        mockSave(7L);
+
+        service.scheduleUpload("image/abc", Base64.getEncoder().encodeToString("hello".getBytes()));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(s3Service);
+        verify(pendingBlobOperationRepository, never()).findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(), any());
+    }
+
+    /**
+     * Tests that uploads and deletes are reconciled with the reference counts and deletes are batched.
+     */
+    @Test
+    @DisplayName("getPendingUploadsVersion()/isUploadPending(): only look at uploads")
+    void pendingUploads_onlyLookAtUploads() {
+        when(pendingBlobOperationRepository.findVersionByType(BlobOperationType.UPLOAD)).thenReturn("1-40");
+        when(pendingBlobOperationRepository.existsByTypeAndS3Key(BlobOperationType.UPLOAD, "image/new")).thenReturn(true);
+
+        assertEquals("1-40", service.getPendingUploadsVersion());
+        assertTrue(service.isUploadPending("image/new"));
+    }
+
+    @Test
+    @DisplayName("processDueOperations(): uploads referenced, deletes unreferenced in one call")
+    void processDueOperations_reconcilesWithReferences() {
+        PendingBlobOperation upload = operation(1L, BlobOperationType.UPLOAD, "image/kept");
+        PendingBlobOperation staleUpload = operation(2L, BlobOperationType.UPLOAD, "image/gone");
+        PendingBlobOperation delete = operation(3L, BlobOperationType.DELETE, "image/gone");
+        PendingBlobOperation staleDelete = operation(4L, BlobOperationType.DELETE, "image/kept");
+        PendingBlobOperation legacyDelete = operation(5L, BlobOperationType.DELETE, "content/uuid");
+
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), eq(Limit.of(2))))
+                .thenReturn(List.of(upload, staleUpload, delete, staleDelete, legacyDelete));
+        when(storedImageRepository.findAllById(anyIterable())).thenReturn(List.of(new StoredImage("image/kept", 1)));
+        byte[] content = "hello".getBytes();
+        when(stagedFileRepository.findById(1L)).thenReturn(Optional.of(new StagedFile(1L, content)));
+
+        service.processDueOperations();
+
+        verify(s3Service).uploadFile("image/kept", content);
+        verify(stagedFileRepository, never()).findById(2L);
+        verify(s3Service).deleteFiles(List.of("image/gone", "content/uuid"));
+        verify(pendingBlobOperationRepository).deleteAllInBatch(List.of(upload, staleUpload, delete, staleDelete, legacyDelete));
+        verify(stagedFileRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(pendingBlobOperationRepository).saveAll(List.of());
+    }
+
+    /**
+     * Tests that due operations are claimed, postponing them for other instances, before being applied.
+     */
+    @Test
+    @DisplayName("processDueOperations(): claims operations for the claim timeout before applying them")
+    void processDueOperations_claimsOperations() {
+        PendingBlobOperation delete = operation(3L, BlobOperationType.DELETE, "image/gone");
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any()))
+                .thenAnswer(invocation -> {
+                    verify(transactionManager).getTransaction(any());
+                    return List.of(delete);
+                });
+        doAnswer(invocation -> {
+            assertTrue(delete.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(59)));
+            return null;
+        }).when(s3Service).deleteFiles(anyCollection());
+
+        service.processDueOperations();
+
+        // The claim, then the removal of the applied operations
+        verify(transactionManager, times(2)).commit(any());
+        verify(s3Service).deleteFiles(List.of("image/gone"));
+        assertEquals(0, delete.getAttempts());
+    }
+
+    /**
+     * Tests that an upload whose staged file is missing is retried instead of being recorded as applied.
+     */
+    @Test
+    @DisplayName("processDueOperations(): staged file missing -> upload kept and retried")
+    void processDueOperations_stagedFileMissing_retried() {
+        PendingBlobOperation upload = operation(1L, BlobOperationType.UPLOAD, "image/kept");
+
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any()))
+                .thenReturn(List.of(upload));
+        when(storedImageRepository.findAllById(anyIterable())).thenReturn(List.of(new StoredImage("image/kept", 1)));
+        when(stagedFileRepository.findById(1L)).thenReturn(Optional.empty());
+
+        service.processDueOperations();
+
+        assertEquals(1, upload.getAttempts());
+        assertEquals("Staged file is missing", upload.getLastError());
+        verify(s3Service, never()).uploadFile(anyString(), any(byte[].class));
+        verify(pendingBlobOperationRepository).deleteAllInBatch(List.of());
+        verify(stagedFileRepository).deleteAllByIdInBatch(List.of());
+        verify(pendingBlobOperationRepository).saveAll(List.of(upload));
+    }
+
+    /**
+     * Tests that a failed operation is kept and retried later with exponential backoff.
+     */
+    @Test
+    @DisplayName("processDueOperations(): failure -> retried later with backoff")
+    void processDueOperations_failure_retriesWithBackoff() {
+        PendingBlobOperation delete = operation(3L, BlobOperationType.DELETE, "image/gone");
+        ReflectionTestUtils.setField(delete, "attempts", 1);
+
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any()))
+                .thenReturn(List.of(delete));
+        doThrow(new S3Exception("Failed to delete file", null)).when(s3Service).deleteFiles(anyCollection());
+
+        LocalDateTime before = LocalDateTime.now();
+        service.processDueOperations();
+
+        assertEquals(2, delete.getAttempts());
+        assertEquals("Failed to delete file", delete.getLastError());
+        assertFalse(delete.getNextAttemptAt().isBefore(before.plusSeconds(2)));
+        verify(pendingBlobOperationRepository).deleteAllInBatch(List.of());
+        verify(pendingBlobOperationRepository).saveAll(List.of(delete));
+    }
+
+    /**
+     * Tests that the retry delay never exceeds the configured maximum.
+     */
+    @Test
+    @DisplayName("processDueOperations(): repeated failures -> backoff capped")
+    void processDueOperations_backoffIsCapped() {
+        PendingBlobOperation upload = operation(1L, BlobOperationType.UPLOAD, "image/kept");
+        ReflectionTestUtils.setField(upload, "attempts", 40);
+
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any()))
+                .thenReturn(List.of(upload));
+        when(storedImageRepository.findAllById(anyIterable())).thenReturn(List.of(new StoredImage("image/kept", 1)));
+        when(stagedFileRepository.findById(1L)).thenReturn(Optional.of(new StagedFile(1L, new byte[]{1})));
+        when(s3Service.uploadFile(eq("image/kept"), any(byte[].class))).thenThrow(new S3Exception("Failed to save file", null));
+
+        service.processDueOperations();
+
+        assertTrue(upload.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(6)));
+    }
+
+    /**
+     * Tests that full batches are followed by another one until the queue is drained.
+     */
+    @Test
+    @DisplayName("processDueOperations(): full batch -> fetches the next one")
+    void processDueOperations_drainsFullBatches() {
+        when(pendingBlobOperationRepository.findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(LocalDateTime.class), any()))
+                .thenReturn(List.of(operation(1L, BlobOperationType.DELETE, "a"), operation(2L, BlobOperationType.DELETE, "b")))
+                .thenReturn(List.of(operation(3L, BlobOperationType.DELETE, "c")));
+
+        service.processDueOperations();
+
+        verify(pendingBlobOperationRepository, times(2)).findLockedByNextAttemptAtLessThanEqualOrderByIdAsc(any(), any());
+        verify(s3Service).deleteFiles(List.of("c"));
+    }
+
+    private void mockSave(long id) {
+        when(pendingBlobOperationRepository.save(any(PendingBlobOperation.class))).thenAnswer(inv -> {
+            PendingBlobOperation operation = inv.getArgument(0);
+            ReflectionTestUtils.setField(operation, "id", id);
+            return operation;
+        });
+    }
+
+    private static PendingBlobOperation operation(long id, BlobOperationType type, String key) {
+        PendingBlobOperation operation = new PendingBlobOperation(type, key);
+        ReflectionTestUtils.setField(operation, "id", id);
+        return operation;
+    }
+}
@@ -8,6 +8,7 @@ import click.reelscout.backend.mapper.definition.ConversationMapper;
 import click.reelscout.backend.model.jpa.ChatMessage;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.repository.jpa.ChatMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +16,24 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,6 +55,11 @@ class ChatServiceImplementationTest {
     @InjectMocks
     ChatServiceImplementation service;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+    }
+
     /**
      * Tests that saving a direct message involves mapping the request DTO to an entity,
      * saving it via the repository, and then mapping the saved entity back to a response DTO.
@@ -69,9 +87,7 @@ class ChatServiceImplementationTest {
         // Assert
         // Verify mapping to entity and save
         verify(chatMessageMapper).toEntity(req, "alice");
-        ArgumentCaptor<ChatMessage> savedCaptor = ArgumentCaptor.forClass(ChatMessage.class);
-        verify(repository).save(savedCaptor.capture());
-        assertThat(savedCaptor.getValue()).isSameAs(entity);
+        verify(repository).saveAll(List.of(entity));
 
         // Verify mapping to DTO and returned instance
         verify(chatMessageMapper).toDto(entity);
@@ -80,6 +96,190 @@ class ChatServiceImplementationTest {
         verifyNoMoreInteractions(repository, chatMessageMapper, conversationMapper);
     }
 
+    /**
+     * Tests that messages sent while another save is in progress are saved together,
+     * in batches no larger than the configured size, and that every sender gets its own DTO.
+     */
+    @Test
+    @DisplayName("saveDirectMessage(): messages queued during a save are saved together in bounded batches")
+    void saveDirectMessage_concurrentSenders_batched() throws Exception {
+        Member sender = mock(Member.class);
+        when(sender.getUsername()).thenReturn("alice");
+        when(chatMessageMapper.toEntity(any(), eq("alice"))).thenAnswer(invocation -> new ChatMessage());
+        when(chatMessageMapper.toDto(any())).thenAnswer(invocation -> mock(ChatMessageResponseDTO.class));
+
+        CountDownLatch firstSaveStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSave = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            if (batchSizes.size() == 1) {
+                firstSaveStarted.countDown();
+                releaseFirstSave.await();
+            }
+            return batch;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            Future<ChatMessageResponseDTO> first = executor.submit(() -> service.saveDirectMessage(sender, mock(ChatMessageRequestDTO.class)));
+            firstSaveStarted.await();
+
+            // These senders queue behind the save in progress
+            List<Future<ChatMessageResponseDTO>> queued = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                queued.add(executor.submit(() -> service.saveDirectMessage(sender, mock(ChatMessageRequestDTO.class))));
+            }
+            while (pendingMessageCount() < 5) {
+                Thread.onSpinWait();
+            }
+            releaseFirstSave.countDown();
+
+            assertThat(first.get()).isNotNull();
+            for (Future<ChatMessageResponseDTO> future : queued) {
+                assertThat(future.get()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(batchSizes).containsExactly(1, 2, 2, 1);
+    }
+
+    private int pendingMessageCount() {
+        return ((Collection<?>) ReflectionTestUtils.getField(service, "pendingMessages")).size();
+    }
+
+    /**
+     * Tests that a failed batch save is reported to the sender.
+     */
+    @Test
+    @DisplayName("saveDirectMessage(): a failed save is rethrown to the sender")
+    void saveDirectMessage_saveFails_rethrown() {
+        Member sender = mock(Member.class);
+        when(sender.getUsername()).thenReturn("alice");
+        ChatMessageRequestDTO req = mock(ChatMessageRequestDTO.class);
+        when(chatMessageMapper.toEntity(req, "alice")).thenReturn(new ChatMessage());
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        assertThatThrownBy(() -> service.saveDirectMessage(sender, req))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database down");
+        verify(chatMessageMapper, never()).toDto(any());
+    }
+
+    /**
+     * Tests that when a batch fails, its messages are saved one by one so that only the
+     * rejected message fails its sender, and without the ids assigned by the failed batch.
+     */
+    @Test
+    @DisplayName("saveDirectMessage(): a failed batch only fails the senders of rejected messages")
+    void saveDirectMessage_batchFails_retriedIndividually() throws Exception {
+        Member sender = mock(Member.class);
+        when(sender.getUsername()).thenReturn("alice");
+        ChatMessageRequestDTO firstReq = mock(ChatMessageRequestDTO.class);
+        ChatMessageRequestDTO goodReq = mock(ChatMessageRequestDTO.class);
+        ChatMessageRequestDTO badReq = mock(ChatMessageRequestDTO.class);
+        ChatMessage first = new ChatMessage();
+        ChatMessage good = new ChatMessage();
+        ChatMessage bad = new ChatMessage();
+        when(chatMessageMapper.toEntity(firstReq, "alice")).thenReturn(first);
+        when(chatMessageMapper.toEntity(goodReq, "alice")).thenReturn(good);
+        when(chatMessageMapper.toEntity(badReq, "alice")).thenReturn(bad);
+        when(chatMessageMapper.toDto(any())).thenAnswer(invocation -> mock(ChatMessageResponseDTO.class));
+
+        CountDownLatch firstSaveStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSave = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            if (batch.contains(first)) {
+                firstSaveStarted.countDown();
+                releaseFirstSave.await();
+                return batch;
+            }
+            batch.forEach(message -> message.setId(7L));
+            throw new DataIntegrityViolationException("content too long");
+        });
+        when(repository.save(good)).thenReturn(good);
+        when(repository.save(bad)).thenThrow(new DataIntegrityViolationException("content too long"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<ChatMessageResponseDTO> firstResult = executor.submit(() -> service.saveDirectMessage(sender, firstReq));
+            firstSaveStarted.await();
+            Future<ChatMessageResponseDTO> goodResult = executor.submit(() -> service.saveDirectMessage(sender, goodReq));
+            Future<ChatMessageResponseDTO> badResult = executor.submit(() -> service.saveDirectMessage(sender, badReq));
+            while (pendingMessageCount() < 2) {
+                Thread.onSpinWait();
+            }
+            releaseFirstSave.countDown();
+
+            assertThat(firstResult.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThat(goodResult.get(5, TimeUnit.SECONDS)).isNotNull();
+            assertThatThrownBy(() -> badResult.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(good.getId()).isNull();
+    }
+
+    /**
+     * Tests that an Error thrown while saving a batch still resolves the senders waiting on it,
+     * instead of leaving them blocked forever.
+     */
+    @Test
+    @DisplayName("saveDirectMessage(): an Error during a batch save does not leave senders waiting")
+    void saveDirectMessage_batchThrowsError_sendersReleased() throws Exception {
+        Member sender = mock(Member.class);
+        when(sender.getUsername()).thenReturn("alice");
+        ChatMessageRequestDTO firstReq = mock(ChatMessageRequestDTO.class);
+        ChatMessage first = new ChatMessage();
+        when(chatMessageMapper.toEntity(any(), eq("alice"))).thenAnswer(invocation ->
+                invocation.getArgument(0) == firstReq ? first : new ChatMessage());
+
+        CountDownLatch firstSaveStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstSave = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ChatMessage> batch = invocation.getArgument(0);
+            if (batch.contains(first)) {
+                firstSaveStarted.countDown();
+                releaseFirstSave.await();
+                return batch;
+            }
+            throw new OutOfMemoryError("Java heap space");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<ChatMessageResponseDTO> firstResult = executor.submit(() -> service.saveDirectMessage(sender, firstReq));
+            firstSaveStarted.await();
+            List<Future<ChatMessageResponseDTO>> queued = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                queued.add(executor.submit(() -> service.saveDirectMessage(sender, mock(ChatMessageRequestDTO.class))));
+            }
+            while (pendingMessageCount() < 2) {
+                Thread.onSpinWait();
+            }
+            releaseFirstSave.countDown();
+
+            // The Error reaches the sender whose thread was saving the batch
+            assertThatThrownBy(() -> firstResult.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OutOfMemoryError.class);
+            for (Future<ChatMessageResponseDTO> future : queued) {
+                assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Tests that retrieving direct message history between two users correctly fetches
      * a paginated list of messages from the repository and maps each message entity
@@ -0,0 +1,188 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.response.ContentImportItemResultDTO;
+import click.reelscout.backend.dto.response.ContentImportResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
+import click.reelscout.backend.exception.custom.EntityCreateException;
+import click.reelscout.backend.model.jpa.Content;
+import click.reelscout.backend.model.jpa.ProductionCompany;
+import click.reelscout.backend.service.definition.ContentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ContentImportServiceImplementation}.
+ * Covers streaming NDJSON parsing, per-line validation, chunked creation,
+ * chunk failures, the item limit and the per-line report.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentImportServiceImplementationTest {
+
+    private static ValidatorFactory validatorFactory;
+
+    @Mock private ContentService contentService;
+
+    private final ProductionCompany producer = new ProductionCompany();
+
+    private ContentImportServiceImplementation service;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void tearDownValidator() {
+        validatorFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = validatorFactory.getValidator();
+        service = new ContentImportServiceImplementation(contentService, new ObjectMapper(), validator);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxItems", 10);
+    }
+
+    private static String line(String title) {
+        return "{\"title\":\"" + title + "\",\"description\":\"d\",\"contentType\":\"movie\",\"genres\":[\"action\"],"
+                + "\"actors\":[{\"firstName\":\"A\",\"lastName\":\"B\"}],\"directors\":[{\"firstName\":\"C\",\"lastName\":\"D\"}]}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Answers createAll with consecutive ids, one per DTO of the chunk. */
+    private void stubCreateAllWithIds() {
+        AtomicLong nextId = new AtomicLong(1);
+        when(contentService.createAll(eq(producer), anyList())).thenAnswer(invocation -> {
+            List<ContentRequestDTO> chunk = invocation.getArgument(1);
+            return chunk.stream().map(dto -> nextId.getAndIncrement()).toList();
+        });
+    }
+
+    /**
+     * Tests that valid lines are created in chunks of the configured size and reported with their ids.
+     */
+    @Test
+    @DisplayName("importContents(): creates valid lines in chunks and reports their ids")
+    void importContents_createsInChunks() {
+        stubCreateAllWithIds();
+
+        ContentImportResponseDTO report = service.importContents(producer, ndjson(line("a"), line("b"), "", line("c")));
+
+        assertEquals(3, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertEquals(List.of(1L, 2L, 4L), report.getItems().stream().map(ContentImportItemResultDTO::getLine).toList());
+        assertEquals(List.of(1L, 2L, 3L), report.getItems().stream().map(ContentImportItemResultDTO::getId).toList());
+        verify(contentService, times(2)).createAll(eq(producer), anyList());
+        verify(contentService).createAll(eq(producer), argThat(chunk -> chunk.size() == 2 && chunk.getFirst().getTitle().equals("a")));
+    }
+
+    /**
+     * Tests that malformed and invalid lines are reported without stopping the import.
+     */
+    @Test
+    @DisplayName("importContents(): reports malformed and invalid lines and keeps going")
+    void importContents_reportsInvalidLines() {
+        stubCreateAllWithIds();
+
+        ContentImportResponseDTO report = service.importContents(producer, ndjson("{not json", "{\"title\":\"x\"}", line("ok")));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(2, report.getFailed());
+        List<ContentImportItemResultDTO> items = report.getItems();
+        assertTrue(items.get(0).getError().startsWith("Malformed content"));
+        assertNull(items.get(0).getId());
+        assertTrue(items.get(1).getError().contains("Description is mandatory"));
+        assertEquals(1L, items.get(2).getId());
+        assertNull(items.get(2).getError());
+    }
+
+    /**
+     * Tests that the lines of a failing chunk are created one by one, so that only the rejected line fails.
+     */
+    @Test
+    @DisplayName("importContents(): a failing chunk is retried line by line, failing only the rejected line")
+    void importContents_failingChunk_retriedLineByLine() {
+        AtomicLong nextId = new AtomicLong(7);
+        // The chunk of a and b fails because of a, which the database rejects
+        when(contentService.createAll(eq(producer), anyList())).thenAnswer(invocation -> {
+            List<ContentRequestDTO> chunk = invocation.getArgument(1);
+            if (chunk.stream().anyMatch(dto -> dto.getTitle().equals("a"))) {
+                throw new EntityCreateException(Content.class);
+            }
+            return chunk.stream().map(dto -> nextId.getAndIncrement()).toList();
+        });
+
+        ContentImportResponseDTO report = service.importContents(producer, ndjson(line("a"), line("b"), line("c")));
+
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertTrue(report.getItems().get(0).getError().startsWith("Content not created"));
+        assertNull(report.getItems().get(0).getId());
+        assertEquals(7L, report.getItems().get(1).getId());
+        assertNull(report.getItems().get(1).getError());
+        assertEquals(8L, report.getItems().get(2).getId());
+        verify(contentService, times(4)).createAll(eq(producer), anyList());
+    }
+
+    /**
+     * Tests that reading stops once the item limit is exceeded.
+     */
+    @Test
+    @DisplayName("importContents(): stops reading once the item limit is exceeded")
+    void importContents_limitExceeded_stops() {
+        ReflectionTestUtils.setField(service, "maxItems", 1);
+        stubCreateAllWithIds();
+
+        ContentImportResponseDTO report = service.importContents(producer, ndjson(line("a"), line("b"), line("c")));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(1, report.getFailed());
+        assertEquals(2, report.getItems().size());
+        assertTrue(report.getItems().get(1).getError().startsWith("Import limit of 1 items exceeded"));
+        verify(contentService).createAll(eq(producer), argThat(chunk -> chunk.size() == 1));
+    }
+
+    /**
+     * Tests that a failure to read the body is reported as a validation error.
+     */
+    @Test
+    @DisplayName("importContents(): wraps read failures into DataValidationException")
+    void importContents_readFailure_throws() {
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("connection reset");
+            }
+        };
+
+        assertThrows(DataValidationException.class, () -> service.importContents(producer, broken));
+        verifyNoInteractions(contentService);
+    }
+}
@@ -2,6 +2,8 @@ package click.reelscout.backend.service.implementation;
 
 import click.reelscout.backend.builder.definition.ContentBuilder;
 import click.reelscout.backend.dto.request.ContentRequestDTO;
+import click.reelscout.backend.dto.request.FieldSelection;
+import click.reelscout.backend.dto.response.ContentPageResponseDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.exception.custom.EntityCreateException;
@@ -16,19 +18,38 @@ import click.reelscout.backend.model.jpa.Genre;
 import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.repository.elasticsearch.ContentElasticRepository;
 import click.reelscout.backend.repository.jpa.ContentRepository;
-import click.reelscout.backend.repository.jpa.ContentTypeRepository;
-import click.reelscout.backend.repository.jpa.GenreRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.DictionaryService;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.observer.content.ContentSubject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.AdditionalAnswers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Base64;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,15 +64,27 @@ class ContentServiceImplementationTest {
 
     @Mock private ContentRepository contentRepository;
     @Mock private ContentElasticRepository contentElasticRepository;
-    @Mock private ContentTypeRepository contentTypeRepository;
-    @Mock private GenreRepository genreRepository;
+    @Mock private DictionaryService dictionaryService;
     @Mock private S3Service s3Service;
+    @Mock private ImageService imageService;
+    @Mock private BlobOperationService blobOperationService;
     @Mock private ContentMapper contentMapper;
     @Mock private ContentSubject contentSubject;
+    @Spy private Cache<Long, ContentResponseDTO> contentResponseCache = Caffeine.newBuilder().build();
+    @Mock private ResponseCacheService responseCacheService;
+    @Mock private SearchCacheService searchCacheService;
+    @Mock private SearchIndexService searchIndexService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
 
     @InjectMocks
     private ContentServiceImplementation service;
 
+    @BeforeEach
+    void wireWindowReader() {
+        ReflectionTestUtils.setField(service, "windowReader", new WindowReader(transactionManager, entityManager));
+    }
+
     // --------- helpers ---------
 
     /** Creates a simple DTO with minimal non-null fields for create/update paths. */
@@ -69,11 +102,10 @@ class ContentServiceImplementationTest {
         return dto;
     }
 
-    /** Mocks the genre save-if-missing pipeline to return exactly the input list. */
-    private void stubGenresRoundTrip(List<Genre> input) {
-        when(genreRepository.findAllByNameIgnoreCaseIn(anyList())).thenReturn(List.of())  // first call: existing = []
-                .thenReturn(input);                  // second call: return saved list
-        when(genreRepository.saveAll(anyList())).thenAnswer(AdditionalAnswers.returnsFirstArg());
+    /** Mocks the dictionary to resolve the content type and genres of the DTO to themselves. */
+    private void stubDictionary(ContentRequestDTO dto) {
+        when(dictionaryService.getOrCreateContentType(dto.getContentType())).thenReturn(dto.getContentType());
+        when(dictionaryService.getOrCreateGenres(dto.getGenres())).thenReturn(dto.getGenres());
     }
 
     // --------- create() ---------
@@ -87,17 +119,14 @@ class ContentServiceImplementationTest {
         var producer = mock(ProductionCompany.class);
         var dto = mkDto("base64-img");
 
-        // content type not existing -> saved
-        when(contentTypeRepository.existsByNameIgnoreCase("MOVIE")).thenReturn(false);
-
-        // genres flow
-        stubGenresRoundTrip(dto.getGenres());
+        // content type and genres resolved through the dictionary
+        stubDictionary(dto);
 
         // mapper chain: toEntity -> toBuilder -> genres(...).build()
         Content entityFromDto = mock(Content.class);
         ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
         Content contentToSave = mock(Content.class);
-        when(contentMapper.toEntity(any(ContentRequestDTO.class), any(ProductionCompany.class), any())).thenReturn(entityFromDto);
+        when(contentMapper.toEntity(any(ContentRequestDTO.class), any(ProductionCompany.class), eq("image/abc"))).thenReturn(entityFromDto);
         when(contentMapper.toBuilder(entityFromDto)).thenReturn(builder);
         when(builder.genres(anyList())).thenReturn(builder);
         when(builder.build()).thenReturn(contentToSave);
@@ -113,16 +142,82 @@ class ContentServiceImplementationTest {
         when(contentMapper.toDto(any(Content.class), anyString())).thenReturn(response);
 
         // act
+        when(imageService.replace(null, "base64-img")).thenReturn("image/abc");
+
         ContentResponseDTO res = service.create(producer, dto);
 
         // assert
         assertSame(response, res);
-        verify(contentTypeRepository).save(dto.getContentType());
+        verify(dictionaryService).getOrCreateContentType(dto.getContentType());
         verify(contentElasticRepository).save(doc);
-        verify(s3Service).uploadFile(startsWith("content/"), eq("base64-img"));
+        verify(searchIndexService).recordChanges(ContentDoc.class, List.of(doc.getId()));
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        verify(imageService).replace(null, "base64-img");
         verify(contentSubject).notifyContentCreated(response);
     }
 
+    /**
+     * Tests creating several contents: images, content types and genres resolved per item,
+     * one saveAll and one bulk index request, ids returned in input order, no notifications.
+     */
+    @Test
+    @DisplayName("createAll(): saves all contents at once, indexes them in bulk and returns their ids")
+    void createAll_savesAndIndexesInBulk() {
+        var producer = mock(ProductionCompany.class);
+        var first = mkDto("img-1");
+        var second = mkDto(null);
+        stubDictionary(first);
+        stubDictionary(second);
+
+        when(imageService.replace(null, "img-1")).thenReturn("image/1");
+        when(imageService.replace(null, (String) null)).thenReturn(null);
+
+        ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
+        doReturn(builder).when(contentMapper).toBuilder(any());
+        Content built1 = mock(Content.class);
+        Content built2 = mock(Content.class);
+        when(builder.build()).thenReturn(built1, built2);
+
+        Content saved1 = mock(Content.class);
+        Content saved2 = mock(Content.class);
+        when(saved1.getId()).thenReturn(11L);
+        when(saved2.getId()).thenReturn(12L);
+        when(contentRepository.saveAll(List.of(built1, built2))).thenReturn(List.of(saved1, saved2));
+        ContentDoc doc1 = mock(ContentDoc.class);
+        ContentDoc doc2 = mock(ContentDoc.class);
+        when(contentMapper.toDoc(saved1)).thenReturn(doc1);
+        when(contentMapper.toDoc(saved2)).thenReturn(doc2);
+
+        List<Long> ids = service.createAll(producer, List.of(first, second));
+
+        assertEquals(List.of(11L, 12L), ids);
+        verify(contentMapper).toEntity(first, producer, "image/1");
+        verify(contentMapper).toEntity(second, producer, null);
+        verify(contentElasticRepository).saveAll(List.of(doc1, doc2));
+        verify(searchIndexService).recordChanges(ContentDoc.class, List.of(doc1.getId(), doc2.getId()));
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        verify(contentRepository, never()).save(any());
+        verifyNoInteractions(contentSubject);
+    }
+
+    /**
+     * Tests that a failure while saving a batch is wrapped into EntityCreateException.
+     */
+    @Test
+    @DisplayName("createAll(): wraps save failures into EntityCreateException")
+    void createAll_wrapsInEntityCreateException() {
+        var producer = mock(ProductionCompany.class);
+        var dto = mkDto(null);
+        stubDictionary(dto);
+
+        ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
+        doReturn(builder).when(contentMapper).toBuilder(any());
+        when(contentRepository.saveAll(anyList())).thenThrow(new RuntimeException("boom"));
+
+        assertThrows(EntityCreateException.class, () -> service.createAll(producer, List.of(dto)));
+        verify(contentElasticRepository, never()).saveAll(any());
+    }
+
     /**
      * Tests that any exception during creation is wrapped into EntityCreateException.
      */
@@ -132,8 +227,7 @@ class ContentServiceImplementationTest {
         var producer = mock(ProductionCompany.class);
         var dto = mkDto("img");
 
-        when(contentTypeRepository.existsByNameIgnoreCase("MOVIE")).thenReturn(true);
-        stubGenresRoundTrip(dto.getGenres());
+        stubDictionary(dto);
 
         // make mapper throw inside try block
         when(contentMapper.toEntity(any(), any(), any())).thenThrow(new RuntimeException("boom"));
@@ -162,11 +256,8 @@ class ContentServiceImplementationTest {
         when(existing.getProductionCompany()).thenReturn(producer);
         when(contentRepository.findById(id)).thenReturn(Optional.of(existing));
 
-        // content type exists (or is saved)
-        when(contentTypeRepository.existsByNameIgnoreCase("MOVIE")).thenReturn(true);
-
-        // genres
-        stubGenresRoundTrip(dto.getGenres());
+        // content type and genres
+        stubDictionary(dto);
 
         // builder chain from existing
         ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
@@ -183,13 +274,63 @@ class ContentServiceImplementationTest {
         ContentResponseDTO response = new ContentResponseDTO();
         when(contentMapper.toDto(any(Content.class), anyString())).thenReturn(response);
 
+        // the new image replaces the old one
+        when(imageService.replace("old/key", "new-base64")).thenReturn("image/new");
+
+        contentResponseCache.put(id, new ContentResponseDTO());
+
         // act
         ContentResponseDTO res = service.update(producer, id, dto);
 
         // assert
         assertSame(response, res);
-        verify(s3Service).uploadFile("old/key", "new-base64");
+        verify(contentMapper).toEntity(dto, producer, "image/new");
         verify(contentElasticRepository).save(doc);
+        verify(searchIndexService).recordChanges(ContentDoc.class, List.of(doc.getId()));
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        assertNull(contentResponseCache.getIfPresent(id), "the cached response must be dropped");
+        verify(responseCacheService).invalidate(ResponseCacheService.contentKeys(id));
+    }
+
+    /**
+     * Tests updating existing content with an image uploaded as a raw multipart file.
+     * Verifies that the file replaces the current image, its key is stored on the content
+     * and the response carries the uploaded image.
+     */
+    @Test
+    @DisplayName("update(): with multipart image -> stores the file and references its key")
+    void update_withImageFile_uploadsFile() {
+        var producer = mock(ProductionCompany.class);
+        var dto = mkDto(null);
+        Long id = 42L;
+        MultipartFile image = new MockMultipartFile("image", "poster.png", "image/png", new byte[]{1, 2, 3});
+
+        Content existing = mock(Content.class);
+        when(existing.getS3ImageKey()).thenReturn("old/key");
+        when(existing.getProductionCompany()).thenReturn(producer);
+        when(contentRepository.findById(id)).thenReturn(Optional.of(existing));
+        stubDictionary(dto);
+
+        ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
+        doReturn(builder).when(contentMapper).toBuilder(any());
+        Content updated = mock(Content.class);
+        when(builder.build()).thenReturn(updated);
+        Content saved = mock(Content.class);
+        when(contentRepository.save(updated)).thenReturn(saved);
+        ContentDoc doc = new ContentDoc();
+        doc.setId(id);
+        when(contentMapper.toDoc(saved)).thenReturn(doc);
+
+        ContentResponseDTO response = new ContentResponseDTO();
+        when(contentMapper.toDto(updated, Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}))).thenReturn(response);
+
+        when(imageService.replace("old/key", image)).thenReturn("image/new");
+
+        ContentResponseDTO res = service.update(producer, id, dto, image);
+
+        assertSame(response, res);
+        verify(contentMapper).toEntity(dto, producer, "image/new");
+        verify(imageService, never()).replace(any(), nullable(String.class));
     }
 
     /**
@@ -224,8 +365,7 @@ class ContentServiceImplementationTest {
         when(existing.getS3ImageKey()).thenReturn(null);
         when(existing.getProductionCompany()).thenReturn(producer);
 
-        when(contentTypeRepository.existsByNameIgnoreCase("MOVIE")).thenReturn(true);
-        stubGenresRoundTrip(dto.getGenres());
+        stubDictionary(dto);
 
         ContentBuilder builder = mock(ContentBuilder.class, RETURNS_SELF);
         doReturn(builder).when(contentMapper).toBuilder(any());        Content updated = mock(Content.class);
@@ -241,72 +381,299 @@ class ContentServiceImplementationTest {
 
     // --------- reads ---------
 
+    /** Creates a content mock mapped to a response with the given id and image. */
+    private Content mkStreamedContent(Long id, String imageKey) {
+        Content content = mock(Content.class);
+
+        ContentResponseDTO response = new ContentResponseDTO();
+        response.setId(id);
+        response.setImageKey(imageKey);
+        when(contentMapper.toDto(content, null, FieldSelection.ALL)).thenReturn(response);
+
+        return content;
+    }
+
     /**
-     * Tests fetching all content, ensuring each entity is mapped to a DTO with its image loaded from S3.
+     * Tests streaming all content: windows are loaded one after the other, each in its own
+     * transaction, mapped and detached, and their images loaded from S3 once the transaction is over.
      */
     @Test
-    @DisplayName("getAll(): maps each entity to DTO with image loaded from S3")
-    void getAll_mapsToDto() {
+    @DisplayName("streamAll(): hands out each window, mapped and detached, until a window is not full")
+    void streamAll_mapsWindowByWindow() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 2);
+        Content c1 = mkStreamedContent(1L, "k1");
+        Content c2 = mkStreamedContent(2L, "k2");
+        Content c3 = mkStreamedContent(5L, "k3");
+
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(c1, c2));
+        when(contentRepository.findWindow(2L, Limit.of(2))).thenReturn(List.of(c3));
+        when(s3Service.getFiles(List.of("k1", "k2"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k1", "img1", "k2", "img2"));
+        when(s3Service.getFiles(List.of("k3"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k3", "img3"));
+
+        List<ContentResponseDTO> handedOut = new ArrayList<>();
+        service.streamAll(ImageMode.INLINE, FieldSelection.ALL, handedOut::add);
+
+        assertEquals(List.of(1L, 2L, 5L), handedOut.stream().map(ContentResponseDTO::getId).toList());
+        assertEquals(List.of("img1", "img2", "img3"), handedOut.stream().map(ContentResponseDTO::getBase64Image).toList());
+        verify(contentRepository, times(2)).findWindow(anyLong(), any());
+        InOrder inOrder = inOrder(transactionManager, s3Service);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(s3Service).getFiles(List.of("k1", "k2"), ImageMode.INLINE, ImageVariant.THUMBNAIL);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(s3Service).getFiles(List.of("k3"), ImageMode.INLINE, ImageVariant.THUMBNAIL);
+        verify(entityManager).detach(c1);
+        verify(entityManager).detach(c2);
+        verify(entityManager).detach(c3);
+    }
+
+    /**
+     * Tests that the windows are loaded lazily: each window is handed out before the next one is loaded.
+     */
+    @Test
+    @DisplayName("streamAll(): the next window is loaded only once the previous one is handed out")
+    void streamAll_handsOutBeforeLoadingNextWindow() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 1);
+        Content c1 = mkStreamedContent(1L, "k1");
+
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(1))).thenReturn(List.of(c1));
+        when(contentRepository.findWindow(1L, Limit.of(1))).thenReturn(List.of());
+
+        service.streamAll(ImageMode.REFERENCE, FieldSelection.ALL, dto -> verify(contentRepository, never()).findWindow(eq(1L), any()));
+
+        verify(contentRepository).findWindow(1L, Limit.of(1));
+    }
+
+    /** Creates a content mock mapped to a response without image, as cached by the service. */
+    private Content mkCachedContent(Long id, String imageKey) {
+        Content content = mock(Content.class);
+        when(content.getId()).thenReturn(id);
+
+        ContentResponseDTO response = new ContentResponseDTO(id, "t" + id, "d", null, List.of(), List.of(), List.of(), null, null, 7L, "pc");
+        response.setImageKey(imageKey);
+        when(contentMapper.toDto(content, null)).thenReturn(response);
+
+        return content;
+    }
+
+    /**
+     * Tests that a multi-get loads every requested content with a single query and their
+     * images with a single batched fetch, and returns them in the requested order.
+     */
+    @Test
+    @DisplayName("getAllById(): one query and one image batch, in request order, skipping missing ids")
+    void getAllById_loadsTogetherInRequestOrder() {
+        Content c1 = mkCachedContent(1L, "k1");
+        Content c2 = mkCachedContent(2L, "k2");
+        when(contentRepository.findAllById(anyList())).thenReturn(List.of(c1, c2));
+        when(s3Service.getFiles(List.of("k2", "k1"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k1", "img1", "k2", "img2"));
+
+        List<ContentResponseDTO> result = service.getAllById(List.of(2L, 3L, 1L, 2L), ImageMode.INLINE);
+
+        assertEquals(List.of(2L, 1L), result.stream().map(ContentResponseDTO::getId).toList());
+        assertEquals(List.of("img2", "img1"), result.stream().map(ContentResponseDTO::getBase64Image).toList());
+        verify(contentRepository).findAllById(argThat(ids -> ids instanceof List<Long> list && list.size() == 3 && list.containsAll(List.of(1L, 2L, 3L))));
+        verify(s3Service).getFiles(anyCollection(), eq(ImageMode.INLINE), eq(ImageVariant.THUMBNAIL));
+    }
+
+    /**
+     * Tests that responses assembled once are served from the cache afterwards, that only
+     * the ids missing from it are loaded, and that cached responses are never handed out.
+     */
+    @Test
+    @DisplayName("getAllById(): cached responses are reused and left untouched")
+    void getAllById_reusesCachedResponses() {
+        Content c1 = mkCachedContent(1L, "k1");
+        Content c2 = mkCachedContent(2L, "k2");
+        when(contentRepository.findAllById(List.of(1L))).thenReturn(List.of(c1));
+        when(contentRepository.findAllById(List.of(2L))).thenReturn(List.of(c2));
+        when(s3Service.getFiles(anyCollection(), eq(ImageMode.INLINE), eq(ImageVariant.THUMBNAIL))).thenReturn(Map.of("k1", "img1", "k2", "img2"));
+
+        service.getAllById(List.of(1L), ImageMode.INLINE);
+        List<ContentResponseDTO> result = service.getAllById(List.of(1L, 2L), ImageMode.INLINE);
+
+        assertEquals(2, result.size());
+        verify(contentRepository).findAllById(List.of(1L));
+        verify(contentRepository).findAllById(List.of(2L));
+        verifyNoMoreInteractions(contentRepository);
+
+        ContentResponseDTO cached = contentResponseCache.getIfPresent(1L);
+        assertNotSame(cached, result.getFirst());
+        assertNull(cached.getBase64Image(), "images are not kept in the response cache");
+        assertEquals("k1", result.getFirst().getImageKey());
+    }
+
+    /**
+     * Tests that a single content is returned with its original image.
+     */
+    @Test
+    @DisplayName("getById(): returns the content with its original image")
+    void getById_returnsDtoWithOriginalImage() {
+        Content c = mkCachedContent(4L, "k4");
+        when(contentRepository.findAllById(List.of(4L))).thenReturn(List.of(c));
+        when(s3Service.getFiles(List.of("k4"), ImageMode.INLINE, ImageVariant.ORIGINAL)).thenReturn(Map.of("k4", "full"));
+
+        ContentResponseDTO result = service.getById(4L, ImageMode.INLINE);
+
+        assertEquals(4L, result.getId());
+        assertEquals("full", result.getBase64Image());
+    }
+
+    /**
+     * Tests that requesting a missing content throws EntityNotFoundException, and that the
+     * miss is not cached.
+     */
+    @Test
+    @DisplayName("getById(): missing content throws EntityNotFoundException")
+    void getById_missing_throws() {
+        when(contentRepository.findAllById(List.of(4L))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> service.getById(4L, ImageMode.REFERENCE));
+        assertNull(contentResponseCache.getIfPresent(4L));
+    }
+
+    /**
+     * Tests that the catalog version is read from the repository without loading any content,
+     * and changes with the uploads still pending.
+     */
+    @Test
+    @DisplayName("getAllVersion(): returns the catalog and pending uploads versions without loading content")
+    void getAllVersion_returnsRepositoryVersion() {
+        when(contentRepository.findCatalogVersion()).thenReturn("2-7-3-1");
+        when(blobOperationService.getPendingUploadsVersion()).thenReturn("1-40");
+
+        assertEquals("2-7-3-1-1-40", service.getAllVersion());
+        verify(contentRepository, never()).findAll();
+    }
+
+    /**
+     * Tests that the first catalog page starts at the newest content and reports the cursor of the next page.
+     */
+    @Test
+    @DisplayName("getCatalog(): first page -> seeks from the top and returns next cursor")
+    void getCatalog_firstPage_returnsNextCursor() {
         Content c1 = mock(Content.class);
         Content c2 = mock(Content.class);
-
+        Content extra = mock(Content.class);
         when(c1.getS3ImageKey()).thenReturn("k1");
         when(c2.getS3ImageKey()).thenReturn("k2");
+        when(c2.getId()).thenReturn(41L);
 
-        when(contentRepository.findAll()).thenReturn(List.of(c1, c2));
-        when(s3Service.getFile("k1")).thenReturn("img1");
-        when(s3Service.getFile("k2")).thenReturn("img2");
+        when(contentRepository.findCatalogPage(Long.MAX_VALUE, null, null, Limit.of(3))).thenReturn(List.of(c1, c2, extra));
+        when(s3Service.getFiles(List.of("k1", "k2"), ImageMode.REFERENCE, ImageVariant.THUMBNAIL)).thenReturn(Map.of());
 
         ContentResponseDTO d1 = new ContentResponseDTO();
         ContentResponseDTO d2 = new ContentResponseDTO();
-        when(contentMapper.toDto(c1, "img1")).thenReturn(d1);
-        when(contentMapper.toDto(c2, "img2")).thenReturn(d2);
+        when(contentMapper.toDto(c1, null, FieldSelection.ALL)).thenReturn(d1);
+        when(contentMapper.toDto(c2, null, FieldSelection.ALL)).thenReturn(d2);
 
-        List<ContentResponseDTO> result = service.getAll();
+        ContentPageResponseDTO result = service.getCatalog(null, 2, null, " ", ImageMode.REFERENCE, FieldSelection.ALL);
 
-        assertEquals(2, result.size());
-        assertSame(d1, result.get(0));
-        assertSame(d2, result.get(1));
+        assertEquals(List.of(d1, d2), result.getContent());
+        assertEquals(41L, result.getNextCursor());
+        verify(contentMapper, never()).toDto(eq(extra), any(), any());
     }
 
     /**
-     * Tests fetching content types from the repository and returning their names.
+     * Tests that the last catalog page has no next cursor and that filters are normalized to stored names.
      */
     @Test
-    @DisplayName("getContentTypes(): returns names from repository")
+    @DisplayName("getCatalog(): last page with filters -> no next cursor")
+    void getCatalog_lastPage_hasNoNextCursor() {
+        Content c = mock(Content.class);
+        when(c.getS3ImageKey()).thenReturn("k");
+        when(contentRepository.findCatalogPage(41L, "MOVIE", "ACTION", Limit.of(3))).thenReturn(List.of(c));
+        when(s3Service.getFiles(List.of("k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k", "img"));
+        ContentResponseDTO dto = new ContentResponseDTO();
+        when(contentMapper.toDto(c, "img", FieldSelection.ALL)).thenReturn(dto);
+
+        ContentPageResponseDTO result = service.getCatalog(41L, 2, "action", "Movie", ImageMode.INLINE, FieldSelection.ALL);
+
+        assertEquals(List.of(dto), result.getContent());
+        assertNull(result.getNextCursor());
+    }
+
+    /**
+     * Tests fetching content type names from the dictionary.
+     */
+    @Test
+    @DisplayName("getContentTypes(): returns names from the dictionary")
     void getContentTypes_returnsNames() {
-        when(contentTypeRepository.findAll()).thenReturn(List.of(new ContentType("MOVIE"), new ContentType("SERIES")));
+        when(dictionaryService.getContentTypeNames()).thenReturn(List.of("MOVIE", "SERIES"));
         assertEquals(List.of("MOVIE", "SERIES"), service.getContentTypes());
     }
 
     /**
-     * Tests fetching genres from the repository and returning their names.
+     * Tests fetching genre names from the dictionary.
      */
     @Test
-    @DisplayName("getGenres(): returns names from repository")
+    @DisplayName("getGenres(): returns names from the dictionary")
     void getGenres_returnsNames() {
-        when(genreRepository.findAll()).thenReturn(List.of(new Genre("ACTION"), new Genre("DRAMA")));
+        when(dictionaryService.getGenreNames()).thenReturn(List.of("ACTION", "DRAMA"));
         assertEquals(List.of("ACTION", "DRAMA"), service.getGenres());
     }
 
     /**
-     * Tests fetching content by production company, ensuring each entity is mapped to a DTO with its image loaded from S3.
+     * Tests streaming content by production company, ensuring each entity is mapped to a DTO with its image loaded from S3.
      */
     @Test
-    @DisplayName("getByProductionCompany(): maps to DTO with S3 file")
-    void getByProductionCompany_mapsToDto() {
+    @DisplayName("streamByProductionCompany(): maps to DTO with S3 file")
+    void streamByProductionCompany_mapsToDto() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 100);
         var pc = mock(ProductionCompany.class);
+        Content c = mkStreamedContent(3L, "k");
+        when(contentRepository.findWindowByProductionCompany(pc, Long.MIN_VALUE, Limit.of(100))).thenReturn(List.of(c));
+        when(s3Service.getFiles(List.of("k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k", "img"));
+
+        List<ContentResponseDTO> result = new ArrayList<>();
+        service.streamByProductionCompany(pc, ImageMode.INLINE, FieldSelection.ALL, result::add);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.getFirst().getId());
+        assertEquals("img", result.getFirst().getBase64Image());
+        verify(contentRepository).findWindowByProductionCompany(any(), anyLong(), any());
+        verify(entityManager).detach(c);
+    }
+
+    /**
+     * Tests that in reference mode no image is downloaded and DTOs are mapped without Base64 content.
+     */
+    @Test
+    @DisplayName("streamAll(): reference mode maps DTOs without downloading images")
+    void streamAll_referenceMode_skipsImageDownload() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 100);
+        Content c = mkStreamedContent(1L, "k");
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(100))).thenReturn(List.of(c));
+
+        List<ContentResponseDTO> result = new ArrayList<>();
+        service.streamAll(ImageMode.REFERENCE, FieldSelection.ALL, result::add);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.getFirst().getId());
+        assertNull(result.getFirst().getBase64Image());
+        verify(s3Service).getFiles(List.of("k"), ImageMode.REFERENCE, ImageVariant.THUMBNAIL);
+        verify(s3Service, never()).getFile("k");
+    }
+
+    /**
+     * Tests that a sparse fieldset without the image downloads no image and is handed to the mapper.
+     */
+    @Test
+    @DisplayName("streamAll(): fields without the image skip the image download")
+    void streamAll_fieldsWithoutImage_skipImageDownload() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 100);
+        FieldSelection fields = FieldSelection.parse("title");
         Content c = mock(Content.class);
-        when(contentRepository.findAllByProductionCompany(pc)).thenReturn(List.of(c));
-        when(c.getS3ImageKey()).thenReturn("k");
-        when(s3Service.getFile("k")).thenReturn("img");
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(100))).thenReturn(List.of(c));
         ContentResponseDTO dto = new ContentResponseDTO();
-        when(contentMapper.toDto(c, "img")).thenReturn(dto);
+        dto.setId(1L);
+        dto.setImageKey("k");
+        when(contentMapper.toDto(c, null, fields)).thenReturn(dto);
 
-        List<ContentResponseDTO> result = service.getByProductionCompany(pc);
+        List<ContentResponseDTO> result = new ArrayList<>();
+        service.streamAll(ImageMode.INLINE, fields, result::add);
 
-        assertEquals(1, result.size());
-        assertSame(dto, result.getFirst());
+        assertEquals(List.of(dto), result);
+        verify(s3Service).getFiles(List.of("k"), ImageMode.REFERENCE, ImageVariant.THUMBNAIL);
     }
 
     // --------- delete() ---------
@@ -344,12 +711,18 @@ class ContentServiceImplementationTest {
         when(c.getProductionCompany()).thenReturn(pc);
         when(c.getS3ImageKey()).thenReturn("k");
         when(contentRepository.findById(5L)).thenReturn(Optional.of(c));
+        contentResponseCache.put(5L, new ContentResponseDTO());
 
         CustomResponseDTO res = service.delete(pc, 5L);
 
         assertEquals("Content deleted successfully", res.getMessage());
         verify(contentRepository).delete(c);
-        verify(s3Service).deleteFile("k");
+        verify(contentElasticRepository).deleteById(5L);
+        verify(searchIndexService).recordChanges(ContentDoc.class, List.of(5L));
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        verify(imageService).release("k");
+        assertNull(contentResponseCache.getIfPresent(5L), "the cached response must be dropped");
+        verify(responseCacheService).invalidate(ResponseCacheService.contentKeys(5L));
     }
 
     /**
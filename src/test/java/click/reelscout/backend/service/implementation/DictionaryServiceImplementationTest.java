@@ -0,0 +1,195 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.model.jpa.ContentType;
+import click.reelscout.backend.model.jpa.Genre;
+import click.reelscout.backend.repository.jpa.ContentTypeRepository;
+import click.reelscout.backend.repository.jpa.GenreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link DictionaryServiceImplementation}.
+ * Covers loading and periodic reloading, case-normalized resolution without round trips for known names,
+ * write-through insertion in its own transaction, and concurrent insertion races.
+ */
+@ExtendWith(MockitoExtension.class)
+class DictionaryServiceImplementationTest {
+
+    @Mock private GenreRepository genreRepository;
+    @Mock private ContentTypeRepository contentTypeRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private ResponseCacheService responseCacheService;
+
+    private DictionaryServiceImplementation service;
+
+    private final Genre action = new Genre(1L, "ACTION");
+    private final Genre drama = new Genre(2L, "DRAMA");
+    private final ContentType movie = new ContentType("MOVIE");
+
+    @BeforeEach
+    void setUp() {
+        service = new DictionaryServiceImplementation(genreRepository, contentTypeRepository, transactionManager, responseCacheService);
+
+        when(genreRepository.findAll()).thenReturn(List.of(drama, action));
+        when(contentTypeRepository.findAll()).thenReturn(List.of(movie));
+        service.load();
+        clearInvocations(genreRepository, contentTypeRepository, responseCacheService);
+    }
+
+    /**
+     * Tests that known genres are resolved case-insensitively and without duplicates from memory.
+     */
+    @Test
+    @DisplayName("getOrCreateGenres(): resolves known genres without touching the database")
+    void getOrCreateGenres_known_noRoundTrip() {
+        List<Genre> resolved = service.getOrCreateGenres(List.of(new Genre("action"), new Genre("Drama"), new Genre("ACTION")));
+
+        assertEquals(List.of(action, drama), resolved);
+        verifyNoInteractions(responseCacheService);
+        assertSame(action, resolved.getFirst());
+        verifyNoInteractions(genreRepository, transactionManager);
+    }
+
+    /**
+     * Tests that an unknown genre is looked up, inserted in a new transaction and then remembered.
+     */
+    @Test
+    @DisplayName("getOrCreateGenres(): inserts unknown genres in their own transaction once")
+    void getOrCreateGenres_unknown_insertedOnce() {
+        Genre comedy = new Genre(3L, "COMEDY");
+        when(genreRepository.findAllByNameIgnoreCaseIn(List.of("COMEDY"))).thenReturn(List.of());
+        when(genreRepository.save(any(Genre.class))).thenReturn(comedy);
+
+        assertEquals(List.of(action, comedy), service.getOrCreateGenres(List.of(new Genre("action"), new Genre("comedy"))));
+        assertEquals(List.of(comedy), service.getOrCreateGenres(List.of(new Genre("Comedy"))));
+
+        verify(genreRepository, times(1)).save(argThat(genre -> genre.getName().equals("COMEDY")));
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+        // The cached list of genres is dropped once, when the genre becomes known
+        verify(responseCacheService, times(1)).invalidate(ResponseCacheService.genresKey());
+    }
+
+    /**
+     * Tests that a genre inserted by another node since startup is picked up without inserting.
+     */
+    @Test
+    @DisplayName("getOrCreateGenres(): picks up genres inserted elsewhere since startup")
+    void getOrCreateGenres_insertedElsewhere_reused() {
+        Genre comedy = new Genre(3L, "COMEDY");
+        when(genreRepository.findAllByNameIgnoreCaseIn(List.of("COMEDY"))).thenReturn(List.of(comedy));
+
+        assertEquals(List.of(comedy), service.getOrCreateGenres(List.of(new Genre("comedy"))));
+        verify(genreRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that losing an insertion race re-reads the row inserted by the winner.
+     */
+    @Test
+    @DisplayName("getOrCreateGenres(): re-reads the genre when a concurrent insert wins")
+    void getOrCreateGenres_concurrentInsert_reRead() {
+        Genre comedy = new Genre(3L, "COMEDY");
+        when(genreRepository.findAllByNameIgnoreCaseIn(List.of("COMEDY")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(comedy));
+        when(genreRepository.save(any(Genre.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertEquals(List.of(comedy), service.getOrCreateGenres(List.of(new Genre("comedy"))));
+        verify(transactionManager).rollback(any());
+    }
+
+    /**
+     * Tests that lookups which must not create anything skip unknown genres.
+     */
+    @Test
+    @DisplayName("findGenres(): skips unknown genres and never inserts")
+    void findGenres_unknown_skipped() {
+        when(genreRepository.findAllByNameIgnoreCaseIn(List.of("UNKNOWN"))).thenReturn(List.of());
+
+        assertEquals(List.of(drama), service.findGenres(List.of(new Genre("unknown"), new Genre("drama"))));
+        verify(genreRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that a known content type is resolved from memory and an unknown one is inserted.
+     */
+    @Test
+    @DisplayName("getOrCreateContentType(): resolves known types from memory and inserts unknown ones")
+    void getOrCreateContentType_knownAndUnknown() {
+        assertSame(movie, service.getOrCreateContentType(new ContentType("movie")));
+        verifyNoInteractions(contentTypeRepository);
+
+        ContentType series = new ContentType("SERIES");
+        when(contentTypeRepository.findById("SERIES")).thenReturn(Optional.empty());
+        when(contentTypeRepository.save(any(ContentType.class))).thenReturn(series);
+
+        assertSame(series, service.getOrCreateContentType(new ContentType("series")));
+        assertSame(series, service.getOrCreateContentType(new ContentType("Series")));
+        verify(contentTypeRepository, times(1)).save(any(ContentType.class));
+    }
+
+    /**
+     * Tests that the names are listed in alphabetical order, including later insertions.
+     */
+    @Test
+    @DisplayName("getGenreNames()/getContentTypeNames(): list known names alphabetically")
+    void names_sorted() {
+        when(contentTypeRepository.findById("SERIES")).thenReturn(Optional.of(new ContentType("SERIES")));
+        service.getOrCreateContentType(new ContentType("series"));
+
+        assertEquals(List.of("ACTION", "DRAMA"), service.getGenreNames());
+        assertEquals(List.of("MOVIE", "SERIES"), service.getContentTypeNames());
+    }
+
+    /**
+     * Tests that reloading picks up names inserted and drops names deleted through other nodes,
+     * dropping the cached name lists only when they changed.
+     */
+    @Test
+    @DisplayName("load(): reload picks up insertions and deletions made elsewhere")
+    void load_reload_syncsWithDatabase() {
+        when(genreRepository.findAll()).thenReturn(List.of(action, new Genre(3L, "COMEDY")));
+        when(contentTypeRepository.findAll()).thenReturn(List.of(movie));
+
+        service.load();
+
+        assertEquals(List.of("ACTION", "COMEDY"), service.getGenreNames());
+        assertEquals(List.of("MOVIE"), service.getContentTypeNames());
+        verify(responseCacheService).invalidate(ResponseCacheService.genresKey());
+        verify(responseCacheService, never()).invalidate(ResponseCacheService.contentTypesKey());
+    }
+
+    /**
+     * Tests that a genre whose insertion fails to commit is never remembered.
+     */
+    @Test
+    @DisplayName("getOrCreateGenres(): does not remember a genre whose insertion is rolled back")
+    void getOrCreateGenres_insertRolledBack_notRemembered() {
+        when(genreRepository.findAllByNameIgnoreCaseIn(List.of("COMEDY"))).thenReturn(List.of());
+        when(genreRepository.save(any(Genre.class))).thenReturn(new Genre(3L, "COMEDY"));
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> service.getOrCreateGenres(List.of(new Genre("comedy"))));
+
+        assertEquals(List.of("ACTION", "DRAMA"), service.getGenreNames());
+        verifyNoInteractions(responseCacheService);
+    }
+}
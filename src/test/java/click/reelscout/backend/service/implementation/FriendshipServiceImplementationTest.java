@@ -15,6 +15,7 @@ import click.reelscout.backend.model.jpa.FriendshipStatus;
 import click.reelscout.backend.model.jpa.Member;
 import click.reelscout.backend.repository.jpa.FriendshipRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -26,6 +27,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -519,9 +521,8 @@ class FriendshipServiceImplementationTest {
             String fileMe = "file-1";
             String fileA  = "file-2";
             String fileB  = "file-3";
-            when(s3Service.getFile("img-1")).thenReturn(fileMe);
-            when(s3Service.getFile("img-2")).thenReturn(fileA);
-            when(s3Service.getFile("img-3")).thenReturn(fileB);
+            when(s3Service.getFiles(List.of("img-1", "img-2", "img-3", "img-1"), ImageVariant.THUMBNAIL))
+                    .thenReturn(Map.of("img-1", fileMe, "img-2", fileA, "img-3", fileB));
 
             MemberResponseDTO meDto = mock(MemberResponseDTO.class);
             MemberResponseDTO aDto  = mock(MemberResponseDTO.class);
@@ -548,15 +549,15 @@ class FriendshipServiceImplementationTest {
             inOrder.verify(friendshipRepository).findByRequesterAndStatus(me, FriendshipStatus.ACCEPTED);
             inOrder.verify(friendshipRepository).findByAddresseeAndStatus(me, FriendshipStatus.ACCEPTED);
 
+            // images of both friendships are loaded in a single batch
+            verify(s3Service).getFiles(List.of("img-1", "img-2", "img-3", "img-1"), ImageVariant.THUMBNAIL);
+
             // f1 mapping
-            verify(s3Service, times(2)).getFile("img-1");
-            verify(s3Service).getFile("img-2");
             verify(memberMapper, times(2)).toDto(me, fileMe);
             verify(memberMapper).toDto(a, fileA);
             verify(friendshipMapper).toDto(f1, meDto, aDto);
 
             // f2 mapping
-            verify(s3Service).getFile("img-3");
             verify(memberMapper).toDto(b, fileB);
             verify(friendshipMapper).toDto(f2, bDto, meDto);
 
@@ -586,7 +587,7 @@ class FriendshipServiceImplementationTest {
             // (If you prefer, replicate the full mapping like in getFriends test.)
             when(friendshipMapper.toDto(any(), any(), any())).thenReturn(r1, r2);
             when(memberMapper.toDto(any(), any())).thenReturn(mock(MemberResponseDTO.class));
-            when(s3Service.getFile(any())).thenReturn("file");
+            when(s3Service.getFiles(anyList(), eq(ImageVariant.THUMBNAIL))).thenReturn(Map.of());
 
             // Act
             List<FriendshipResponseDTO> result = service.getIncomingRequests(me);
@@ -612,7 +613,7 @@ class FriendshipServiceImplementationTest {
             FriendshipResponseDTO r1 = mock(FriendshipResponseDTO.class);
             when(friendshipMapper.toDto(any(), any(), any())).thenReturn(r1);
             when(memberMapper.toDto(any(), any())).thenReturn(mock(MemberResponseDTO.class));
-            when(s3Service.getFile(any())).thenReturn("file");
+            when(s3Service.getFiles(anyList(), eq(ImageVariant.THUMBNAIL))).thenReturn(Map.of());
 
             // Act
             List<FriendshipResponseDTO> result = service.getOutgoingRequests(me);
@@ -0,0 +1,164 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.jpa.StoredImage;
+import click.reelscout.backend.repository.jpa.StoredImageRepository;
+import click.reelscout.backend.s3.S3Service;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ImageServiceImplementation}.
+ * Covers content-addressed storage, deduplication and reference counting;
+ * the blob store changes themselves are only scheduled.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImageServiceImplementationTest {
+
+    @Mock private S3Service s3Service;
+    @Mock private StoredImageRepository storedImageRepository;
+    @Mock private BlobOperationService blobOperationService;
+
+    @InjectMocks
+    private ImageServiceImplementation service;
+
+    /**
+     * Tests that a new image is uploaded under its hash and counted once.
+     */
+    @Test
+    @DisplayName("replace(): new image -> schedules upload under content hash and creates reference count")
+    void replace_newImage_uploadsAndCounts() {
+        when(s3Service.contentHash("b64")).thenReturn("abc");
+        when(storedImageRepository.addReference("image/abc")).thenReturn(1);
+
+        String key = service.replace(null, "b64");
+
+        assertEquals("image/abc", key);
+        verify(blobOperationService).scheduleUpload("image/abc", "b64");
+    }
+
+    /**
+     * Tests that an unchanged image is neither re-uploaded nor counted again.
+     */
+    @Test
+    @DisplayName("replace(): unchanged image -> no upload and no count change")
+    void replace_unchangedImage_doesNothing() {
+        when(s3Service.contentHash("b64")).thenReturn("abc");
+
+        assertEquals("image/abc", service.replace("image/abc", "b64"));
+
+        verify(blobOperationService, never()).scheduleUpload(anyString(), anyString());
+        verifyNoInteractions(storedImageRepository);
+    }
+
+    /**
+     * Tests that an image already stored for another entity is shared instead of uploaded.
+     */
+    @Test
+    @DisplayName("replace(): duplicate image -> shares stored object and increments count")
+    void replace_duplicateImage_sharesAndIncrements() {
+        when(s3Service.contentHash("b64")).thenReturn("abc");
+        when(storedImageRepository.addReference("image/abc")).thenReturn(2);
+
+        assertEquals("image/abc", service.replace(null, "b64"));
+
+        verify(storedImageRepository).addReference("image/abc");
+        verify(blobOperationService, never()).scheduleUpload(anyString(), anyString());
+    }
+
+    /**
+     * Tests that replacing an image releases the previous one.
+     */
+    @Test
+    @DisplayName("replace(): different image -> releases previous image")
+    void replace_differentImage_releasesPrevious() {
+        StoredImage previous = new StoredImage("image/old", 1);
+        when(s3Service.contentHash("b64")).thenReturn("new");
+        when(storedImageRepository.addReference("image/new")).thenReturn(1);
+        when(storedImageRepository.findLockedByS3Key("image/old")).thenReturn(Optional.of(previous));
+
+        assertEquals("image/new", service.replace("image/old", "b64"));
+
+        verify(storedImageRepository).delete(previous);
+        verify(blobOperationService).scheduleDelete("image/old");
+    }
+
+    /**
+     * Tests that an empty image removes the current one.
+     */
+    @Test
+    @DisplayName("replace(): empty image -> releases current image and returns null")
+    void replace_emptyImage_releasesCurrent() {
+        when(storedImageRepository.findLockedByS3Key("image/old")).thenReturn(Optional.of(new StoredImage("image/old", 2)));
+
+        assertNull(service.replace("image/old", ""));
+
+        verify(blobOperationService, never()).scheduleDelete(anyString());
+        verify(s3Service, never()).contentHash(anyString());
+    }
+
+    /**
+     * Tests that a multipart file is hashed and uploaded as a raw file.
+     */
+    @Test
+    @DisplayName("replace(): multipart file -> uploads file under content hash")
+    void replace_multipartFile_uploadsFile() {
+        MockMultipartFile file = new MockMultipartFile("image", new byte[]{1, 2});
+        when(s3Service.contentHash(file)).thenReturn("def");
+        when(storedImageRepository.addReference("image/def")).thenReturn(1);
+
+        assertEquals("image/def", service.replace(null, file));
+
+        verify(blobOperationService).scheduleUpload("image/def", file);
+    }
+
+    /**
+     * Tests that releasing a shared image keeps the stored object.
+     */
+    @Test
+    @DisplayName("release(): shared image -> decrements count and keeps object")
+    void release_sharedImage_decrements() {
+        StoredImage stored = new StoredImage("image/abc", 2);
+        when(storedImageRepository.findLockedByS3Key("image/abc")).thenReturn(Optional.of(stored));
+
+        service.release("image/abc");
+
+        assertEquals(1, stored.getReferenceCount());
+        verify(storedImageRepository).save(stored);
+        verify(blobOperationService, never()).scheduleDelete(anyString());
+    }
+
+    /**
+     * Tests that images stored before content addressing are deleted directly.
+     */
+    @Test
+    @DisplayName("release(): legacy key without count -> deletes object")
+    void release_legacyKey_deletesObject() {
+        when(storedImageRepository.findLockedByS3Key("content/uuid")).thenReturn(Optional.empty());
+
+        service.release("content/uuid");
+
+        verify(blobOperationService).scheduleDelete("content/uuid");
+    }
+
+    /**
+     * Tests that releasing a null key does nothing.
+     */
+    @Test
+    @DisplayName("release(): null key -> no-op")
+    void release_nullKey_noop() {
+        service.release(null);
+
+        verifyNoInteractions(s3Service, storedImageRepository, blobOperationService);
+    }
+}
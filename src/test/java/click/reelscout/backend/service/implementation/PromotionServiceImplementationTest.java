@@ -9,9 +9,15 @@ import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import click.reelscout.backend.exception.custom.EntityUpdateException;
 import click.reelscout.backend.mapper.definition.MemberMapper;
 import click.reelscout.backend.mapper.definition.PromotionRequestMapper;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
 import click.reelscout.backend.model.jpa.*;
+import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
 import click.reelscout.backend.repository.jpa.PromotionRequestRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +42,10 @@ class PromotionServiceImplementationTest {
 
     @Mock private PromotionRequestRepository repository;
     @Mock private UserRepository<Member> userRepository;
+    @Mock private UserElasticRepository userElasticRepository;
+    @Mock private SearchCacheService searchCacheService;
+    @Mock private SearchIndexService searchIndexService;
+    @Mock private ResponseCacheService responseCacheService;
     @Mock private MemberMapper memberMapper;
     @Mock private PromotionRequestMapper mapper;
 
@@ -43,7 +53,7 @@ class PromotionServiceImplementationTest {
 
     @BeforeEach
     void setUp() {
-        service = new PromotionServiceImplementation(repository, userRepository, memberMapper, mapper);
+        service = new PromotionServiceImplementation(repository, userRepository, userElasticRepository, searchCacheService, searchIndexService, responseCacheService, memberMapper, mapper);
     }
 
     // ---------- requestVerifiedPromotion ----------
@@ -189,11 +199,15 @@ class PromotionServiceImplementationTest {
         // Member builder
         var memberBuilder = mock(click.reelscout.backend.builder.definition.MemberBuilder.class, Answers.RETURNS_SELF);
         Member updatedMember = new Member();
+        ReflectionTestUtils.setField(updatedMember, "id", 9L);
         when(memberMapper.toBuilder(requester)).thenReturn(memberBuilder);
         when(memberBuilder.build()).thenReturn(updatedMember);
 
         when(repository.save(updatedReq)).thenReturn(updatedReq);
         when(userRepository.save(updatedMember)).thenReturn(updatedMember);
+        MemberDoc memberDoc = new MemberDoc();
+        memberDoc.setId(1L);
+        when(memberMapper.toDoc(updatedMember)).thenReturn(memberDoc);
 
         // Act
         CustomResponseDTO out = service.approveVerifiedPromotion(mock(User.class), 5L);
@@ -207,6 +221,10 @@ class PromotionServiceImplementationTest {
         verify(memberBuilder).role(Role.VERIFIED_MEMBER);
         verify(repository).save(updatedReq);
         verify(userRepository).save(updatedMember);
+        verify(userElasticRepository).save(memberDoc);
+        verify(searchIndexService).recordChanges(UserDoc.class, List.of(memberDoc.getId()));
+        verify(searchCacheService).invalidate(UserDoc.class);
+        verify(responseCacheService).invalidate(ResponseCacheService.userKey(9L));
     }
 
     // ---------- rejectVerifiedPromotion ----------
@@ -0,0 +1,166 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.config.ResponseCacheConfig;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.ResponseCacheService.SerializedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ResponseCacheServiceImplementation}.
+ * <p>
+ * A real Caffeine cache and a real ObjectMapper are used, so that the serialized
+ * bytes and the cache contents can be checked directly.
+ */
+class ResponseCacheServiceImplementationTest {
+
+    private Cache<String, SerializedResponse> cache;
+    private SimpleMeterRegistry registry;
+    private ResponseCacheServiceImplementation service;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().build();
+        registry = new SimpleMeterRegistry();
+        service = new ResponseCacheServiceImplementation(cache, new ObjectMapper(), registry);
+        ReflectionTestUtils.setField(service, "gzipMinBytes", 64);
+        service.registerMetrics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /** A miss serializes the body once; a hit returns the same bytes without calling the builder. */
+    @Test
+    void get_serializesOnMissAndServesHits() {
+        AtomicInteger builds = new AtomicInteger();
+
+        SerializedResponse first = service.get("genres", () -> {
+            builds.incrementAndGet();
+            return List.of("Action", "Drama");
+        });
+        SerializedResponse second = service.get("genres", () -> {
+            builds.incrementAndGet();
+            return List.of("Other");
+        });
+
+        assertEquals(1, builds.get());
+        assertSame(first, second);
+        assertEquals("[\"Action\",\"Drama\"]", new String(first.json(), StandardCharsets.UTF_8));
+        assertNull(first.gzip(), "Small responses are not worth compressing");
+    }
+
+    /** A response rejected by the predicate is returned but built again on the next request. */
+    @Test
+    void get_notCacheable_servedWithoutBeingCached() {
+        AtomicInteger builds = new AtomicInteger();
+
+        SerializedResponse response = service.get("user:1", () -> {
+            builds.incrementAndGet();
+            return Map.of("imageKey", "image/abc");
+        }, user -> user.containsKey("base64Image"));
+        service.get("user:1", () -> {
+            builds.incrementAndGet();
+            return Map.of("imageKey", "image/abc");
+        }, user -> user.containsKey("base64Image"));
+
+        assertEquals("{\"imageKey\":\"image/abc\"}", new String(response.json(), StandardCharsets.UTF_8));
+        assertEquals(2, builds.get());
+        assertNull(cache.getIfPresent("user:1"));
+    }
+
+    /** Bytes served from the cache are counted as saved. */
+    @Test
+    void get_countsBytesSavedOnHits() {
+        SerializedResponse response = service.get("genres", () -> List.of("Action"));
+        service.get("genres", () -> List.of("Action"));
+        service.get("genres", () -> List.of("Action"));
+
+        double saved = registry.get("cache.bytes.saved").tag("cache", ResponseCacheConfig.RESPONSE_CACHE_NAME).counter().count();
+        assertEquals(2.0 * response.json().length, saved);
+    }
+
+    /** Responses above the threshold also carry their gzip form, which decodes to the JSON. */
+    @Test
+    void get_compressesLargeResponses() throws IOException {
+        SerializedResponse response = service.get("user:1", () -> Map.of("description", "x".repeat(500)));
+
+        assertNotNull(response.gzip());
+        assertTrue(response.gzip().length < response.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertArrayEquals(response.json(), in.readAllBytes());
+        }
+    }
+
+    /** Failures of the builder are propagated and nothing is cached. */
+    @Test
+    void get_builderFails_nothingCached() {
+        assertThrows(IllegalStateException.class, () -> service.get("genres", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertNull(cache.getIfPresent("genres"));
+    }
+
+    /** Without a transaction, invalidation drops the entries immediately. */
+    @Test
+    void invalidate_noTransaction_dropsImmediately() {
+        service.get("genres", () -> List.of("Action"));
+        service.get("content-types", () -> List.of("Movie"));
+
+        service.invalidate("genres", "content-types");
+
+        assertNull(cache.getIfPresent("genres"));
+        assertNull(cache.getIfPresent("content-types"));
+    }
+
+    /** Within a transaction, invalidation waits until the transaction completes. */
+    @Test
+    void invalidate_inTransaction_dropsAfterCompletion() {
+        service.get("genres", () -> List.of("Action"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.invalidate("genres");
+        assertNotNull(cache.getIfPresent("genres"), "Entries stay until the transaction completes");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.getFirst().afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertNull(cache.getIfPresent("genres"));
+    }
+
+    /** A response built while an invalidation happened is returned but not kept. */
+    @Test
+    void get_invalidatedWhileBuilding_notKept() {
+        SerializedResponse response = service.get("genres", () -> {
+            service.invalidate(ResponseCacheService.genresKey());
+            return List.of("Stale");
+        });
+
+        assertEquals("[\"Stale\"]", new String(response.json(), StandardCharsets.UTF_8));
+        assertNull(cache.getIfPresent("genres"));
+    }
+}
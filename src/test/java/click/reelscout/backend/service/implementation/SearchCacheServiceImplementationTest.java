@@ -0,0 +1,136 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SearchCacheServiceImplementation}.
+ * <p>
+ * A real Caffeine cache is used, so that the searches reaching Elasticsearch can be counted directly.
+ */
+class SearchCacheServiceImplementationTest {
+
+    private final ContentDoc content = new ContentDoc();
+    private final AtomicInteger searches = new AtomicInteger();
+
+    private SimpleMeterRegistry registry;
+    private SearchCacheServiceImplementation service;
+
+    @BeforeEach
+    void setUp() {
+        Cache<String, List<?>> cache = Caffeine.newBuilder().build();
+        registry = new SimpleMeterRegistry();
+        service = new SearchCacheServiceImplementation(cache, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private <D> Supplier<List<D>> search(D doc) {
+        return () -> {
+            searches.incrementAndGet();
+            return List.of(doc);
+        };
+    }
+
+    /** A miss searches once; queries differing only by whitespace are then hits. */
+    @Test
+    void get_searchesOnMissAndServesNormalizedHits() {
+        List<ContentDoc> first = service.get(ContentDoc.class, "star wars", search(content));
+        List<ContentDoc> second = service.get(ContentDoc.class, "  star \t wars ", search(new ContentDoc()));
+
+        assertEquals(1, searches.get());
+        assertSame(first, second);
+        assertEquals(List.of(content), first);
+    }
+
+    /** Documents of the same index but of another type, and other queries, are cached apart. */
+    @Test
+    void get_keysByTypeAndQuery() {
+        service.get(UserDoc.class, "mat", search(new MemberDoc()));
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+        service.get(MemberDoc.class, "matt", search(new MemberDoc()));
+
+        assertEquals(3, searches.get());
+    }
+
+    /** Failed searches are propagated and not cached. */
+    @Test
+    void get_failedSearch_isNotCached() {
+        assertThrows(IllegalStateException.class, () -> service.get(ContentDoc.class, "mat", () -> {
+            throw new IllegalStateException("unreachable");
+        }));
+
+        service.get(ContentDoc.class, "mat", search(content));
+
+        assertEquals(1, searches.get());
+    }
+
+    /** Hits and misses are counted per index. */
+    @Test
+    void get_countsLookupsPerIndex() {
+        service.get(ContentDoc.class, "mat", search(content));
+        service.get(ContentDoc.class, "mat", search(content));
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+
+        assertEquals(1.0, registry.get("search.cache.lookups").tag("index", "contents").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("search.cache.lookups").tag("index", "contents").tag("result", "miss").counter().count());
+        assertEquals(1.0, registry.get("search.cache.lookups").tag("index", "users").tag("result", "miss").counter().count());
+    }
+
+    /** Without a transaction, a write to an index drops its results at once, and only them. */
+    @Test
+    void invalidate_withoutTransaction_dropsResultsOfIndex() {
+        service.get(ContentDoc.class, "mat", search(content));
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+
+        service.invalidate(ContentDoc.class);
+        service.get(ContentDoc.class, "mat", search(content));
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+
+        assertEquals(3, searches.get());
+    }
+
+    /** Within a transaction, results are dropped once it completes, for every type of the index. */
+    @Test
+    void invalidate_withinTransaction_dropsResultsAfterCompletion() {
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.invalidate(UserDoc.class);
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+        assertEquals(1, searches.get(), "Results must be kept until the transaction completes");
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        service.get(MemberDoc.class, "mat", search(new MemberDoc()));
+        assertEquals(2, searches.get());
+    }
+
+    /** Classes that are not documents have no index to cache for. */
+    @Test
+    void get_notADocument_throws() {
+        assertThrows(IllegalArgumentException.class, () -> service.get(String.class, "mat", () -> List.of("x")));
+    }
+}
@@ -0,0 +1,375 @@
+package click.reelscout.backend.service.implementation;
+
+import click.reelscout.backend.dto.response.IndexReindexProgressDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO;
+import click.reelscout.backend.dto.response.ReindexStatusDTO.State;
+import click.reelscout.backend.exception.custom.ReindexInProgressException;
+import click.reelscout.backend.factory.UserMapperFactoryRegistry;
+import click.reelscout.backend.mapper.definition.ContentMapper;
+import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import click.reelscout.backend.model.jpa.Content;
+import click.reelscout.backend.model.jpa.Member;
+import click.reelscout.backend.model.jpa.SearchIndexChange;
+import click.reelscout.backend.repository.jpa.ContentRepository;
+import click.reelscout.backend.repository.jpa.SearchIndexChangeRepository;
+import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.PutIndicesSettingsRequest;
+import co.elastic.clients.util.ObjectBuilder;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SearchIndexServiceImplementation}.
+ * Mocks out all dependencies and runs the rebuild on the calling thread.
+ */
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings({"rawtypes", "unchecked"})
+class SearchIndexServiceImplementationTest {
+
+    @Mock private ContentRepository contentRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private ContentMapper contentMapper;
+    @Mock private UserMapperFactoryRegistry userMapperFactoryRegistry;
+    @Mock private ElasticsearchOperations elasticsearchOperations;
+    @Mock private ElasticsearchClient elasticsearchClient;
+    @Mock private ElasticsearchIndicesClient indicesClient;
+    @Mock private SearchCacheService searchCacheService;
+    @Mock private SearchIndexChangeRepository searchIndexChangeRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
+
+    @Mock private IndexOperations contentsAlias;
+    @Mock private IndexOperations contentsIndex;
+    @Mock private IndexOperations usersAlias;
+    @Mock private IndexOperations usersIndex;
+
+    /** Tasks handed to the executor, run only when the test decides to. */
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private SearchIndexServiceImplementation service;
+
+    @BeforeEach
+    void setUp() {
+        Executor executor = tasks::add;
+        service = new SearchIndexServiceImplementation(contentRepository, userRepository, contentMapper, userMapperFactoryRegistry,
+                elasticsearchOperations, elasticsearchClient, searchCacheService, searchIndexChangeRepository, new WindowReader(transactionManager, entityManager), transactionManager, executor);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "replayMargin", Duration.ZERO);
+        ReflectionTestUtils.setField(service, "changeRetention", Duration.ofHours(24));
+    }
+
+    private static Settings defaultSettings() {
+        return Settings.parse("{\"index\":{\"number_of_shards\":\"1\",\"refresh_interval\":\"1s\"}}");
+    }
+
+    private static Document mapping(String property) {
+        return Document.parse("{\"properties\":{\"" + property + "\":{\"type\":\"search_as_you_type\"}}}");
+    }
+
+    private static ContentDoc contentDoc(Long id) {
+        ContentDoc doc = new ContentDoc();
+        doc.setId(id);
+        return doc;
+    }
+
+    /** Stubs the alias of the contents index and the versioned index the rebuild creates next to it. */
+    private void stubContentsIndices() {
+        when(elasticsearchOperations.indexOps(ContentDoc.class)).thenReturn(contentsAlias);
+        when(contentsAlias.getIndexCoordinates()).thenReturn(IndexCoordinates.of("contents"));
+        when(contentsAlias.createSettings(ContentDoc.class)).thenReturn(defaultSettings());
+        when(contentsAlias.createMapping(ContentDoc.class)).thenReturn(mapping("title"));
+        when(elasticsearchOperations.indexOps(argThat((IndexCoordinates index) -> index != null && index.getIndexName().startsWith("contents-"))))
+                .thenReturn(contentsIndex);
+    }
+
+    /** Finds the single action of the given type among the actions of an alias request. */
+    private static AliasAction action(AliasActions actions, Class<? extends AliasAction> type) {
+        return actions.getActions().stream().filter(type::isInstance).findFirst().orElseThrow();
+    }
+
+    /**
+     * reindex(): both indices are copied window by window into new versioned indices with refresh disabled,
+     * then their aliases are moved to them, replacing the previous indices.
+     */
+    @Test
+    void reindex_copiesEntitiesAndSwapsAliases() throws Exception {
+        stubContentsIndices();
+        when(elasticsearchOperations.indexOps(UserDoc.class)).thenReturn(usersAlias);
+        when(usersAlias.getIndexCoordinates()).thenReturn(IndexCoordinates.of("users"));
+        when(usersAlias.createSettings(UserDoc.class)).thenReturn(defaultSettings());
+        when(usersAlias.createMapping(UserDoc.class)).thenReturn(mapping("username"));
+        when(usersAlias.createMapping(MemberDoc.class)).thenReturn(mapping("firstName"));
+        when(usersAlias.createMapping(ProductionCompanyDoc.class)).thenReturn(mapping("name"));
+        when(elasticsearchOperations.indexOps(argThat((IndexCoordinates index) -> index != null && index.getIndexName().startsWith("users-"))))
+                .thenReturn(usersIndex);
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+
+        // Contents: the table predates aliases, users: the alias already points to a versioned index
+        when(contentsAlias.exists()).thenReturn(true);
+        when(contentsAlias.getAliasesForIndex("contents")).thenReturn(Map.of("contents", Set.of()));
+        when(usersAlias.exists()).thenReturn(true);
+        when(usersAlias.getAliasesForIndex("users")).thenReturn(Map.of("users-1", Set.of()));
+
+        Content c1 = new Content(), c2 = new Content(), c3 = new Content();
+        ContentDoc d1 = contentDoc(1L), d2 = contentDoc(2L), d3 = contentDoc(3L);
+        when(contentRepository.count()).thenReturn(3L);
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(c1, c2));
+        when(contentRepository.findWindow(2L, Limit.of(2))).thenReturn(List.of(c3));
+        when(contentMapper.toDoc(c1)).thenReturn(d1);
+        when(contentMapper.toDoc(c2)).thenReturn(d2);
+        when(contentMapper.toDoc(c3)).thenReturn(d3);
+
+        Member member = new Member();
+        MemberDoc memberDoc = new MemberDoc();
+        memberDoc.setId(7L);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(member));
+        when(userMapperFactoryRegistry.getMapperFor(member)).thenReturn(userMapper);
+        when(userMapper.toDoc(member)).thenReturn(memberDoc);
+
+        ReindexStatusDTO started = service.reindex();
+        assertEquals(State.RUNNING, started.getState());
+        assertEquals(1, tasks.size());
+        tasks.getFirst().run();
+
+        // New indices are created without refresh, with the properties of every document subclass
+        ArgumentCaptor<Map<String, Object>> contentsSettings = ArgumentCaptor.forClass(Map.class);
+        verify(contentsIndex).create(contentsSettings.capture(), eq(mapping("title")));
+        assertEquals("-1", contentsSettings.getValue().get("index.refresh_interval"));
+        ArgumentCaptor<Document> usersMapping = ArgumentCaptor.forClass(Document.class);
+        verify(usersIndex).create(anyMap(), usersMapping.capture());
+        assertEquals(Set.of("username", "firstName", "name"), ((Map<String, Object>) usersMapping.getValue().get("properties")).keySet());
+
+        // Entities are written in bulk, one request per window
+        verify(elasticsearchOperations).save(eq(List.of(d1, d2)), argThat((IndexCoordinates index) -> index.getIndexName().startsWith("contents-")));
+        verify(elasticsearchOperations).save(eq(List.of(d3)), argThat((IndexCoordinates index) -> index.getIndexName().startsWith("contents-")));
+        verify(elasticsearchOperations).save(eq(List.of(memberDoc)), argThat((IndexCoordinates index) -> index.getIndexName().startsWith("users-")));
+        verify(entityManager).detach(c1);
+        verify(entityManager).detach(member);
+
+        // Refresh is restored before the alias is moved
+        ArgumentCaptor<Function<PutIndicesSettingsRequest.Builder, ObjectBuilder<PutIndicesSettingsRequest>>> putSettings = ArgumentCaptor.forClass(Function.class);
+        verify(indicesClient, times(2)).putSettings(putSettings.capture());
+        PutIndicesSettingsRequest restore = PutIndicesSettingsRequest.of(putSettings.getAllValues().getFirst());
+        assertEquals("1s", restore.settings().refreshInterval().time());
+        verify(contentsIndex).refresh();
+
+        ArgumentCaptor<AliasActions> contentsActions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(contentsAlias).alias(contentsActions.capture());
+        AliasAction add = action(contentsActions.getValue(), AliasAction.Add.class);
+        assertArrayEquals(new String[]{"contents"}, add.getParameters().getAliases());
+        assertTrue(add.getParameters().getIndices()[0].startsWith("contents-"));
+        assertArrayEquals(new String[]{"contents"}, action(contentsActions.getValue(), AliasAction.RemoveIndex.class).getParameters().getIndices());
+        assertEquals(restore.index(), List.of(add.getParameters().getIndices()));
+        ArgumentCaptor<AliasActions> usersActions = ArgumentCaptor.forClass(AliasActions.class);
+        verify(usersAlias).alias(usersActions.capture());
+        assertArrayEquals(new String[]{"users-1"}, action(usersActions.getValue(), AliasAction.RemoveIndex.class).getParameters().getIndices());
+
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        verify(searchCacheService).invalidate(UserDoc.class);
+        verify(contentsIndex, never()).delete();
+
+        ReindexStatusDTO status = service.getReindexStatus();
+        assertEquals(State.COMPLETED, status.getState());
+        assertNotNull(status.getFinishedAt());
+        IndexReindexProgressDTO contents = status.getIndices().getFirst();
+        assertEquals("contents", contents.getAlias());
+        assertEquals(3, contents.getTotal());
+        assertEquals(3, contents.getIndexed());
+        assertTrue(contents.isSwapped());
+        assertTrue(contents.getDocumentsPerSecond() > 0);
+        assertEquals("users", status.getIndices().get(1).getAlias());
+        assertEquals(1, status.getIndices().get(1).getIndexed());
+    }
+
+    /**
+     * reindex(): a failing copy deletes the index being built, leaves the alias alone and reports the failure.
+     */
+    @Test
+    void reindex_failure_deletesNewIndexAndKeepsAlias() {
+        stubContentsIndices();
+
+        Content c1 = new Content(), c2 = new Content();
+        when(contentRepository.count()).thenReturn(5L);
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(c1, c2));
+        when(contentMapper.toDoc(c1)).thenReturn(contentDoc(1L));
+        when(contentMapper.toDoc(c2)).thenReturn(contentDoc(2L));
+        when(contentRepository.findWindow(2L, Limit.of(2))).thenThrow(new IllegalStateException("Connection lost"));
+
+        service.reindex();
+        tasks.getFirst().run();
+
+        verify(contentsIndex).delete();
+        verify(contentsAlias, never()).alias(any());
+        verify(elasticsearchOperations, never()).indexOps(UserDoc.class);
+        verifyNoInteractions(searchCacheService);
+
+        ReindexStatusDTO status = service.getReindexStatus();
+        assertEquals(State.FAILED, status.getState());
+        assertEquals("Connection lost", status.getError());
+        assertEquals(2, status.getIndices().getFirst().getIndexed());
+        assertFalse(status.getIndices().getFirst().isSwapped());
+    }
+
+    /**
+     * reindex(): documents recorded as changed, through any instance, are written again from the database
+     * before the alias is moved, or deleted when their entity is gone, and those recorded until the move once more after it.
+     */
+    @Test
+    void reindex_replaysRecordedChangesAroundSwap() {
+        stubContentsIndices();
+        when(elasticsearchClient.indices()).thenReturn(indicesClient);
+        Content c1 = new Content(), c2 = new Content();
+        ContentDoc d1 = contentDoc(1L), updated = contentDoc(2L), added = contentDoc(3L);
+        when(contentRepository.count()).thenReturn(1L);
+        when(contentRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(c1));
+        when(contentMapper.toDoc(c1)).thenReturn(d1);
+
+        // Content 2 was updated and content 4 deleted during the copy, content 3 created just before the swap
+        Content c3 = new Content();
+        when(searchIndexChangeRepository.findDocumentIdsChangedBetween(eq("contents"), any(), any()))
+                .thenReturn(List.of(2L, 4L), List.of(3L));
+        when(contentRepository.findAllById(List.of(2L, 4L))).thenReturn(List.of(c2));
+        when(contentMapper.toDoc(c2)).thenReturn(updated);
+        when(contentRepository.findAllById(List.of(3L))).thenReturn(List.of(c3));
+        when(contentMapper.toDoc(c3)).thenReturn(added);
+
+        service.reindex();
+        tasks.getFirst().run();
+
+        ArgumentCaptor<IndexCoordinates> index = ArgumentCaptor.forClass(IndexCoordinates.class);
+        InOrder inOrder = inOrder(elasticsearchOperations, contentsAlias);
+        inOrder.verify(elasticsearchOperations).save(eq(List.of(d1)), index.capture());
+        inOrder.verify(elasticsearchOperations).save(List.of(updated), index.getValue());
+        inOrder.verify(elasticsearchOperations).delete("4", index.getValue());
+        inOrder.verify(contentsAlias).alias(any());
+        inOrder.verify(elasticsearchOperations).save(List.of(added), index.getValue());
+        assertTrue(index.getValue().getIndexName().startsWith("contents-"));
+        verify(entityManager).detach(c2);
+
+        // The replay after the move covers the changes recorded since the first replay started, up to the move
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(searchIndexChangeRepository, times(2)).findDocumentIdsChangedBetween(eq("contents"), from.capture(), to.capture());
+        assertFalse(from.getAllValues().get(1).isAfter(to.getAllValues().getFirst()));
+        assertFalse(to.getAllValues().get(1).isBefore(to.getAllValues().getFirst()));
+    }
+
+    /**
+     * recordChanges(): one change is recorded per document, under the alias of its index.
+     */
+    @Test
+    void recordChanges_savesOneChangePerDocument() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(ContentDoc.class)).thenReturn(IndexCoordinates.of("contents"));
+
+        service.recordChanges(ContentDoc.class, List.of(1L, 2L));
+
+        ArgumentCaptor<List<SearchIndexChange>> changes = ArgumentCaptor.forClass(List.class);
+        verify(searchIndexChangeRepository).saveAll(changes.capture());
+        assertEquals(List.of(1L, 2L), changes.getValue().stream().map(SearchIndexChange::getDocumentId).toList());
+        assertTrue(changes.getValue().stream().allMatch(change -> change.getIndexName().equals("contents")));
+    }
+
+    /**
+     * pruneChanges(): changes older than the retention are deleted.
+     */
+    @Test
+    void pruneChanges_deletesChangesOlderThanRetention() {
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+
+        service.pruneChanges();
+
+        ArgumentCaptor<LocalDateTime> threshold = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(searchIndexChangeRepository).deleteByChangedAtBefore(threshold.capture());
+        assertFalse(threshold.getValue().isBefore(before));
+        assertTrue(threshold.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    /**
+     * completeUserMapping(): the live users index gets the properties of every user document subclass.
+     */
+    @Test
+    void completeUserMapping_addsSubclassProperties() {
+        when(elasticsearchOperations.indexOps(UserDoc.class)).thenReturn(usersAlias);
+        when(usersAlias.exists()).thenReturn(true);
+        when(usersAlias.createMapping(UserDoc.class)).thenReturn(mapping("username"));
+        when(usersAlias.createMapping(MemberDoc.class)).thenReturn(mapping("firstName"));
+        when(usersAlias.createMapping(ProductionCompanyDoc.class)).thenReturn(mapping("name"));
+
+        service.completeUserMapping();
+
+        ArgumentCaptor<Document> mapping = ArgumentCaptor.forClass(Document.class);
+        verify(usersAlias).putMapping(mapping.capture());
+        assertEquals(Set.of("username", "firstName", "name"), ((Map<?, ?>) mapping.getValue().get("properties")).keySet());
+    }
+
+    /**
+     * completeUserMapping(): a conflicting mapping is left as it is, for a rebuild to fix, without failing startup.
+     */
+    @Test
+    void completeUserMapping_conflict_leftForRebuild() {
+        when(elasticsearchOperations.indexOps(UserDoc.class)).thenReturn(usersAlias);
+        when(usersAlias.exists()).thenReturn(true);
+        when(usersAlias.createMapping(any(Class.class))).thenReturn(mapping("name"));
+        when(usersAlias.putMapping(any(Document.class))).thenThrow(new IllegalArgumentException("mapper [name] cannot be changed"));
+
+        assertDoesNotThrow(() -> service.completeUserMapping());
+    }
+
+    /**
+     * reindex(): a second rebuild is refused while one runs, and allowed once it has finished.
+     */
+    @Test
+    void reindex_whileRunning_throws() {
+        ReindexStatusDTO idle = service.getReindexStatus();
+        assertEquals(State.IDLE, idle.getState());
+
+        service.reindex();
+
+        assertThrows(ReindexInProgressException.class, () -> service.reindex());
+        assertEquals(1, tasks.size());
+
+        // The rebuild fails at once, as nothing is stubbed, which ends it
+        tasks.getFirst().run();
+        assertEquals(State.FAILED, service.getReindexStatus().getState());
+
+        service.reindex();
+        assertEquals(2, tasks.size());
+    }
+}
@@ -1,20 +1,30 @@
 package click.reelscout.backend.service.implementation;
 
+import click.reelscout.backend.dto.request.SearchCursor;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
+import click.reelscout.backend.dto.response.MemberResponseDTO;
+import click.reelscout.backend.dto.response.ProductionCompanyResponseDTO;
+import click.reelscout.backend.dto.response.SearchPageResponseDTO;
 import click.reelscout.backend.dto.response.SearchResponseDTO;
+import click.reelscout.backend.dto.response.SuggestResponseDTO;
+import click.reelscout.backend.dto.response.SuggestionResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
+import click.reelscout.backend.exception.custom.DataValidationException;
 import click.reelscout.backend.exception.custom.SearchException;
 import click.reelscout.backend.factory.UserMapperFactoryRegistry;
 import click.reelscout.backend.mapper.definition.ContentMapper;
 import click.reelscout.backend.mapper.definition.UserMapper;
 import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.ProductionCompanyDoc;
 import click.reelscout.backend.model.elasticsearch.UserDoc;
-import click.reelscout.backend.model.jpa.Content;
-import click.reelscout.backend.model.jpa.User;
-import click.reelscout.backend.repository.jpa.ContentRepository;
-import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
-import click.reelscout.backend.strategy.UserMapperContext;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import co.elastic.clients.elasticsearch._types.query_dsl.MultiMatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,12 +36,19 @@ import org.springframework.data.elasticsearch.client.elc.NativeQuery;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,20 +62,24 @@ import static org.mockito.Mockito.*;
 @SuppressWarnings({"rawtypes", "unchecked"})
 class SearchServiceImplementationTest {
 
-    @Mock private UserRepository userRepository;
-    @Mock private UserMapperContext userMapperContext;
     @Mock private UserMapperFactoryRegistry userMapperFactoryRegistry;
 
-    @Mock private ContentRepository contentRepository;
     @Mock private ContentMapper contentMapper;
 
     @Mock private ElasticsearchOperations elasticsearchOperations;
+    @Mock private SearchCacheService searchCacheService;
     @Mock private S3Service s3Service;
     @Mock private ThreadPoolExecutor executor;
 
     @InjectMocks
     private SearchServiceImplementation service;
 
+    /** Cache that always misses, so that every search reaches Elasticsearch. */
+    @BeforeEach
+    void setUp() {
+        lenient().when(searchCacheService.get(any(), any(), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(2)).get());
+    }
+
     /** Future completed successfully with the given value. */
     private static <T> Future<T> completed(T value) {
         return CompletableFuture.completedFuture(value);
@@ -69,80 +90,105 @@ class SearchServiceImplementationTest {
         return CompletableFuture.failedFuture(t);
     }
 
-    /** Returns a SearchHits whose stream() is empty (no need to mock doc.getId()). */
-    private static <T> SearchHits<T> emptyHits() {
-        return mock(SearchHits.class, invocation -> {
-            String name = invocation.getMethod().getName();
-            if ("stream".equals(name)) {
-                return Stream.<SearchHit<T>>empty();
-            }
-            // Provide safe defaults for common methods
-            Class<?> rt = invocation.getMethod().getReturnType();
-            if (rt.equals(boolean.class)) return false;
-            if (rt.equals(int.class)) return 0;
-            if (rt.equals(long.class)) return 0L;
-            return null;
+    /** Returns a SearchHits streaming one hit per given document, in the given (score) order. */
+    @SafeVarargs
+    private static <T> SearchHits<T> hits(T... docs) {
+        List<SearchHit<T>> hits = Stream.of(docs).map(doc -> {
+            SearchHit<T> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(doc);
+            return hit;
+        }).toList();
+        SearchHits<T> searchHits = mock(SearchHits.class);
+        when(searchHits.stream()).thenReturn(hits.stream());
+        return searchHits;
+    }
+
+    /** Returns a SearchHits listing one hit per given document, each sorted after the previous one. */
+    @SafeVarargs
+    private static <T> SearchHits<T> pageHits(long totalHits, TotalHitsRelation relation, String pointInTimeId, T... docs) {
+        List<SearchHit<T>> hits = new ArrayList<>();
+        for (T doc : docs) {
+            SearchHit<T> hit = mock(SearchHit.class);
+            // The hit fetched past the page is neither mapped nor used as the next position
+            lenient().when(hit.getContent()).thenReturn(doc);
+            lenient().when(hit.getSortValues()).thenReturn(List.of(1.0 / (hits.size() + 1), hits.size()));
+            hits.add(hit);
+        }
+        SearchHits<T> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        lenient().when(searchHits.getTotalHits()).thenReturn(totalHits);
+        lenient().when(searchHits.getTotalHitsRelation()).thenReturn(relation);
+        when(searchHits.getPointInTimeId()).thenReturn(pointInTimeId);
+        return searchHits;
+    }
+
+    private static <D extends UserDoc> D userDoc(D doc, String s3ImageKey) {
+        doc.setS3ImageKey(s3ImageKey);
+        return doc;
+    }
+
+    private static ContentDoc contentDoc(Long id, String s3ImageKey) {
+        ContentDoc doc = new ContentDoc();
+        doc.setId(id);
+        doc.setS3ImageKey(s3ImageKey);
+        return doc;
+    }
+
+    /** Executor that runs callables immediately. */
+    private void runTasksInline() {
+        when(executor.submit(any(Callable.class))).thenAnswer(inv -> {
+            Callable<?> callable = inv.getArgument(0);
+            try { return completed(callable.call()); } catch (Exception e) { return failed(e); }
         });
     }
 
     /**
-     * search(): when both tasks succeed, returns combined users + content.
+     * search(): when both tasks succeed, returns combined users + content built from the hits, in score order.
      */
     @Test
-    @DisplayName("search(): returns combined users + content when both tasks succeed")
-    void search_success_combinesUsersAndContent(){
-        // ES returns "some hits" – we keep it empty to avoid stubbing getId(); it doesn't matter
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(UserDoc.class)))
-                .thenReturn(emptyHits());
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(ContentDoc.class)))
-                .thenReturn(emptyHits());
-
-        // Repositories return our entities regardless of the IDs list
-        User u1 = mock(User.class); when(u1.getS3ImageKey()).thenReturn("u1k");
-        User u2 = mock(User.class); when(u2.getS3ImageKey()).thenReturn("u2k");
-        when(userRepository.findAllById(anyList())).thenReturn(List.of(u1, u2));
-
-        Content c1 = mock(Content.class); when(c1.getS3ImageKey()).thenReturn("c1k");
-        Content c2 = mock(Content.class); when(c2.getS3ImageKey()).thenReturn("c2k");
-        when(contentRepository.findAllById(anyList())).thenReturn(List.of(c1, c2));
+    @DisplayName("search(): returns combined users + content built from the hits in score order")
+    void search_success_combinesUsersAndContentFromHits() {
+        MemberDoc member = userDoc(new MemberDoc(), "u1k");
+        ProductionCompanyDoc productionCompany = userDoc(new ProductionCompanyDoc(), "u2k");
+        SearchHits<UserDoc> userHits = hits(member, productionCompany);
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(UserDoc.class))).thenReturn(userHits);
+        // Content hits come back in relevance order, which differs from id order
+        ContentDoc c1 = contentDoc(1L, "c1k");
+        ContentDoc c2 = contentDoc(2L, "c2k");
+        SearchHits<ContentDoc> contentHits = hits(c2, c1);
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(ContentDoc.class))).thenReturn(contentHits);
 
         // S3
-        when(s3Service.getFile("u1k")).thenReturn("imgU1");
-        when(s3Service.getFile("u2k")).thenReturn("imgU2");
-        when(s3Service.getFile("c1k")).thenReturn("imgC1");
-        when(s3Service.getFile("c2k")).thenReturn("imgC2");
-
-        // Mapping users
-        UserResponseDTO udto1 = new UserResponseDTO();
-        UserResponseDTO udto2 = new UserResponseDTO();
-        when(userMapperFactoryRegistry.getMapperFor(u1)).thenReturn(mock(UserMapper.class));
-        when(userMapperFactoryRegistry.getMapperFor(u2)).thenReturn(mock(UserMapper.class));
-        when(userMapperContext.toDto(u1, "imgU1")).thenReturn(udto1);
-        when(userMapperContext.toDto(u2, "imgU2")).thenReturn(udto2);
+        when(s3Service.getFiles(List.of("u1k", "u2k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("u1k", "imgU1", "u2k", "imgU2"));
+        when(s3Service.getFiles(List.of("c2k", "c1k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("c1k", "imgC1", "c2k", "imgC2"));
+
+        // Mapping users, each with the mapper of its document type
+        UserMapper memberMapper = mock(UserMapper.class);
+        UserMapper productionCompanyMapper = mock(UserMapper.class);
+        UserResponseDTO udto1 = new MemberResponseDTO();
+        UserResponseDTO udto2 = new ProductionCompanyResponseDTO();
+        when(userMapperFactoryRegistry.getMapperFor(member)).thenReturn(memberMapper);
+        when(userMapperFactoryRegistry.getMapperFor(productionCompany)).thenReturn(productionCompanyMapper);
+        when(memberMapper.fromDoc(member, "imgU1")).thenReturn(udto1);
+        when(productionCompanyMapper.fromDoc(productionCompany, "imgU2")).thenReturn(udto2);
 
         // Mapping content
         ContentResponseDTO cdto1 = new ContentResponseDTO();
         ContentResponseDTO cdto2 = new ContentResponseDTO();
-        when(contentMapper.toDto(c1, "imgC1")).thenReturn(cdto1);
-        when(contentMapper.toDto(c2, "imgC2")).thenReturn(cdto2);
+        when(contentMapper.fromDoc(c1, "imgC1")).thenReturn(cdto1);
+        when(contentMapper.fromDoc(c2, "imgC2")).thenReturn(cdto2);
 
-        // Executor runs callables immediately
-        when(executor.submit(any(Callable.class))).thenAnswer(inv -> {
-            Callable<?> callable = inv.getArgument(0);
-            try { return completed(callable.call()); } catch (Exception e) { return failed(e); }
-        });
+        runTasksInline();
 
         // Act
-        SearchResponseDTO<UserResponseDTO> result = service.search("mat");
+        SearchResponseDTO<UserResponseDTO> result = service.search("mat", ImageMode.INLINE);
 
         // Assert
         assertNotNull(result);
-        assertEquals(2, result.getUsers().size());
-        assertEquals(2, result.getContents().size());
         assertSame(udto1, result.getUsers().get(0));
         assertSame(udto2, result.getUsers().get(1));
-        assertSame(cdto1, result.getContents().get(0));
-        assertSame(cdto2, result.getContents().get(1));
+        assertSame(cdto2, result.getContents().get(0));
+        assertSame(cdto1, result.getContents().get(1));
 
         // (Optional) verify ES was queried with a NativeQuery (wildcard details not asserted)
         ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
@@ -159,40 +205,221 @@ class SearchServiceImplementationTest {
                 .thenReturn(completed(List.of()))                 // users task ok
                 .thenReturn(failed(new RuntimeException("boom"))); // content task fails
 
-        assertThrows(SearchException.class, () -> service.search("x"));
+        assertThrows(SearchException.class, () -> service.search("x", ImageMode.INLINE));
     }
 
     /**
-     * search(): ensures the mapper is set per user before mapping to DTO.
+     * searchMembers(): queries member documents only and maps them without a second task.
      */
     @Test
-    @DisplayName("search(): sets mapper per user before mapping to DTO")
-    void search_setsMapperPerUser(){
-        // ES results (empty to avoid stubbing getId)
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(UserDoc.class)))
-                .thenReturn(emptyHits());
-        when(elasticsearchOperations.search(any(NativeQuery.class), eq(ContentDoc.class)))
-                .thenReturn(emptyHits());
+    @DisplayName("searchMembers(): builds members from member document hits")
+    void searchMembers_buildsMembersFromHits() {
+        MemberDoc member = userDoc(new MemberDoc(), "k");
+        SearchHits<MemberDoc> memberHits = hits(member);
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(MemberDoc.class))).thenReturn(memberHits);
+        when(s3Service.getFiles(anyList(), eq(ImageMode.REFERENCE), eq(ImageVariant.THUMBNAIL))).thenReturn(Map.of());
 
-        // One user returned by the repo (IDs list is irrelevant in unit test)
-        User u = mock(User.class); when(u.getS3ImageKey()).thenReturn("k");
-        when(userRepository.findAllById(anyList())).thenReturn(List.of(u));
-        when(contentRepository.findAllById(anyList())).thenReturn(List.of());
+        UserMapper mapper = mock(UserMapper.class);
+        MemberResponseDTO dto = new MemberResponseDTO();
+        when(userMapperFactoryRegistry.getMapperFor(member)).thenReturn(mapper);
+        when(mapper.fromDoc(member, null)).thenReturn(dto);
 
-        when(s3Service.getFile("k")).thenReturn("img");
+        List<UserResponseDTO> result = service.searchMembers("abc", ImageMode.REFERENCE);
+
+        assertEquals(List.of(dto), result);
+        verify(searchCacheService).get(eq(MemberDoc.class), eq("abc"), any());
+        verifyNoInteractions(executor, contentMapper);
+    }
+
+    /**
+     * searchMembers(): a cached result is mapped without querying Elasticsearch.
+     */
+    @Test
+    @DisplayName("searchMembers(): serves cached documents without querying")
+    void searchMembers_cached_doesNotQuery() {
+        MemberDoc member = userDoc(new MemberDoc(), "k");
+        doReturn(List.of(member)).when(searchCacheService).get(eq(MemberDoc.class), eq("abc"), any());
+        when(s3Service.getFiles(List.of("k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k", "img"));
 
         UserMapper mapper = mock(UserMapper.class);
-        when(userMapperFactoryRegistry.getMapperFor(u)).thenReturn(mapper);
-        when(userMapperContext.toDto(u, "img")).thenReturn(new UserResponseDTO());
+        MemberResponseDTO dto = new MemberResponseDTO();
+        when(userMapperFactoryRegistry.getMapperFor(member)).thenReturn(mapper);
+        when(mapper.fromDoc(member, "img")).thenReturn(dto);
 
-        when(executor.submit(any(Callable.class))).thenAnswer(inv -> {
-            Callable<?> c = inv.getArgument(0);
-            try { return completed(c.call()); } catch (Exception e) { return failed(e); }
-        });
+        assertEquals(List.of(dto), service.searchMembers("abc", ImageMode.INLINE));
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    /**
+     * suggest(): a blank query suggests nothing and does not reach Elasticsearch.
+     */
+    @Test
+    @DisplayName("suggest(): blank query returns no suggestions without querying")
+    void suggest_blankQuery_returnsEmpty() {
+        SuggestResponseDTO result = service.suggest("  ");
+
+        assertEquals(List.of(), result.getUsers());
+        assertEquals(List.of(), result.getContents());
+        verifyNoInteractions(elasticsearchOperations);
+    }
+
+    /**
+     * suggest(): both indices are queried in one multi search with small, source-filtered bool_prefix queries.
+     */
+    @Test
+    @DisplayName("suggest(): builds suggestions from a single bool_prefix multi search")
+    void suggest_buildsSuggestionsFromOneMultiSearch() {
+        ReflectionTestUtils.setField(service, "suggestSize", 5);
+
+        MemberDoc member = userDoc(new MemberDoc(), "m");
+        member.setId(1L);
+        member.setFirstName("Matteo");
+        member.setLastName("Pio");
+        MemberDoc unnamed = userDoc(new MemberDoc(), null);
+        unnamed.setId(2L);
+        unnamed.setUsername("matt");
+        ProductionCompanyDoc productionCompany = userDoc(new ProductionCompanyDoc(), "p");
+        productionCompany.setId(3L);
+        productionCompany.setName("Matter Studios");
+        ContentDoc content = contentDoc(4L, "c");
+        content.setTitle("The Matrix");
+
+        SearchHits<UserDoc> userHits = hits(member, unnamed, productionCompany);
+        SearchHits<ContentDoc> contentHits = hits(content);
+        ArgumentCaptor<List<NativeQuery>> queries = ArgumentCaptor.forClass(List.class);
+        when(elasticsearchOperations.multiSearch(queries.capture(), eq(List.of(UserDoc.class, ContentDoc.class))))
+                .thenReturn(List.of(userHits, contentHits));
+
+        SuggestResponseDTO result = service.suggest(" mat ");
+
+        assertEquals(List.of(
+                new SuggestionResponseDTO(1L, "Matteo Pio", "m"),
+                new SuggestionResponseDTO(2L, "matt", null),
+                new SuggestionResponseDTO(3L, "Matter Studios", "p")
+        ), result.getUsers());
+        assertEquals(List.of(new SuggestionResponseDTO(4L, "The Matrix", "c")), result.getContents());
+
+        NativeQuery contentQuery = queries.getValue().get(1);
+        MultiMatchQuery multiMatch = contentQuery.getQuery().multiMatch();
+        assertEquals(TextQueryType.BoolPrefix, multiMatch.type());
+        assertEquals("mat", multiMatch.query());
+        assertEquals(List.of("title", "title._2gram", "title._3gram"), multiMatch.fields());
+        assertArrayEquals(new String[]{"id", "title", "s3ImageKey"}, contentQuery.getSourceFilter().getIncludes());
+        assertEquals(5, contentQuery.getMaxResults());
+        assertTrue(List.of(queries.getValue().get(0).getSourceFilter().getIncludes()).contains("_class"));
+    }
+
+    /**
+     * searchContentPage(): the first page opens a point in time, counts the hits and points the cursor after its last hit.
+     */
+    @Test
+    @DisplayName("searchContentPage(): first page opens a point in time and returns a cursor")
+    void searchContentPage_firstPage_opensPointInTimeAndReturnsCursor() {
+        ReflectionTestUtils.setField(service, "pageKeepAlive", Duration.ofMinutes(1));
+        when(elasticsearchOperations.getIndexCoordinatesFor(ContentDoc.class)).thenReturn(IndexCoordinates.of("contents"));
+        when(elasticsearchOperations.openPointInTime(IndexCoordinates.of("contents"), Duration.ofMinutes(1))).thenReturn("pit-1");
+
+        ContentDoc c1 = contentDoc(1L, "c1k");
+        ContentDoc c2 = contentDoc(2L, "c2k");
+        ContentDoc c3 = contentDoc(3L, "c3k");
+        SearchHits<ContentDoc> contentHits = pageHits(42, TotalHitsRelation.EQUAL_TO, "pit-2", c1, c2, c3);
+        ArgumentCaptor<NativeQuery> query = ArgumentCaptor.forClass(NativeQuery.class);
+        when(elasticsearchOperations.search(query.capture(), eq(ContentDoc.class))).thenReturn(contentHits);
+
+        when(s3Service.getFiles(List.of("c1k", "c2k"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("c1k", "img1", "c2k", "img2"));
+        ContentResponseDTO dto1 = new ContentResponseDTO();
+        ContentResponseDTO dto2 = new ContentResponseDTO();
+        when(contentMapper.fromDoc(c1, "img1")).thenReturn(dto1);
+        when(contentMapper.fromDoc(c2, "img2")).thenReturn(dto2);
+
+        SearchPageResponseDTO<ContentResponseDTO> page = service.searchContentPage("mat", null, 2, ImageMode.INLINE);
+
+        assertEquals(List.of(dto1, dto2), page.getResults());
+        assertEquals(42, page.getTotalHits());
+        assertTrue(page.isTotalHitsExact());
+        // The cursor carries the id Elasticsearch last returned and the sort values of the last hit of the page
+        assertEquals(new SearchCursor("contents", "ContentDoc", SearchCursor.queryHash("mat"), "pit-2", List.of(0.5, 1), 42, true),
+                SearchCursor.parse(page.getNextCursor()));
+
+        assertEquals("pit-1", query.getValue().getPointInTime().id());
+        assertEquals(3, query.getValue().getMaxResults());
+        assertNull(query.getValue().getSearchAfter());
+        assertNull(query.getValue().getTrackTotalHits());
+        verify(elasticsearchOperations, never()).closePointInTime(anyString());
+    }
+
+    /**
+     * searchContentPage(): a later page continues after the cursor without counting the hits again, and the last one closes the point in time.
+     */
+    @Test
+    @DisplayName("searchContentPage(): last page searches after the cursor and closes the point in time")
+    void searchContentPage_lastPage_searchesAfterCursorAndClosesPointInTime() {
+        ReflectionTestUtils.setField(service, "pageKeepAlive", Duration.ofMinutes(1));
+        when(elasticsearchOperations.getIndexCoordinatesFor(ContentDoc.class)).thenReturn(IndexCoordinates.of("contents"));
+        String cursor = new SearchCursor("contents", "ContentDoc", SearchCursor.queryHash("mat"), "pit-1", List.of(0.5, 7), 10_000, false).encode();
+
+        ContentDoc c3 = contentDoc(3L, "c3k");
+        SearchHits<ContentDoc> contentHits = pageHits(0, TotalHitsRelation.OFF, null, c3);
+        ArgumentCaptor<NativeQuery> query = ArgumentCaptor.forClass(NativeQuery.class);
+        when(elasticsearchOperations.search(query.capture(), eq(ContentDoc.class))).thenReturn(contentHits);
+
+        when(s3Service.getFiles(List.of("c3k"), ImageMode.REFERENCE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("c3k", "ref3"));
+        ContentResponseDTO dto3 = new ContentResponseDTO();
+        when(contentMapper.fromDoc(c3, "ref3")).thenReturn(dto3);
+
+        SearchPageResponseDTO<ContentResponseDTO> page = service.searchContentPage("mat", cursor, 2, ImageMode.REFERENCE);
+
+        assertEquals(List.of(dto3), page.getResults());
+        assertNull(page.getNextCursor());
+        assertEquals(10_000, page.getTotalHits());
+        assertFalse(page.isTotalHitsExact());
+
+        assertEquals("pit-1", query.getValue().getPointInTime().id());
+        assertEquals(List.of(0.5, 7), query.getValue().getSearchAfter());
+        assertFalse(query.getValue().getTrackTotalHits());
+        verify(elasticsearchOperations).closePointInTime("pit-1");
+        verify(elasticsearchOperations, never()).openPointInTime(any(), any());
+    }
+
+    /**
+     * searchMembersPage(): a cursor issued by a search of another index is rejected before reaching Elasticsearch.
+     */
+    @Test
+    @DisplayName("searchMembersPage(): rejects a cursor of another index")
+    void searchMembersPage_cursorOfAnotherIndex_throws() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(MemberDoc.class)).thenReturn(IndexCoordinates.of("users"));
+        String cursor = new SearchCursor("contents", "MemberDoc", SearchCursor.queryHash("mat"), "pit-1", List.of(0.5, 7), 1, true).encode();
+
+        assertThrows(DataValidationException.class, () -> service.searchMembersPage("mat", cursor, 2, ImageMode.INLINE));
+
+        verify(elasticsearchOperations, never()).search(any(NativeQuery.class), any(Class.class));
+    }
+
+    /**
+     * searchUsersPage(): a cursor issued by a search of members, which share the index of users, is rejected.
+     */
+    @Test
+    @DisplayName("searchUsersPage(): rejects a cursor of another document type on the same index")
+    void searchUsersPage_cursorOfAnotherDocType_throws() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(UserDoc.class)).thenReturn(IndexCoordinates.of("users"));
+        String cursor = new SearchCursor("users", "MemberDoc", SearchCursor.queryHash("mat"), "pit-1", List.of(0.5, 7), 1, true).encode();
+
+        assertThrows(DataValidationException.class, () -> service.searchUsersPage("mat", cursor, 2, ImageMode.INLINE));
+
+        verify(elasticsearchOperations, never()).search(any(NativeQuery.class), any(Class.class));
+    }
+
+    /**
+     * searchContentPage(): a cursor issued for another query is rejected.
+     */
+    @Test
+    @DisplayName("searchContentPage(): rejects a cursor of another query")
+    void searchContentPage_cursorOfAnotherQuery_throws() {
+        when(elasticsearchOperations.getIndexCoordinatesFor(ContentDoc.class)).thenReturn(IndexCoordinates.of("contents"));
+        String cursor = new SearchCursor("contents", "ContentDoc", SearchCursor.queryHash("mat"), "pit-1", List.of(0.5, 7), 1, true).encode();
 
-        SearchResponseDTO<UserResponseDTO> res = service.search("abc");
+        assertThrows(DataValidationException.class, () -> service.searchContentPage("matrix", cursor, 2, ImageMode.INLINE));
 
-        assertEquals(1, res.getUsers().size());
-        verify(userMapperContext).setUserMapper(mapper);
+        verify(elasticsearchOperations, never()).search(any(NativeQuery.class), any(Class.class));
     }
-}
\ No newline at end of file
+}
@@ -3,29 +3,55 @@ package click.reelscout.backend.service.implementation;
 import click.reelscout.backend.builder.definition.UserBuilder;
 import click.reelscout.backend.dto.request.UserPasswordChangeRequestDTO;
 import click.reelscout.backend.dto.request.UserRequestDTO;
+import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
 import click.reelscout.backend.dto.response.UserLoginResponseDTO;
 import click.reelscout.backend.dto.response.UserResponseDTO;
 import click.reelscout.backend.exception.custom.EntityNotFoundException;
 import click.reelscout.backend.exception.custom.EntityUpdateException;
 import click.reelscout.backend.factory.UserMapperFactoryRegistry;
+import click.reelscout.backend.mapper.definition.ContentMapper;
 import click.reelscout.backend.mapper.definition.UserMapper;
+import click.reelscout.backend.model.elasticsearch.ContentDoc;
+import click.reelscout.backend.model.elasticsearch.MemberDoc;
+import click.reelscout.backend.model.elasticsearch.UserDoc;
+import click.reelscout.backend.model.jpa.Content;
+import click.reelscout.backend.model.jpa.ProductionCompany;
 import click.reelscout.backend.model.jpa.Role;
 import click.reelscout.backend.model.jpa.User;
+import click.reelscout.backend.repository.elasticsearch.ContentElasticRepository;
 import click.reelscout.backend.repository.elasticsearch.UserElasticRepository;
+import click.reelscout.backend.repository.jpa.ContentRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
+import click.reelscout.backend.s3.ImageMode;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
 import click.reelscout.backend.service.definition.AuthService;
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.ImageService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
+import click.reelscout.backend.service.definition.SearchCacheService;
+import click.reelscout.backend.service.definition.SearchIndexService;
 import click.reelscout.backend.strategy.UserMapperContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,11 +70,22 @@ class UserServiceImplementationTest {
 
     @Mock private UserRepository userRepository;
     @Mock private UserElasticRepository userElasticRepository;
+    @Mock private ContentRepository contentRepository;
+    @Mock private ContentElasticRepository contentElasticRepository;
+    @Mock private ContentMapper contentMapper;
     @Mock private UserMapperContext userMapperContext;
     @Mock private UserMapperFactoryRegistry registry;
     @Mock private S3Service s3Service;
+    @Mock private ImageService imageService;
+    @Mock private BlobOperationService blobOperationService;
     @Mock private AuthService authService;
     @Mock private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    @Mock private Cache<Long, ContentResponseDTO> contentResponseCache;
+    @Mock private ResponseCacheService responseCacheService;
+    @Mock private SearchCacheService searchCacheService;
+    @Mock private SearchIndexService searchIndexService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
 
     @InjectMocks
     private UserServiceImplementation service;
@@ -71,35 +108,56 @@ class UserServiceImplementationTest {
     void wireRegistry() {
         lenient().when(registry.getMapperFor(any(User.class))).thenReturn(mock(UserMapper.class));
         lenient().when(registry.getMapperFor(any(UserRequestDTO.class))).thenReturn(mock(UserMapper.class));
+        MemberDoc doc = new MemberDoc();
+        doc.setId(1L);
+        lenient().when(userMapperContext.toUserDoc(any())).thenReturn(doc);
+        ReflectionTestUtils.setField(service, "windowReader", new WindowReader(transactionManager, entityManager));
+    }
+
+    private UserResponseDTO streamedDto(Long id, String username, String imageKey) {
+        UserResponseDTO dto = new UserResponseDTO(id, username, null, null, null);
+        dto.setImageKey(imageKey);
+        return dto;
     }
 
     /**
-     * Tests that getAll retrieves all users, fetches their S3 images,
-     * maps them to DTOs, and returns the list of DTOs.
+     * Tests that streamAll loads users window by window, maps them to DTOs and detaches them,
+     * then fetches their S3 images once each window's transaction is over and hands out each DTO.
      */
     @Test
-    @DisplayName("getAll: maps every user to DTO with its S3 image")
-    void getAll_mapsEveryUser() {
+    @DisplayName("streamAll: maps every user to DTO with its S3 image, window by window")
+    void streamAll_mapsEveryUser() {
+        ReflectionTestUtils.setField(service, "streamWindowSize", 2);
         User u1 = mockUser(1L, "u1", "e1@mail.com", "k1", "enc");
         User u2 = mockUser(2L, "u2", "e2@mail.com", "k2", "enc");
-        when(userRepository.findAll()).thenReturn(List.of(u1, u2));
-        when(s3Service.getFile("k1")).thenReturn("img1");
-        when(s3Service.getFile("k2")).thenReturn("img2");
-
-        UserResponseDTO d1 = new UserResponseDTO();
-        UserResponseDTO d2 = new UserResponseDTO();
-        when(userMapperContext.toDto(u1, "img1")).thenReturn(d1);
-        when(userMapperContext.toDto(u2, "img2")).thenReturn(d2);
-
-        List<UserResponseDTO> out = service.getAll();
-
-        assertEquals(2, out.size());
-        assertSame(d1, out.get(0));
-        assertSame(d2, out.get(1));
-        verify(userRepository).findAll();
-        verify(userMapperContext, times(2)).setUserMapper(any());
-        verify(s3Service).getFile("k1");
-        verify(s3Service).getFile("k2");
+        User u3 = mockUser(3L, "u3", "e3@mail.com", "k3", "enc");
+        when(userRepository.findWindow(Long.MIN_VALUE, Limit.of(2))).thenReturn(List.of(u1, u2));
+        when(userRepository.findWindow(2L, Limit.of(2))).thenReturn(List.of(u3));
+        when(s3Service.getFiles(List.of("k1", "k2"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k1", "img1", "k2", "img2"));
+        when(s3Service.getFiles(List.of("k3"), ImageMode.INLINE, ImageVariant.THUMBNAIL)).thenReturn(Map.of("k3", "img3"));
+
+        UserResponseDTO d1 = streamedDto(1L, "u1", "k1");
+        UserResponseDTO d2 = streamedDto(2L, "u2", "k2");
+        UserResponseDTO d3 = streamedDto(3L, "u3", "k3");
+        when(userMapperContext.toDto(u1, null)).thenReturn(d1);
+        when(userMapperContext.toDto(u2, null)).thenReturn(d2);
+        when(userMapperContext.toDto(u3, null)).thenReturn(d3);
+
+        List<Object> out = new ArrayList<>();
+        service.streamAll(ImageMode.INLINE, out::add);
+
+        assertEquals(List.of(d1, d2, d3), out);
+        assertEquals(List.of("img1", "img2", "img3"), List.of(d1.getBase64Image(), d2.getBase64Image(), d3.getBase64Image()));
+        verify(userRepository, times(2)).findWindow(anyLong(), any());
+        verify(userMapperContext, times(3)).setUserMapper(any());
+        InOrder inOrder = inOrder(transactionManager, s3Service);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(s3Service).getFiles(List.of("k1", "k2"), ImageMode.INLINE, ImageVariant.THUMBNAIL);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(s3Service).getFiles(List.of("k3"), ImageMode.INLINE, ImageVariant.THUMBNAIL);
+        verify(entityManager).detach(u1);
+        verify(entityManager).detach(u2);
+        verify(entityManager).detach(u3);
     }
 
     /**
@@ -196,6 +254,36 @@ class UserServiceImplementationTest {
         assertSame(dto, out);
     }
 
+    /**
+     * Tests that the profile version changes once the image of the user has been uploaded.
+     */
+    @Test
+    @DisplayName("getCurrentUserVersion: marks an image still being uploaded")
+    void getCurrentUserVersion_marksPendingUpload() {
+        User principal = mockUser(7L, "me", "me@mail", "k7", "enc");
+        when(principal.getVersion()).thenReturn(3L);
+        when(blobOperationService.isUploadPending("k7")).thenReturn(true, false);
+
+        String uploading = service.getCurrentUserVersion(principal);
+        String uploaded = service.getCurrentUserVersion(principal);
+
+        assertEquals("3-uploading", uploading);
+        assertEquals("3", uploaded);
+    }
+
+    /**
+     * Tests that no pending upload is looked up for a user without an image.
+     */
+    @Test
+    @DisplayName("getCurrentUserVersion: no image -> entity version")
+    void getCurrentUserVersion_noImage() {
+        User principal = mockUser(7L, "me", "me@mail", null, "enc");
+        when(principal.getVersion()).thenReturn(3L);
+
+        assertEquals("3", service.getCurrentUserVersion(principal));
+        verifyNoInteractions(blobOperationService);
+    }
+
     /**
      * Tests that update throws EntityUpdateException when the current password is incorrect.
      */
@@ -274,7 +362,9 @@ class UserServiceImplementationTest {
         when(mockBuilder.build()).thenReturn(updated);
 
         when(userRepository.save(updated)).thenReturn(updated);
-        lenient().when(userMapperContext.toUserDoc(updated)).thenReturn(null);
+        MemberDoc doc = new MemberDoc();
+        doc.setId(1L);
+        when(userMapperContext.toUserDoc(updated)).thenReturn(doc);
         when(authService.login("newU", "raw")).thenReturn(new UserLoginResponseDTO("jwt"));
 
         UserLoginResponseDTO out = service.update(auth, req);
@@ -282,8 +372,89 @@ class UserServiceImplementationTest {
         assertNotNull(out);
         assertEquals("jwt", out.getAccessToken());
         verify(userRepository).save(updated);
-        verify(userElasticRepository).save(any());
-        verify(s3Service).uploadFile(anyString(), eq("base64"));
+        verify(userElasticRepository).save(doc);
+        verify(searchIndexService).recordChanges(UserDoc.class, List.of(doc.getId()));
+        verify(searchCacheService).invalidate(UserDoc.class);
+        verify(imageService).replace("s3Key", "base64");
+        verify(responseCacheService).invalidate(ResponseCacheService.userKey(1L));
+    }
+
+    /**
+     * Tests that renaming a production company re-indexes its contents and drops their
+     * cached responses, as both carry the company name.
+     */
+    @Test
+    @DisplayName("update: production company renamed -> re-indexes its contents and drops their cached responses")
+    void update_productionCompanyRenamed_reindexesContents() {
+        ProductionCompany auth = mock(ProductionCompany.class);
+        when(auth.getId()).thenReturn(1L);
+        when(auth.getPassword()).thenReturn("ENC");
+        when(auth.getName()).thenReturn("Old");
+        TestUserRequestDTO req = new TestUserRequestDTO();
+        req.setPassword("raw");
+        req.setEmail("pc@mail");
+        req.setUsername("pc");
+
+        when(passwordEncoder.matches("raw", "ENC")).thenReturn(true);
+        User reqEntity = mockUser(null, "pc", "pc@mail", null, "ENC");
+        when(userMapperContext.toEntity(eq(req), any())).thenReturn(reqEntity);
+        UserBuilder mockBuilder = mock(UserBuilder.class, RETURNS_SELF);
+        when(userMapperContext.toBuilder(reqEntity)).thenReturn(mockBuilder);
+
+        ProductionCompany updated = mock(ProductionCompany.class);
+        when(updated.getName()).thenReturn("New");
+        when(mockBuilder.build()).thenReturn(updated);
+        when(userRepository.save(updated)).thenReturn(updated);
+
+        Content content = mock(Content.class);
+        when(content.getId()).thenReturn(5L);
+        ContentDoc contentDoc = new ContentDoc();
+        contentDoc.setId(9L);
+        when(contentRepository.findAllByProductionCompany(updated)).thenReturn(List.of(content));
+        when(contentMapper.toDoc(content)).thenReturn(contentDoc);
+
+        service.update(auth, req);
+
+        verify(contentElasticRepository).saveAll(List.of(contentDoc));
+        verify(searchIndexService).recordChanges(ContentDoc.class, List.of(contentDoc.getId()));
+        verify(searchCacheService).invalidate(ContentDoc.class);
+        verify(responseCacheService).invalidate(ResponseCacheService.contentKeys(5L));
+        verify(contentResponseCache).invalidateAll(List.of(5L));
+    }
+
+    /**
+     * Tests that update stores a profile image uploaded as a raw multipart file
+     * and references it from the updated user.
+     */
+    @Test
+    @DisplayName("update: with multipart image -> stores the file and references its key")
+    void update_withImageFile_uploadsFile() {
+        User auth = mockUser(1L, "u", "e@mail", null, "ENC");
+        TestUserRequestDTO req = new TestUserRequestDTO();
+        req.setPassword("raw");
+        req.setEmail("e@mail");
+        req.setUsername("u");
+        MultipartFile image = new MockMultipartFile("image", "avatar.png", "image/png", new byte[]{1, 2, 3});
+
+        when(passwordEncoder.matches("raw", "ENC")).thenReturn(true);
+        when(userRepository.existsByEmailAndIdIsNot("e@mail", 1L)).thenReturn(false);
+        when(userRepository.existsByUsernameAndIdIsNot("u", 1L)).thenReturn(false);
+
+        User reqEntity = mockUser(null, "u", "e@mail", null, "ENC");
+        when(imageService.replace(null, image)).thenReturn("image/new");
+        when(userMapperContext.toEntity(req, "image/new")).thenReturn(reqEntity);
+
+        UserBuilder mockBuilder = mock(UserBuilder.class, RETURNS_SELF);
+        when(userMapperContext.toBuilder(reqEntity)).thenReturn(mockBuilder);
+
+        User updated = mockUser(1L, "u", "e@mail", "user/new", "ENC");
+        when(mockBuilder.build()).thenReturn(updated);
+        when(userRepository.save(updated)).thenReturn(updated);
+        when(auth.superEquals(updated)).thenReturn(true);
+
+        assertNull(service.update(auth, req, image));
+
+        verify(imageService, never()).replace(any(), nullable(String.class));
     }
 
     /**
@@ -1,6 +1,9 @@
 package click.reelscout.backend.service.implementation;
 
+import click.reelscout.backend.service.definition.BlobOperationService;
+import click.reelscout.backend.service.definition.ResponseCacheService;
 import click.reelscout.backend.builder.definition.WatchlistBuilder;
+import click.reelscout.backend.dto.request.FieldSelection;
 import click.reelscout.backend.dto.request.WatchlistRequestDTO;
 import click.reelscout.backend.dto.response.ContentResponseDTO;
 import click.reelscout.backend.dto.response.CustomResponseDTO;
@@ -18,6 +21,7 @@ import click.reelscout.backend.model.jpa.Watchlist;
 import click.reelscout.backend.repository.jpa.ContentRepository;
 import click.reelscout.backend.repository.jpa.UserRepository;
 import click.reelscout.backend.repository.jpa.WatchlistRepository;
+import click.reelscout.backend.s3.ImageVariant;
 import click.reelscout.backend.s3.S3Service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -57,6 +61,8 @@ class WatchlistServiceImplementationTest {
     @Mock private S3Service s3Service;
     @Mock private UserRepository<Member> userRepository;
     @Mock private WatchlistBuilder mockBuilder;
+    @Mock private ResponseCacheService responseCacheService;
+    @Mock private BlobOperationService blobOperationService;
 
     private WatchlistServiceImplementation service;
 
@@ -72,7 +78,8 @@ class WatchlistServiceImplementationTest {
         service = new WatchlistServiceImplementation(
                 watchlistRepository, watchlistMapper,
                 contentRepository, contentMapper,
-                s3Service, userRepository
+                s3Service, userRepository,
+                responseCacheService, blobOperationService
         );
 
         owner = new Member();
@@ -154,6 +161,7 @@ class WatchlistServiceImplementationTest {
             assertThat(result).isSameAs(watchlistDto);
             verify(watchlistRepository).save(mappedEntity);
             verify(watchlistMapper).toDto(mappedEntity);
+            verify(responseCacheService).invalidate(ResponseCacheService.publicWatchlistsKey(owner.getId()));
         }
 
         /**
@@ -201,6 +209,7 @@ class WatchlistServiceImplementationTest {
             // Mock the builder chain: toBuilder(...).id(...).build()
             when(watchlistMapper.toBuilder(mappedFromDto)).thenReturn(mockBuilder);
             when(mockBuilder.id(WATCHLIST_ID)).thenReturn(mockBuilder);
+            when(mockBuilder.version(watchlist.getVersion())).thenReturn(mockBuilder);
             when(mockBuilder.build()).thenReturn(built);
 
             when(watchlistMapper.toDto(built)).thenReturn(watchlistDto);
@@ -211,6 +220,7 @@ class WatchlistServiceImplementationTest {
             // Assert
             assertThat(result).isSameAs(watchlistDto);
             verify(watchlistRepository).save(built);
+            verify(responseCacheService).invalidate(ResponseCacheService.publicWatchlistsKey(owner.getId()));
         }
 
         /**
@@ -261,6 +271,7 @@ class WatchlistServiceImplementationTest {
             // Mock the builder chain: toBuilder(...).id(...).build()
             when(watchlistMapper.toBuilder(mappedFromDto)).thenReturn(mockBuilder);
             when(mockBuilder.id(WATCHLIST_ID)).thenReturn(mockBuilder);
+            when(mockBuilder.version(watchlist.getVersion())).thenReturn(mockBuilder);
             when(mockBuilder.build()).thenReturn(built);
 
             doThrow(new RuntimeException("write failed")).when(watchlistRepository).save(built);
@@ -288,6 +299,7 @@ class WatchlistServiceImplementationTest {
             assertThat(res).isNotNull();
             assertThat(res.getMessage()).containsIgnoringCase("deleted");
             verify(watchlistRepository).delete(watchlist);
+            verify(responseCacheService).invalidate(ResponseCacheService.publicWatchlistsKey(owner.getId()));
         }
 
         /**
@@ -365,10 +377,10 @@ class WatchlistServiceImplementationTest {
             when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
             when(contentRepository.findById(CONTENT_ID)).thenReturn(Optional.of(content));
 
-            // Mapper for content -> DTO uses s3Service.getFile(key)
-            when(s3Service.getFile(S3_IMAGE_KEY)).thenReturn(BASE64_IMAGE_DATA);
+            // Mapper for content -> DTO uses the images loaded by s3Service.getFiles(keys)
+            when(s3Service.getFiles(List.of(S3_IMAGE_KEY), ImageVariant.THUMBNAIL)).thenReturn(Map.of(S3_IMAGE_KEY, BASE64_IMAGE_DATA));
             ContentResponseDTO cr = new ContentResponseDTO();
-            when(contentMapper.toDto(eq(content), anyString())).thenReturn(cr);
+            when(contentMapper.toDto(eq(content), anyString(), eq(FieldSelection.ALL))).thenReturn(cr);
 
             WatchlistResponseDTO dto = new WatchlistResponseDTO();
             when(watchlistMapper.toDto(eq(watchlist), anyList())).thenReturn(dto);
@@ -380,7 +392,7 @@ class WatchlistServiceImplementationTest {
             assertThat(result).isSameAs(dto);
             assertThat(watchlist.getContents()).contains(content);
             verify(watchlistRepository).save(watchlist);
-            verify(contentMapper).toDto(eq(content), anyString());
+            verify(contentMapper).toDto(eq(content), anyString(), eq(FieldSelection.ALL));
             verify(watchlistMapper).toDto(eq(watchlist), argThat(list -> list.size() == 1));
         }
 
@@ -517,7 +529,7 @@ class WatchlistServiceImplementationTest {
             // No contents inside: mapper should be called with empty mapped list
             when(watchlistMapper.toDto(eq(watchlist), anyList())).thenReturn(watchlistDto);
 
-            WatchlistResponseDTO result = service.getById(owner, WATCHLIST_ID);
+            WatchlistResponseDTO result = service.getById(owner, WATCHLIST_ID, FieldSelection.ALL);
 
             assertThat(result).isSameAs(watchlistDto);
             verify(watchlistMapper).toDto(eq(watchlist), argThat(List::isEmpty));
@@ -534,11 +546,34 @@ class WatchlistServiceImplementationTest {
             when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
             when(watchlistMapper.toDto(eq(watchlist), anyList())).thenReturn(watchlistDto);
 
-            WatchlistResponseDTO result = service.getById(otherUser, WATCHLIST_ID);
+            WatchlistResponseDTO result = service.getById(otherUser, WATCHLIST_ID, FieldSelection.ALL);
 
             assertThat(result).isSameAs(watchlistDto);
         }
 
+        /**
+         * Test fetching a watchlist with a sparse fieldset without the image:
+         * no image is downloaded and the selection is handed to the content mapper.
+         */
+        @Test
+        @DisplayName("should skip images when they are not selected")
+        void getById_fieldsWithoutImage_skipImages() {
+            Content content = new Content();
+            setContentId(content);
+            setContentS3Key(content);
+            setWatchlistContents(watchlist, new ArrayList<>(List.of(content)));
+            FieldSelection fields = FieldSelection.parse("title");
+            ContentResponseDTO cr = new ContentResponseDTO();
+            when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
+            when(contentMapper.toDto(content, null, fields)).thenReturn(cr);
+            when(watchlistMapper.toDto(watchlist, List.of(cr))).thenReturn(watchlistDto);
+
+            WatchlistResponseDTO result = service.getById(owner, WATCHLIST_ID, fields);
+
+            assertThat(result).isSameAs(watchlistDto);
+            verifyNoInteractions(s3Service);
+        }
+
         /**
          * Test that if a non-owner user tries to access a private watchlist,
          * an EntityNotFoundException is thrown to avoid leaking its existence.
@@ -549,7 +584,7 @@ class WatchlistServiceImplementationTest {
             setWatchlistPublic(watchlist, false);
             when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
 
-            assertThatThrownBy(() -> service.getById(otherUser, WATCHLIST_ID))
+            assertThatThrownBy(() -> service.getById(otherUser, WATCHLIST_ID, FieldSelection.ALL))
                     .isInstanceOf(EntityNotFoundException.class);
         }
 
@@ -561,11 +596,56 @@ class WatchlistServiceImplementationTest {
         void getById_notFound() {
             when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> service.getById(owner, WATCHLIST_ID))
+            assertThatThrownBy(() -> service.getById(owner, WATCHLIST_ID, FieldSelection.ALL))
                     .isInstanceOf(EntityNotFoundException.class);
         }
     }
 
+    @Nested
+    @DisplayName("getVersion")
+    class GetVersion {
+
+        /**
+         * Test that the owner gets the version of their private watchlist, without its contents being mapped.
+         */
+        @Test
+        @DisplayName("should return version if owner requests private list")
+        void getVersion_ownerPrivate_ok() {
+            when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
+            when(watchlistRepository.findVersionById(WATCHLIST_ID)).thenReturn(Optional.of("1-2-5-2"));
+            when(blobOperationService.getPendingUploadsVersion()).thenReturn("1-40");
+
+            assertThat(service.getVersion(owner, WATCHLIST_ID)).isEqualTo("1-2-5-2-1-40");
+            verifyNoInteractions(watchlistMapper);
+        }
+
+        /**
+         * Test that the version of a private watchlist is not disclosed to another user.
+         */
+        @Test
+        @DisplayName("should throw not found when private list requested by non-owner")
+        void getVersion_private_unauthorized() {
+            setWatchlistPublic(watchlist, false);
+            when(watchlistRepository.findById(WATCHLIST_ID)).thenReturn(Optional.of(watchlist));
+
+            assertThatThrownBy(() -> service.getVersion(otherUser, WATCHLIST_ID))
+                    .isInstanceOf(EntityNotFoundException.class);
+            verify(watchlistRepository, never()).findVersionById(any());
+        }
+    }
+
+    /**
+     * Test that the version of a member's watchlists is read from the repository.
+     */
+    @Test
+    @DisplayName("getAllByMemberVersion: should return repository version")
+    void getAllByMemberVersion_ok() {
+        when(watchlistRepository.findVersionByMember(owner)).thenReturn("2-9-4");
+
+        assertThat(service.getAllByMemberVersion(owner)).isEqualTo("2-9-4");
+        verify(watchlistRepository, never()).findAllByMember(any());
+    }
+
     /**
      * Test fetching all watchlists by a member that contain a specific content,
      * and mapping them to DTOs.
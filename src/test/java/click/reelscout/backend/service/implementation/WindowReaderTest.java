@@ -0,0 +1,97 @@
+package click.reelscout.backend.service.implementation;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link WindowReader}.
+ * Covers reading and mapping in a read-only transaction, detaching the read entities,
+ * and walking windows with the action running outside of their transactions.
+ */
+@ExtendWith(MockitoExtension.class)
+class WindowReaderTest {
+
+    @Mock private PlatformTransactionManager transactionManager;
+    @Mock private EntityManager entityManager;
+
+    private WindowReader windowReader;
+
+    @BeforeEach
+    void setUp() {
+        windowReader = new WindowReader(transactionManager, entityManager);
+    }
+
+    /**
+     * Tests that read maps the entities in a read-only transaction and detaches them before it commits.
+     */
+    @Test
+    @DisplayName("read: maps in a read-only transaction and detaches before commit")
+    void read_mapsAndDetachesInReadOnlyTransaction() {
+        List<String> mapped = windowReader.read(() -> List.of(1L, 2L), id -> "e" + id);
+
+        assertEquals(List.of("e1", "e2"), mapped);
+        InOrder inOrder = inOrder(transactionManager, entityManager);
+        inOrder.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        inOrder.verify(entityManager).detach(1L);
+        inOrder.verify(entityManager).detach(2L);
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    /**
+     * Tests that forEachWindow starts each window after the last mapped id, stops at a short window
+     * and hands each window to the action after its transaction committed.
+     */
+    @Test
+    @DisplayName("forEachWindow: walks windows and acts after each commit")
+    void forEachWindow_actsAfterEachCommit() {
+        List<List<Long>> windows = List.of(List.of(1L, 4L), List.of(7L));
+        List<Long> starts = new ArrayList<>();
+        List<List<Long>> handedOut = new ArrayList<>();
+        Runnable action = mock(Runnable.class);
+
+        windowReader.forEachWindow(after -> {
+            starts.add(after);
+            return windows.get(starts.size() - 1);
+        }, 2, id -> id, id -> id, window -> {
+            handedOut.add(window);
+            action.run();
+        });
+
+        assertEquals(List.of(Long.MIN_VALUE, 4L), starts);
+        assertEquals(windows, handedOut);
+        InOrder inOrder = inOrder(transactionManager, action);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(action).run();
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(action).run();
+    }
+
+    /**
+     * Tests that an empty first window ends the walk without calling the action.
+     */
+    @Test
+    @DisplayName("forEachWindow: empty table never calls the action")
+    void forEachWindow_emptyTable_noAction() {
+        List<List<Long>> handedOut = new ArrayList<>();
+
+        windowReader.forEachWindow(after -> List.<Long>of(), 2, id -> id, id -> id, handedOut::add);
+
+        assertTrue(handedOut.isEmpty());
+        verify(transactionManager).commit(any());
+    }
+}
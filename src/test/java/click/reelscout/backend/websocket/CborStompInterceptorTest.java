@@ -0,0 +1,84 @@
+package click.reelscout.backend.websocket;
+
+import click.reelscout.backend.cbor.CborTranscoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link CborStompInterceptor}.
+ */
+class CborStompInterceptorTest {
+
+    private static final byte[] JSON = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final CborStompInterceptor interceptor = new CborStompInterceptor();
+    private final MessageChannel channel = mock(MessageChannel.class);
+
+    private void connect(String sessionId, String accept) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (accept != null) {
+            accessor.setNativeHeader(CborStompInterceptor.ACCEPT_HEADER, accept);
+        }
+        interceptor.onConnect(new SessionConnectEvent(this, MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders())));
+    }
+
+    private static Message<byte[]> outbound(String sessionId, SimpMessageType type) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(JSON, accessor.getMessageHeaders());
+    }
+
+    @Test
+    void preSend_cborSession_convertsJsonMessages() {
+        connect("s1", "application/json;q=0.5, application/cbor");
+
+        Message<?> sent = interceptor.preSend(outbound("s1", SimpMessageType.MESSAGE), channel);
+
+        assertArrayEquals(CborTranscoder.transcode(JSON), (byte[]) sent.getPayload());
+        assertEquals(MediaType.APPLICATION_CBOR, SimpMessageHeaderAccessor.wrap(sent).getContentType());
+        assertEquals("s1", SimpMessageHeaderAccessor.getSessionId(sent.getHeaders()));
+    }
+
+    @Test
+    void preSend_jsonSessionOrOtherFrames_leavesMessageAlone() {
+        connect("s1", "application/cbor");
+        connect("s2", null);
+        connect("s3", "not a media type");
+
+        Message<byte[]> ack = outbound("s1", SimpMessageType.CONNECT_ACK);
+        Message<byte[]> json = outbound("s2", SimpMessageType.MESSAGE);
+        Message<byte[]> invalid = outbound("s3", SimpMessageType.MESSAGE);
+
+        assertSame(ack, interceptor.preSend(ack, channel));
+        assertSame(json, interceptor.preSend(json, channel));
+        assertSame(invalid, interceptor.preSend(invalid, channel));
+    }
+
+    @Test
+    void onDisconnect_forgetsSession() {
+        connect("s1", "application/cbor");
+        interceptor.onDisconnect(new SessionDisconnectEvent(this, MessageBuilder.createMessage(new byte[0], SimpMessageHeaderAccessor.create().getMessageHeaders()), "s1", CloseStatus.NORMAL));
+
+        Message<byte[]> message = outbound("s1", SimpMessageType.MESSAGE);
+
+        assertSame(message, interceptor.preSend(message, channel));
+    }
+}